@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.Criteria;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.benchmark.model.Document;
+import com.blazebit.persistence.benchmark.model.Person;
+import com.blazebit.persistence.benchmark.view.DocumentUpdateView;
+import com.blazebit.persistence.benchmark.view.DocumentView;
+import com.blazebit.persistence.benchmark.view.PersonView;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+/**
+ * Shared benchmark state that boots an in-memory H2 database along with the criteria builder factory
+ * and entity view manager and populates it with test data.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    public static final int PERSON_COUNT = 100;
+    public static final int PARTNERS_PER_DOCUMENT = 3;
+
+    @Param({ "1000" })
+    public int documentCount;
+
+    private EntityManagerFactory emf;
+    private CriteriaBuilderFactory cbf;
+    private EntityViewManager evm;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        emf = Persistence.createEntityManagerFactory("benchmark");
+        cbf = Criteria.getDefault().createCriteriaBuilderFactory(emf);
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.addEntityView(PersonView.class);
+        cfg.addEntityView(DocumentView.class);
+        cfg.addEntityView(DocumentUpdateView.class);
+        evm = cfg.createEntityViewManager(cbf);
+        populate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    private void populate() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            Person[] persons = new Person[PERSON_COUNT];
+            for (int i = 0; i < PERSON_COUNT; i++) {
+                persons[i] = new Person((long) i + 1, "Person " + i);
+                em.persist(persons[i]);
+            }
+            for (int i = 0; i < documentCount; i++) {
+                Document document = new Document((long) i + 1, "Document " + i, i % 100, persons[i % PERSON_COUNT]);
+                for (int j = 1; j <= PARTNERS_PER_DOCUMENT; j++) {
+                    document.getPartners().add(persons[(i + j) % PERSON_COUNT]);
+                }
+                em.persist(document);
+                if (i % 50 == 49) {
+                    em.flush();
+                    em.clear();
+                    for (int j = 0; j < PERSON_COUNT; j++) {
+                        persons[j] = em.getReference(Person.class, (long) j + 1);
+                    }
+                }
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+    }
+
+    public EntityManagerFactory getEntityManagerFactory() {
+        return emf;
+    }
+
+    public CriteriaBuilderFactory getCriteriaBuilderFactory() {
+        return cbf;
+    }
+
+    public EntityViewManager getEntityViewManager() {
+        return evm;
+    }
+}
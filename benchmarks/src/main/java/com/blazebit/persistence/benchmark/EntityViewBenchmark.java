@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.benchmark.model.Document;
+import com.blazebit.persistence.benchmark.view.DocumentView;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the application of entity view settings to criteria builders and the building of entity views from tuples.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityViewBenchmark {
+
+    private CriteriaBuilderFactory cbf;
+    private EntityViewManager evm;
+    private EntityManager em;
+
+    @Setup
+    public void setup(BenchmarkDatabase database) {
+        cbf = database.getCriteriaBuilderFactory();
+        evm = database.getEntityViewManager();
+        em = database.getEntityManagerFactory().createEntityManager();
+    }
+
+    @TearDown
+    public void tearDown() {
+        em.close();
+    }
+
+    @Benchmark
+    public String applySetting() {
+        return evm.applySetting(EntityViewSetting.create(DocumentView.class), documents()).getQueryString();
+    }
+
+    @Benchmark
+    public String applyPaginatedSetting() {
+        PaginatedCriteriaBuilder<DocumentView> cb = evm.applySetting(EntityViewSetting.create(DocumentView.class, 0, 20), documents());
+        return cb.getQueryString();
+    }
+
+    @Benchmark
+    public List<DocumentView> fetchViews() {
+        List<DocumentView> list = evm.applySetting(EntityViewSetting.create(DocumentView.class), documents()).getResultList();
+        em.clear();
+        return list;
+    }
+
+    @Benchmark
+    public PagedList<DocumentView> fetchViewPage() {
+        PagedList<DocumentView> list = evm.applySetting(EntityViewSetting.create(DocumentView.class, 0, 20), documents()).getResultList();
+        em.clear();
+        return list;
+    }
+
+    private CriteriaBuilder<Document> documents() {
+        return cbf.create(em, Document.class, "d").orderByAsc("d.id");
+    }
+}
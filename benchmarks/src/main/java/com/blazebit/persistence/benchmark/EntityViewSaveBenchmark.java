@@ -0,0 +1,81 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.benchmark.view.DocumentUpdateView;
+import com.blazebit.persistence.view.EntityViewManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures flushing of dirty updatable entity views.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityViewSaveBenchmark {
+
+    private EntityViewManager evm;
+    private EntityManager em;
+    private DocumentUpdateView view;
+    private long counter;
+
+    @Setup
+    public void setup(BenchmarkDatabase database) {
+        evm = database.getEntityViewManager();
+        em = database.getEntityManagerFactory().createEntityManager();
+        view = evm.find(em, DocumentUpdateView.class, 1L);
+    }
+
+    @TearDown
+    public void tearDown() {
+        em.close();
+    }
+
+    @Benchmark
+    public DocumentUpdateView save() {
+        em.getTransaction().begin();
+        try {
+            view.setName("Document " + (++counter));
+            evm.save(em, view);
+            em.getTransaction().commit();
+        } finally {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.clear();
+        }
+        return view;
+    }
+}
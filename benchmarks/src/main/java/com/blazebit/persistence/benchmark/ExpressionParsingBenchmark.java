@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.parser.FunctionKind;
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
+import com.blazebit.persistence.parser.expression.ConcurrentHashMapExpressionCache;
+import com.blazebit.persistence.parser.expression.Expression;
+import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.parser.expression.ExpressionFactoryImpl;
+import com.blazebit.persistence.parser.expression.SimpleCachingExpressionFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of JPQL.Next expressions with and without an expression cache.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExpressionParsingBenchmark {
+
+    private static final String[] EXPRESSIONS = {
+        "d.owner.name",
+        "COALESCE(d.name, d.owner.name, 'unknown')",
+        "CASE WHEN d.age > 10 AND d.owner.name LIKE 'P%' THEN 1 ELSE 0 END",
+        "SIZE(d.partners) + d.age * 2"
+    };
+    private static final String[] PREDICATES = {
+        "d.name = :name OR d.id IN :ids",
+        "d.age BETWEEN 1 AND 10 AND d.owner.name IS NOT NULL"
+    };
+
+    private ExpressionFactory uncachedExpressionFactory;
+    private ExpressionFactory concurrentHashMapCachedExpressionFactory;
+    private ExpressionFactory boundedCachedExpressionFactory;
+
+    @Setup
+    public void setup() {
+        uncachedExpressionFactory = new ExpressionFactoryImpl(new HashMap<String, FunctionKind>(), true, true);
+        concurrentHashMapCachedExpressionFactory = new SimpleCachingExpressionFactory(uncachedExpressionFactory, new ConcurrentHashMapExpressionCache<Expression>());
+        boundedCachedExpressionFactory = new SimpleCachingExpressionFactory(uncachedExpressionFactory, new BoundedExpressionCache<Expression>(100_000L, Collections.<String, Long>emptyMap()));
+    }
+
+    @Benchmark
+    public Expression[] uncached() {
+        return parse(uncachedExpressionFactory);
+    }
+
+    @Benchmark
+    public Expression[] concurrentHashMapCache() {
+        return parse(concurrentHashMapCachedExpressionFactory);
+    }
+
+    @Benchmark
+    public Expression[] boundedCache() {
+        return parse(boundedCachedExpressionFactory);
+    }
+
+    private static Expression[] parse(ExpressionFactory expressionFactory) {
+        Expression[] expressions = new Expression[EXPRESSIONS.length + PREDICATES.length];
+        for (int i = 0; i < EXPRESSIONS.length; i++) {
+            expressions[i] = expressionFactory.createSimpleExpression(EXPRESSIONS[i], false, true, false);
+        }
+        for (int i = 0; i < PREDICATES.length; i++) {
+            expressions[EXPRESSIONS.length + i] = expressionFactory.createBooleanExpression(PREDICATES[i], false);
+        }
+        return expressions;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.KeysetPage;
+import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.benchmark.model.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures offset and keyset based pagination of documents ordered by owner name.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeysetPaginationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private CriteriaBuilderFactory cbf;
+    private EntityManager em;
+    private KeysetPage firstPage;
+
+    @Setup
+    public void setup(BenchmarkDatabase database) {
+        cbf = database.getCriteriaBuilderFactory();
+        em = database.getEntityManagerFactory().createEntityManager();
+        firstPage = fetchPage(null, 0, true).getKeysetPage();
+    }
+
+    @TearDown
+    public void tearDown() {
+        em.close();
+    }
+
+    @Benchmark
+    public PagedList<Object[]> offsetPage() {
+        return fetchPage(null, PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public PagedList<Object[]> keysetPage() {
+        return fetchPage(firstPage, PAGE_SIZE, false);
+    }
+
+    private PagedList<Object[]> fetchPage(KeysetPage keysetPage, int firstResult, boolean withCount) {
+        return cbf.create(em, Object[].class)
+            .from(Document.class, "d")
+            .select("d.id")
+            .select("d.name")
+            .select("d.owner.name")
+            .orderByAsc("d.owner.name")
+            .orderByAsc("d.id")
+            .page(keysetPage, firstResult, PAGE_SIZE)
+            .withKeysetExtraction(true)
+            .withCountQuery(withCount)
+            .getResultList();
+    }
+}
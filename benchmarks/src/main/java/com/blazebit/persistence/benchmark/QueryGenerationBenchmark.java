@@ -0,0 +1,94 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.benchmark;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.JoinType;
+import com.blazebit.persistence.benchmark.model.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of criteria builders and the rendering of the resulting JPQL.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryGenerationBenchmark {
+
+    private CriteriaBuilderFactory cbf;
+    private EntityManager em;
+
+    @Setup
+    public void setup(BenchmarkDatabase database) {
+        cbf = database.getCriteriaBuilderFactory();
+        em = database.getEntityManagerFactory().createEntityManager();
+    }
+
+    @TearDown
+    public void tearDown() {
+        em.close();
+    }
+
+    @Benchmark
+    public String simpleQuery() {
+        return cbf.create(em, Document.class, "d")
+            .where("d.name").like().value("Document%").noEscape()
+            .orderByAsc("d.id")
+            .getQueryString();
+    }
+
+    @Benchmark
+    public String complexQuery() {
+        CriteriaBuilder<Object[]> cb = cbf.create(em, Object[].class)
+            .from(Document.class, "d")
+            .select("d.id")
+            .select("d.owner.name")
+            .select("COUNT(partners.id)")
+            .joinDefault("d.partners", "partners", JoinType.LEFT)
+            .where("d.age").gt(10L)
+            .whereOr()
+                .where("d.owner.name").like().value("Person 1%").noEscape()
+                .where("d.name").in().from(Document.class, "sub")
+                    .select("sub.name")
+                    .where("sub.age").lt(5L)
+                .end()
+            .endOr()
+            .groupBy("d.id", "d.owner.name")
+            .orderByDesc("d.owner.name")
+            .orderByAsc("d.id");
+        return cb.getQueryString();
+    }
+}
@@ -108,6 +108,19 @@ public final class ConfigurationProperties {
      */
     public static final String EXPRESSION_CACHE_CLASS = "com.blazebit.persistence.expression.cache_class";
 
+    /**
+     * The maximum weight of an expression cache when using the bounded expression cache implementation
+     * <code>com.blazebit.persistence.parser.expression.BoundedExpressionCache</code>.
+     * The weight of a cached expression is the number of nodes of the expression tree.
+     * The maximum weight of a specific cache can be configured by appending the cache name after a dot to this property name.
+     * The cache for the custom SQL of queries, named <code>com.blazebit.persistence.impl.query.cache.CustomSql</code>, is always bounded by this weight.
+     * Valid values for this property are positive numbers.
+     * Default is <code>100000</code>
+     *
+     * @since 1.6.10
+     */
+    public static final String EXPRESSION_CACHE_MAXIMUM_WEIGHT = "com.blazebit.persistence.expression.cache_maximum_weight";
+
     /**
      * If set to false, tuples of a VALUES clause with all null values won't be filtered out.
      * Valid values for this property are <code>true</code> or <code>false</code>.
@@ -119,6 +132,20 @@ public final class ConfigurationProperties {
      */
     public static final String VALUES_CLAUSE_FILTER_NULLS = "com.blazebit.persistence.values.filter_nulls";
 
+    /**
+     * If set to true, the row count of a VALUES clause created from a collection is rounded up to a bucket size.
+     * Buckets are an eighth of the next lower power of two wide, so at most 12.5% additional rows are bound.
+     * This keeps the amount of distinct SQL strings and thus query plans low when the collection size varies a lot.
+     * The additional rows are bound to null and filtered out, which is why padding only happens when {@link #VALUES_CLAUSE_FILTER_NULLS} is enabled.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     * Default is <code>false</code>
+     *
+     * The property can be changed for a criteria builder before using the VALUES clause.
+     *
+     * @since 1.6.10
+     */
+    public static final String VALUES_CLAUSE_PADDING = "com.blazebit.persistence.values.padding";
+
     /**
      * If set to false, parameters are always rendered as such, otherwise the values might get inlined when no type can be inferred.
      * Valid values for this property are <code>true</code> or <code>false</code>.
@@ -130,6 +157,19 @@ public final class ConfigurationProperties {
      */
     public static final String PARAMETER_AS_LITERAL_RENDERING = "com.blazebit.persistence.parameter_literal_rendering";
 
+    /**
+     * If set to true, collection valued parameters that are only used as list of IN predicates are padded to the next power of two
+     * by repeating the last element when binding them to the JPA provider query.
+     * This keeps the amount of distinct SQL strings and thus prepared statements and query plans low when the collection size varies a lot.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     * Default is <code>false</code>
+     *
+     * The property can be changed for a criteria builder before constructing a query.
+     *
+     * @since 1.6.10
+     */
+    public static final String PARAMETER_LIST_PADDING = "com.blazebit.persistence.parameter_list_padding";
+
     /**
      * If set to true, the keyset predicate is rendered in an optimized form so that database optimizers are more likely
      * to use indices.
@@ -211,6 +251,15 @@ public final class ConfigurationProperties {
      */
     public static final String CRITERIA_VALUE_AS_PARAMETER = "com.blazebit.persistence.criteria_value_as_parameter";
 
+    /**
+     * The maximum number of count query results to keep in the count query cache i.e. see {@link PaginatedCriteriaBuilder#withCachedCount(long)}.
+     * Valid values for this property are non-negative integers, <code>0</code> disables the cache.
+     * Default is <code>1000</code>.
+     *
+     * @since 1.6.10
+     */
+    public static final String COUNT_QUERY_CACHE_SIZE = "com.blazebit.persistence.count_query_cache_size";
+
     private ConfigurationProperties() {
     }
 }
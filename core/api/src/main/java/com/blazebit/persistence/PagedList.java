@@ -50,6 +50,16 @@ public interface PagedList<T> extends List<T> {
      */
     public long getTotalSize();
 
+    /**
+     * Returns whether the total size was estimated from database statistics rather than counted.
+     * This is only the case when an estimated count was requested via {@link PaginatedCriteriaBuilder#withEstimatedCount(long)}
+     * and the estimate reached the configured threshold.
+     *
+     * @return True if the total size is an estimate, false otherwise
+     * @since 1.6.10
+     */
+    public boolean isTotalSizeEstimated();
+
     /**
      * Returns the number of this page, numbered from 1.
      * 
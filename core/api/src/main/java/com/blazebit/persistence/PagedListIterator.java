@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence;
+
+import javax.persistence.EntityManager;
+import java.util.Iterator;
+
+/**
+ * An iterator over consecutive pages of a query that are fetched via keyset pagination.
+ * Following pages might be fetched in the background, so the iterator should be closed when it isn't consumed until the end.
+ *
+ * @param <T> The element type
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public interface PagedListIterator<T> extends Iterator<PagedList<T>>, AutoCloseable {
+
+    /**
+     * Stops fetching following pages and discards already fetched pages.
+     * The statement of a fetch that is in progress is cancelled through {@link com.blazebit.persistence.spi.JpaProvider#cancelQuery(EntityManager)}
+     * if the JPA provider supports that, otherwise its result is discarded.
+     */
+    @Override
+    public void close();
+
+    /**
+     * A provider for query builders that are used to fetch the pages following the first page.
+     *
+     * @param <T> The element type
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static interface QueryProvider<T> {
+
+        /**
+         * Creates a new query builder that produces the same query as the builder on which the iterator was created, without the pagination.
+         * This method is invoked on the thread that fetches the page, so the query builder must use an entity manager
+         * that is not concurrently used by the consumer of the iterator.
+         *
+         * @return A new query builder
+         */
+        public FullQueryBuilder<T, ?> createQuery();
+    }
+
+    /**
+     * A provider for query builders that are used to fetch the pages following the first page with an entity manager
+     * that is created for fetching a single page.
+     *
+     * @param <T> The element type
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static interface EntityManagerQueryProvider<T> {
+
+        /**
+         * Creates a new query builder that uses the given entity manager and produces the same query as the builder
+         * on which the iterator was created, without the pagination.
+         * The entity manager is closed after the page was fetched, so the elements of the page are detached.
+         *
+         * @param entityManager The entity manager to use for fetching the page
+         * @return A new query builder
+         */
+        public FullQueryBuilder<T, ?> createQuery(EntityManager entityManager);
+    }
+}
@@ -16,7 +16,9 @@
 
 package com.blazebit.persistence;
 
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.TypedQuery;
+import java.util.concurrent.Executor;
 
 /**
  * A builder for paginated criteria queries.
@@ -135,6 +137,53 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
      */
     public long getBoundedCount();
 
+    /**
+     * Allows to use a row count estimate based on database statistics instead of executing a count query.
+     * The estimate is only available for queries with a single query root that have no restrictions, grouping or inner joins
+     * and only if the DBMS exposes a row count estimate for the table. If the estimate is at least the given threshold,
+     * it is used as total size and {@link PagedList#isTotalSizeEstimated()} returns true, otherwise the count query is executed as usual.
+     * Since the estimate replaces a separately executed count query, this disables the inlining of the count query.
+     * Like the exact count, the estimate is capped at the maximum count set via {@link #withBoundedCount(long)}.
+     *
+     * @param threshold the minimum estimated row count from which on the estimate should be used instead of counting
+     * @return The query builder for chaining calls
+     * @since 1.6.10
+     */
+    public PaginatedCriteriaBuilder<T> withEstimatedCount(long threshold);
+
+    /**
+     * Returns the minimum estimated row count from which on the estimate is used instead of counting
+     * or {@link Long#MAX_VALUE} if estimation is disabled.
+     *
+     * @return the estimated count threshold
+     * @since 1.6.10
+     */
+    public long getEstimatedCountThreshold();
+
+    /**
+     * Allows to reuse the result of a previous execution of the same count query with the same parameter values
+     * for the given amount of milliseconds. The cached counts are scoped to the {@link CriteriaBuilderFactory} and are evicted
+     * when one of the entity types involved in the count query is modified through a modification query or the entity view manager.
+     * Since the cached count replaces a separately executed count query, this disables the inlining of the count query,
+     * even if it was enabled before via {@link #withInlineCountQuery(boolean)}. Enabling the inlining afterwards fails.
+     * Modifications evict the cached counts right away and again once their transaction committed.
+     * Counts of queries with CTEs, entity functions or a reference entity id are never cached.
+     *
+     * @param timeToLiveMillis the time in milliseconds for which a count may be reused or <code>0</code> to disable caching
+     * @return The query builder for chaining calls
+     * @since 1.6.10
+     * @see com.blazebit.persistence.spi.CountQueryCache
+     */
+    public PaginatedCriteriaBuilder<T> withCachedCount(long timeToLiveMillis);
+
+    /**
+     * Returns the time in milliseconds for which a count may be reused or <code>0</code> if count caching is disabled.
+     *
+     * @return the time to live of cached counts
+     * @since 1.6.10
+     */
+    public long getCachedCountTimeToLive();
+
     /**
      * Forces the use of an id query even if the pagination would not need it.
      *
@@ -192,6 +241,7 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
      *
      * @param withInlineCountQuery true to inline the count query, false otherwise
      * @return The query builder for chaining calls
+     * @throws IllegalStateException if the count query should be inlined but the count is cached via {@link #withCachedCount(long)}
      * @since 1.4.1
      */
     public PaginatedCriteriaBuilder<T> withInlineCountQuery(boolean withInlineCountQuery);
@@ -220,6 +270,34 @@ public interface PaginatedCriteriaBuilder<T> extends FullQueryBuilder<T, Paginat
     @Override
     public PagedList<T> getResultList();
 
+    /**
+     * Returns a lazy iterator over the page of this builder and all following pages which are fetched via keyset pagination.
+     * The first page is fetched with this builder when the iterator is first accessed.
+     * While a page is consumed, up to <code>prefetchDepth</code> following pages are fetched on the given executor with query builders
+     * created by the given query provider. The count query is only executed for the first page.
+     *
+     * @param queryProvider The provider for query builders that fetch the following pages
+     * @param executor The executor on which following pages are fetched
+     * @param prefetchDepth The maximum number of pages to fetch ahead, must be positive
+     * @return The iterator over the pages
+     * @since 1.6.10
+     */
+    public PagedListIterator<T> pageIterator(PagedListIterator.QueryProvider<T> queryProvider, Executor executor, int prefetchDepth);
+
+    /**
+     * Like {@link #pageIterator(PagedListIterator.QueryProvider, Executor, int)}, but fetches every following page with a new entity manager
+     * of the given entity manager factory, that is closed right after the page was fetched.
+     * This keeps the persistence context from growing over the course of the iteration.
+     *
+     * @param entityManagerFactory The entity manager factory for the entity managers that fetch the following pages
+     * @param queryProvider The provider for query builders that fetch the following pages
+     * @param executor The executor on which following pages are fetched
+     * @param prefetchDepth The maximum number of pages to fetch ahead, must be positive
+     * @return The iterator over the pages
+     * @since 1.6.10
+     */
+    public PagedListIterator<T> pageIterator(EntityManagerFactory entityManagerFactory, PagedListIterator.EntityManagerQueryProvider<T> queryProvider, Executor executor, int prefetchDepth);
+
     @Override
     public <Y> PaginatedCriteriaBuilder<Y> copy(Class<Y> resultClass);
 
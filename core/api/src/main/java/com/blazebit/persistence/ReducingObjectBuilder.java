@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence;
+
+/**
+ * An object builder that reduces multiple tuples into a single object in {@link #buildList(java.util.List)}.
+ * Such an object builder can be used for streaming as long as all tuples that are reduced into the same object
+ * are consecutive, which is the case if the query is ordered by the identifier of the result objects.
+ * Only the key of the current object is compared, so tuples that are encountered again after the tuples of other objects produce another object.
+ *
+ * @param <T> The type that this builder produces
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public interface ReducingObjectBuilder<T> extends ObjectBuilder<T> {
+
+    /**
+     * Returns the key of the object into which the given tuple is reduced, or <code>null</code> if the builder can't determine it.
+     * Consecutive tuples with equal keys are passed together to {@link #buildList(java.util.List)}.
+     *
+     * @param tuple The result tuple
+     * @return The reduction key or <code>null</code>
+     */
+    public Object getReductionKey(Object[] tuple);
+}
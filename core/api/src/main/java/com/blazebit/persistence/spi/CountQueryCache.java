@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spi;
+
+/**
+ * A cache for the results of count queries that are executed for pagination and have opted into caching
+ * via {@link com.blazebit.persistence.PaginatedCriteriaBuilder#withCachedCount(long)}.
+ * The cache is scoped to a {@link com.blazebit.persistence.CriteriaBuilderFactory} and can be obtained through
+ * {@link com.blazebit.persistence.CriteriaBuilderFactory#getService(Class)}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public interface CountQueryCache {
+
+    /**
+     * Evicts the cached counts of all count queries that involve the given entity class or one of its sub- or super types.
+     * Modification queries created through the {@link com.blazebit.persistence.CriteriaBuilderFactory} invalidate
+     * the entity class they modify automatically right away and, if the JPA provider supports that, again once their transaction committed.
+     * Other modifications are only reflected once the cached count expires.
+     *
+     * @param entityClass The entity class that was modified
+     */
+    public void invalidate(Class<?> entityClass);
+
+    /**
+     * Evicts all cached counts.
+     */
+    public void clear();
+}
@@ -125,6 +125,24 @@ public interface CriteriaBuilderConfiguration {
      */
     public List<EntityManagerFactoryIntegrator> getEntityManagerIntegrators();
 
+    /**
+     * Registers the given instrumentation listener in the configuration.
+     * If multiple listeners are registered, all of them are notified in registration order.
+     *
+     * @param instrumentationListener The listener that should be added
+     * @return this for method chaining
+     * @since 1.6.10
+     */
+    public CriteriaBuilderConfiguration registerInstrumentationListener(InstrumentationListener instrumentationListener);
+
+    /**
+     * Returns a list of registered instrumentation listeners.
+     *
+     * @return A list of registered instrumentation listeners
+     * @since 1.6.10
+     */
+    public List<InstrumentationListener> getInstrumentationListeners();
+
     /**
      * Creates a new {@linkplain CriteriaBuilderFactory} based on this configuration.
      *
@@ -379,6 +379,24 @@ public interface DbmsDialect {
      */
     public boolean supportsArbitraryLengthMultiset();
 
+    /**
+     * Returns the encoding that should be used for the rows of a multiset.
+     *
+     * @return The multiset encoding
+     * @since 1.6.10
+     */
+    public MultisetEncoding getMultisetEncoding();
+
+    /**
+     * Returns a SQL query that selects an estimate of the row count of the given table based on the statistics of the dbms,
+     * or <code>null</code> if the dbms does not support estimating the row count.
+     *
+     * @param tableName The possibly qualified table name as rendered in SQL
+     * @return The row count estimation query or <code>null</code>
+     * @since 1.6.10
+     */
+    public String getRowCountEstimateSql(String tableName);
+
     /**
      * Returns the sql type for the java class type for usage in cast expressions.
      *
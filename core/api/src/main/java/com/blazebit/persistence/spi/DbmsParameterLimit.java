@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spi;
+
+/**
+ * An optional interface for a {@link DbmsDialect} that knows the maximum number of bind parameters a single statement may contain.
+ * Dialects that don't implement this interface are assumed to support at least 2100 bind parameters.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public interface DbmsParameterLimit {
+
+    /**
+     * Returns the maximum number of bind parameters a single statement may contain.
+     *
+     * @return The maximum number of bind parameters per statement
+     */
+    public int getMaxParameterCount();
+}
@@ -68,6 +68,15 @@ public interface ExtendedManagedType<X> {
      */
     public SingularAttribute<X, ?> getIdAttribute();
 
+    /**
+     * Returns the name of the table that contains exactly one row per instance of this entity type or null.
+     *
+     * @return The table name or null
+     * @since 1.6.10
+     * @see JpaProvider#getEntityTableName(EntityType)
+     */
+    public String getEntityTableName();
+
     /**
      * Returns the id attributes or an empty set if it doesn't have an id.
      *
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.spi;
+
+/**
+ * A listener for timers and counters of query building and execution that can be registered via
+ * {@link CriteriaBuilderConfiguration#registerInstrumentationListener(InstrumentationListener)}
+ * to publish metrics or traces to a monitoring system.
+ *
+ * Events are tagged with the entity class of the query root and the entity view class if these are known,
+ * otherwise the respective tag is <code>null</code>. Timers of nested phases are reported separately,
+ * so the duration of {@link InstrumentationTimer#QUERY_EXECUTION} for example includes the duration of
+ * {@link InstrumentationTimer#OBJECT_BUILDING} and possibly {@link InstrumentationTimer#SQL_REWRITING}.
+ *
+ * When no listener is registered, no events are created and no timestamps are taken.
+ * Implementations must be thread safe and should return quickly as they are invoked on the querying thread.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public interface InstrumentationListener {
+
+    /**
+     * Invoked after a timed phase completed, regardless of whether it completed successfully.
+     *
+     * @param timer The timed phase
+     * @param entityClass The entity class of the query root or <code>null</code>
+     * @param entityViewClass The entity view class or <code>null</code>
+     * @param durationNanos The duration of the phase in nanoseconds
+     */
+    public void onTimer(InstrumentationTimer timer, Class<?> entityClass, Class<?> entityViewClass, long durationNanos);
+
+    /**
+     * Invoked when a counted event happened.
+     *
+     * @param counter The counted event
+     * @param cacheName The name of the cache the event refers to
+     * @param entityClass The entity class of the query root or <code>null</code>
+     * @param entityViewClass The entity view class or <code>null</code>
+     */
+    public void onCounter(InstrumentationCounter counter, String cacheName, Class<?> entityClass, Class<?> entityViewClass);
+}
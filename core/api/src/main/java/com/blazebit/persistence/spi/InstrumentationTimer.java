@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.spi;
+
+/**
+ * The timed phases of query building and execution reported to an {@link InstrumentationListener}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public enum InstrumentationTimer {
+    /**
+     * The parsing of an expression string that was not found in the expression cache.
+     */
+    EXPRESSION_PARSING,
+    /**
+     * The rendering of the JPQL query string of a query builder.
+     */
+    QUERY_STRING_BUILDING,
+    /**
+     * The rewriting of the SQL generated by the JPA provider for CTEs, entity functions, limits in subqueries etc.
+     */
+    SQL_REWRITING,
+    /**
+     * The execution of a query through a query builder, including the building of result objects.
+     */
+    QUERY_EXECUTION,
+    /**
+     * The building of result objects from tuples, including the reduction of tuples to entity views with collections.
+     */
+    OBJECT_BUILDING;
+}
@@ -638,6 +638,64 @@ public interface JpaProvider {
      */
     public void setSingularParameter(Query query, String name, Object value);
 
+    /**
+     * Marks the given query as read only, so that entities loaded by the query aren't tracked for changes.
+     *
+     * @param query The query to mark as read only
+     * @since 1.6.10
+     */
+    public void setReadOnly(Query query);
+
+    /**
+     * Sets the amount of rows that should be fetched with one round trip by the JDBC statement of the given query.
+     *
+     * @param query The query to set the fetch size on
+     * @param fetchSize The fetch size
+     * @since 1.6.10
+     */
+    public void setFetchSize(Query query, int fetchSize);
+
+    /**
+     * Cancels the statement that is currently executed by the given entity manager, if the provider supports that.
+     * This method is usually invoked by a different thread than the one executing the statement.
+     *
+     * @param em The entity manager
+     * @since 1.6.10
+     */
+    public void cancelQuery(EntityManager em);
+
+    /**
+     * Returns the possibly qualified name of the table that contains exactly one row per instance of the given entity type,
+     * or <code>null</code> if there is no such table, e.g. because rows are restricted by a discriminator or a where clause.
+     *
+     * @param entityType The entity type
+     * @return The table name or <code>null</code>
+     * @since 1.6.10
+     */
+    public String getEntityTableName(EntityType<?> entityType);
+
+    /**
+     * Registers the given action to be run after the currently active transaction of the given entity manager committed.
+     * Returns <code>false</code> if there is no active transaction or the provider can't access it, in which case the action is not registered.
+     *
+     * @param em The entity manager
+     * @param action The action to run after the commit
+     * @return Whether the action was registered
+     * @since 1.6.10
+     */
+    public boolean runAfterCommit(EntityManager em, Runnable action);
+
+    /**
+     * Sets the JDBC batch size that the given entity manager uses for flushing entity changes and returns the previously set batch size.
+     * If the provider does not support changing the batch size per entity manager, this does nothing and returns <code>null</code>.
+     *
+     * @param em The entity manager
+     * @param batchSize The JDBC batch size or <code>null</code> to use the configured default
+     * @return The previously set batch size or <code>null</code>
+     * @since 1.6.10
+     */
+    public Integer setJdbcBatchSize(EntityManager em, Integer batchSize);
+
     /**
      * Get the identifier or unique key inverse properties of an association attribute.
      *
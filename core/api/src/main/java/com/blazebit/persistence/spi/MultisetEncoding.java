@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spi;
+
+/**
+ * The possible encodings of the rows of a multiset.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public enum MultisetEncoding {
+    /**
+     * Every row is encoded as JSON object with a key per column.
+     */
+    JSON_OBJECT,
+    /**
+     * Every row is encoded as JSON array with the columns in select item order.
+     * If the JSON function of the DBMS can't render arrays, rows are encoded as {@link #JSON_OBJECT} instead.
+     */
+    JSON_ARRAY;
+}
@@ -154,7 +154,7 @@ public abstract class AbstractCTECriteriaBuilder<Y, X extends BaseCTECriteriaBui
             );
         } else {
             query = em.createQuery(baseQueryString);
-            if (parameterManager.getCriteriaNameMapping() != null) {
+            if (parameterManager.requiresQueryWrapper()) {
                 query = new QueryWrapper(query, parameterManager.getCriteriaNameMapping());
             }
         }
@@ -107,6 +107,8 @@ import com.blazebit.persistence.spi.DbmsStatementType;
 import com.blazebit.persistence.spi.ExtendedAttribute;
 import com.blazebit.persistence.spi.ExtendedManagedType;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
+import com.blazebit.persistence.spi.InstrumentationListener;
+import com.blazebit.persistence.spi.InstrumentationTimer;
 import com.blazebit.persistence.spi.JpqlMacro;
 import com.blazebit.persistence.spi.LateralStyle;
 import com.blazebit.persistence.spi.ServiceProvider;
@@ -874,29 +876,41 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
     }
 
     public <T> BuilderType fromValues(Class<T> valueClass, String alias, Collection<T> values) {
-        BuilderType result = fromValues(valueClass, alias, values.size());
+        BuilderType result = fromValues(valueClass, alias, getValuesCount(values));
         setParameter(alias, values);
         return result;
     }
 
     public BuilderType fromValues(Class<?> entityBaseClass, String attributeName, String alias, Collection<?> values) {
-        BuilderType result = fromValues(entityBaseClass, attributeName, alias, values.size());
+        BuilderType result = fromValues(entityBaseClass, attributeName, alias, getValuesCount(values));
         setParameter(alias, values);
         return result;
     }
 
     public <T> BuilderType fromIdentifiableValues(Class<T> valueClass, String alias, Collection<T> values) {
-        BuilderType result = fromIdentifiableValues(valueClass, alias, values.size());
+        BuilderType result = fromIdentifiableValues(valueClass, alias, getValuesCount(values));
         setParameter(alias, values);
         return result;
     }
 
     public <T> BuilderType fromIdentifiableValues(Class<T> valueClass, String identifierAttribute, String alias, Collection<T> values) {
-        BuilderType result = fromIdentifiableValues(valueClass, identifierAttribute, alias, values.size());
+        BuilderType result = fromIdentifiableValues(valueClass, identifierAttribute, alias, getValuesCount(values));
         setParameter(alias, values);
         return result;
     }
 
+    private int getValuesCount(Collection<?> values) {
+        int valueCount = values.size();
+        QueryConfiguration queryConfiguration = mainQuery.getQueryConfiguration();
+        if (valueCount < 2 || !queryConfiguration.isValuesClausePaddingEnabled() || !queryConfiguration.isValuesClauseFilterNullsEnabled()) {
+            return valueCount;
+        }
+        // Round up to a bucket boundary, the binder sets the parameters of the additional rows to null which are then filtered out
+        // Buckets are an eighth of the next lower power of two wide, so at most 12.5% additional rows are bound
+        int bucketSize = Math.max(1, Integer.highestOneBit(valueCount - 1) >> 3);
+        return (valueCount + bucketSize - 1) / bucketSize * bucketSize;
+    }
+
     public BuilderType fromIdentifiableValues(Class<?> valueClass, String alias, int valueCount) {
         return fromIdentifiableValues(valueClass, null, alias, valueCount);
     }
@@ -2870,8 +2884,10 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
                 mainQuery.jpaProvider.setCacheable(query);
             }
 
-            parameterManager.parameterizeQuery(query);
-            return applyObjectBuilder(query);
+            // Bind parameters through the wrapper so that padded list parameters still expose the unpadded value
+            TypedQuery<QueryResultType> typedQuery = applyObjectBuilder(query);
+            parameterManager.parameterizeQuery(typedQuery);
+            return typedQuery;
         }
 
         TypedQuery<QueryResultType> baseQuery = (TypedQuery<QueryResultType>) em.createQuery(baseQueryString, selectManager.getExpectedQueryResultType());
@@ -3576,7 +3592,17 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
             return buildLateralBaseQueryString(lateralSb, lateralJoinNode);
         }
         if (cachedQueryString == null) {
-            cachedQueryString = buildBaseQueryString(false);
+            InstrumentationListener instrumentationListener = cbf.getInstrumentationListener();
+            if (instrumentationListener == null) {
+                cachedQueryString = buildBaseQueryString(false);
+            } else {
+                long start = System.nanoTime();
+                try {
+                    cachedQueryString = buildBaseQueryString(false);
+                } finally {
+                    instrumentationListener.onTimer(InstrumentationTimer.QUERY_STRING_BUILDING, getInstrumentationEntityClass(), null, System.nanoTime() - start);
+                }
+            }
         }
 
         return cachedQueryString;
@@ -3584,12 +3610,36 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
 
     protected String getExternalQueryString() {
         if (cachedExternalQueryString == null) {
-            cachedExternalQueryString = buildExternalQueryString();
+            InstrumentationListener instrumentationListener = cbf.getInstrumentationListener();
+            if (instrumentationListener == null) {
+                cachedExternalQueryString = buildExternalQueryString();
+            } else {
+                long start = System.nanoTime();
+                try {
+                    cachedExternalQueryString = buildExternalQueryString();
+                } finally {
+                    instrumentationListener.onTimer(InstrumentationTimer.QUERY_STRING_BUILDING, getInstrumentationEntityClass(), null, System.nanoTime() - start);
+                }
+            }
         }
 
         return cachedExternalQueryString;
     }
 
+    /**
+     * Returns the entity class of the first query root with which instrumentation events are tagged.
+     *
+     * @return the entity class of the first query root or <code>null</code>
+     */
+    public Class<?> getInstrumentationEntityClass() {
+        List<JoinNode> roots = joinManager.getRoots();
+        return roots.isEmpty() ? null : roots.get(0).getJavaType();
+    }
+
+    protected final void recordQueryExecution(InstrumentationListener instrumentationListener, long start) {
+        instrumentationListener.onTimer(InstrumentationTimer.QUERY_EXECUTION, getInstrumentationEntityClass(), null, System.nanoTime() - start);
+    }
+
     protected Set<JoinNode> getKeyRestrictedLeftJoins() {
         if (needsCheck) {
             throw new IllegalStateException("Can't access key restricted left joins when query builder wasn't checked yet!");
@@ -4007,7 +4057,7 @@ public abstract class AbstractCommonQueryBuilder<QueryResultType, BuilderType, S
         ObjectBuilder<QueryResultType> selectObjectBuilder = selectManager.getSelectObjectBuilder();
         if (selectObjectBuilder != null) {
             return new ObjectBuilderTypedQuery<>(query, query instanceof AbstractCustomQuery<?> ? null : parameterManager.getCriteriaNameMapping(), selectObjectBuilder);
-        } else if (parameterManager.getCriteriaNameMapping() != null) {
+        } else if (parameterManager.getCriteriaNameMapping() != null || !(query instanceof AbstractCustomQuery<?>) && parameterManager.isParameterListPaddingRequired()) {
             return new TypedQueryWrapper<>((TypedQuery<QueryResultType>) query, parameterManager.getCriteriaNameMapping());
         } else {
             return (TypedQuery<QueryResultType>) query;
@@ -665,8 +665,11 @@ public abstract class AbstractFullQueryBuilder<T, X extends FullQueryBuilder<T,
                 if (isCacheable()) {
                     mainQuery.jpaProvider.setCacheable(countQuery);
                 }
+                if (parameterManager.requiresQueryWrapper()) {
+                    countQuery = new TypedQueryWrapper<>(countQuery, parameterManager.getCriteriaNameMapping());
+                }
                 parameterManager.parameterizeQuery(countQuery);
-                return parameterManager.getCriteriaNameMapping() == null ? countQuery : new TypedQueryWrapper<>(countQuery, parameterManager.getCriteriaNameMapping());
+                return countQuery;
             }
             parameters = (Collection<Parameter<?>>) (Collection<?>) parameterManager.getParameterImpls();
             valuesParameters = parameterManager.getValuesParameters();
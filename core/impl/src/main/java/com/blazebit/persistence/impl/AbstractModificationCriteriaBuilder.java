@@ -41,6 +41,7 @@ import com.blazebit.persistence.spi.DbmsModificationState;
 import com.blazebit.persistence.spi.DbmsStatementType;
 import com.blazebit.persistence.spi.ExtendedAttribute;
 import com.blazebit.persistence.spi.ExtendedManagedType;
+import com.blazebit.persistence.spi.InstrumentationListener;
 import com.blazebit.persistence.spi.JoinTable;
 import com.blazebit.persistence.spi.JpaMetamodelAccessor;
 
@@ -242,7 +243,7 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
             );
         } else {
             query = em.createQuery(getBaseQueryStringWithCheck(null, null));
-            if (parameterManager.getCriteriaNameMapping() != null) {
+            if (parameterManager.requiresQueryWrapper()) {
                 query = new QueryWrapper(query, parameterManager.getCriteriaNameMapping());
             }
         }
@@ -252,7 +253,36 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
     }
 
     public int executeUpdate() {
-        return getQuery().executeUpdate();
+        Query query = getQuery();
+        InstrumentationListener instrumentationListener = cbf.getInstrumentationListener();
+        if (instrumentationListener == null) {
+            return invalidateCountQueryCache(query.executeUpdate());
+        }
+        long start = System.nanoTime();
+        try {
+            return invalidateCountQueryCache(query.executeUpdate());
+        } finally {
+            recordQueryExecution(instrumentationListener, start);
+        }
+    }
+
+    private <R> R invalidateCountQueryCache(R result) {
+        final CountQueryCacheImpl countQueryCache = cbf.getCountQueryCache();
+        if (!countQueryCache.isUsed()) {
+            return result;
+        }
+        final Class<?> entityClass = entityType.getJavaType();
+        Runnable invalidation = new Runnable() {
+            @Override
+            public void run() {
+                countQueryCache.invalidate(entityClass);
+            }
+        };
+        // Evict right away so that the current transaction doesn't see stale counts,
+        // and again after the commit as other transactions could have cached the old state in the meantime
+        invalidation.run();
+        mainQuery.jpaProvider.runAfterCommit(em, invalidation);
+        return result;
     }
     
     @Override
@@ -318,7 +348,7 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
     }
 
     public ReturningResult<Tuple> executeWithReturning(String... attributes) {
-        return getWithReturningQuery(attributes).getSingleResult();
+        return invalidateCountQueryCache(getWithReturningQuery(attributes).getSingleResult());
     }
 
     public TypedQuery<ReturningResult<Tuple>> getWithReturningQuery(String... attributes) {
@@ -337,7 +367,7 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
     }
 
     public <Z> ReturningResult<Z> executeWithReturning(String attribute, Class<Z> type) {
-        return getWithReturningQuery(attribute, type).getSingleResult();
+        return invalidateCountQueryCache(getWithReturningQuery(attribute, type).getSingleResult());
     }
 
     @SuppressWarnings("unchecked")
@@ -369,7 +399,7 @@ public abstract class AbstractModificationCriteriaBuilder<T, X extends BaseModif
     }
 
     public <Z> ReturningResult<Z> executeWithReturning(ReturningObjectBuilder<Z> objectBuilder) {
-        return getWithReturningQuery(objectBuilder).getSingleResult();
+        return invalidateCountQueryCache(getWithReturningQuery(objectBuilder).getSingleResult());
     }
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -24,6 +24,7 @@ import javax.persistence.TypedQuery;
 import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.Queryable;
 import com.blazebit.persistence.spi.DbmsStatementType;
+import com.blazebit.persistence.spi.InstrumentationListener;
 
 /**
  *
@@ -55,12 +56,32 @@ public abstract class AbstractQueryBuilder<T, X extends Queryable<T, X>, Z, W, F
 
     @Override
     public List<T> getResultList() {
-        return getQuery().getResultList();
+        TypedQuery<T> query = getQuery();
+        InstrumentationListener instrumentationListener = cbf.getInstrumentationListener();
+        if (instrumentationListener == null) {
+            return query.getResultList();
+        }
+        long start = System.nanoTime();
+        try {
+            return query.getResultList();
+        } finally {
+            recordQueryExecution(instrumentationListener, start);
+        }
     }
 
     @Override
     public T getSingleResult() {
-        return getQuery().getSingleResult();
+        TypedQuery<T> query = getQuery();
+        InstrumentationListener instrumentationListener = cbf.getInstrumentationListener();
+        if (instrumentationListener == null) {
+            return query.getSingleResult();
+        }
+        long start = System.nanoTime();
+        try {
+            return query.getSingleResult();
+        } finally {
+            recordQueryExecution(instrumentationListener, start);
+        }
     }
 
     @Override
@@ -38,6 +38,7 @@ import com.blazebit.persistence.parser.expression.PropertyExpression;
 import com.blazebit.persistence.parser.expression.StringLiteral;
 import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
 import com.blazebit.persistence.spi.DbmsStatementType;
+import com.blazebit.persistence.spi.InstrumentationListener;
 import com.blazebit.persistence.spi.OrderByElement;
 import com.blazebit.persistence.spi.SetOperationType;
 
@@ -504,11 +505,31 @@ public abstract class BaseFinalSetOperationBuilderImpl<T, X extends BaseFinalSet
     }
 
     public List<T> getResultList() {
-        return getTypedQuery(null, null).getResultList();
+        TypedQuery<T> query = getTypedQuery(null, null);
+        InstrumentationListener instrumentationListener = cbf.getInstrumentationListener();
+        if (instrumentationListener == null) {
+            return query.getResultList();
+        }
+        long start = System.nanoTime();
+        try {
+            return query.getResultList();
+        } finally {
+            recordQueryExecution(instrumentationListener, start);
+        }
     }
 
     public T getSingleResult() {
-        return getTypedQuery(null, null).getSingleResult();
+        TypedQuery<T> query = getTypedQuery(null, null);
+        InstrumentationListener instrumentationListener = cbf.getInstrumentationListener();
+        if (instrumentationListener == null) {
+            return query.getSingleResult();
+        }
+        long start = System.nanoTime();
+        try {
+            return query.getSingleResult();
+        } finally {
+            recordQueryExecution(instrumentationListener, start);
+        }
     }
 
     public Stream<T> getResultStream() {
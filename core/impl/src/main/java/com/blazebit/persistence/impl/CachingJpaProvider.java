@@ -414,6 +414,36 @@ public final class CachingJpaProvider implements JpaProvider {
         jpaProvider.setSingularParameter(query, name, value);
     }
 
+    @Override
+    public void setReadOnly(Query query) {
+        jpaProvider.setReadOnly(query);
+    }
+
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        jpaProvider.setFetchSize(query, fetchSize);
+    }
+
+    @Override
+    public void cancelQuery(EntityManager em) {
+        jpaProvider.cancelQuery(em);
+    }
+
+    @Override
+    public String getEntityTableName(EntityType<?> entityType) {
+        return entityMetamodel.getManagedType(ExtendedManagedType.class, entityType).getEntityTableName();
+    }
+
+    @Override
+    public boolean runAfterCommit(EntityManager em, Runnable action) {
+        return jpaProvider.runAfterCommit(em, action);
+    }
+
+    @Override
+    public Integer setJdbcBatchSize(EntityManager em, Integer batchSize) {
+        return jpaProvider.setJdbcBatchSize(em, batchSize);
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> owner, String attributeName) {
         // TODO: cache this via extended metamodel
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.spi.InstrumentationCounter;
+import com.blazebit.persistence.spi.InstrumentationListener;
+import com.blazebit.persistence.spi.InstrumentationTimer;
+
+import java.util.List;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class CompositeInstrumentationListener implements InstrumentationListener {
+
+    private final InstrumentationListener[] listeners;
+
+    private CompositeInstrumentationListener(InstrumentationListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    public static InstrumentationListener of(List<InstrumentationListener> listeners) {
+        if (listeners.isEmpty()) {
+            return null;
+        } else if (listeners.size() == 1) {
+            return listeners.get(0);
+        }
+        return new CompositeInstrumentationListener(listeners.toArray(new InstrumentationListener[listeners.size()]));
+    }
+
+    @Override
+    public void onTimer(InstrumentationTimer timer, Class<?> entityClass, Class<?> entityViewClass, long durationNanos) {
+        for (InstrumentationListener listener : listeners) {
+            listener.onTimer(timer, entityClass, entityViewClass, durationNanos);
+        }
+    }
+
+    @Override
+    public void onCounter(InstrumentationCounter counter, String cacheName, Class<?> entityClass, Class<?> entityViewClass) {
+        for (InstrumentationListener listener : listeners) {
+            listener.onCounter(counter, cacheName, entityClass, entityViewClass);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.parser.util.BoundedCache;
+import com.blazebit.persistence.spi.CountQueryCache;
+import com.blazebit.persistence.spi.JpaProvider;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size bounded cache for the results of count queries. Results are cached per count query string and parameter values
+ * and are tagged with the entity classes the count query involves, so that modifications of these entity types can evict them.
+ * The keys don't retain the parameter values, but immutable copies of them. Entities are represented by their type and identifier.
+ * The keys are additionally indexed by the entity classes they are tagged with, so that an invalidation only has to visit the affected entries.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class CountQueryCacheImpl implements CountQueryCache {
+
+    private static final Object UNCACHEABLE = new Object();
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class
+    ));
+
+    private final int maxSize;
+    private final EntityMetamodelImpl metamodel;
+    private final JpaProvider jpaProvider;
+    private final BoundedCache<Key, Entry> entries;
+    private final ConcurrentMap<Class<?>, Set<Key>> keysByEntityClass = new ConcurrentHashMap<>();
+    // Used to detect invalidations that happen while a count query executes
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private volatile boolean used;
+
+    public CountQueryCacheImpl(int maxSize, EntityMetamodelImpl metamodel, JpaProvider jpaProvider) {
+        this.maxSize = maxSize;
+        this.metamodel = metamodel;
+        this.jpaProvider = jpaProvider;
+        if (maxSize == 0) {
+            this.entries = null;
+        } else {
+            this.entries = new BoundedCache<>(maxSize, new BoundedCache.EvictionListener<Key, Entry>() {
+                @Override
+                public void onEviction(Key key, Entry value) {
+                    unindex(key, value.entityClasses);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the region for the results of the given count query or <code>null</code> if caching is disabled.
+     *
+     * @param queryString The count query string
+     * @param entityClasses The entity classes that influence the count
+     * @param timeToLiveMillis The time in milliseconds for which a cached count may be reused
+     * @return The region or <code>null</code>
+     */
+    public Region getRegion(String queryString, Set<Class<?>> entityClasses, long timeToLiveMillis) {
+        if (maxSize == 0) {
+            return null;
+        }
+        used = true;
+        return new Region(this, queryString, entityClasses, TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis));
+    }
+
+    /**
+     * Returns whether modifications have to invalidate this cache, which is only the case if it is enabled
+     * and a count query opted into caching since the creation of the cache.
+     *
+     * @return Whether modifications have to invalidate the cache
+     */
+    public boolean isUsed() {
+        return used;
+    }
+
+    @Override
+    public void invalidate(Class<?> entityClass) {
+        if (!used) {
+            return;
+        }
+        // Increment first so that concurrently computed counts that weren't indexed yet are discarded by put
+        invalidationCount.incrementAndGet();
+        if (keysByEntityClass.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Class<?>, Set<Key>> entry : keysByEntityClass.entrySet()) {
+            Class<?> c = entry.getKey();
+            // Consider entity inheritance in both directions
+            if (c.isAssignableFrom(entityClass) || entityClass.isAssignableFrom(c)) {
+                for (Key key : entry.getValue()) {
+                    Entry removedEntry = entries.remove(key);
+                    if (removedEntry != null) {
+                        unindex(key, removedEntry.entityClasses);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (maxSize == 0) {
+            return;
+        }
+        invalidationCount.incrementAndGet();
+        entries.clear();
+        keysByEntityClass.clear();
+    }
+
+    public int size() {
+        return maxSize == 0 ? 0 : (int) entries.getStatistics().getSize();
+    }
+
+    private void index(Key key, Set<Class<?>> entityClasses) {
+        for (Class<?> entityClass : entityClasses) {
+            Set<Key> keys = keysByEntityClass.get(entityClass);
+            if (keys == null) {
+                keys = Collections.newSetFromMap(new ConcurrentHashMap<Key, Boolean>());
+                Set<Key> existingKeys = keysByEntityClass.putIfAbsent(entityClass, keys);
+                if (existingKeys != null) {
+                    keys = existingKeys;
+                }
+            }
+            keys.add(key);
+        }
+    }
+
+    private void unindex(Key key, Set<Class<?>> entityClasses) {
+        for (Class<?> entityClass : entityClasses) {
+            Set<Key> keys = keysByEntityClass.get(entityClass);
+            if (keys != null) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    private Key createKey(Region region, Map<String, Object> parameterValues) {
+        Map<String, Object> keyValues = new HashMap<>(parameterValues.size());
+        for (Map.Entry<String, Object> entry : parameterValues.entrySet()) {
+            Object keyValue = toKeyValue(entry.getValue());
+            if (keyValue == UNCACHEABLE) {
+                return null;
+            }
+            keyValues.put(entry.getKey(), keyValue);
+        }
+        return new Key(region.queryString, keyValues);
+    }
+
+    // Returns an immutable representation of the given parameter value that can be retained or UNCACHEABLE
+    private Object toKeyValue(Object value) {
+        if (value == null || value instanceof Enum<?> || value instanceof Class<?> || IMMUTABLE_TYPES.contains(value.getClass())
+                || value.getClass().getName().startsWith("java.time.")) {
+            return value;
+        }
+        if (value instanceof Date) {
+            return ((Date) value).clone();
+        }
+        if (value instanceof Calendar) {
+            return ((Calendar) value).clone();
+        }
+        if (value instanceof Collection<?>) {
+            Collection<?> collection = (Collection<?>) value;
+            List<Object> keyValues = new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                Object keyValue = toKeyValue(element);
+                if (keyValue == UNCACHEABLE) {
+                    return UNCACHEABLE;
+                }
+                keyValues.add(keyValue);
+            }
+            return keyValues;
+        }
+        // Entity proxies are subclasses of the entity class
+        Class<?> entityClass = value.getClass();
+        while (entityClass != null && metamodel.getEntity(entityClass) == null) {
+            entityClass = entityClass.getSuperclass();
+        }
+        if (entityClass == null) {
+            return UNCACHEABLE;
+        }
+        Object id = jpaProvider.getIdentifier(value);
+        Object idKeyValue = id == null ? UNCACHEABLE : toKeyValue(id);
+        if (idKeyValue == UNCACHEABLE) {
+            return UNCACHEABLE;
+        }
+        return new EntityReference(entityClass, idKeyValue);
+    }
+
+    private Long get(Region region, Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        // The time to live of the reading query decides, as queries with different time to live share the entries
+        if (System.nanoTime() - entry.creationNanos > region.timeToLiveNanos) {
+            return null;
+        }
+        return entry.count;
+    }
+
+    private void put(Region region, Key key, long count, long expectedInvalidationCount) {
+        // Don't cache a count that might have been computed before a concurrent modification
+        if (invalidationCount.get() != expectedInvalidationCount) {
+            return;
+        }
+        Entry entry = new Entry(region.entityClasses, count, System.nanoTime());
+        // Replace an expired entry
+        entries.remove(key);
+        entries.putIfAbsent(key, entry);
+        index(key, entry.entityClasses);
+        if (!entries.containsKey(key)) {
+            // The entry wasn't admitted or was evicted right away
+            unindex(key, entry.entityClasses);
+        } else if (invalidationCount.get() != expectedInvalidationCount) {
+            // An invalidation that ran before the entry was indexed could have missed it
+            if (entries.remove(key) != null) {
+                unindex(key, entry.entityClasses);
+            }
+        }
+    }
+
+    /**
+     * The cached results of a count query.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static final class Region {
+
+        private final CountQueryCacheImpl cache;
+        private final String queryString;
+        private final Set<Class<?>> entityClasses;
+        private final long timeToLiveNanos;
+
+        private Region(CountQueryCacheImpl cache, String queryString, Set<Class<?>> entityClasses, long timeToLiveNanos) {
+            this.cache = cache;
+            this.queryString = queryString;
+            this.entityClasses = entityClasses;
+            this.timeToLiveNanos = timeToLiveNanos;
+        }
+
+        /**
+         * Returns the key for the given parameter values or <code>null</code> if a parameter value can't be represented in a key.
+         *
+         * @param parameterValues The parameter values of the count query
+         * @return The key or <code>null</code>
+         */
+        public Key createKey(Map<String, Object> parameterValues) {
+            return cache.createKey(this, parameterValues);
+        }
+
+        /**
+         * Returns the invalidation count that has to be passed to {@link #put(Key, long, long)} after executing the count query.
+         *
+         * @return The current invalidation count
+         */
+        public long getInvalidationCount() {
+            return cache.invalidationCount.get();
+        }
+
+        /**
+         * Returns the cached count for the given key or <code>null</code>.
+         *
+         * @param key The key of the count query parameter values
+         * @return The cached count or <code>null</code>
+         */
+        public Long get(Key key) {
+            return cache.get(this, key);
+        }
+
+        public void put(Key key, long count, long invalidationCount) {
+            cache.put(this, key, count, invalidationCount);
+        }
+    }
+
+    /**
+     * The count query string along with immutable representations of the parameter values.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static final class Key {
+
+        private final String queryString;
+        private final Map<String, Object> parameterValues;
+        private final int hash;
+
+        private Key(String queryString, Map<String, Object> parameterValues) {
+            this.queryString = queryString;
+            this.parameterValues = parameterValues;
+            this.hash = 31 * queryString.hashCode() + parameterValues.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return queryString.equals(key.queryString) && parameterValues.equals(key.parameterValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class EntityReference {
+
+        private final Class<?> entityClass;
+        private final Object id;
+
+        public EntityReference(Class<?> entityClass, Object id) {
+            this.entityClass = entityClass;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EntityReference)) {
+                return false;
+            }
+            EntityReference that = (EntityReference) o;
+            return entityClass.equals(that.entityClass) && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entityClass.hashCode() + id.hashCode();
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class Entry {
+
+        private final Set<Class<?>> entityClasses;
+        private final long count;
+        private final long creationNanos;
+
+        public Entry(Set<Class<?>> entityClasses, long count, long creationNanos) {
+            this.entityClasses = entityClasses;
+            this.count = count;
+            this.creationNanos = creationNanos;
+        }
+    }
+}
@@ -524,6 +524,7 @@ import com.blazebit.persistence.spi.CriteriaBuilderConfigurationContributor;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.EntityManagerFactoryIntegrator;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
+import com.blazebit.persistence.spi.InstrumentationListener;
 import com.blazebit.persistence.spi.JpqlFunction;
 import com.blazebit.persistence.spi.JpqlFunctionGroup;
 import com.blazebit.persistence.spi.JpqlFunctionKind;
@@ -563,6 +564,7 @@ public class CriteriaBuilderConfigurationImpl implements CriteriaBuilderConfigur
     private final Map<String, Class<?>> treatTypes = new HashMap<String, Class<?>>();
     private final Map<String, JpqlMacro> macros = new HashMap<String, JpqlMacro>();
     private final List<EntityManagerFactoryIntegrator> entityManagerIntegrators = new ArrayList<EntityManagerFactoryIntegrator>();
+    private final List<InstrumentationListener> instrumentationListeners = new ArrayList<InstrumentationListener>();
     private PackageOpener packageOpener;
     private Properties properties = new Properties();
     private ExtendedQuerySupport extendedQuerySupport;
@@ -1699,7 +1701,7 @@ public class CriteriaBuilderConfigurationImpl implements CriteriaBuilderConfigur
             for (Map.Entry<String, DbmsDialect> dialectEntry : this.dbmsDialects.entrySet()) {
                 AbstractToStringJsonFunction jsonFunction = (AbstractToStringJsonFunction) jsonFunctionGroup.get(dialectEntry.getKey());
                 AbstractToStringXmlFunction xmlFunction = (AbstractToStringXmlFunction) xmlFunctionGroup.get(dialectEntry.getKey());
-                jpqlFunctionGroup.add(dialectEntry.getKey(), new ToMultisetFunction(jsonFunction, xmlFunction));
+                jpqlFunctionGroup.add(dialectEntry.getKey(), new ToMultisetFunction(jsonFunction, xmlFunction, dialectEntry.getValue().getMultisetEncoding()));
             }
         }
         registerFunction(jpqlFunctionGroup);
@@ -1951,6 +1953,7 @@ public class CriteriaBuilderConfigurationImpl implements CriteriaBuilderConfigur
         properties.put(ConfigurationProperties.COMPATIBLE_MODE, "false");
         properties.put(ConfigurationProperties.RETURNING_CLAUSE_CASE_SENSITIVE, "true");
         properties.put(ConfigurationProperties.EXPRESSION_CACHE_CLASS, ConcurrentHashMapExpressionCache.class.getName());
+        properties.put(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_WEIGHT, "100000");
         properties.put(ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING, "true");
         properties.put(ConfigurationProperties.INLINE_ID_QUERY, "auto");
         properties.put(ConfigurationProperties.INLINE_COUNT_QUERY, "auto");
@@ -2073,6 +2076,17 @@ public class CriteriaBuilderConfigurationImpl implements CriteriaBuilderConfigur
         return entityManagerIntegrators;
     }
 
+    @Override
+    public CriteriaBuilderConfiguration registerInstrumentationListener(InstrumentationListener instrumentationListener) {
+        instrumentationListeners.add(instrumentationListener);
+        return this;
+    }
+
+    @Override
+    public List<InstrumentationListener> getInstrumentationListeners() {
+        return instrumentationListeners;
+    }
+
     @Override
     public CriteriaBuilderFactory createCriteriaBuilderFactory(EntityManagerFactory emf) {
         return new CriteriaBuilderFactoryImpl(this, emf);
@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.impl;
 
+import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.CriteriaBuilderFactory;
 import com.blazebit.persistence.DeleteCriteriaBuilder;
@@ -23,7 +24,9 @@ import com.blazebit.persistence.InsertCriteriaBuilder;
 import com.blazebit.persistence.LeafOngoingFinalSetOperationCriteriaBuilder;
 import com.blazebit.persistence.StartOngoingSetOperationCriteriaBuilder;
 import com.blazebit.persistence.UpdateCriteriaBuilder;
+import com.blazebit.persistence.impl.query.CustomSqlCache;
 import com.blazebit.persistence.parser.FunctionKind;
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
 import com.blazebit.persistence.parser.expression.ExpressionCache;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.parser.expression.ExpressionFactoryImpl;
@@ -31,9 +34,11 @@ import com.blazebit.persistence.parser.expression.MacroConfiguration;
 import com.blazebit.persistence.parser.expression.SimpleCachingExpressionFactory;
 import com.blazebit.persistence.parser.expression.SubqueryExpressionFactory;
 import com.blazebit.persistence.spi.ConfigurationSource;
+import com.blazebit.persistence.spi.CountQueryCache;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.EntityManagerFactoryIntegrator;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
+import com.blazebit.persistence.spi.InstrumentationListener;
 import com.blazebit.persistence.spi.JpaProvider;
 import com.blazebit.persistence.spi.JpaProviderFactory;
 import com.blazebit.persistence.spi.JpqlFunction;
@@ -67,6 +72,9 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
     private final ExpressionFactory expressionFactory;
     private final ExpressionFactory subqueryExpressionFactory;
     private final QueryConfiguration queryConfiguration;
+    private final InstrumentationListener instrumentationListener;
+    private final CountQueryCacheImpl countQueryCache;
+    private final CustomSqlCache customSqlCache;
 
     private final MacroConfiguration macroConfiguration;
     private final String configuredDbms;
@@ -116,19 +124,110 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
         this.registeredFunctionNames = caseInsensitiveFunctions(configuredRegisteredFunctions);
         this.namedTypes = resolveNamedTypes(config.getNamedTypes());
 
+        this.instrumentationListener = CompositeInstrumentationListener.of(config.getInstrumentationListeners());
+        this.countQueryCache = new CountQueryCacheImpl(getNonNegativeInteger(config.getProperty(ConfigurationProperties.COUNT_QUERY_CACHE_SIZE), ConfigurationProperties.COUNT_QUERY_CACHE_SIZE, 1000), metamodel, jpaProvider);
+
         ExpressionFactory originalExpressionFactory = new ExpressionFactoryImpl(functions, metamodel.getEntityTypes(), metamodel.getEnumTypes(), metamodel.getEnumTypesForLiterals(), !compatibleMode, optimize);
-        this.expressionCache = createCache(queryConfiguration.getExpressionCacheClass());
-        ExpressionFactory cachingExpressionFactory = new SimpleCachingExpressionFactory(originalExpressionFactory, expressionCache);
-        ExpressionFactory cachingSubqueryExpressionFactory = new SimpleCachingExpressionFactory(new SubqueryExpressionFactory(functions, metamodel.getEntityTypes(), metamodel.getEnumTypes(), metamodel.getEnumTypesForLiterals(), !compatibleMode, optimize, originalExpressionFactory));
+        ExpressionFactory originalSubqueryExpressionFactory = new SubqueryExpressionFactory(functions, metamodel.getEntityTypes(), metamodel.getEnumTypes(), metamodel.getEnumTypesForLiterals(), !compatibleMode, optimize, originalExpressionFactory);
+        this.expressionCache = createCache(queryConfiguration.getExpressionCacheClass(), (Map<String, String>) (Map<?, ?>) config.getProperties());
+        // Subquery expressions are parsed differently, so they need a separate cache with the same bounds
+        ExpressionCache subqueryExpressionCache = createCache(queryConfiguration.getExpressionCacheClass(), (Map<String, String>) (Map<?, ?>) config.getProperties());
+        this.customSqlCache = createCustomSqlCache((Map<String, String>) (Map<?, ?>) config.getProperties());
+        ExpressionFactory cachingExpressionFactory;
+        ExpressionFactory cachingSubqueryExpressionFactory;
+        if (instrumentationListener == null) {
+            cachingExpressionFactory = new SimpleCachingExpressionFactory(originalExpressionFactory, expressionCache);
+            cachingSubqueryExpressionFactory = new SimpleCachingExpressionFactory(originalSubqueryExpressionFactory, subqueryExpressionCache);
+        } else {
+            // Only the parsing that happens on a cache miss is timed
+            cachingExpressionFactory = new SimpleCachingExpressionFactory(
+                    new InstrumentingExpressionFactory(originalExpressionFactory, instrumentationListener),
+                    new InstrumentingExpressionCache<>(expressionCache, instrumentationListener)
+            );
+            cachingSubqueryExpressionFactory = new SimpleCachingExpressionFactory(
+                    new InstrumentingExpressionFactory(originalSubqueryExpressionFactory, instrumentationListener),
+                    new InstrumentingExpressionCache<>(subqueryExpressionCache, instrumentationListener)
+            );
+        }
         this.macroConfiguration = MacroConfiguration.of(JpqlMacroAdapter.createMacros(config.getMacros(), cachingExpressionFactory));
         JpqlMacroStorage macroStorage = new JpqlMacroStorage(null, macroConfiguration);
         this.expressionFactory = new JpqlMacroAwareExpressionFactory(cachingExpressionFactory, macroStorage);
         this.subqueryExpressionFactory = new JpqlMacroAwareExpressionFactory(cachingSubqueryExpressionFactory, macroStorage);
     }
 
-    private ExpressionCache createCache(String className) {
+    private static int getNonNegativeInteger(String value, String propertyName, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        int intValue;
+        try {
+            intValue = Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for the configuration property " + propertyName + "! Expected a non-negative integer.", ex);
+        }
+        if (intValue < 0) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for the configuration property " + propertyName + "! Expected a non-negative integer.");
+        }
+        return intValue;
+    }
+
+    private static long getPositiveLong(String value, String propertyName) {
+        if (value != null && !value.isEmpty()) {
+            try {
+                long longValue = Long.parseLong(value.trim());
+                if (longValue > 0) {
+                    return longValue;
+                }
+            } catch (NumberFormatException ex) {
+                // Fall through
+            }
+        }
+        throw new IllegalArgumentException("Invalid value '" + value + "' for the configuration property " + propertyName + "! Expected a positive number.");
+    }
+
+    private static Map<String, Long> getExpressionCacheMaximumWeights(Map<String, String> properties) {
+        String prefix = ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_WEIGHT + ".";
+        Map<String, Long> maximumWeights = new HashMap<>();
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                maximumWeights.put(entry.getKey().substring(prefix.length()), getPositiveLong(entry.getValue(), entry.getKey()));
+            }
+        }
+        return maximumWeights;
+    }
+
+    private static CustomSqlCache createCustomSqlCache(Map<String, String> properties) {
+        // The transformed SQL is cached separately from expressions, but is bounded by the same configuration
+        Long maximumWeight = getExpressionCacheMaximumWeights(properties).get(CustomSqlCache.CACHE_NAME);
+        if (maximumWeight == null) {
+            maximumWeight = getPositiveLong(properties.get(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_WEIGHT), ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_WEIGHT);
+        }
+        return new CustomSqlCache(maximumWeight);
+    }
+
+    private ExpressionCache createCache(String className, Map<String, String> properties) {
+        Class<?> cacheClass;
+        try {
+            cacheClass = Class.forName(className);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException("Could not instantiate expression cache: " + className, ex);
+        }
+        if (BoundedExpressionCache.class.isAssignableFrom(cacheClass)) {
+            long maximumWeight = getPositiveLong(properties.get(ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_WEIGHT), ConfigurationProperties.EXPRESSION_CACHE_MAXIMUM_WEIGHT);
+            Map<String, Long> maximumWeights = getExpressionCacheMaximumWeights(properties);
+            try {
+                return (ExpressionCache) cacheClass.getConstructor(long.class, Map.class).newInstance(maximumWeight, maximumWeights);
+            } catch (Exception ex) {
+                throw new IllegalArgumentException("Could not instantiate expression cache: " + className, ex);
+            }
+        }
         try {
-            return (ExpressionCache) Class.forName(className).newInstance();
+            try {
+                // Caches can optionally be configured through the configuration properties
+                return (ExpressionCache) cacheClass.getConstructor(Map.class).newInstance(properties);
+            } catch (NoSuchMethodException ex) {
+                return (ExpressionCache) cacheClass.newInstance();
+            }
         } catch (Exception ex) {
             throw new IllegalArgumentException("Could not instantiate expression cache: " + className, ex);
         }
@@ -224,6 +323,14 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
         return expressionCache;
     }
 
+    public InstrumentationListener getInstrumentationListener() {
+        return instrumentationListener;
+    }
+
+    public CountQueryCacheImpl getCountQueryCache() {
+        return countQueryCache;
+    }
+
     public ExpressionFactory getExpressionFactory() {
         return expressionFactory;
     }
@@ -366,6 +473,12 @@ public class CriteriaBuilderFactoryImpl implements CriteriaBuilderFactory {
             return (T) jpaProvider;
         } else if (ExpressionCache.class.equals(serviceClass)) {
             return (T) expressionCache;
+        } else if (InstrumentationListener.class.equals(serviceClass)) {
+            return (T) instrumentationListener;
+        } else if (CountQueryCache.class.equals(serviceClass)) {
+            return (T) countQueryCache;
+        } else if (CustomSqlCache.class.equals(serviceClass)) {
+            return (T) customSqlCache;
         } else if (Metamodel.class.isAssignableFrom(serviceClass)) {
             return (T) metamodel;
         } else if (EntityManagerFactory.class.equals(serviceClass)) {
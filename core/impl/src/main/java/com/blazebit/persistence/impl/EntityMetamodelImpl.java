@@ -173,7 +173,8 @@ public class EntityMetamodelImpl implements EntityMetamodel {
 
         Map<Object, ExtendedManagedTypeImpl<?>> extendedManagedTypes = new HashMap<>(temporaryExtendedManagedTypes.size());
         for (TemporaryExtendedManagedType value : new HashSet<>(temporaryExtendedManagedTypes.values())) {
-            ExtendedManagedTypeImpl<?> extendedManagedType = new ExtendedManagedTypeImpl(value.managedType, value.singularOwnerType, value.pluralOwnerType, value.cascadingDeleteCycle, initAttributes(value.attributes));
+            String entityTableName = value.managedType instanceof EntityType<?> ? jpaProvider.getEntityTableName((EntityType<?>) value.managedType) : null;
+            ExtendedManagedTypeImpl<?> extendedManagedType = new ExtendedManagedTypeImpl(value.managedType, value.singularOwnerType, value.pluralOwnerType, value.cascadingDeleteCycle, entityTableName, initAttributes(value.attributes));
             extendedManagedTypes.put(JpaMetamodelUtils.getTypeName(value.managedType), extendedManagedType);
             if (value.managedType.getJavaType() != null) {
                 extendedManagedTypes.put(value.managedType.getJavaType(), extendedManagedType);
@@ -728,13 +729,14 @@ public class EntityMetamodelImpl implements EntityMetamodel {
         private final Map.Entry<EntityType<?>, String> singularOwnerType;
         private final Map.Entry<EntityType<?>, String> pluralOwnerType;
         private final boolean hasCascadingDeleteCycle;
+        private final String entityTableName;
         private final Set<SingularAttribute<X, ?>> idAttributes;
         private final Map<String, AttributeEntry<?, ?>> attributes;
         private final Map<String, AttributeEntry<?, ?>> ownedAttributes;
         private final Map<String, AttributeEntry<?, ?>> ownedSingularAttributes;
 
         @SuppressWarnings("unchecked")
-        private ExtendedManagedTypeImpl(ManagedType<X> managedType, Map.Entry<EntityType<?>, String> singularOwnerType, Map.Entry<EntityType<?>, String> pluralOwnerType, boolean hasCascadingDeleteCycle, Map<String, AttributeEntry<?, ?>> attributes) {
+        private ExtendedManagedTypeImpl(ManagedType<X> managedType, Map.Entry<EntityType<?>, String> singularOwnerType, Map.Entry<EntityType<?>, String> pluralOwnerType, boolean hasCascadingDeleteCycle, String entityTableName, Map<String, AttributeEntry<?, ?>> attributes) {
             this.managedType = managedType;
             this.singularOwnerType = singularOwnerType;
             this.pluralOwnerType = pluralOwnerType;
@@ -744,6 +746,7 @@ public class EntityMetamodelImpl implements EntityMetamodel {
                 this.idAttributes = Collections.emptySet();
             }
             this.hasCascadingDeleteCycle = hasCascadingDeleteCycle;
+            this.entityTableName = entityTableName;
             this.attributes = attributes;
             Map<String, AttributeEntry<?, ?>> ownedAttributes = new HashMap<>(attributes.size());
             Map<String, AttributeEntry<?, ?>> ownedSingularAttributes = new HashMap<>(attributes.size());
@@ -799,6 +802,11 @@ public class EntityMetamodelImpl implements EntityMetamodel {
             return null;
         }
 
+        @Override
+        public String getEntityTableName() {
+            return entityTableName;
+        }
+
         @Override
         public Set<SingularAttribute<X, ?>> getIdAttributes() {
             return idAttributes;
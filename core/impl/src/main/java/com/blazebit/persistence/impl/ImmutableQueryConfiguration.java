@@ -39,7 +39,9 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
     private final boolean implicitGroupByFromHavingEnabled;
     private final boolean implicitGroupByFromOrderByEnabled;
     private final boolean valuesClauseFilterNullsEnabled;
+    private final boolean valuesClausePaddingEnabled;
     private final boolean parameterAsLiteralRenderingEnabled;
+    private final boolean parameterListPaddingEnabled;
     private final boolean optimizedKeysetPredicateRenderingEnabled;
     private final Boolean inlineIdQuery;
     private final Boolean inlineCountQuery;
@@ -57,7 +59,9 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         this.implicitGroupByFromHavingEnabled =             getBooleanProperty(properties, ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_HAVING,       "true");
         this.implicitGroupByFromOrderByEnabled =            getBooleanProperty(properties, ConfigurationProperties.IMPLICIT_GROUP_BY_FROM_ORDER_BY,     "true");
         this.valuesClauseFilterNullsEnabled =               getBooleanProperty(properties, ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS,          "true");
+        this.valuesClausePaddingEnabled =                   getBooleanProperty(properties, ConfigurationProperties.VALUES_CLAUSE_PADDING,               "false");
         this.parameterAsLiteralRenderingEnabled =           getBooleanProperty(properties, ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING,      "true");
+        this.parameterListPaddingEnabled =                  getBooleanProperty(properties, ConfigurationProperties.PARAMETER_LIST_PADDING,              "false");
         this.optimizedKeysetPredicateRenderingEnabled =     getBooleanProperty(properties, ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING,"true");
         String inlineIdQuery =                              getProperty(properties, ConfigurationProperties.INLINE_ID_QUERY,                            "auto");
         String inlineCountQuery =                           getProperty(properties, ConfigurationProperties.INLINE_COUNT_QUERY,                         "auto");
@@ -113,11 +117,21 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         return valuesClauseFilterNullsEnabled;
     }
 
+    @Override
+    public boolean isValuesClausePaddingEnabled() {
+        return valuesClausePaddingEnabled;
+    }
+
     @Override
     public boolean isParameterAsLiteralRenderingEnabled() {
         return parameterAsLiteralRenderingEnabled;
     }
 
+    @Override
+    public boolean isParameterListPaddingEnabled() {
+        return parameterListPaddingEnabled;
+    }
+
     @Override
     public boolean isOptimizedKeysetPredicateRenderingEnabled() {
         return optimizedKeysetPredicateRenderingEnabled;
@@ -165,7 +179,9 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
             case ConfigurationProperties.EXPRESSION_OPTIMIZATION: return Boolean.toString(expressionOptimizationEnabled);
             case ConfigurationProperties.EXPRESSION_CACHE_CLASS: return expressionCacheClass;
             case ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS: return Boolean.toString(valuesClauseFilterNullsEnabled);
+            case ConfigurationProperties.VALUES_CLAUSE_PADDING: return Boolean.toString(valuesClausePaddingEnabled);
             case ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING: return Boolean.toString(parameterAsLiteralRenderingEnabled);
+            case ConfigurationProperties.PARAMETER_LIST_PADDING: return Boolean.toString(parameterListPaddingEnabled);
             case ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING: return Boolean.toString(optimizedKeysetPredicateRenderingEnabled);
             case ConfigurationProperties.INLINE_ID_QUERY: return inlineIdQuery == null ? "auto" : Boolean.toString(inlineIdQuery);
             case ConfigurationProperties.INLINE_COUNT_QUERY: return inlineIdQuery == null ? "auto" : Boolean.toString(inlineIdQuery);
@@ -187,7 +203,9 @@ public class ImmutableQueryConfiguration extends AbstractQueryConfiguration {
         properties.put(ConfigurationProperties.EXPRESSION_OPTIMIZATION, Boolean.toString(expressionOptimizationEnabled));
         properties.put(ConfigurationProperties.EXPRESSION_CACHE_CLASS, expressionCacheClass);
         properties.put(ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS, Boolean.toString(valuesClauseFilterNullsEnabled));
+        properties.put(ConfigurationProperties.VALUES_CLAUSE_PADDING, Boolean.toString(valuesClausePaddingEnabled));
         properties.put(ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING, Boolean.toString(parameterAsLiteralRenderingEnabled));
+        properties.put(ConfigurationProperties.PARAMETER_LIST_PADDING, Boolean.toString(parameterListPaddingEnabled));
         properties.put(ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING, Boolean.toString(optimizedKeysetPredicateRenderingEnabled));
         properties.put(ConfigurationProperties.INLINE_ID_QUERY, getInlineIdQueryEnabled() == null ? "auto" : Boolean.toString(getInlineIdQueryEnabled()));
         properties.put(ConfigurationProperties.INLINE_COUNT_QUERY, getInlineCountQueryEnabled() == null ? "auto" : Boolean.toString(getInlineCountQueryEnabled()));
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.parser.expression.ExpressionCache;
+import com.blazebit.persistence.spi.InstrumentationCounter;
+import com.blazebit.persistence.spi.InstrumentationListener;
+
+/**
+ * An expression cache that reports cache hits and misses to an {@link InstrumentationListener}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class InstrumentingExpressionCache<T> implements ExpressionCache<T> {
+
+    private final ExpressionCache<T> delegate;
+    private final InstrumentationListener listener;
+
+    public InstrumentingExpressionCache(ExpressionCache<T> delegate, InstrumentationListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public T get(String cacheName, Key key) {
+        T value = delegate.get(cacheName, key);
+        listener.onCounter(value == null ? InstrumentationCounter.CACHE_MISS : InstrumentationCounter.CACHE_HIT, cacheName, null, null);
+        return value;
+    }
+
+    @Override
+    public T putIfAbsent(String cacheName, Key key, T value) {
+        return delegate.putIfAbsent(cacheName, key, value);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.parser.expression.AbstractExpressionFactoryMacroAdapter;
+import com.blazebit.persistence.parser.expression.Expression;
+import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.parser.expression.MacroConfiguration;
+import com.blazebit.persistence.parser.predicate.Predicate;
+import com.blazebit.persistence.spi.InstrumentationListener;
+import com.blazebit.persistence.spi.InstrumentationTimer;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An expression factory that reports the time spent for parsing to an {@link InstrumentationListener}.
+ * It is meant to be wrapped by a caching expression factory, so that only actual parsing is timed.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class InstrumentingExpressionFactory extends AbstractExpressionFactoryMacroAdapter {
+
+    private final ExpressionFactory delegate;
+    private final InstrumentationListener listener;
+
+    public InstrumentingExpressionFactory(ExpressionFactory delegate, InstrumentationListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public <T extends ExpressionFactory> T unwrap(Class<T> clazz) {
+        if (InstrumentingExpressionFactory.class.isAssignableFrom(clazz)) {
+            return (T) this;
+        }
+        return delegate.unwrap(clazz);
+    }
+
+    @Override
+    public MacroConfiguration getDefaultMacroConfiguration() {
+        return delegate.getDefaultMacroConfiguration();
+    }
+
+    @Override
+    public Expression createPathExpression(String expression, MacroConfiguration macroConfiguration, Set<String> usedMacros) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createPathExpression(expression, macroConfiguration, usedMacros);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public Expression createSimpleExpression(String expression, boolean allowOuter, boolean allowQuantifiedPredicates, boolean allowObjectExpression, MacroConfiguration macroConfiguration, Set<String> usedMacros) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createSimpleExpression(expression, allowOuter, allowQuantifiedPredicates, allowObjectExpression, macroConfiguration, usedMacros);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public List<Expression> createInItemExpressions(String[] parameterOrLiteralExpressions, MacroConfiguration macroConfiguration, Set<String> usedMacros) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createInItemExpressions(parameterOrLiteralExpressions, macroConfiguration, usedMacros);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public Expression createInItemExpression(String parameterOrLiteralExpression, MacroConfiguration macroConfiguration, Set<String> usedMacros) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createInItemExpression(parameterOrLiteralExpression, macroConfiguration, usedMacros);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public Expression createInItemOrPathExpression(String parameterOrLiteralExpression, MacroConfiguration macroConfiguration, Set<String> usedMacros) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createInItemOrPathExpression(parameterOrLiteralExpression, macroConfiguration, usedMacros);
+        } finally {
+            record(start);
+        }
+    }
+
+    @Override
+    public Predicate createBooleanExpression(String expression, boolean allowQuantifiedPredicates, MacroConfiguration macroConfiguration, Set<String> usedMacros) {
+        long start = System.nanoTime();
+        try {
+            return delegate.createBooleanExpression(expression, allowQuantifiedPredicates, macroConfiguration, usedMacros);
+        } finally {
+            record(start);
+        }
+    }
+
+    private void record(long start) {
+        listener.onTimer(InstrumentationTimer.EXPRESSION_PARSING, null, null, System.nanoTime() - start);
+    }
+}
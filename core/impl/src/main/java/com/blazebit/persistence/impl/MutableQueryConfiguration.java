@@ -37,7 +37,9 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
     private boolean implicitGroupByFromHavingEnabled;
     private boolean implicitGroupByFromOrderByEnabled;
     private boolean valuesClauseFilterNullsEnabled;
+    private boolean valuesClausePaddingEnabled;
     private boolean parameterAsLiteralRenderingEnabled;
+    private boolean parameterListPaddingEnabled;
     private boolean optimizedKeysetPredicateRenderingEnabled;
     private boolean cacheable;
     private Boolean inlineIdQuery;
@@ -55,7 +57,9 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
         this.implicitGroupByFromHavingEnabled = queryConfiguration.isImplicitGroupByFromHavingEnabled();
         this.implicitGroupByFromOrderByEnabled = queryConfiguration.isImplicitGroupByFromOrderByEnabled();
         this.valuesClauseFilterNullsEnabled = queryConfiguration.isValuesClauseFilterNullsEnabled();
+        this.valuesClausePaddingEnabled = queryConfiguration.isValuesClausePaddingEnabled();
         this.parameterAsLiteralRenderingEnabled = queryConfiguration.isParameterAsLiteralRenderingEnabled();
+        this.parameterListPaddingEnabled = queryConfiguration.isParameterListPaddingEnabled();
         this.optimizedKeysetPredicateRenderingEnabled = queryConfiguration.isOptimizedKeysetPredicateRenderingEnabled();
         this.cacheable = queryConfiguration.isCacheable();
         this.inlineIdQuery = queryConfiguration.getInlineIdQueryEnabled();
@@ -108,11 +112,21 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
         return valuesClauseFilterNullsEnabled;
     }
 
+    @Override
+    public boolean isValuesClausePaddingEnabled() {
+        return valuesClausePaddingEnabled;
+    }
+
     @Override
     public boolean isParameterAsLiteralRenderingEnabled() {
         return parameterAsLiteralRenderingEnabled;
     }
 
+    @Override
+    public boolean isParameterListPaddingEnabled() {
+        return parameterListPaddingEnabled;
+    }
+
     @Override
     public boolean isOptimizedKeysetPredicateRenderingEnabled() {
         return optimizedKeysetPredicateRenderingEnabled;
@@ -168,7 +182,9 @@ public class MutableQueryConfiguration extends AbstractQueryConfiguration {
             case ConfigurationProperties.EXPRESSION_OPTIMIZATION:               throw propertySetNotAllowed(propertyName);
             case ConfigurationProperties.EXPRESSION_CACHE_CLASS:                throw propertySetNotAllowed(propertyName);
             case ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS:            valuesClauseFilterNullsEnabled = booleanOrFail(propertyName, propertyValue); break;
+            case ConfigurationProperties.VALUES_CLAUSE_PADDING:                 valuesClausePaddingEnabled = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.PARAMETER_AS_LITERAL_RENDERING:        parameterAsLiteralRenderingEnabled = booleanOrFail(propertyName, propertyValue); break;
+            case ConfigurationProperties.PARAMETER_LIST_PADDING:                parameterListPaddingEnabled = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.OPTIMIZED_KEYSET_PREDICATE_RENDERING:  optimizedKeysetPredicateRenderingEnabled = booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.INLINE_ID_QUERY:                       inlineIdQuery = "auto".equalsIgnoreCase(propertyValue) ? null : booleanOrFail(propertyName, propertyValue); break;
             case ConfigurationProperties.INLINE_COUNT_QUERY:                    inlineCountQuery = "auto".equalsIgnoreCase(propertyValue) ? null : booleanOrFail(propertyName, propertyValue); break;
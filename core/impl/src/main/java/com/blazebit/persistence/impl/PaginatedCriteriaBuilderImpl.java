@@ -21,11 +21,13 @@ import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.HavingOrBuilder;
+import com.blazebit.persistence.JoinType;
 import com.blazebit.persistence.Keyset;
 import com.blazebit.persistence.KeysetPage;
 import com.blazebit.persistence.MultipleSubqueryInitiator;
 import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.PagedListIterator;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
 import com.blazebit.persistence.RestrictionBuilder;
 import com.blazebit.persistence.SelectObjectBuilder;
@@ -65,9 +67,14 @@ import com.blazebit.persistence.parser.predicate.EqPredicate;
 import com.blazebit.persistence.parser.predicate.InPredicate;
 import com.blazebit.persistence.parser.predicate.Predicate;
 import com.blazebit.persistence.spi.AttributeAccessor;
+import com.blazebit.persistence.spi.InstrumentationListener;
 
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.FlushModeType;
 import javax.persistence.Parameter;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -78,6 +85,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -98,6 +106,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
     private Boolean withInlineIdQuery;
     private boolean withInlineCountQuery;
     private long maximumCount = Long.MAX_VALUE;
+    private long estimatedCountThreshold = Long.MAX_VALUE;
+    private long cachedCountTimeToLive;
     private int highestOffset = 0;
     private final KeysetPage keysetPage;
     private final ResolvedExpression[] identifierExpressions;
@@ -171,6 +181,12 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         builder.withCountQuery(withCountQuery);
         builder.withForceIdQuery(withForceIdQuery);
         builder.withHighestKeysetOffset(highestOffset);
+        if (estimatedCountThreshold != Long.MAX_VALUE) {
+            builder.withEstimatedCount(estimatedCountThreshold);
+        }
+        if (cachedCountTimeToLive != 0) {
+            builder.withCachedCount(cachedCountTimeToLive);
+        }
         return builder;
     }
 
@@ -317,6 +333,39 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return maximumCount;
     }
 
+    @Override
+    public PaginatedCriteriaBuilder<T> withEstimatedCount(long threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("The estimated count threshold must be positive");
+        }
+        this.estimatedCountThreshold = threshold;
+        // The estimate replaces a separately executed count query, so the count query must not be inlined
+        return withInlineCountQuery(false);
+    }
+
+    @Override
+    public long getEstimatedCountThreshold() {
+        return estimatedCountThreshold;
+    }
+
+    @Override
+    public PaginatedCriteriaBuilder<T> withCachedCount(long timeToLiveMillis) {
+        if (timeToLiveMillis < 0) {
+            throw new IllegalArgumentException("The cached count time to live may not be negative");
+        }
+        this.cachedCountTimeToLive = timeToLiveMillis;
+        if (timeToLiveMillis == 0) {
+            return this;
+        }
+        // The cached count replaces a separately executed count query, so the count query must not be inlined
+        return withInlineCountQuery(false);
+    }
+
+    @Override
+    public long getCachedCountTimeToLive() {
+        return cachedCountTimeToLive;
+    }
+
     @Override
     public PaginatedCriteriaBuilder<T> withForceIdQuery(boolean withForceIdQuery) {
         this.withForceIdQuery = withForceIdQuery;
@@ -387,6 +436,8 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         if (withInlineCountQuery) {
             if (entityId != null) {
                 throw new IllegalStateException("Can't inline the count query when paginating to a page by entity id!");
+            } else if (cachedCountTimeToLive != 0) {
+                throw new IllegalStateException("Can't inline the count query when the count is cached!");
             } else if (!mainQuery.jpaProvider.supportsSubqueryAliasShadowing()) {
                 throw new IllegalStateException("Can't inline the count query because the JPA provider does not support subquery alias shadowing!");
             }
@@ -462,8 +513,11 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (isCacheable()) {
                 mainQuery.jpaProvider.setCacheable(countQuery);
             }
+            if (parameterManager.requiresQueryWrapper()) {
+                countQuery = new TypedQueryWrapper<>(countQuery, parameterManager.getCriteriaNameMapping());
+            }
             parameterManager.parameterizeQuery(countQuery);
-            return parameterManager.getCriteriaNameMapping() == null ? countQuery : new TypedQueryWrapper<>(countQuery, parameterManager.getCriteriaNameMapping());
+            return countQuery;
         }
 
         TypedQuery<X> baseQuery = em.createQuery(countQueryString, resultType);
@@ -588,6 +642,10 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
                 maximumCount != Long.MAX_VALUE,
                 highestOffset,
                 countQuery,
+                getRowCountEstimateQuery(inlinedCountQuery),
+                estimatedCountThreshold,
+                maximumCount,
+                getCountQueryCacheRegion(countQueryString, inlinedCountQuery),
                 idQuery,
                 objectQuery,
                 objectBuilder,
@@ -608,9 +666,125 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
         return query;
     }
 
+    private Query getRowCountEstimateQuery(boolean inlinedCountQuery) {
+        // Statistics only describe whole tables, so the estimate is only usable if every root row is counted exactly once
+        if (estimatedCountThreshold == Long.MAX_VALUE || entityId != null || !withCountQuery || firstResult >= maximumCount || inlinedCountQuery
+                || !mainQuery.supportsAdvancedSql() || joinManager.getRoots().size() != 1 || hasGroupBy || selectManager.isDistinct()
+                || whereManager.hasPredicates() || havingManager.hasPredicates() || mainQuery.cteManager.hasCtes() || joinManager.hasEntityFunctions()) {
+            return null;
+        }
+        JoinNode rootNode = joinManager.getRoots().get(0);
+        EntityType<?> entityType = rootNode.getEntityType();
+        if (entityType == null || rootNode.getValueCount() != 0 || !hasOnlyLeftJoins(rootNode)) {
+            return null;
+        }
+
+        // The table name is resolved once from the metamodel and is null if the table also contains rows of other types
+        String tableName = mainQuery.jpaProvider.getEntityTableName(entityType);
+        if (tableName == null) {
+            return null;
+        }
+        String estimateSql = mainQuery.dbmsDialect.getRowCountEstimateSql(tableName);
+        if (estimateSql == null) {
+            return null;
+        }
+        Query rowCountEstimateQuery = em.createNativeQuery(estimateSql);
+        rowCountEstimateQuery.setFlushMode(FlushModeType.COMMIT);
+        return rowCountEstimateQuery;
+    }
+
+    private CountQueryCacheImpl.Region getCountQueryCacheRegion(String countQueryString, boolean inlinedCountQuery) {
+        // Without CTEs and entity functions, the count query string and the parameter values fully determine the count
+        if (cachedCountTimeToLive == 0 || entityId != null || !withCountQuery || firstResult >= maximumCount || inlinedCountQuery
+                || mainQuery.cteManager.hasCtes()) {
+            return null;
+        }
+        Set<Class<?>> entityClasses = new QueryEntityClassCollector().collect(this);
+        if (entityClasses == null) {
+            return null;
+        }
+        return cbf.getCountQueryCache().getRegion(countQueryString, entityClasses, cachedCountTimeToLive);
+    }
+
+    private static boolean hasOnlyLeftJoins(JoinNode node) {
+        for (JoinTreeNode treeNode : node.getNodes().values()) {
+            for (JoinNode joinNode : treeNode.getJoinNodes().values()) {
+                if (joinNode.getJoinType() != JoinType.LEFT || !hasOnlyLeftJoins(joinNode)) {
+                    return false;
+                }
+            }
+        }
+        for (JoinNode joinNode : node.getTreatedJoinNodes().values()) {
+            if (joinNode.getJoinType() != JoinType.LEFT || !hasOnlyLeftJoins(joinNode)) {
+                return false;
+            }
+        }
+        for (JoinNode joinNode : node.getEntityJoinNodes()) {
+            if (joinNode.getJoinType() != JoinType.LEFT || !hasOnlyLeftJoins(joinNode)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public PagedList<T> getResultList() {
-        return getQuery().getResultList();
+        PaginatedTypedQueryImpl<T> query = getQuery();
+        InstrumentationListener instrumentationListener = cbf.getInstrumentationListener();
+        if (instrumentationListener == null) {
+            return query.getResultList();
+        }
+        long start = System.nanoTime();
+        try {
+            return query.getResultList();
+        } finally {
+            recordQueryExecution(instrumentationListener, start);
+        }
+    }
+
+    /**
+     * Returns the result list with an extracted keyset, without changing the keyset extraction setting of this builder.
+     * Copying the builder is not an option, as a copy loses the object builder e.g. of an entity view.
+     *
+     * @return The result list
+     */
+    PagedList<T> getResultListWithKeysetExtraction() {
+        if (keysetExtraction) {
+            return getResultList();
+        }
+        // The query strings depend on the keyset extraction, so they have to be rebuilt when changing it
+        keysetExtraction = true;
+        prepareForModification(ClauseType.SELECT);
+        try {
+            return getResultList();
+        } finally {
+            keysetExtraction = false;
+            prepareForModification(ClauseType.SELECT);
+        }
+    }
+
+    @Override
+    public PagedListIterator<T> pageIterator(PagedListIterator.QueryProvider<T> queryProvider, Executor executor, int prefetchDepth) {
+        return new PrefetchingPagedListIterator<>(this, queryProvider, mainQuery.jpaProvider, executor, prefetchDepth, maxResults, getPageIteratorIdentifierExpressions());
+    }
+
+    @Override
+    public PagedListIterator<T> pageIterator(EntityManagerFactory entityManagerFactory, PagedListIterator.EntityManagerQueryProvider<T> queryProvider, Executor executor, int prefetchDepth) {
+        return new PrefetchingPagedListIterator<>(this, entityManagerFactory, queryProvider, mainQuery.jpaProvider, executor, prefetchDepth, maxResults, getPageIteratorIdentifierExpressions());
+    }
+
+    private String[] getPageIteratorIdentifierExpressions() {
+        if (entityId != null) {
+            throw new IllegalStateException("Iterating pages is not supported when navigating to an entity");
+        }
+        String[] identifierExpressionStrings = null;
+        if (identifierExpressions != null) {
+            identifierExpressionStrings = new String[identifierExpressions.length];
+            for (int i = 0; i < identifierExpressions.length; i++) {
+                identifierExpressionStrings[i] = identifierExpressions[i].getExpressionString();
+            }
+        }
+        return identifierExpressionStrings;
     }
 
     @Override
@@ -925,6 +1099,10 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (isCacheable()) {
                 mainQuery.jpaProvider.setCacheable(query);
             }
+            if (parameterManager.isParameterListPaddingRequired()) {
+                // Criteria parameters are mapped by the wrapper that is applied at the end
+                query = new TypedQueryWrapper<>(query, null);
+            }
             boolean externalIdQuery = !isWithInlineIdQuery() && (hasCollections || withForceIdQuery);
             if (!externalIdQuery && firstResult < maximumCount && withCountQuery && withInlineCountQuery && maximumCount != Long.MAX_VALUE) {
                 parameterManager.parameterizeQuery(query, getDualNodeAlias());
@@ -1016,13 +1194,16 @@ public class PaginatedCriteriaBuilderImpl<T> extends AbstractFullQueryBuilder<T,
             if (isCacheable()) {
                 mainQuery.jpaProvider.setCacheable(idQuery);
             }
+            if (parameterManager.requiresQueryWrapper()) {
+                idQuery = new TypedQueryWrapper<>(idQuery, parameterManager.getCriteriaNameMapping());
+            }
             if (firstResult < maximumCount && withCountQuery && withInlineCountQuery && maximumCount != Long.MAX_VALUE) {
                 parameterManager.parameterizeQuery(idQuery, getDualNodeAlias());
                 idQuery.setParameter(getDualNodeAlias() + "_value_0", 0L);
             } else {
                 parameterManager.parameterizeQuery(idQuery);
             }
-            return parameterManager.getCriteriaNameMapping() == null ? idQuery : new TypedQueryWrapper<>(idQuery, parameterManager.getCriteriaNameMapping());
+            return idQuery;
         }
 
         TypedQuery<Object[]> baseQuery = em.createQuery(idQueryString, Object[].class);
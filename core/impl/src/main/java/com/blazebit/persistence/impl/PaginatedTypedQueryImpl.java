@@ -62,6 +62,10 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
     private final boolean boundedCount;
     private final int highestOffset;
     private final TypedQuery<?> countQuery;
+    private final Query rowCountEstimateQuery;
+    private final long estimatedCountThreshold;
+    private final long maximumCount;
+    private final CountQueryCacheImpl.Region countQueryCacheRegion;
     private final TypedQuery<?> idQuery;
     private final TypedQuery<X> objectQuery;
     private final ObjectBuilder<X> objectBuilder;
@@ -82,13 +86,18 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
     private final boolean inlinedIdQuery;
     private final boolean inlinedCountQuery;
 
-    public PaginatedTypedQueryImpl(boolean withExtractAllKeysets, boolean withCount, boolean boundedCount, int highestOffset, TypedQuery<?> countQuery, TypedQuery<?> idQuery, TypedQuery<X> objectQuery, ObjectBuilder<X> objectBuilder, Collection<ParameterManager.ParameterImpl<?>> parameters, Map<ParameterExpression<?>, String> criteriaNameMapping,
+    public PaginatedTypedQueryImpl(boolean withExtractAllKeysets, boolean withCount, boolean boundedCount, int highestOffset, TypedQuery<?> countQuery, Query rowCountEstimateQuery, long estimatedCountThreshold, long maximumCount, CountQueryCacheImpl.Region countQueryCacheRegion,
+                                   TypedQuery<?> idQuery, TypedQuery<X> objectQuery, ObjectBuilder<X> objectBuilder, Collection<ParameterManager.ParameterImpl<?>> parameters, Map<ParameterExpression<?>, String> criteriaNameMapping,
                                    Object entityId, int firstResult, int pageSize, int identifierCount, boolean needsNewIdList, int[] keysetToSelectIndexMapping, KeysetMode keysetMode, KeysetPage keysetPage, boolean forceFirstResult, boolean inlinedIdQuery, boolean inlinedCountQuery) {
         this.withExtractAllKeysets = withExtractAllKeysets;
         this.withCount = withCount;
         this.boundedCount = boundedCount;
         this.highestOffset = highestOffset;
         this.countQuery = countQuery;
+        this.rowCountEstimateQuery = rowCountEstimateQuery;
+        this.estimatedCountThreshold = estimatedCountThreshold;
+        this.maximumCount = maximumCount;
+        this.countQueryCacheRegion = countQueryCacheRegion;
         this.idQuery = idQuery;
         this.objectQuery = objectQuery;
         this.objectBuilder = objectBuilder;
@@ -176,14 +185,61 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
 
     @Override
     public long getTotalCount() {
-        return ((Number) countQuery.getSingleResult()).longValue();
+        if (countQueryCacheRegion == null) {
+            return ((Number) countQuery.getSingleResult()).longValue();
+        }
+        Map<String, Object> parameterValues = getCountQueryParameterValues();
+        if (parameterValues == null) {
+            return ((Number) countQuery.getSingleResult()).longValue();
+        }
+        CountQueryCacheImpl.Key key = countQueryCacheRegion.createKey(parameterValues);
+        if (key == null) {
+            return ((Number) countQuery.getSingleResult()).longValue();
+        }
+        Long cachedCount = countQueryCacheRegion.get(key);
+        if (cachedCount != null) {
+            return cachedCount;
+        }
+        long invalidationCount = countQueryCacheRegion.getInvalidationCount();
+        long count = ((Number) countQuery.getSingleResult()).longValue();
+        countQueryCacheRegion.put(key, count, invalidationCount);
+        return count;
+    }
+
+    private Map<String, Object> getCountQueryParameterValues() {
+        Set<Parameter<?>> countQueryParameters = countQuery.getParameters();
+        Map<String, Object> parameterValues = new HashMap<>(countQueryParameters.size());
+        for (Parameter<?> parameter : countQueryParameters) {
+            if (!countQuery.isBound(parameter)) {
+                // Let the query execution report the unbound parameter
+                return null;
+            }
+            parameterValues.put(getParameterName(parameter), countQuery.getParameterValue(parameter));
+        }
+        return parameterValues;
+    }
+
+    private long getEstimatedTotalCount() {
+        if (rowCountEstimateQuery == null) {
+            return -1L;
+        }
+        List<?> result = rowCountEstimateQuery.getResultList();
+        if (result.isEmpty() || !(result.get(0) instanceof Number)) {
+            return -1L;
+        }
+        long estimate = ((Number) result.get(0)).longValue();
+        if (estimate < estimatedCountThreshold) {
+            return -1L;
+        }
+        // Like the exact count, the estimate must not exceed the bound of the count
+        return Math.min(estimate, maximumCount);
     }
 
     @Override
     public List<X> getPageResultList() {
         int queryFirstResult = firstResult;
         int firstRow = firstResult;
-        return getResultList(queryFirstResult, firstRow, -1L);
+        return getResultList(queryFirstResult, firstRow, -1L, false);
     }
 
     @Override
@@ -192,9 +248,14 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
         int queryFirstResult = firstResult;
         int firstRow = firstResult;
         long totalSize = -1L;
+        boolean totalSizeEstimated = false;
         if (withCount && !inlinedCountQuery) {
-            if (entityId == null) {
-                totalSize = ((Number) countQuery.getSingleResult()).longValue();
+            long estimatedTotalSize = getEstimatedTotalCount();
+            if (estimatedTotalSize != -1L) {
+                totalSize = estimatedTotalSize;
+                totalSizeEstimated = true;
+            } else if (entityId == null) {
+                totalSize = getTotalCount();
             } else {
                 Object[] result = (Object[]) countQuery.getSingleResult();
                 totalSize = ((Number) result[0]).longValue();
@@ -215,10 +276,10 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
             return new PagedArrayList<X>(null, totalSize, queryFirstResult, pageSize);
         }
 
-        return getResultList(queryFirstResult, firstRow, totalSize);
+        return getResultList(queryFirstResult, firstRow, totalSize, totalSizeEstimated);
     }
 
-    private PagedList<X> getResultList(int queryFirstResult, int firstRow, long totalSize) {
+    private PagedList<X> getResultList(int queryFirstResult, int firstRow, long totalSize, boolean totalSizeEstimated) {
         if (idQuery != null) {
             idQuery.setMaxResults(pageSize);
 
@@ -249,7 +310,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                         size = Math.max(size, firstRow);
                     }
                 }
-                return new PagedArrayList<X>(newKeysetPage, size, queryFirstResult, pageSize);
+                return new PagedArrayList<X>(newKeysetPage, size, queryFirstResult, pageSize, totalSizeEstimated);
             }
 
             Serializable[] lowest = null;
@@ -387,7 +448,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
             totalSize = Math.max(totalSize, firstRow + ids.size());
             List<X> queryResultList = objectQuery.getResultList();
 
-            PagedList<X> pagedResultList = new PagedArrayList<X>(queryResultList, newKeyset, totalSize, queryFirstResult, pageSize);
+            PagedList<X> pagedResultList = new PagedArrayList<X>(queryResultList, newKeyset, totalSize, queryFirstResult, pageSize, totalSizeEstimated);
             return pagedResultList;
         } else {
             if (!inlinedIdQuery) {
@@ -424,7 +485,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
                     }
                 }
 
-                return new PagedArrayList<X>(newKeysetPage, totalSize, queryFirstResult, pageSize);
+                return new PagedArrayList<X>(newKeysetPage, totalSize, queryFirstResult, pageSize, totalSizeEstimated);
             }
 
             if (keysetMode == KeysetMode.PREVIOUS) {
@@ -465,7 +526,7 @@ public class PaginatedTypedQueryImpl<X> implements PaginatedTypedQuery<X> {
 
             totalSize = Math.max(totalSize, firstRow + result.size());
 
-            PagedList<X> pagedResultList = new PagedArrayList<X>(result, newKeyset, totalSize, queryFirstResult, pageSize);
+            PagedList<X> pagedResultList = new PagedArrayList<X>(result, newKeyset, totalSize, queryFirstResult, pageSize, totalSizeEstimated);
             return pagedResultList;
         }
     }
@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.impl;
 
+import com.blazebit.persistence.impl.query.ParameterListPaddingQuery;
 import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ParameterExpression;
@@ -66,6 +67,7 @@ public class ParameterManager {
     private int counter;
     private final JpaProvider jpaProvider;
     private final EntityMetamodel entityMetamodel;
+    private final MainQuery mainQuery;
     private final Map<String, ParameterImpl<?>> parameters = new TreeMap<>();
     private final Map<String, String> valuesParameters = new TreeMap<>();
     private final ParameterRegistrationVisitor parameterRegistrationVisitor;
@@ -73,9 +75,10 @@ public class ParameterManager {
     private Map<javax.persistence.criteria.ParameterExpression<?>, String> criteriaNameMapping;
     private int positionalOffset = -1; // Records the last positional parameter index that was used
 
-    public ParameterManager(JpaProvider jpaProvider, EntityMetamodel entityMetamodel) {
+    public ParameterManager(JpaProvider jpaProvider, EntityMetamodel entityMetamodel, MainQuery mainQuery) {
         this.jpaProvider = jpaProvider;
         this.entityMetamodel = entityMetamodel;
+        this.mainQuery = mainQuery;
         this.parameterRegistrationVisitor = new ParameterRegistrationVisitor(this);
         this.parameterUnregistrationVisitor = new ParameterUnregistrationVisitor(this);
     }
@@ -215,6 +218,7 @@ public class ParameterManager {
 
     void parameterizeQuery(Query q, String skippedParameterPrefix) {
         Set<String> requestedValueParameters = new HashSet<String>();
+        boolean padCollections = mainQuery.getQueryConfiguration().isParameterListPaddingEnabled();
         for (Parameter<?> p : q.getParameters()) {
             String parameterName = p.getName();
             // In case of positional parameters, we convert the position to a string and look it up instead
@@ -245,13 +249,13 @@ public class ParameterManager {
                     q.setParameter(parameterName, parameter.getValue());
                 }
             } else {
-                parameter.bind(q);
+                parameter.bind(q, padCollections);
             }
         }
 
         for (String parameterName : requestedValueParameters) {
             ParameterImpl<?> parameter = parameters.get(parameterName);
-            parameter.bind(q);
+            parameter.bind(q, false);
         }
     }
 
@@ -403,6 +407,10 @@ public class ParameterManager {
     }
 
     public void registerParameterName(String parameterName, boolean collectionValued, ClauseType clause, AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder) {
+        registerParameterName(parameterName, collectionValued, clause, queryBuilder, false);
+    }
+
+    public void registerParameterName(String parameterName, boolean collectionValued, ClauseType clause, AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder, boolean inListRightHandSide) {
         if (parameterName == null) {
             throw new NullPointerException("parameterName");
         }
@@ -410,10 +418,11 @@ public class ParameterManager {
         if (parameter == null) {
             Integer position = determinePositionalOffset(parameterName);
             if (position == null) {
-                parameters.put(parameterName, new ParameterImpl<>(parameterName, collectionValued, false, clause, queryBuilder));
+                parameter = new ParameterImpl<>(parameterName, collectionValued, false, clause, queryBuilder);
             } else {
-                parameters.put(parameterName, new ParameterImpl<>(position, collectionValued, false, clause, queryBuilder));
+                parameter = new ParameterImpl<>(position, collectionValued, false, clause, queryBuilder);
             }
+            parameters.put(parameterName, parameter);
         } else {
             Set<AbstractCommonQueryBuilder<?, ?, ?, ?, ?>> builders = parameter.getClauseTypes().get(clause);
             if (builders == null) {
@@ -422,6 +431,9 @@ public class ParameterManager {
             }
             builders.add(queryBuilder);
         }
+        if (!inListRightHandSide && clause != null) {
+            parameter.addNonInListUsage(clause, queryBuilder);
+        }
     }
 
     private Integer determinePositionalOffset(String parameterName) {
@@ -436,6 +448,7 @@ public class ParameterManager {
     public void unregisterParameterName(String parameterName, ClauseType clauseType, AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder) {
         ParameterImpl<?> parameter = parameters.get(parameterName);
         if (parameter != null) {
+            parameter.removeNonInListUsage(clauseType, queryBuilder);
             Set<AbstractCommonQueryBuilder<?, ?, ?, ?, ?>> builders = parameter.getClauseTypes().get(clauseType);
             if (builders != null) {
                 builders.remove(queryBuilder);
@@ -529,6 +542,59 @@ public class ParameterManager {
         criteriaNameMapping.put(parameterExpression, parameterName);
     }
 
+    /**
+     * Returns whether list parameters will be padded when binding the builder parameters to a query.
+     *
+     * @return whether list parameters will be padded
+     * @since 1.6.10
+     */
+    public boolean isParameterListPaddingRequired() {
+        if (!mainQuery.getQueryConfiguration().isParameterListPaddingEnabled()) {
+            return false;
+        }
+        for (ParameterImpl<?> parameter : parameters.values()) {
+            if (parameter.isPaddable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a JPA provider query must be wrapped before binding parameters,
+     * either to map criteria parameters or to keep exposing the unpadded values of list parameters.
+     *
+     * @return whether a JPA provider query must be wrapped
+     * @since 1.6.10
+     */
+    public boolean requiresQueryWrapper() {
+        return criteriaNameMapping != null || isParameterListPaddingRequired();
+    }
+
+    /**
+     * Pads the given collection to the next power of two by repeating the last element.
+     * Repeating an element does not change the result of an IN predicate, but allows to reuse the SQL of the padded size.
+     *
+     * @param collection The collection to pad
+     * @return The padded collection
+     * @since 1.6.10
+     */
+    public static Collection<?> padParameterList(Collection<?> collection) {
+        int size = collection.size();
+        // Only pad if the size is not a power of two already
+        if (size < 2 || (size & (size - 1)) == 0) {
+            return collection;
+        }
+        int paddedSize = Integer.highestOneBit(size - 1) << 1;
+        List<Object> list = new ArrayList<>(paddedSize);
+        list.addAll(collection);
+        Object lastElement = list.get(size - 1);
+        for (int i = size; i < paddedSize; i++) {
+            list.add(lastElement);
+        }
+        return list;
+    }
+
     public int getPositionalOffset() {
         if (positionalOffset == -1) {
             return -1;
@@ -549,6 +615,7 @@ public class ParameterManager {
         private final boolean collectionValued;
         private final boolean implicit;
         private final Map<ClauseType, Set<AbstractCommonQueryBuilder<?, ?, ?, ?, ?>>> clauseTypes;
+        private Map<ClauseType, Set<AbstractCommonQueryBuilder<?, ?, ?, ?, ?>>> nonInListClauseTypes;
         private boolean usedInImplicitGroupBy;
         private Class<T> parameterType;
         private javax.persistence.criteria.ParameterExpression<T> criteriaParameter;
@@ -621,6 +688,45 @@ public class ParameterManager {
             return clauseTypes;
         }
 
+        void addNonInListUsage(ClauseType clause, AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder) {
+            if (nonInListClauseTypes == null) {
+                nonInListClauseTypes = new EnumMap<>(ClauseType.class);
+            }
+            Set<AbstractCommonQueryBuilder<?, ?, ?, ?, ?>> builders = nonInListClauseTypes.get(clause);
+            if (builders == null) {
+                builders = Collections.newSetFromMap(new IdentityHashMap<AbstractCommonQueryBuilder<?, ?, ?, ?, ?>, Boolean>());
+                nonInListClauseTypes.put(clause, builders);
+            }
+            builders.add(queryBuilder);
+        }
+
+        void removeNonInListUsage(ClauseType clause, AbstractCommonQueryBuilder<?, ?, ?, ?, ?> queryBuilder) {
+            if (nonInListClauseTypes != null) {
+                Set<AbstractCommonQueryBuilder<?, ?, ?, ?, ?>> builders = nonInListClauseTypes.get(clause);
+                if (builders != null) {
+                    builders.remove(queryBuilder);
+                    if (builders.isEmpty()) {
+                        nonInListClauseTypes.remove(clause);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns whether the parameter is only used as element of IN predicate lists.
+         * Repeating elements of such a parameter value does not change the query result.
+         *
+         * @return whether the parameter is only used as element of IN predicate lists
+         * @since 1.6.10
+         */
+        public boolean isUsedOnlyInInList() {
+            return !clauseTypes.isEmpty() && (nonInListClauseTypes == null || nonInListClauseTypes.isEmpty());
+        }
+
+        boolean isPaddable() {
+            return valueSet && name != null && value instanceof Collection<?> && isUsedOnlyInInList();
+        }
+
         @Override
         public Class<T> getParameterType() {
             return parameterType;
@@ -724,7 +830,7 @@ public class ParameterManager {
             }
         }
 
-        public void bind(Query q) {
+        public void bind(Query q, boolean padCollection) {
             if (valueSet) {
                 if (value instanceof ParameterValue) {
                     if (name == null) {
@@ -732,6 +838,13 @@ public class ParameterManager {
                     } else {
                         ((ParameterValue) value).bind(q, name);
                     }
+                } else if (padCollection && isPaddable()) {
+                    if (q instanceof ParameterListPaddingQuery) {
+                        ((ParameterListPaddingQuery) q).setPaddedParameterList(name, (Collection<?>) value);
+                    } else {
+                        // Only internal queries are bound directly, the user always gets a query that exposes the unpadded value
+                        q.setParameter(name, padParameterList((Collection<?>) value));
+                    }
                 } else {
                     if (name == null) {
                         q.setParameter(position, value);
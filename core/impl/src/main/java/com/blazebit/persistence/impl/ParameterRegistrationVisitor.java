@@ -17,8 +17,10 @@
 package com.blazebit.persistence.impl;
 
 import com.blazebit.persistence.parser.expression.ArrayExpression;
+import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ParameterExpression;
 import com.blazebit.persistence.parser.expression.VisitorAdapter;
+import com.blazebit.persistence.parser.predicate.InPredicate;
 
 /**
  *
@@ -38,16 +40,18 @@ public class ParameterRegistrationVisitor extends VisitorAdapter {
 
     @Override
     public void visit(ParameterExpression expression) {
-        // Value was not set so we only have an unsatisfied parameter name which we register
-        if (AbstractFullQueryBuilder.ID_PARAM_NAME.equals(expression.getName())) {
-            throw new IllegalArgumentException("The parameter name '" + expression.getName() + "' is reserved - use a different name");
-        } else {
-            parameterManager.registerParameterName(expression.getName(), expression.isCollectionValued(), clauseType, queryBuilder);
-            if (secondClauseType != null) {
-                parameterManager.registerParameterName(expression.getName(), expression.isCollectionValued(), secondClauseType, queryBuilder);
-            }
-            if (expression.getValue() != null) {
-                parameterManager.satisfyParameter(expression.getName(), expression.getValue());
+        registerParameter(expression, false);
+    }
+
+    @Override
+    public void visit(InPredicate predicate) {
+        predicate.getLeft().accept(this);
+        for (Expression right : predicate.getRight()) {
+            if (right instanceof ParameterExpression) {
+                // Only a parameter that is directly an IN list element may be padded
+                registerParameter((ParameterExpression) right, true);
+            } else {
+                right.accept(this);
             }
         }
     }
@@ -62,6 +66,21 @@ public class ParameterRegistrationVisitor extends VisitorAdapter {
         secondClauseType = oldClauseType;
     }
 
+    private void registerParameter(ParameterExpression expression, boolean inListRightHandSide) {
+        // Value was not set so we only have an unsatisfied parameter name which we register
+        if (AbstractFullQueryBuilder.ID_PARAM_NAME.equals(expression.getName())) {
+            throw new IllegalArgumentException("The parameter name '" + expression.getName() + "' is reserved - use a different name");
+        } else {
+            parameterManager.registerParameterName(expression.getName(), expression.isCollectionValued(), clauseType, queryBuilder, inListRightHandSide);
+            if (secondClauseType != null) {
+                parameterManager.registerParameterName(expression.getName(), expression.isCollectionValued(), secondClauseType, queryBuilder, inListRightHandSide);
+            }
+            if (expression.getValue() != null) {
+                parameterManager.satisfyParameter(expression.getName(), expression.getValue());
+            }
+        }
+    }
+
     public ClauseType getClauseType() {
         return clauseType;
     }
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.FullQueryBuilder;
+import com.blazebit.persistence.KeysetPage;
+import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.PagedListIterator;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.spi.JpaProvider;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+
+/**
+ * A paged list iterator that fetches the first page with the original builder and following pages on an executor.
+ * Since a page can only be fetched once the keyset of the previous page is known, at most one fetch is in progress at any time.
+ * If an entity manager factory is given, every following page is fetched with a new entity manager that is closed right after the fetch.
+ *
+ * @param <T> The element type
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class PrefetchingPagedListIterator<T> implements PagedListIterator<T> {
+
+    private final PaginatedCriteriaBuilderImpl<T> firstPageBuilder;
+    private final QueryProvider<T> queryProvider;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManagerQueryProvider<T> entityManagerQueryProvider;
+    private final JpaProvider jpaProvider;
+    private final Executor executor;
+    private final int prefetchDepth;
+    private final int maxResults;
+    private final String[] identifierExpressions;
+    private final ArrayDeque<PagedList<T>> pages;
+    private final Runnable fetchTask;
+
+    // Mutable state, guarded by this
+    private boolean firstPageFetched;
+    private boolean fetching;
+    private boolean exhausted;
+    private boolean closed;
+    private RuntimeException failure;
+    private KeysetPage nextKeysetPage;
+    private int nextFirstResult;
+    private EntityManager fetchEntityManager;
+
+    public PrefetchingPagedListIterator(PaginatedCriteriaBuilderImpl<T> firstPageBuilder, QueryProvider<T> queryProvider, JpaProvider jpaProvider, Executor executor, int prefetchDepth, int maxResults, String[] identifierExpressions) {
+        this(firstPageBuilder, queryProvider, null, null, jpaProvider, executor, prefetchDepth, maxResults, identifierExpressions);
+    }
+
+    public PrefetchingPagedListIterator(PaginatedCriteriaBuilderImpl<T> firstPageBuilder, EntityManagerFactory entityManagerFactory, EntityManagerQueryProvider<T> queryProvider, JpaProvider jpaProvider, Executor executor, int prefetchDepth, int maxResults, String[] identifierExpressions) {
+        this(firstPageBuilder, null, entityManagerFactory, queryProvider, jpaProvider, executor, prefetchDepth, maxResults, identifierExpressions);
+    }
+
+    private PrefetchingPagedListIterator(PaginatedCriteriaBuilderImpl<T> firstPageBuilder, QueryProvider<T> queryProvider, EntityManagerFactory entityManagerFactory, EntityManagerQueryProvider<T> entityManagerQueryProvider,
+                                         JpaProvider jpaProvider, Executor executor, int prefetchDepth, int maxResults, String[] identifierExpressions) {
+        if (queryProvider == null && entityManagerQueryProvider == null) {
+            throw new NullPointerException("queryProvider");
+        }
+        if (entityManagerQueryProvider != null && entityManagerFactory == null) {
+            throw new NullPointerException("entityManagerFactory");
+        }
+        if (executor == null) {
+            throw new NullPointerException("executor");
+        }
+        if (prefetchDepth < 1) {
+            throw new IllegalArgumentException("prefetchDepth must be positive");
+        }
+        this.firstPageBuilder = firstPageBuilder;
+        this.queryProvider = queryProvider;
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManagerQueryProvider = entityManagerQueryProvider;
+        this.jpaProvider = jpaProvider;
+        this.executor = executor;
+        this.prefetchDepth = prefetchDepth;
+        this.maxResults = maxResults;
+        this.identifierExpressions = identifierExpressions;
+        this.pages = new ArrayDeque<>(prefetchDepth + 1);
+        this.fetchTask = new Runnable() {
+            @Override
+            public void run() {
+                fetchNextPage();
+            }
+        };
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        if (!firstPageFetched) {
+            firstPageFetched = true;
+            if (!closed) {
+                addPage(firstPageBuilder.getResultListWithKeysetExtraction());
+            }
+        }
+        while (pages.isEmpty()) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (exhausted || closed) {
+                return false;
+            }
+            scheduleFetch();
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the next page", ex);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized PagedList<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        PagedList<T> page = pages.removeFirst();
+        scheduleFetch();
+        return page;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        pages.clear();
+        if (fetchEntityManager != null) {
+            // The fetching thread only releases the entity manager after clearing the field, so it is still usable here
+            try {
+                jpaProvider.cancelQuery(fetchEntityManager);
+            } catch (RuntimeException ex) {
+                // The statement might have completed in the meantime, its result is discarded anyway
+            }
+            fetchEntityManager = null;
+        }
+        notifyAll();
+    }
+
+    private void addPage(PagedList<T> page) {
+        if (!page.isEmpty()) {
+            pages.addLast(page);
+        }
+        if (page.size() < maxResults) {
+            exhausted = true;
+        } else {
+            nextKeysetPage = page.getKeysetPage();
+            nextFirstResult = page.getFirstResult() + maxResults;
+        }
+    }
+
+    private void scheduleFetch() {
+        if (!fetching && !exhausted && !closed && failure == null && pages.size() < prefetchDepth) {
+            fetching = true;
+            try {
+                executor.execute(fetchTask);
+            } catch (RuntimeException ex) {
+                fetching = false;
+                throw ex;
+            }
+        }
+    }
+
+    private void fetchNextPage() {
+        KeysetPage keysetPage;
+        int firstResult;
+        synchronized (this) {
+            if (closed) {
+                fetching = false;
+                notifyAll();
+                return;
+            }
+            keysetPage = nextKeysetPage;
+            firstResult = nextFirstResult;
+        }
+        EntityManager entityManager = null;
+        PagedList<T> page = null;
+        Throwable fetchFailure = null;
+        try {
+            FullQueryBuilder<T, ?> queryBuilder;
+            if (entityManagerFactory == null) {
+                queryBuilder = queryProvider.createQuery();
+            } else {
+                entityManager = entityManagerFactory.createEntityManager();
+                queryBuilder = entityManagerQueryProvider.createQuery(entityManager);
+            }
+            PaginatedCriteriaBuilder<T> pageQuery = createPageQuery(queryBuilder, keysetPage, firstResult);
+            synchronized (this) {
+                if (!closed) {
+                    fetchEntityManager = queryBuilder.getEntityManager();
+                }
+            }
+            page = pageQuery.getResultList();
+        } catch (Throwable ex) {
+            fetchFailure = ex;
+        } finally {
+            synchronized (this) {
+                fetching = false;
+                fetchEntityManager = null;
+                if (!closed) {
+                    if (fetchFailure == null) {
+                        addPage(page);
+                        scheduleFetch();
+                    } else if (fetchFailure instanceof RuntimeException) {
+                        failure = (RuntimeException) fetchFailure;
+                    } else {
+                        failure = new IllegalStateException("Fetching the next page failed", fetchFailure);
+                    }
+                }
+                notifyAll();
+            }
+            if (entityManager != null) {
+                entityManager.close();
+            }
+        }
+        if (fetchFailure instanceof Error) {
+            throw (Error) fetchFailure;
+        }
+    }
+
+    private PaginatedCriteriaBuilder<T> createPageQuery(FullQueryBuilder<T, ?> queryBuilder, KeysetPage keysetPage, int firstResult) {
+        PaginatedCriteriaBuilder<T> builder;
+        if (identifierExpressions == null) {
+            builder = queryBuilder.page(keysetPage, firstResult, maxResults);
+        } else {
+            builder = queryBuilder.pageBy(keysetPage, firstResult, maxResults, identifierExpressions[0], Arrays.copyOfRange(identifierExpressions, 1, identifierExpressions.length));
+        }
+        // The total count is only determined for the first page
+        return builder.withKeysetExtraction(true)
+            .withCountQuery(false);
+    }
+}
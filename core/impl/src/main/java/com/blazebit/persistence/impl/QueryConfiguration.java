@@ -43,8 +43,12 @@ public interface QueryConfiguration {
 
     public boolean isValuesClauseFilterNullsEnabled();
 
+    public boolean isValuesClausePaddingEnabled();
+
     public boolean isParameterAsLiteralRenderingEnabled();
 
+    public boolean isParameterListPaddingEnabled();
+
     public boolean isOptimizedKeysetPredicateRenderingEnabled();
 
     public Boolean getInlineIdQueryEnabled();
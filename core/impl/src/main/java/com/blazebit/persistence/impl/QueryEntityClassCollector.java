@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl;
+
+import com.blazebit.persistence.parser.expression.SubqueryExpression;
+import com.blazebit.persistence.parser.expression.VisitorAdapter;
+
+import javax.persistence.metamodel.EntityType;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Collects the entity classes that influence the rows of a query i.e. the entity classes of all join nodes of the query
+ * and of the subqueries used in the <code>WHERE</code>, <code>HAVING</code> and <code>ON</code> clauses.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+class QueryEntityClassCollector extends VisitorAdapter {
+
+    private final Set<Class<?>> entityClasses = new HashSet<>();
+    private boolean complete = true;
+
+    /**
+     * Returns the entity classes that influence the rows of the given query builder
+     * or <code>null</code> if they can't be determined because of entity functions or set operations.
+     *
+     * @param builder The query builder
+     * @return The entity classes or <code>null</code>
+     */
+    public Set<Class<?>> collect(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> builder) {
+        collectBuilder(builder);
+        return complete ? entityClasses : null;
+    }
+
+    @Override
+    public void visit(SubqueryExpression expression) {
+        if (expression.getSubquery() instanceof SubqueryBuilderImpl<?>) {
+            collectBuilder((SubqueryBuilderImpl<?>) expression.getSubquery());
+        } else {
+            complete = false;
+        }
+    }
+
+    private void collectBuilder(AbstractCommonQueryBuilder<?, ?, ?, ?, ?> builder) {
+        if (builder.joinManager.hasEntityFunctions()) {
+            complete = false;
+            return;
+        }
+        for (JoinNode root : builder.joinManager.getRoots()) {
+            collectJoinNode(root);
+        }
+        builder.whereManager.rootPredicate.getPredicate().accept(this);
+        builder.havingManager.rootPredicate.getPredicate().accept(this);
+    }
+
+    private void collectJoinNode(JoinNode node) {
+        EntityType<?> entityType = node.getEntityType();
+        if (entityType != null) {
+            entityClasses.add(entityType.getJavaType());
+        }
+        if (node.getOnPredicate() != null) {
+            node.getOnPredicate().accept(this);
+        }
+        for (JoinTreeNode treeNode : node.getNodes().values()) {
+            for (JoinNode joinNode : treeNode.getJoinNodes().values()) {
+                collectJoinNode(joinNode);
+            }
+        }
+        for (JoinNode joinNode : node.getTreatedJoinNodes().values()) {
+            collectJoinNode(joinNode);
+        }
+        for (JoinNode joinNode : node.getEntityJoinNodes()) {
+            collectJoinNode(joinNode);
+        }
+    }
+}
@@ -41,4 +41,10 @@ public class CockroachSQLDbmsDialect extends PostgreSQLDbmsDialect {
             appendEmulatedOrderByElementWithNulls(sqlSb, element, aliases);
         }
     }
+
+    @Override
+    public String getRowCountEstimateSql(String tableName) {
+        // The pg_class catalog of CockroachDB does not maintain row estimates
+        return null;
+    }
 }
@@ -30,9 +30,11 @@ import com.blazebit.persistence.impl.util.SqlUtils;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.DbmsLimitHandler;
 import com.blazebit.persistence.spi.DbmsModificationState;
+import com.blazebit.persistence.spi.DbmsParameterLimit;
 import com.blazebit.persistence.spi.DbmsStatementType;
 import com.blazebit.persistence.spi.DeleteJoinStyle;
 import com.blazebit.persistence.spi.LateralStyle;
+import com.blazebit.persistence.spi.MultisetEncoding;
 import com.blazebit.persistence.spi.OrderByElement;
 import com.blazebit.persistence.spi.SetOperationType;
 import com.blazebit.persistence.spi.UpdateJoinStyle;
@@ -44,7 +46,7 @@ import com.blazebit.persistence.spi.ValuesStrategy;
  * @author Moritz Becker
  * @since 1.2.0
  */
-public class DefaultDbmsDialect implements DbmsDialect {
+public class DefaultDbmsDialect implements DbmsDialect, DbmsParameterLimit {
 
     private final Map<Class<?>, String> sqlTypes;
 
@@ -187,6 +189,16 @@ public class DefaultDbmsDialect implements DbmsDialect {
         return false;
     }
 
+    @Override
+    public MultisetEncoding getMultisetEncoding() {
+        return MultisetEncoding.JSON_OBJECT;
+    }
+
+    @Override
+    public String getRowCountEstimateSql(String tableName) {
+        return null;
+    }
+
     @Override
     public String getSqlType(Class<?> castType) {
         return sqlTypes.get(castType);
@@ -447,6 +459,31 @@ public class DefaultDbmsDialect implements DbmsDialect {
         sqlSb.append(element.isAscending() ? " asc" : " desc");
     }
 
+    /**
+     * Renders a query against <code>information_schema.tables</code> that selects the given column for the given possibly qualified table name.
+     *
+     * @param columnName The column to select
+     * @param tableName The possibly qualified table name as rendered in SQL
+     * @param currentSchema The expression for the current schema used for unqualified table names
+     * @param upperCaseUnquoted Whether unquoted identifiers are stored in upper case
+     * @return The query
+     */
+    protected static String getInformationSchemaTablesSql(String columnName, String tableName, String currentSchema, boolean upperCaseUnquoted) {
+        int dotIndex = tableName.lastIndexOf('.');
+        String schema = dotIndex == -1 ? currentSchema : getIdentifierLiteral(tableName.substring(0, dotIndex), upperCaseUnquoted);
+        return "select " + columnName + " from information_schema.tables where table_schema = " + schema + " and table_name = " + getIdentifierLiteral(tableName.substring(dotIndex + 1), upperCaseUnquoted);
+    }
+
+    private static String getIdentifierLiteral(String identifier, boolean upperCaseUnquoted) {
+        char c = identifier.charAt(0);
+        if (c == '"' || c == '`' || c == '[') {
+            identifier = identifier.substring(1, identifier.length() - 1);
+        } else if (upperCaseUnquoted) {
+            identifier = identifier.toUpperCase(Locale.ROOT);
+        }
+        return "'" + identifier.replace("'", "''") + "'";
+    }
+
     protected String getOperator(SetOperationType type) {
         if (type == null) {
             return null;
@@ -550,6 +587,11 @@ public class DefaultDbmsDialect implements DbmsDialect {
         return null;
     }
 
+    @Override
+    public int getMaxParameterCount() {
+        return Short.MAX_VALUE;
+    }
+
     @Override
     public boolean needsReturningSqlTypes() {
         return false;
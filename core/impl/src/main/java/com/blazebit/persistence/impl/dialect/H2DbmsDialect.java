@@ -149,6 +149,11 @@ public class H2DbmsDialect extends DefaultDbmsDialect {
         return '\\';
     }
 
+    @Override
+    public String getRowCountEstimateSql(String tableName) {
+        return getInformationSchemaTablesSql("row_count_estimate", tableName, "schema()", true);
+    }
+
     @Override
     public boolean supportsArbitraryLengthMultiset() {
         return true;
@@ -218,4 +218,9 @@ public class MSSQLDbmsDialect extends DefaultDbmsDialect {
     public boolean supportsLimitWithoutOrderBy() {
         return false;
     }
+
+    @Override
+    public int getMaxParameterCount() {
+        return 2100;
+    }
 }
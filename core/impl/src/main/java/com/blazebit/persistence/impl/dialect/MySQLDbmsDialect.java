@@ -100,6 +100,11 @@ public class MySQLDbmsDialect extends DefaultDbmsDialect {
         return '\\';
     }
 
+    @Override
+    public String getRowCountEstimateSql(String tableName) {
+        return getInformationSchemaTablesSql("table_rows", tableName, "database()", false);
+    }
+
     @Override
     public boolean supportsArbitraryLengthMultiset() {
         return true;
@@ -198,4 +203,9 @@ public class MySQLDbmsDialect extends DefaultDbmsDialect {
         return false;
     }
 
+    @Override
+    public int getMaxParameterCount() {
+        return 65535;
+    }
+
 }
@@ -299,4 +299,9 @@ public class OracleDbmsDialect extends DefaultDbmsDialect {
         }
     }
 
+    @Override
+    public int getMaxParameterCount() {
+        return 65535;
+    }
+
 }
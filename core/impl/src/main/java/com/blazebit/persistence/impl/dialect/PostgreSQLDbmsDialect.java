@@ -27,6 +27,7 @@ import com.blazebit.persistence.spi.DbmsLimitHandler;
 import com.blazebit.persistence.spi.DbmsModificationState;
 import com.blazebit.persistence.spi.DbmsStatementType;
 import com.blazebit.persistence.spi.DeleteJoinStyle;
+import com.blazebit.persistence.spi.MultisetEncoding;
 import com.blazebit.persistence.spi.SetOperationType;
 import com.blazebit.persistence.spi.UpdateJoinStyle;
 
@@ -298,4 +299,15 @@ public class PostgreSQLDbmsDialect extends DefaultDbmsDialect {
     public boolean supportsArbitraryLengthMultiset() {
         return true;
     }
+
+    @Override
+    public MultisetEncoding getMultisetEncoding() {
+        return MultisetEncoding.JSON_ARRAY;
+    }
+
+    @Override
+    public String getRowCountEstimateSql(String tableName) {
+        // The planner statistics are negative or zero if the table was never analyzed
+        return "select cast(reltuples as bigint) from pg_class where oid = to_regclass('" + tableName.replace("'", "''") + "')";
+    }
 }
@@ -20,11 +20,13 @@ import com.blazebit.persistence.impl.SubqueryInternalBuilder;
 import com.blazebit.persistence.impl.function.tostringjson.AbstractToStringJsonFunction;
 import com.blazebit.persistence.impl.function.tostringxml.AbstractToStringXmlFunction;
 import com.blazebit.persistence.impl.util.SqlUtils;
+import com.blazebit.persistence.parser.JsonParser;
 import com.blazebit.persistence.parser.expression.Subquery;
 import com.blazebit.persistence.parser.expression.SubqueryExpression;
 import com.blazebit.persistence.spi.FunctionRenderContext;
 import com.blazebit.persistence.spi.JpqlFunction;
 import com.blazebit.persistence.spi.JpqlFunctionProcessor;
+import com.blazebit.persistence.spi.MultisetEncoding;
 
 import java.util.List;
 
@@ -35,13 +37,22 @@ import java.util.List;
 public class ToMultisetFunction implements JpqlFunction, JpqlFunctionProcessor<CharSequence> {
 
     public static final String FUNCTION_NAME = "to_multiset";
+    private static final int CACHED_FIELDS_SIZE = 64;
+    private static final JsonParser.Fields[] CACHED_FIELDS = new JsonParser.Fields[CACHED_FIELDS_SIZE];
 
     private final AbstractToStringJsonFunction toJsonFunction;
     private final AbstractToStringXmlFunction toXmlFunction;
+    private final boolean jsonArrays;
 
     public ToMultisetFunction(AbstractToStringJsonFunction toJsonFunction, AbstractToStringXmlFunction toXmlFunction) {
+        this(toJsonFunction, toXmlFunction, MultisetEncoding.JSON_OBJECT);
+    }
+
+    public ToMultisetFunction(AbstractToStringJsonFunction toJsonFunction, AbstractToStringXmlFunction toXmlFunction, MultisetEncoding multisetEncoding) {
         this.toJsonFunction = toJsonFunction;
         this.toXmlFunction = toXmlFunction;
+        // Fall back to JSON objects if the JSON function of a custom dialect can't render arrays
+        this.jsonArrays = toJsonFunction != null && multisetEncoding == MultisetEncoding.JSON_ARRAY && toJsonFunction.supportsArrays();
     }
 
     @Override
@@ -63,14 +74,19 @@ public class ToMultisetFunction implements JpqlFunction, JpqlFunctionProcessor<C
     public Object process(CharSequence result, List<Object> arguments) {
         SubqueryExpression subqueryExpression = (SubqueryExpression) arguments.get(0);
         Subquery subquery = subqueryExpression.getSubquery();
-        String[] fields;
+        int fieldCount;
         if (subquery instanceof SubqueryInternalBuilder<?>) {
-            fields = createFields(((SubqueryInternalBuilder<?>) subquery).getSelectExpressions().size());
+            fieldCount = ((SubqueryInternalBuilder<?>) subquery).getSelectExpressions().size();
         } else {
             throw new IllegalArgumentException("Can't handle: " + subquery);
         }
+        if (jsonArrays) {
+            // The rows are positional, so there are no field names to match
+            return toJsonFunction.processArrays(result, fieldCount);
+        }
+        JsonParser.Fields fields = getFields(fieldCount);
         if (toJsonFunction == null) {
-            return toXmlFunction.process(result, fields);
+            return toXmlFunction.process(result, fields.getNames());
         } else {
             return toJsonFunction.process(result, fields);
         }
@@ -92,13 +108,28 @@ public class ToMultisetFunction implements JpqlFunction, JpqlFunctionProcessor<C
             selectItemExpressions = SqlUtils.getSelectItemExpressions(subquery, SqlUtils.SELECT_FINDER.indexIn(subquery, 1));
         }
         String[] fields = createFields(selectItemExpressions.length);
-        if (toJsonFunction == null) {
+        if (jsonArrays) {
+            toJsonFunction.renderArrays(context, fields, selectItemExpressions, subquery, fromIndex);
+        } else if (toJsonFunction == null) {
             toXmlFunction.render(context, fields, selectItemExpressions, subquery, fromIndex);
         } else {
             toJsonFunction.render(context, fields, selectItemExpressions, subquery, fromIndex);
         }
     }
 
+    private static JsonParser.Fields getFields(int length) {
+        // The fields only depend on the number of select items, so we can reuse them for every processed row
+        if (length >= CACHED_FIELDS_SIZE) {
+            return new JsonParser.Fields(createFields(length));
+        }
+        JsonParser.Fields fields = CACHED_FIELDS[length];
+        if (fields == null) {
+            fields = new JsonParser.Fields(createFields(length));
+            CACHED_FIELDS[length] = fields;
+        }
+        return fields;
+    }
+
     private static String[] createFields(int length) {
         String[] fields = new String[length];
         for (int i = 0; i < fields.length; i++) {
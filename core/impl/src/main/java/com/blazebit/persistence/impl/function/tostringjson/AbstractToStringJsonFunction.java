@@ -71,5 +71,44 @@ public abstract class AbstractToStringJsonFunction implements JpqlFunction {
         return JsonParser.parseStringOnly(result, fields);
     }
 
+    public Object process(CharSequence result, JsonParser.Fields fields) {
+        if (result == null) {
+            return null;
+        }
+        return JsonParser.parseStringOnly(result, fields);
+    }
+
+    public Object processArrays(CharSequence result, int fieldCount) {
+        if (result == null) {
+            return null;
+        }
+        return JsonParser.parseArraysStringOnly(result, fieldCount);
+    }
+
     public abstract void render(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex);
+
+    /**
+     * Returns whether the function can render rows as JSON arrays via {@link #renderArrays(FunctionRenderContext, String[], String[], String, int)}.
+     *
+     * @return True if rendering rows as JSON arrays is supported, false otherwise
+     * @since 1.6.10
+     */
+    public boolean supportsArrays() {
+        return false;
+    }
+
+    /**
+     * Renders the rows as JSON arrays with the select items in order, rather than as JSON objects.
+     * The fields are only used as aliases for the select items. Only invoked if {@link #supportsArrays()} returns true.
+     *
+     * @param context The function render context
+     * @param fields The aliases for the select items
+     * @param selectItemExpressions The select item expressions
+     * @param subquery The subquery
+     * @param fromIndex The index of the FROM clause in the subquery
+     * @since 1.6.10
+     */
+    public void renderArrays(FunctionRenderContext context, String[] fields, String[] selectItemExpressions, String subquery, int fromIndex) {
+        throw new UnsupportedOperationException("Rendering rows as JSON arrays is not supported by " + getClass().getName());
+    }
 }
\ No newline at end of file
@@ -41,7 +41,7 @@ import java.util.Set;
  * @author Christian Beikov
  * @since 1.2.0
  */
-public abstract class AbstractCustomQuery<T> implements Query, CteQueryWrapper {
+public abstract class AbstractCustomQuery<T> implements Query, CteQueryWrapper, ParameterListPaddingQuery {
 
     protected final QuerySpecification<T> querySpecification;
     protected final Map<String, ParameterValueTransformer> transformers;
@@ -52,6 +52,7 @@ public abstract class AbstractCustomQuery<T> implements Query, CteQueryWrapper {
     protected final Map<ParameterExpression<?>, String> criteriaNameMapping;
     protected int firstResult;
     protected int maxResults = Integer.MAX_VALUE;
+    private final Set<String> paddedParameterLists = new HashSet<>();
 
     public AbstractCustomQuery(QuerySpecification<T> querySpecification, Map<ParameterExpression<?>, String> criteriaNameMapping, Map<String, ParameterValueTransformer> transformers, Map<String, String> valuesParameters, Map<String, ValuesParameterBinder> valuesBinders) {
         this.querySpecification = querySpecification;
@@ -184,6 +185,12 @@ public abstract class AbstractCustomQuery<T> implements Query, CteQueryWrapper {
         return criteriaNameMapping != null && parameter instanceof ParameterExpression<?> ? criteriaNameMapping.get(parameter) : parameter.getName();
     }
 
+    @Override
+    public void setPaddedParameterList(String name, Collection<?> value) {
+        paddedParameterLists.add(name);
+        setParameter(name, value);
+    }
+
     @Override
     public <T> Query setParameter(Parameter<T> param, T value) {
         setParameter(getName(param), value);
@@ -214,9 +221,15 @@ public abstract class AbstractCustomQuery<T> implements Query, CteQueryWrapper {
                 value = transformer.transform(value);
             }
             if (value instanceof Collection<?>) {
-                querySpecification.onCollectionParameterChange(name, (Collection<?>) value);
+                Collection<?> boundValue = (Collection<?>) value;
+                if (paddedParameterLists.contains(name)) {
+                    boundValue = ParameterManager.padParameterList(boundValue);
+                }
+                querySpecification.onCollectionParameterChange(name, boundValue);
+                valueBinders.put(name, boundValue == value ? new DefaultValueBinder(value) : new PaddedValueBinder(value, boundValue));
+            } else {
+                valueBinders.put(name, new DefaultValueBinder(value));
             }
-            valueBinders.put(name, new DefaultValueBinder(value));
         } else {
             valuesParameter.setValue(value);
         }
@@ -355,6 +368,30 @@ public abstract class AbstractCustomQuery<T> implements Query, CteQueryWrapper {
         }
     }
 
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    static class PaddedValueBinder implements ValueBinder {
+        private final Object value;
+        private final Collection<?> paddedValue;
+
+        public PaddedValueBinder(Object value, Collection<?> paddedValue) {
+            this.value = value;
+            this.paddedValue = paddedValue;
+        }
+
+        @Override
+        public void bind(Query query, String name) {
+            query.setParameter(name, paddedValue);
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+    }
+
     /**
      * @author Christian Beikov
      * @since 1.2.0
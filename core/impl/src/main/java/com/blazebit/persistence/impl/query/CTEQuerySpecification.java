@@ -53,14 +53,25 @@ public class CTEQuerySpecification extends CustomQuerySpecification<Object> {
         }
 
         String sqlQuery = extendedQuerySupport.getSql(em, baseQuery);
+        CustomSqlCache.Key cacheKey = isSqlCacheable() ? createSqlCacheKey(sqlQuery) : null;
+        CustomSqlCache.Entry cacheEntry = cacheKey == null ? null : sqlCache.get(cacheKey);
+        participatingQueries.add(baseQuery);
+        this.participatingQueries = participatingQueries;
+        if (cacheEntry != null) {
+            this.sql = cacheEntry.getSql();
+            this.dirty = false;
+            return;
+        }
+
         StringBuilder sqlSb = applySqlTransformations(sqlQuery);
         // Need to inline LIMIT and OFFSET
         dbmsDialect.appendExtendedSql(sqlSb, statementType, false, true, null, limit, offset, null, null, null);
-        participatingQueries.add(baseQuery);
 
         this.sql = sqlSb.toString();
-        this.participatingQueries = participatingQueries;
         this.dirty = false;
+        if (cacheKey != null) {
+            sqlCache.putIfAbsent(cacheKey, new CustomSqlCache.Entry(sql, null));
+        }
     }
 
     @Override
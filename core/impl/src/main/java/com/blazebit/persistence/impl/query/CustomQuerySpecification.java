@@ -26,6 +26,9 @@ import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.DbmsModificationState;
 import com.blazebit.persistence.spi.DbmsStatementType;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
+import com.blazebit.persistence.spi.InstrumentationCounter;
+import com.blazebit.persistence.spi.InstrumentationListener;
+import com.blazebit.persistence.spi.InstrumentationTimer;
 import com.blazebit.persistence.spi.LateralStyle;
 import com.blazebit.persistence.spi.ServiceProvider;
 
@@ -53,6 +56,7 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
     protected final DbmsDialect dbmsDialect;
     protected final ServiceProvider serviceProvider;
     protected final ExtendedQuerySupport extendedQuerySupport;
+    protected final CustomSqlCache sqlCache;
 
     protected final DbmsStatementType statementType;
     protected final Query baseQuery;
@@ -69,6 +73,8 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
     protected final boolean queryPlanCacheEnabled;
     protected final Query countWrapperExampleQuery;
     protected final String countPrefix;
+    protected final InstrumentationListener instrumentationListener;
+    protected final Class<?> instrumentationEntityClass;
 
     protected boolean dirty;
     protected String sql;
@@ -82,6 +88,9 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         this.dbmsDialect = commonQueryBuilder.getService(DbmsDialect.class);
         this.serviceProvider = commonQueryBuilder;
         this.extendedQuerySupport = commonQueryBuilder.getService(ExtendedQuerySupport.class);
+        this.sqlCache = commonQueryBuilder.getService(CustomSqlCache.class);
+        this.instrumentationListener = commonQueryBuilder.getService(InstrumentationListener.class);
+        this.instrumentationEntityClass = instrumentationListener == null ? null : commonQueryBuilder.getInstrumentationEntityClass();
         this.statementType = commonQueryBuilder.getStatementType();
         this.baseQuery = baseQuery;
         this.parameters = parameters;
@@ -123,7 +132,7 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
     @Override
     public String getSql() {
         if (dirty) {
-            initialize();
+            initializeSql();
         }
         return sql;
     }
@@ -131,7 +140,7 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
     @Override
     public List<Query> getParticipatingQueries() {
         if (dirty) {
-            initialize();
+            initializeSql();
         }
         return participatingQueries;
     }
@@ -144,7 +153,7 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
     @Override
     public Map<String, String> getAddedCtes() {
         if (dirty) {
-            initialize();
+            initializeSql();
         }
         return addedCtes;
     }
@@ -163,6 +172,19 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         }
     }
 
+    private void initializeSql() {
+        if (instrumentationListener == null) {
+            initialize();
+        } else {
+            long start = System.nanoTime();
+            try {
+                initialize();
+            } finally {
+                instrumentationListener.onTimer(InstrumentationTimer.SQL_REWRITING, instrumentationEntityClass, null, System.nanoTime() - start);
+            }
+        }
+    }
+
     protected void initialize() {
         List<Query> participatingQueries = new ArrayList<>();
 
@@ -171,6 +193,21 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         }
 
         String sqlQuery = extendedQuerySupport.getSql(em, baseQuery);
+        // When no CTEs are rendered, the only participating query is the base query, so we can reuse the SQL of a structurally equal query
+        CustomSqlCache.Key cacheKey = isSqlCacheable() && !shouldApplyCtes() ? createSqlCacheKey(sqlQuery) : null;
+        CustomSqlCache.Entry cacheEntry = cacheKey == null ? null : sqlCache.get(cacheKey);
+        if (cacheKey != null && instrumentationListener != null) {
+            instrumentationListener.onCounter(cacheEntry == null ? InstrumentationCounter.CACHE_MISS : InstrumentationCounter.CACHE_HIT, CustomSqlCache.CACHE_NAME, instrumentationEntityClass, null);
+        }
+        if (cacheEntry != null) {
+            participatingQueries.add(baseQuery);
+            this.sql = cacheEntry.getSql();
+            this.participatingQueries = participatingQueries;
+            this.addedCtes = cacheEntry.getAddedCtes();
+            this.dirty = false;
+            return;
+        }
+
         StringBuilder sqlSb = applySqlTransformations(sqlQuery);
         StringBuilder withClause = applyCtes(sqlSb, baseQuery, participatingQueries);
         Map<String, String> addedCtes = applyExtendedSql(sqlSb, false, false, withClause, null, null, null);
@@ -185,6 +222,23 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         this.participatingQueries = participatingQueries;
         this.addedCtes = addedCtes;
         this.dirty = false;
+        if (cacheKey != null) {
+            sqlCache.putIfAbsent(cacheKey, new CustomSqlCache.Entry(sql, addedCtes));
+        }
+    }
+
+    protected boolean isSqlCacheable() {
+        return queryPlanCacheEnabled && sqlCache != null;
+    }
+
+    protected CustomSqlCache.Key createSqlCacheKey(String sqlQuery) {
+        // The SQL of the base query already reflects the JPQL and the list parameter sizes
+        // so the key only has to additionally capture the inputs for the SQL transformations
+        return new CustomSqlCache.Key(getClass(), statementType, sqlQuery, limit, offset, countPrefix, keyRestrictedLeftJoinAliases, entityFunctionNodes);
+    }
+
+    protected boolean shouldApplyCtes() {
+        return shouldRenderCtes && (!ctes.isEmpty() || statementType == DbmsStatementType.DELETE && dbmsDialect.supportsModificationQueryInWithClause());
     }
 
     protected Map<String, String> applyExtendedSql(StringBuilder sqlSb, boolean isSubquery, boolean isEmbedded, StringBuilder withClause, String dmlAffectedTable, String[] returningColumns, Map<DbmsModificationState, String> includedModificationStates) {
@@ -193,7 +247,7 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
 
     protected StringBuilder applyCtes(StringBuilder sqlSb, Query baseQuery, List<Query> participatingQueries) {
         // When we shouldn't render CTEs and there aren't user defined ones, we don't render anything
-        if (!shouldRenderCtes || (ctes.isEmpty() && (statementType != DbmsStatementType.DELETE || !dbmsDialect.supportsModificationQueryInWithClause()))) {
+        if (!shouldApplyCtes()) {
             // But delete statements could contribute cascading deletes, so we try to apply these
             // Skip other statement types or if we have a delete but the DBMS doesn't support modification queries in the with clause
             return null;
@@ -629,5 +683,4 @@ public class CustomQuerySpecification<T> implements QuerySpecification<T> {
         }
         return extendedQuerySupport.getSql(em, query);
     }
-
 }
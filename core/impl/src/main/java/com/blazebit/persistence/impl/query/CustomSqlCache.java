@@ -0,0 +1,177 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.query;
+
+import com.blazebit.persistence.parser.expression.ExpressionCache;
+import com.blazebit.persistence.parser.util.BoundedCache;
+import com.blazebit.persistence.spi.DbmsStatementType;
+import com.blazebit.persistence.spi.ExtendedQuerySupport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A weight bounded cache for the SQL that results from applying the SQL transformations of a {@link CustomQuerySpecification}.
+ * Entries are keyed by the SQL of the JPA provider query, which is obtained through the query plan cache of the JPA provider.
+ * The JPQL rendering and the creation of the JPA provider query are not skipped, as the provider query is bound and executed.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class CustomSqlCache {
+
+    public static final String CACHE_NAME = "com.blazebit.persistence.impl.query.cache.CustomSql";
+
+    private final BoundedCache<Key, Entry> cache;
+
+    public CustomSqlCache(long maximumWeight) {
+        this.cache = new BoundedCache<>(maximumWeight);
+    }
+
+    public Entry get(Key key) {
+        return cache.get(key);
+    }
+
+    public Entry putIfAbsent(Key key, Entry entry) {
+        return cache.putIfAbsent(key, entry);
+    }
+
+    public ExpressionCache.Statistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * The structural fingerprint of a query specification. Parameter values are not part of the key,
+     * as the SQL of the base query only contains parameter markers. Strings are referenced rather than copied.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static final class Key {
+
+        private final Class<?> querySpecificationClass;
+        private final DbmsStatementType statementType;
+        private final String sql;
+        private final String limit;
+        private final String offset;
+        private final String countPrefix;
+        private final List<String> keyRestrictedLeftJoinAliases;
+        private final List<List<Object>> entityFunctionNodes;
+        private final int hash;
+
+        public Key(Class<?> querySpecificationClass, DbmsStatementType statementType, String sql, String limit, String offset, String countPrefix, List<String> keyRestrictedLeftJoinAliases, List<EntityFunctionNode> entityFunctionNodes) {
+            this.querySpecificationClass = querySpecificationClass;
+            this.statementType = statementType;
+            this.sql = sql;
+            this.limit = limit;
+            this.offset = offset;
+            this.countPrefix = countPrefix;
+            this.keyRestrictedLeftJoinAliases = keyRestrictedLeftJoinAliases;
+            this.entityFunctionNodes = new ArrayList<>(entityFunctionNodes.size());
+            for (EntityFunctionNode node : entityFunctionNodes) {
+                this.entityFunctionNodes.add(Arrays.<Object>asList(
+                        node.getSubquery(),
+                        node.getAliases(),
+                        node.getEntityName(),
+                        fromInfo(node.getTableAlias()),
+                        fromInfo(node.getPluralCollectionTableAlias()),
+                        fromInfo(node.getPluralTableAlias()),
+                        node.getPluralTableJoin(),
+                        node.getSyntheticPredicate(),
+                        node.isLateral()
+                ));
+            }
+            int result = querySpecificationClass.hashCode();
+            result = 31 * result + (statementType != null ? statementType.hashCode() : 0);
+            result = 31 * result + sql.hashCode();
+            result = 31 * result + (limit != null ? limit.hashCode() : 0);
+            result = 31 * result + (offset != null ? offset.hashCode() : 0);
+            result = 31 * result + (countPrefix != null ? countPrefix.hashCode() : 0);
+            result = 31 * result + keyRestrictedLeftJoinAliases.hashCode();
+            result = 31 * result + this.entityFunctionNodes.hashCode();
+            this.hash = result;
+        }
+
+        private static List<Object> fromInfo(ExtendedQuerySupport.SqlFromInfo sqlFromInfo) {
+            if (sqlFromInfo == null) {
+                return null;
+            }
+            return Arrays.<Object>asList(sqlFromInfo.getAlias(), sqlFromInfo.getFromStartIndex(), sqlFromInfo.getFromEndIndex());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+            return hash == key.hash
+                    && querySpecificationClass == key.querySpecificationClass
+                    && statementType == key.statementType
+                    && sql.equals(key.sql)
+                    && (limit != null ? limit.equals(key.limit) : key.limit == null)
+                    && (offset != null ? offset.equals(key.offset) : key.offset == null)
+                    && (countPrefix != null ? countPrefix.equals(key.countPrefix) : key.countPrefix == null)
+                    && keyRestrictedLeftJoinAliases.equals(key.keyRestrictedLeftJoinAliases)
+                    && entityFunctionNodes.equals(key.entityFunctionNodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The transformed SQL along with the CTEs that were added to it.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static final class Entry implements ExpressionCache.Weighted {
+
+        // Roughly the amount of characters that is equivalent to an expression node
+        private static final int CHARACTERS_PER_WEIGHT = 64;
+
+        private final String sql;
+        private final Map<String, String> addedCtes;
+
+        public Entry(String sql, Map<String, String> addedCtes) {
+            this.sql = sql;
+            this.addedCtes = addedCtes;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public Map<String, String> getAddedCtes() {
+            return addedCtes;
+        }
+
+        @Override
+        public int getWeight() {
+            return 1 + sql.length() / CHARACTERS_PER_WEIGHT;
+        }
+    }
+}
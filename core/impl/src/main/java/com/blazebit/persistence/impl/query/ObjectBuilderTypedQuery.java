@@ -17,12 +17,19 @@
 package com.blazebit.persistence.impl.query;
 
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.ReducingObjectBuilder;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.persistence.NoResultException;
 import javax.persistence.NonUniqueResultException;
@@ -36,6 +43,11 @@ import javax.persistence.criteria.ParameterExpression;
  */
 public class ObjectBuilderTypedQuery<X> extends TypedQueryWrapper<X> {
 
+    /**
+     * The number of reduced objects that are built together so that batching in {@link ObjectBuilder#buildList(List)} still applies.
+     */
+    private static final int REDUCTION_CHUNK_SIZE = 64;
+
     private final ObjectBuilder<X> builder;
 
     @SuppressWarnings("unchecked")
@@ -79,6 +91,15 @@ public class ObjectBuilderTypedQuery<X> extends TypedQueryWrapper<X> {
 
     public Stream<X> getResultStream() {
         final Stream<X> resultStream = super.getResultStream();
+        if (builder instanceof ReducingObjectBuilder<?>) {
+            Iterator<X> iterator = new ReducingIterator<>(resultStream.iterator(), (ReducingObjectBuilder<X>) builder);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false).onClose(new Runnable() {
+                @Override
+                public void run() {
+                    resultStream.close();
+                }
+            });
+        }
         return resultStream.map(new Function<X, X>() {
             @Override
             public X apply(X tuple) {
@@ -102,4 +123,90 @@ public class ObjectBuilderTypedQuery<X> extends TypedQueryWrapper<X> {
         });
     }
 
+    private static Object[] toArray(Object tuple) {
+        if (tuple instanceof Object[]) {
+            return (Object[]) tuple;
+        } else {
+            return new Object[]{ tuple };
+        }
+    }
+
+    /**
+     * Collects consecutive tuples with the same reduction key into chunks and reduces the chunks with {@link ObjectBuilder#buildList(List)}.
+     * Only the key of the current object is retained to keep the memory constant, so the tuples of an object must be consecutive.
+     * Tuples of an object that are encountered again after tuples of other objects produce another object.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class ReducingIterator<X> implements Iterator<X> {
+
+        private final Iterator<X> tupleIterator;
+        private final ReducingObjectBuilder<X> builder;
+        private Iterator<X> currentChunk = Collections.emptyIterator();
+        private Object[] pendingTuple;
+        private Object pendingKey;
+
+        public ReducingIterator(Iterator<X> tupleIterator, ReducingObjectBuilder<X> builder) {
+            this.tupleIterator = tupleIterator;
+            this.builder = builder;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentChunk.hasNext()) {
+                if (!nextChunk()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public X next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentChunk.next();
+        }
+
+        private boolean nextChunk() {
+            List<X> chunk = new ArrayList<>();
+            Object currentKey = null;
+            int reducedObjects = 0;
+            while (pendingTuple != null || tupleIterator.hasNext()) {
+                Object[] tuple;
+                Object key;
+                if (pendingTuple == null) {
+                    tuple = toArray(tupleIterator.next());
+                    // The key must be determined before building, as building the chunk might alter the tuple
+                    key = builder.getReductionKey(tuple);
+                    if (key == null) {
+                        throw new UnsupportedOperationException("Object builder is not streaming capable: " + builder);
+                    }
+                } else {
+                    tuple = pendingTuple;
+                    key = pendingKey;
+                    pendingTuple = null;
+                    pendingKey = null;
+                }
+                if (!key.equals(currentKey)) {
+                    if (reducedObjects == REDUCTION_CHUNK_SIZE) {
+                        pendingTuple = tuple;
+                        pendingKey = key;
+                        break;
+                    }
+                    currentKey = key;
+                    reducedObjects++;
+                }
+                chunk.add(builder.build(tuple));
+            }
+            if (chunk.isEmpty()) {
+                return false;
+            }
+            currentChunk = builder.buildList(chunk).iterator();
+            return true;
+        }
+    }
+
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.impl.query;
+
+import java.util.Collection;
+
+/**
+ * A query that binds a padded list for a parameter, but still exposes the unpadded value through the parameter accessors.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public interface ParameterListPaddingQuery {
+
+    /**
+     * Binds the given list value padded to the next power of two. Subsequent values set for the parameter are padded as well.
+     *
+     * @param name The parameter name
+     * @param value The unpadded value
+     */
+    public void setPaddedParameterList(String name, Collection<?> value);
+}
@@ -16,6 +16,8 @@
 
 package com.blazebit.persistence.impl.query;
 
+import com.blazebit.persistence.impl.ParameterManager;
+
 import javax.persistence.FlushModeType;
 import javax.persistence.LockModeType;
 import javax.persistence.Parameter;
@@ -23,6 +25,7 @@ import javax.persistence.Query;
 import javax.persistence.TemporalType;
 import javax.persistence.criteria.ParameterExpression;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -35,10 +38,12 @@ import java.util.stream.Stream;
  * @author Christian Beikov
  * @since 1.6.3
  */
-public class QueryWrapper implements Query {
+public class QueryWrapper implements Query, ParameterListPaddingQuery {
     
     protected final Query delegate;
     protected final Map<Parameter<?>, String> parameterNameMapping;
+    // The unpadded values of parameters that are bound padded to the delegate
+    private Map<String, Object> paddedParameterLists;
 
     public QueryWrapper(Query delegate, Map<ParameterExpression<?>, String> criteriaNameMapping) {
         this.delegate = delegate;
@@ -95,6 +100,15 @@ public class QueryWrapper implements Query {
         return this;
     }
 
+    @Override
+    public void setPaddedParameterList(String name, Collection<?> value) {
+        if (paddedParameterLists == null) {
+            paddedParameterLists = new HashMap<>();
+        }
+        paddedParameterLists.put(name, value);
+        delegate.setParameter(name, ParameterManager.padParameterList(value));
+    }
+
     @Override
     public <T> Query setParameter(Parameter<T> prmtr, T t) {
         String name = parameterNameMapping == null ? prmtr.getName() : parameterNameMapping.get(prmtr);
@@ -102,7 +116,7 @@ public class QueryWrapper implements Query {
         if (name == null) {
             delegate.setParameter(prmtr, t);
         } else {
-            delegate.setParameter(name, t);
+            bindParameter(name, t);
         }
         return this;
     }
@@ -133,7 +147,7 @@ public class QueryWrapper implements Query {
 
     @Override
     public Query setParameter(String string, Object o) {
-        delegate.setParameter(string, o);
+        bindParameter(string, o);
         return this;
     }
 
@@ -167,6 +181,17 @@ public class QueryWrapper implements Query {
         return this;
     }
 
+    private void bindParameter(String name, Object value) {
+        if (paddedParameterLists != null && paddedParameterLists.containsKey(name)) {
+            if (value instanceof Collection<?>) {
+                setPaddedParameterList(name, (Collection<?>) value);
+                return;
+            }
+            paddedParameterLists.remove(name);
+        }
+        delegate.setParameter(name, value);
+    }
+
     @Override
     public Query setFlushMode(FlushModeType fmt) {
         delegate.setFlushMode(fmt);
@@ -277,13 +302,19 @@ public class QueryWrapper implements Query {
     public <T> T getParameterValue(Parameter<T> prmtr) {
         if (parameterNameMapping != null) {
             String name = parameterNameMapping.get(prmtr);
-            return (T) delegate.getParameterValue(name);
+            return (T) getParameterValue(name);
+        }
+        if (paddedParameterLists != null && prmtr.getName() != null && paddedParameterLists.containsKey(prmtr.getName())) {
+            return (T) paddedParameterLists.get(prmtr.getName());
         }
         return delegate.getParameterValue(prmtr);
     }
 
     @Override
     public Object getParameterValue(String string) {
+        if (paddedParameterLists != null && paddedParameterLists.containsKey(string)) {
+            return paddedParameterLists.get(string);
+        }
         return delegate.getParameterValue(string);
     }
 
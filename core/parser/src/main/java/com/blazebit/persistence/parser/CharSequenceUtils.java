@@ -96,4 +96,61 @@ public final class CharSequenceUtils {
         }
     }
 
+    /**
+     * Parses the given character sequence as signed decimal <code>int</code> without creating a string for it.
+     *
+     * @param charSequence The character sequence to parse
+     * @return The parsed value
+     * @throws NumberFormatException if the character sequence is not a valid <code>int</code>
+     * @since 1.6.10
+     */
+    public static int parseInt(CharSequence charSequence) {
+        long value = parseLong(charSequence);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("For input string: \"" + charSequence + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses the given character sequence as signed decimal <code>long</code> without creating a string for it.
+     *
+     * @param charSequence The character sequence to parse
+     * @return The parsed value
+     * @throws NumberFormatException if the character sequence is not a valid <code>long</code>
+     * @since 1.6.10
+     */
+    public static long parseLong(CharSequence charSequence) {
+        int length = charSequence.length();
+        if (length == 0) {
+            throw new NumberFormatException("For input string: \"\"");
+        }
+        int i = 0;
+        boolean negative = false;
+        char first = charSequence.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                throw new NumberFormatException("For input string: \"" + charSequence + "\"");
+            }
+            negative = first == '-';
+            i = 1;
+        }
+        // Accumulate negatively to be able to represent Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplicationLimit = limit / 10;
+        long result = 0;
+        for (; i < length; i++) {
+            int digit = Character.digit(charSequence.charAt(i), 10);
+            if (digit < 0 || result < multiplicationLimit) {
+                throw new NumberFormatException("For input string: \"" + charSequence + "\"");
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + charSequence + "\"");
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
 }
@@ -17,9 +17,8 @@
 package com.blazebit.persistence.parser;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This is a specialized parser for the JSON structure that will be produced by the JSON functions in Blaze-Persistence.
@@ -34,97 +33,84 @@ public final class JsonParser {
     }
 
     public static List<Object[]> parseStringOnly(CharSequence json, String... fields) {
+        return parseStringOnly(json, new Fields(fields));
+    }
+
+    /**
+     * Parses the given JSON array of objects into a list of tuples with the positions of the given fields.
+     * String values without escape sequences are returned as views of the JSON, so that no copies are created.
+     *
+     * @param json The JSON to parse
+     * @param fields The fields of the objects
+     * @return The list of tuples
+     * @since 1.6.10
+     */
+    public static List<Object[]> parseStringOnly(CharSequence json, Fields fields) {
         List<Object[]> list = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
         if (json != null && json.length() != 0) {
-            Map<String, Integer> fieldMap = new HashMap<>(fields.length);
-            for (int i = 0; i < fields.length; i++) {
-                fieldMap.put(fields[i], i);
-            }
-
+            int fieldCount = fields.names.length;
+            StringBuilder sb = null;
             int start = CharSequenceUtils.indexOf(json, '[') + 1;
             int end = CharSequenceUtils.lastIndexOf(json, ']');
             for (int i = start; i < end; i++) {
-                Object[] object = new Object[fields.length];
-                boolean quoteMode = false;
+                Object[] object = new Object[fieldCount];
                 int fieldIndex = -1;
-                boolean escapes = false;
+                int lastFieldIndex = -1;
                 i = CharSequenceUtils.indexOf(json, '{', i) + 1;
                 for (; i < end; i++) {
                     char c = json.charAt(i);
-                    if (!quoteMode) {
-                        if (c == '"') {
-                            quoteMode = true;
-                        } else if (c == '}') {
-                            break;
-                        } else if (c != ':' && c != ',' && !Character.isWhitespace(c)) {
-                            // non-string value
-                            switch (c) {
-                                case 'n':
-                                    object[fieldIndex] = null;
-                                    i += 3;
-                                    fieldIndex = -1;
-                                    escapes = false;
-                                    break;
-                                case '[':
-                                    // Nested object handling
-                                    int nestedEnd = findEnd(json, i);
-                                    object[fieldIndex] = new SubSequence(json, i, nestedEnd);
-                                    fieldIndex = -1;
-                                    i = nestedEnd - 1;
-                                    break;
-                                default:
-                                    throw new IllegalArgumentException("Non-String value unsupported! Found at: " + i);
+                    if (c == '"') {
+                        int stringStart = i + 1;
+                        int stringEnd = stringStart;
+                        boolean escapes = false;
+                        for (char d = json.charAt(stringEnd); d != '"'; d = json.charAt(++stringEnd)) {
+                            if (d == '\\') {
+                                escapes = true;
+                                stringEnd++;
                             }
                         }
-                    } else {
-                        if (c == '\\') {
-                            escapes = true;
-                            c = json.charAt(++i);
-                            switch (c) {
-                                case 'b':
-                                    c = '\b';
-                                    break;
-                                case 'f':
-                                    c = '\f';
-                                    break;
-                                case 'r':
-                                    c = '\r';
-                                    break;
-                                case 'n':
-                                    c = '\n';
-                                    break;
-                                case 't':
-                                    c = '\t';
-                                    break;
-                                case 'u':
-                                    c = (char) Integer.parseInt(json.subSequence(i + 1, i + 5).toString(), 16);
-                                    i += 4;
-                                    break;
-                                case '"':
-                                case '\\':
-                                case '/':
-                                    break;
-                                default:
-                                    throw new IllegalStateException("Unexpected escape sequence at position: " + i);
+                        if (escapes) {
+                            if (sb == null) {
+                                sb = new StringBuilder();
                             }
-                            sb.append(c);
-                        } else if (c == '"') {
+                            String string = unescape(json, stringStart, stringEnd, sb);
                             if (fieldIndex == -1) {
-                                fieldIndex = fieldMap.get(sb.toString());
+                                fieldIndex = fields.indexOf(string, 0, string.length(), lastFieldIndex + 1);
                             } else {
-                                if (escapes) {
-                                    object[fieldIndex] = sb.toString();
-                                } else {
-                                    object[fieldIndex] = new SubSequence(json, i - sb.length(), i);
-                                }
+                                object[fieldIndex] = string;
+                                lastFieldIndex = fieldIndex;
                                 fieldIndex = -1;
-                                escapes = false;
                             }
-                            sb.setLength(0);
-                            quoteMode = false;
+                        } else if (fieldIndex == -1) {
+                            // Compare the field name in place to avoid creating a string for it
+                            fieldIndex = fields.indexOf(json, stringStart, stringEnd, lastFieldIndex + 1);
                         } else {
-                            sb.append(c);
+                            object[fieldIndex] = new SubSequence(json, stringStart, stringEnd);
+                            lastFieldIndex = fieldIndex;
+                            fieldIndex = -1;
+                        }
+                        i = stringEnd;
+                    } else if (c == '}') {
+                        break;
+                    } else if (c != ':' && c != ',' && !Character.isWhitespace(c)) {
+                        // non-string value
+                        switch (c) {
+                            case 'n':
+                                object[fieldIndex] = null;
+                                i += 3;
+                                lastFieldIndex = fieldIndex;
+                                fieldIndex = -1;
+                                break;
+                            case '[':
+                                // Nested object handling
+                                int nestedEnd = findEnd(json, i);
+                                object[fieldIndex] = new SubSequence(json, i, nestedEnd);
+                                lastFieldIndex = fieldIndex;
+                                fieldIndex = -1;
+                                i = nestedEnd - 1;
+                                break;
+                            default:
+                                throw new IllegalArgumentException("Non-String value unsupported! Found at: " + i);
                         }
                     }
                 }
@@ -134,6 +120,122 @@ public final class JsonParser {
         return list;
     }
 
+    /**
+     * Parses the given JSON array of arrays into a list of tuples with the given number of elements.
+     * String values without escape sequences are returned as views of the JSON, so that no copies are created.
+     *
+     * @param json The JSON to parse
+     * @param fieldCount The number of elements of the nested arrays
+     * @return The list of tuples
+     * @since 1.6.10
+     */
+    public static List<Object[]> parseArraysStringOnly(CharSequence json, int fieldCount) {
+        List<Object[]> list = new ArrayList<>();
+        if (json != null && json.length() != 0) {
+            StringBuilder sb = null;
+            int start = CharSequenceUtils.indexOf(json, '[') + 1;
+            int end = CharSequenceUtils.lastIndexOf(json, ']');
+            for (int i = start; i < end; i++) {
+                Object[] object = new Object[fieldCount];
+                int fieldIndex = 0;
+                i = CharSequenceUtils.indexOf(json, '[', i) + 1;
+                if (i == 0) {
+                    break;
+                }
+                for (; i < end; i++) {
+                    char c = json.charAt(i);
+                    if (c == '"') {
+                        int stringStart = i + 1;
+                        int stringEnd = stringStart;
+                        boolean escapes = false;
+                        for (char d = json.charAt(stringEnd); d != '"'; d = json.charAt(++stringEnd)) {
+                            if (d == '\\') {
+                                escapes = true;
+                                stringEnd++;
+                            }
+                        }
+                        if (escapes) {
+                            if (sb == null) {
+                                sb = new StringBuilder();
+                            }
+                            object[fieldIndex++] = unescape(json, stringStart, stringEnd, sb);
+                        } else {
+                            object[fieldIndex++] = new SubSequence(json, stringStart, stringEnd);
+                        }
+                        i = stringEnd;
+                    } else if (c == ']') {
+                        break;
+                    } else if (c != ',' && !Character.isWhitespace(c)) {
+                        // non-string value
+                        switch (c) {
+                            case 'n':
+                                object[fieldIndex++] = null;
+                                i += 3;
+                                break;
+                            case '[':
+                                // Nested array handling
+                                int nestedEnd = findEnd(json, i);
+                                object[fieldIndex++] = new SubSequence(json, i, nestedEnd);
+                                i = nestedEnd - 1;
+                                break;
+                            default:
+                                throw new IllegalArgumentException("Non-String value unsupported! Found at: " + i);
+                        }
+                    }
+                }
+                list.add(object);
+            }
+        }
+        return list;
+    }
+
+    private static String unescape(CharSequence json, int start, int end, StringBuilder sb) {
+        sb.setLength(0);
+        for (int i = start; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '\\') {
+                c = json.charAt(++i);
+                switch (c) {
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'u':
+                        int codePoint = 0;
+                        for (int j = 1; j < 5; j++) {
+                            int digit = Character.digit(json.charAt(i + j), 16);
+                            if (digit == -1) {
+                                throw new IllegalStateException("Unexpected unicode escape sequence at position: " + i);
+                            }
+                            codePoint = (codePoint << 4) | digit;
+                        }
+                        c = (char) codePoint;
+                        i += 4;
+                        break;
+                    case '"':
+                    case '\\':
+                    case '/':
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected escape sequence at position: " + i);
+                }
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
     private static int findEnd(CharSequence json, int i) {
         int arrayLevel = 1;
         int end = json.length();
@@ -167,4 +269,49 @@ public final class JsonParser {
         return i;
     }
 
+    /**
+     * The field names of the objects in a JSON array, which can be reused for parsing JSON of the same shape.
+     * Since the JSON functions render the fields in the declared order, the field that follows the previous one is checked first.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static final class Fields {
+
+        private final String[] names;
+
+        public Fields(String... names) {
+            this.names = names;
+        }
+
+        public String[] getNames() {
+            return names;
+        }
+
+        int indexOf(CharSequence json, int start, int end, int expectedIndex) {
+            if (expectedIndex < names.length && matches(names[expectedIndex], json, start, end)) {
+                return expectedIndex;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (matches(names[i], json, start, end)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unknown field '" + json.subSequence(start, end) + "' in JSON! Expected one of: " + Arrays.toString(names));
+        }
+
+        private static boolean matches(String name, CharSequence json, int start, int end) {
+            int length = name.length();
+            if (length != end - start) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (name.charAt(i) != json.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
 }
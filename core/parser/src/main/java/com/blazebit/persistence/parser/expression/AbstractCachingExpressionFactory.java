@@ -205,12 +205,16 @@ public abstract class AbstractCachingExpressionFactory extends AbstractExpressio
      * @author Christian Beikov
      * @since 1.2.0
      */
-    private static final class ExpressionCacheEntry {
+    private static final class ExpressionCacheEntry implements ExpressionCache.Weighted {
         final Expression expression;
         final Set<String> usedMacros;
         final ConcurrentHashMap<MacroConfiguration, Expression> macroConfigurationCache;
+        // Only needed by bounded caches, so the weight is determined lazily
+        private Expression weighedExpression;
+        private int weight;
 
         public ExpressionCacheEntry(Expression expression, Set<String> usedMacros) {
+            this.weighedExpression = expression;
             if (usedMacros.isEmpty()) {
                 // The expression in the entry is just the fast path for the macro-free case
                 // An expression that didn't resolve macros is always macro-free, regardless of possible later registrations
@@ -224,6 +228,15 @@ public abstract class AbstractCachingExpressionFactory extends AbstractExpressio
             }
         }
 
+        @Override
+        public synchronized int getWeight() {
+            if (weighedExpression != null) {
+                weight = Math.max(1, ExpressionNodeCountingVisitor.count(weighedExpression));
+                weighedExpression = null;
+            }
+            return weight;
+        }
+
         public MacroConfiguration createKey(MacroConfiguration macroConfiguration) {
             Map<String, MacroFunction> macros = new HashMap<>(usedMacros.size());
             for (String usedMacro : usedMacros) {
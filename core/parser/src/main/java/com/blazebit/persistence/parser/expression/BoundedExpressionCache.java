@@ -0,0 +1,105 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.expression;
+
+import com.blazebit.persistence.parser.util.BoundedCache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An expression cache that uses a {@link BoundedCache} per cache name, so that the weight of the cached values is bounded per cache name.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class BoundedExpressionCache<T> implements ExpressionCache<T>, ExpressionCache.StatisticsProvider {
+
+    private final long defaultMaximumWeight;
+    private final Map<String, Long> maximumWeights;
+    private final ConcurrentMap<String, BoundedCache<Key, T>> cacheManager;
+
+    public BoundedExpressionCache(long defaultMaximumWeight, Map<String, Long> maximumWeights) {
+        if (defaultMaximumWeight < 1) {
+            throw new IllegalArgumentException("Invalid maximum weight: " + defaultMaximumWeight);
+        }
+        for (Map.Entry<String, Long> entry : maximumWeights.entrySet()) {
+            if (entry.getValue() < 1) {
+                throw new IllegalArgumentException("Invalid maximum weight for cache '" + entry.getKey() + "': " + entry.getValue());
+            }
+        }
+        this.defaultMaximumWeight = defaultMaximumWeight;
+        this.maximumWeights = new HashMap<>(maximumWeights);
+        this.cacheManager = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public T get(String cacheName, Key key) {
+        // Create the cache eagerly so that misses are accounted for
+        return getOrCreateCache(cacheName).get(key);
+    }
+
+    @Override
+    public T putIfAbsent(String cacheName, Key key, T value) {
+        return getOrCreateCache(cacheName).putIfAbsent(key, value);
+    }
+
+    private BoundedCache<Key, T> getOrCreateCache(String cacheName) {
+        BoundedCache<Key, T> cache = cacheManager.get(cacheName);
+
+        if (cache == null) {
+            Long maximumWeight = maximumWeights.get(cacheName);
+            cache = new BoundedCache<>(maximumWeight == null ? defaultMaximumWeight : maximumWeight);
+            BoundedCache<Key, T> oldCache = cacheManager.putIfAbsent(cacheName, cache);
+
+            if (oldCache != null) {
+                cache = oldCache;
+            }
+        }
+
+        return cache;
+    }
+
+    @Override
+    public Statistics getStatistics(String cacheName) {
+        BoundedCache<Key, T> cache = cacheManager.get(cacheName);
+        if (cache == null) {
+            return new Statistics(0L, 0L, 0L, 0L, 0L);
+        }
+        return cache.getStatistics();
+    }
+
+    @Override
+    public Statistics getStatistics() {
+        long hitCount = 0L;
+        long missCount = 0L;
+        long evictionCount = 0L;
+        long size = 0L;
+        long weight = 0L;
+        for (BoundedCache<Key, T> cache : cacheManager.values()) {
+            Statistics statistics = cache.getStatistics();
+            hitCount += statistics.getHitCount();
+            missCount += statistics.getMissCount();
+            evictionCount += statistics.getEvictionCount();
+            size += statistics.getSize();
+            weight += statistics.getWeight();
+        }
+        return new Statistics(hitCount, missCount, evictionCount, size, weight);
+    }
+}
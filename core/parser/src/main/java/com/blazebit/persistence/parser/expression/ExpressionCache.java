@@ -29,6 +29,106 @@ public interface ExpressionCache<T> {
 
     public T putIfAbsent(String cacheName, Key key, T value);
 
+    /**
+     * A cache value that can report its weight. Bounded cache implementations use the weight to determine when to evict entries.
+     * Values that don't implement this interface have a weight of 1.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    interface Weighted {
+
+        /**
+         * Returns the weight of this cache value which must be a positive number.
+         *
+         * @return the weight
+         */
+        public int getWeight();
+    }
+
+    /**
+     * An expression cache that exposes usage statistics.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    interface StatisticsProvider {
+
+        /**
+         * Returns the statistics for the cache with the given name.
+         *
+         * @param cacheName The cache name
+         * @return the statistics for the cache
+         */
+        public Statistics getStatistics(String cacheName);
+
+        /**
+         * Returns the aggregated statistics for all caches.
+         *
+         * @return the aggregated statistics
+         */
+        public Statistics getStatistics();
+    }
+
+    /**
+     * A snapshot of the usage statistics of an expression cache.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    final class Statistics {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final long size;
+        private final long weight;
+
+        public Statistics(long hitCount, long missCount, long evictionCount, long size, long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public double getHitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "hitCount=" + hitCount +
+                    ", missCount=" + missCount +
+                    ", evictionCount=" + evictionCount +
+                    ", size=" + size +
+                    ", weight=" + weight +
+                    '}';
+        }
+    }
+
     /**
      *
      * @author Moritz Becker
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.expression;
+
+import com.blazebit.persistence.parser.predicate.BetweenPredicate;
+import com.blazebit.persistence.parser.predicate.BooleanLiteral;
+import com.blazebit.persistence.parser.predicate.CompoundPredicate;
+import com.blazebit.persistence.parser.predicate.EqPredicate;
+import com.blazebit.persistence.parser.predicate.ExistsPredicate;
+import com.blazebit.persistence.parser.predicate.GePredicate;
+import com.blazebit.persistence.parser.predicate.GtPredicate;
+import com.blazebit.persistence.parser.predicate.InPredicate;
+import com.blazebit.persistence.parser.predicate.IsEmptyPredicate;
+import com.blazebit.persistence.parser.predicate.IsNullPredicate;
+import com.blazebit.persistence.parser.predicate.LePredicate;
+import com.blazebit.persistence.parser.predicate.LikePredicate;
+import com.blazebit.persistence.parser.predicate.LtPredicate;
+import com.blazebit.persistence.parser.predicate.MemberOfPredicate;
+
+/**
+ * Counts the nodes of an expression tree which is used as weight for cached expressions.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class ExpressionNodeCountingVisitor extends VisitorAdapter {
+
+    private int count;
+
+    public static int count(Expression expression) {
+        if (expression == null) {
+            return 0;
+        }
+        ExpressionNodeCountingVisitor visitor = new ExpressionNodeCountingVisitor();
+        expression.accept(visitor);
+        return visitor.count;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void visit(PathExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(ArrayExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(TreatExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(ListIndexExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(MapEntryExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(MapKeyExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(MapValueExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(PropertyExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(ParameterExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(NullExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(SubqueryExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(FunctionExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(TypeFunctionExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(TrimExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(GeneralCaseExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(SimpleCaseExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(WhenClauseExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(ArithmeticExpression expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(ArithmeticFactor expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(NumericLiteral expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(BooleanLiteral expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(StringLiteral expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(DateLiteral expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(TimeLiteral expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(TimestampLiteral expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(EnumLiteral expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(EntityLiteral expression) {
+        count++;
+        super.visit(expression);
+    }
+
+    @Override
+    public void visit(CompoundPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(EqPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(IsNullPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(IsEmptyPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(MemberOfPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(LikePredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(BetweenPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(InPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(GtPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(GePredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(LtPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(LePredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+
+    @Override
+    public void visit(ExistsPredicate predicate) {
+        count++;
+        super.visit(predicate);
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser.util;
+
+import com.blazebit.persistence.parser.expression.ExpressionCache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A cache that is bounded by the weight of the cached values. The weight of values implementing {@link ExpressionCache.Weighted}
+ * is the reported weight, for other values it is 1.
+ *
+ * Entries are evicted in least recently used order. A frequency sketch is used to decide whether a new entry
+ * should be admitted to a full cache, so that rarely used entries can't push out frequently used ones.
+ *
+ * Lookups don't acquire a lock but only record the access in a lossy ring buffer.
+ * The recorded accesses are applied to the recency order, the frequency sketch and the statistics in batches under the lock,
+ * so under heavy contention some accesses might not be accounted for.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class BoundedCache<K, V> {
+
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int DRAIN_THRESHOLD = READ_BUFFER_SIZE / 4;
+
+    private final long maximumWeight;
+    private final EvictionListener<K, V> evictionListener;
+    private final ConcurrentHashMap<K, WeightedValue<K, V>> values;
+    private final ReentrantLock lock;
+    // The following fields are guarded by the lock
+    private final LinkedHashMap<K, WeightedValue<K, V>> entries;
+    private final FrequencySketch sketch;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    // Elements are either the read WeightedValue for a hit or the Key for a miss
+    private final AtomicReferenceArray<Object> readBuffer;
+    private final AtomicLong readBufferWriteCount;
+    private volatile long readBufferReadCount;
+
+    public BoundedCache(long maximumWeight) {
+        this(maximumWeight, null);
+    }
+
+    public BoundedCache(long maximumWeight, EvictionListener<K, V> evictionListener) {
+        if (maximumWeight < 1) {
+            throw new IllegalArgumentException("Invalid maximum weight: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+        this.evictionListener = evictionListener;
+        this.values = new ConcurrentHashMap<>();
+        this.lock = new ReentrantLock();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch = new FrequencySketch(maximumWeight);
+        this.readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        this.readBufferWriteCount = new AtomicLong();
+    }
+
+    public V get(K key) {
+        WeightedValue<K, V> value = values.get(key);
+        recordRead(value == null ? key : value);
+        return value == null ? null : value.value;
+    }
+
+    public boolean containsKey(K key) {
+        return values.containsKey(key);
+    }
+
+    private void recordRead(Object event) {
+        long writeCount = readBufferWriteCount.get();
+        long pending = writeCount - readBufferReadCount;
+        if (pending < READ_BUFFER_SIZE && readBufferWriteCount.compareAndSet(writeCount, writeCount + 1)) {
+            readBuffer.lazySet((int) (writeCount & READ_BUFFER_MASK), event);
+            pending++;
+        }
+        if (pending >= DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffer() {
+        long readCount = readBufferReadCount;
+        long writeCount = readBufferWriteCount.get();
+        for (; readCount < writeCount; readCount++) {
+            int index = (int) (readCount & READ_BUFFER_MASK);
+            Object event = readBuffer.get(index);
+            if (event == null) {
+                // The element is not published yet
+                break;
+            }
+            readBuffer.lazySet(index, null);
+            if (event instanceof WeightedValue<?, ?>) {
+                WeightedValue<?, ?> value = (WeightedValue<?, ?>) event;
+                hitCount++;
+                sketch.increment(value.key.hashCode());
+                // Moves the entry to the end of the access order if it wasn't evicted in the meantime
+                entries.get(value.key);
+            } else {
+                missCount++;
+                sketch.increment(event.hashCode());
+            }
+        }
+        readBufferReadCount = readCount;
+    }
+
+    public V putIfAbsent(K key, V value) {
+        // Weigh outside of the lock as that might require visiting a whole expression tree
+        int valueWeight = weigh(value);
+        lock.lock();
+        try {
+            drainReadBuffer();
+            WeightedValue<K, V> oldValue = entries.get(key);
+            if (oldValue != null) {
+                return oldValue.value;
+            }
+
+            if (valueWeight > maximumWeight) {
+                return value;
+            }
+            if (weight + valueWeight > maximumWeight && !admit(key, valueWeight)) {
+                return value;
+            }
+
+            WeightedValue<K, V> weightedValue = new WeightedValue<>(key, value, valueWeight);
+            entries.put(key, weightedValue);
+            values.put(key, weightedValue);
+            weight += valueWeight;
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean admit(K candidate, int candidateWeight) {
+        // TinyLFU admission: only evict the least recently used entries if the candidate is accessed at least as often
+        int candidateFrequency = sketch.frequency(candidate.hashCode());
+        long freedWeight = 0L;
+        Iterator<Map.Entry<K, WeightedValue<K, V>>> iterator = entries.entrySet().iterator();
+        while (weight - freedWeight + candidateWeight > maximumWeight) {
+            Map.Entry<K, WeightedValue<K, V>> victim = iterator.next();
+            if (sketch.frequency(victim.getKey().hashCode()) > candidateFrequency) {
+                return false;
+            }
+            freedWeight += victim.getValue().weight;
+        }
+
+        iterator = entries.entrySet().iterator();
+        while (weight + candidateWeight > maximumWeight) {
+            Map.Entry<K, WeightedValue<K, V>> victim = iterator.next();
+            weight -= victim.getValue().weight;
+            iterator.remove();
+            values.remove(victim.getKey());
+            evictionCount++;
+            if (evictionListener != null) {
+                evictionListener.onEviction(victim.getKey(), victim.getValue().value);
+            }
+        }
+        return true;
+    }
+
+    public V remove(K key) {
+        lock.lock();
+        try {
+            drainReadBuffer();
+            WeightedValue<K, V> oldValue = entries.remove(key);
+            if (oldValue == null) {
+                return null;
+            }
+            values.remove(key);
+            weight -= oldValue.weight;
+            return oldValue.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            drainReadBuffer();
+            entries.clear();
+            values.clear();
+            weight = 0L;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ExpressionCache.Statistics getStatistics() {
+        lock.lock();
+        try {
+            drainReadBuffer();
+            return new ExpressionCache.Statistics(hitCount, missCount, evictionCount, entries.size(), weight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof ExpressionCache.Weighted) {
+            return Math.max(1, ((ExpressionCache.Weighted) value).getWeight());
+        }
+        return 1;
+    }
+
+    /**
+     * A listener that is notified about entries that were evicted to make room for other entries.
+     * Entries that are removed explicitly are not reported. The listener is invoked while holding the lock of the cache.
+     *
+     * @param <K> The key type
+     * @param <V> The value type
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public interface EvictionListener<K, V> {
+
+        /**
+         * Called after the given entry was evicted.
+         *
+         * @param key The key of the evicted entry
+         * @param value The value of the evicted entry
+         */
+        public void onEviction(K key, V value);
+    }
+
+    /**
+     * A cached value along with its weight.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class WeightedValue<K, V> {
+        final K key;
+        final V value;
+        final int weight;
+
+        public WeightedValue(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A count-min sketch with saturating 8-bit counters that are periodically halved so that the frequencies age.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class FrequencySketch {
+
+        private static final int MAX_COUNTER = 127;
+        private static final int MIN_TABLE_SIZE = 64;
+        private static final int MAX_TABLE_SIZE = 1 << 16;
+        private static final int[] SEEDS = { 0x97cb3127, 0xb3b0f75b, 0xa3ae2b8d, 0x4fa4e1bd };
+
+        private final byte[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        public FrequencySketch(long maximumWeight) {
+            int size = MIN_TABLE_SIZE;
+            while (size < maximumWeight && size < MAX_TABLE_SIZE) {
+                size <<= 1;
+            }
+            this.table = new byte[size];
+            this.mask = size - 1;
+            this.sampleSize = size * 10;
+        }
+
+        public void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int index = index(hash, i);
+                if (table[index] < MAX_COUNTER) {
+                    table[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions == sampleSize) {
+                reset();
+            }
+        }
+
+        public int frequency(int hash) {
+            int frequency = MAX_COUNTER;
+            for (int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, table[index(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private int index(int hash, int i) {
+            int h = (hash + SEEDS[i]) * SEEDS[i];
+            h ^= h >>> 16;
+            return h & mask;
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (byte) (table[i] >>> 1);
+            }
+            additions = 0;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.parser;
+
+import com.blazebit.persistence.parser.expression.BoundedExpressionCache;
+import com.blazebit.persistence.parser.expression.Expression;
+import com.blazebit.persistence.parser.expression.ExpressionCache;
+import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.parser.expression.ExpressionFactoryImpl;
+import com.blazebit.persistence.parser.expression.SimpleCachingExpressionFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class BoundedExpressionCacheTest {
+
+    private static final String CACHE = "test";
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>(2, Collections.<String, Long>emptyMap());
+        ExpressionCache.Key a = key("a");
+        ExpressionCache.Key b = key("b");
+        ExpressionCache.Key c = key("c");
+        cache.get(CACHE, a);
+        cache.putIfAbsent(CACHE, a, "a");
+        cache.get(CACHE, b);
+        cache.putIfAbsent(CACHE, b, "b");
+        // Access a so that b is the least recently used entry
+        Assert.assertEquals("a", cache.get(CACHE, a));
+        cache.get(CACHE, c);
+        cache.putIfAbsent(CACHE, c, "c");
+
+        Assert.assertEquals("a", cache.get(CACHE, a));
+        Assert.assertNull(cache.get(CACHE, b));
+        Assert.assertEquals("c", cache.get(CACHE, c));
+
+        ExpressionCache.Statistics statistics = cache.getStatistics(CACHE);
+        Assert.assertEquals(1L, statistics.getEvictionCount());
+        Assert.assertEquals(2L, statistics.getSize());
+        Assert.assertEquals(3L, statistics.getHitCount());
+        Assert.assertEquals(4L, statistics.getMissCount());
+    }
+
+    @Test
+    public void testRejectsRarelyUsedCandidate() {
+        BoundedExpressionCache<String> cache = new BoundedExpressionCache<>(1, Collections.<String, Long>emptyMap());
+        ExpressionCache.Key hot = key("hot");
+        ExpressionCache.Key cold = key("cold");
+        cache.putIfAbsent(CACHE, hot, "hot");
+        for (int i = 0; i < 10; i++) {
+            cache.get(CACHE, hot);
+        }
+        cache.get(CACHE, cold);
+        cache.putIfAbsent(CACHE, cold, "cold");
+
+        Assert.assertEquals("hot", cache.get(CACHE, hot));
+        Assert.assertNull(cache.get(CACHE, cold));
+        Assert.assertEquals(0L, cache.getStatistics(CACHE).getEvictionCount());
+    }
+
+    @Test
+    public void testWeightedValues() {
+        BoundedExpressionCache<WeightedString> cache = new BoundedExpressionCache<>(1000, Collections.singletonMap(CACHE, 5L));
+        cache.putIfAbsent(CACHE, key("a"), new WeightedString("a", 3));
+        cache.putIfAbsent(CACHE, key("b"), new WeightedString("b", 2));
+        // Too heavy for the cache at all
+        cache.putIfAbsent(CACHE, key("c"), new WeightedString("c", 6));
+        cache.putIfAbsent("other", key("c"), new WeightedString("c", 6));
+
+        Assert.assertEquals(5L, cache.getStatistics(CACHE).getWeight());
+        Assert.assertNull(cache.get(CACHE, key("c")));
+        Assert.assertNotNull(cache.get("other", key("c")));
+        Assert.assertEquals(11L, cache.getStatistics().getWeight());
+    }
+
+    @Test
+    public void testCachingExpressionFactory() {
+        BoundedExpressionCache<Object> cache = new BoundedExpressionCache<>(1000, Collections.<String, Long>emptyMap());
+        ExpressionFactory ef = new SimpleCachingExpressionFactory(new ExpressionFactoryImpl(new HashMap<String, FunctionKind>(), true, true), cache);
+        String expressionString = "SIZE(a.b) + c.d";
+
+        Expression expr1 = ef.createSimpleExpression(expressionString, false, true, false, null, null);
+        Expression expr2 = ef.createSimpleExpression(expressionString, false, true, false, null, null);
+
+        Assert.assertFalse(expr1 == expr2);
+        Assert.assertEquals(expr1, expr2);
+        ExpressionCache.Statistics statistics = cache.getStatistics();
+        Assert.assertEquals(1L, statistics.getHitCount());
+        Assert.assertEquals(1L, statistics.getMissCount());
+        Assert.assertEquals(1L, statistics.getSize());
+        Assert.assertTrue(statistics.getWeight() > 1L);
+    }
+
+    private static ExpressionCache.Key key(String expression) {
+        return new ExpressionCache.Key(expression, false, false, false);
+    }
+
+    /**
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class WeightedString implements ExpressionCache.Weighted {
+        private final String value;
+        private final int weight;
+
+        public WeightedString(String value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+
+        @Override
+        public int getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+}
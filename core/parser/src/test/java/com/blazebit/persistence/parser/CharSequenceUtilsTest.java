@@ -19,6 +19,7 @@ package com.blazebit.persistence.parser;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 /**
  *
@@ -34,4 +35,33 @@ public class CharSequenceUtilsTest {
         assertEquals(6, CharSequenceUtils.lastIndexOf(new SubSequence(new SubSequence("[{x:[{y:[{z:0}]}]}]", 4, 17), 4, 11), ']'));
     }
 
+    @Test
+    public void testParseNumbers() {
+        assertEquals(123, CharSequenceUtils.parseInt(new SubSequence("[\"123\"]", 2, 5)));
+        assertEquals(-42, CharSequenceUtils.parseInt("-42"));
+        assertEquals(Integer.MAX_VALUE, CharSequenceUtils.parseInt(Integer.toString(Integer.MAX_VALUE)));
+        assertEquals(Integer.MIN_VALUE, CharSequenceUtils.parseInt(Integer.toString(Integer.MIN_VALUE)));
+        assertEquals(Long.MAX_VALUE, CharSequenceUtils.parseLong(Long.toString(Long.MAX_VALUE)));
+        assertEquals(Long.MIN_VALUE, CharSequenceUtils.parseLong(Long.toString(Long.MIN_VALUE)));
+        assertInvalidLong("");
+        assertInvalidLong("-");
+        assertInvalidLong("1.5");
+        assertInvalidLong("9223372036854775808");
+        try {
+            CharSequenceUtils.parseInt("2147483648");
+            fail("Expected NumberFormatException");
+        } catch (NumberFormatException ex) {
+            // Expected
+        }
+    }
+
+    private static void assertInvalidLong(String value) {
+        try {
+            CharSequenceUtils.parseLong(value);
+            fail("Expected NumberFormatException for: " + value);
+        } catch (NumberFormatException ex) {
+            // Expected
+        }
+    }
+
 }
@@ -19,6 +19,8 @@ package com.blazebit.persistence.parser;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertArrayEquals;
 
 /**
@@ -55,6 +57,30 @@ public class JsonParserTest {
         assertEquals(new Object[]{ "1", "test" }, JsonParser.parseStringOnly("[{\"age\": \"1\", \"name\": \"test\"}, {\"age\": \"1\", \"name\": \"test\"}]", "age", "name").get(1));
     }
 
+    @Test
+    public void testReusedFields() {
+        JsonParser.Fields fields = new JsonParser.Fields("f0", "f1", "f2");
+        List<Object[]> objects = JsonParser.parseStringOnly("[{\"f0\":\"a\",\"f1\":null,\"f2\":[{\"f0\":\"x\"}]},{\"f2\":null,\"f1\":\"1\",\"f0\":\"b\"}]", fields);
+        Assert.assertEquals(2, objects.size());
+        assertEquals(new Object[]{ "a", null, "[{\"f0\":\"x\"}]" }, objects.get(0));
+        assertEquals(new Object[]{ "b", "1", null }, objects.get(1));
+        assertEquals(new Object[]{ "c", null, null }, JsonParser.parseStringOnly("[{\"f0\":\"c\"}]", fields).get(0));
+    }
+
+    @Test
+    public void testArraysStringOnly() {
+        List<Object[]> objects = JsonParser.parseArraysStringOnly("[[\"a\", null, [[\"x\"]]], [\"b\\n\", \"1\", null]]", 3);
+        Assert.assertEquals(2, objects.size());
+        assertEquals(new Object[]{ "a", null, "[[\"x\"]]" }, objects.get(0));
+        assertEquals(new Object[]{ "b\n", "1", null }, objects.get(1));
+        Assert.assertEquals(0, JsonParser.parseArraysStringOnly("[]", 3).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownField() {
+        JsonParser.parseStringOnly("[{\"name\": \"test\", \"unknown\": \"1\"}]", "name", "age");
+    }
+
     private static void assertEquals(Object[] array1, Object[] array2) {
         Assert.assertEquals(array1.length, array2.length);
         for (int i = 0; i < array1.length; i++) {
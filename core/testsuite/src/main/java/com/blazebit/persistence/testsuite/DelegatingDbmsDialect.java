@@ -19,9 +19,11 @@ package com.blazebit.persistence.testsuite;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.DbmsLimitHandler;
 import com.blazebit.persistence.spi.DbmsModificationState;
+import com.blazebit.persistence.spi.DbmsParameterLimit;
 import com.blazebit.persistence.spi.DbmsStatementType;
 import com.blazebit.persistence.spi.DeleteJoinStyle;
 import com.blazebit.persistence.spi.LateralStyle;
+import com.blazebit.persistence.spi.MultisetEncoding;
 import com.blazebit.persistence.spi.OrderByElement;
 import com.blazebit.persistence.spi.SetOperationType;
 import com.blazebit.persistence.spi.UpdateJoinStyle;
@@ -39,7 +41,7 @@ import java.util.Map;
  * @author Moritz Becker
  * @since 1.2.0
  */
-public class DelegatingDbmsDialect implements DbmsDialect {
+public class DelegatingDbmsDialect implements DbmsDialect, DbmsParameterLimit {
 
     private final DbmsDialect delegate;
 
@@ -282,6 +284,21 @@ public class DelegatingDbmsDialect implements DbmsDialect {
         return delegate.getDefaultEscapeCharacter();
     }
 
+    @Override
+    public int getMaxParameterCount() {
+        return ((DbmsParameterLimit) delegate).getMaxParameterCount();
+    }
+
+    @Override
+    public MultisetEncoding getMultisetEncoding() {
+        return delegate.getMultisetEncoding();
+    }
+
+    @Override
+    public String getRowCountEstimateSql(String tableName) {
+        return delegate.getRowCountEstimateSql(tableName);
+    }
+
     @Override
     public boolean needsReturningSqlTypes() {
         return delegate.needsReturningSqlTypes();
@@ -16,6 +16,7 @@
 
 package com.blazebit.persistence.testsuite;
 
+import com.blazebit.persistence.impl.query.CustomSqlCache;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
@@ -25,6 +26,9 @@ import org.junit.experimental.categories.Category;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Christian Beikov
@@ -46,6 +50,32 @@ public class AdvancedQueryCachingTest extends AbstractCoreTest {
         toUpperDocumentNames(Arrays.asList(1L, 2L));
     }
 
+    /**
+     * Test that structurally equal queries that reuse the cached custom SQL still bind their own values.
+     */
+    @Test
+    // NOTE: This uses advanced SQL that isn't supported for other JPA providers yet
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void structurallyEqualQueriesShouldReuseCustomSql() {
+        CustomSqlCache sqlCache = cbf.getService(CustomSqlCache.class);
+        assertEquals(Arrays.asList(1L), selectValues(Arrays.asList(1L)));
+        long hitCount = sqlCache.getStatistics().getHitCount();
+        assertEquals(Arrays.asList(2L), selectValues(Arrays.asList(2L)));
+        assertEquals(hitCount + 1, sqlCache.getStatistics().getHitCount());
+        long missCount = sqlCache.getStatistics().getMissCount();
+        assertEquals(Arrays.asList(1L, 2L), selectValues(Arrays.asList(1L, 2L)));
+        assertEquals(hitCount + 1, sqlCache.getStatistics().getHitCount());
+        assertEquals(missCount + 1, sqlCache.getStatistics().getMissCount());
+    }
+
+    private List<Long> selectValues(Collection<Long> values) {
+        return cbf.create(em, Long.class)
+                .fromValues(Long.class, "val", values)
+                .select("val")
+                .orderByAsc("val")
+                .getResultList();
+    }
+
     private int toUpperDocumentNames(Collection<Long> ids) {
         return cbf.update(em, Document.class)
                 .setExpression("name", "UPPER(name)")
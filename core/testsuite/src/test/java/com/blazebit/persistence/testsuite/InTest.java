@@ -17,12 +17,19 @@
 package com.blazebit.persistence.testsuite;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import javax.persistence.TypedQuery;
+
+import com.blazebit.persistence.ConfigurationProperties;
+import com.blazebit.persistence.impl.ParameterManager;
+import com.blazebit.persistence.impl.query.TypedQueryWrapper;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
 import org.junit.Test;
@@ -85,6 +92,38 @@ public class InTest extends AbstractCoreTest {
         criteria.getResultList();
     }
 
+    @Test
+    public void testInParameterListPadding() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d");
+        criteria.setProperty(ConfigurationProperties.PARAMETER_LIST_PADDING, "true");
+        criteria.where("d.age").in(Arrays.asList(1L, 2L, 3L));
+
+        assertEquals("SELECT d FROM Document d WHERE d.age IN " + listParameter("param_0"), criteria.getQueryString());
+        TypedQuery<Document> query = criteria.getQuery();
+        assertEquals(Arrays.asList(1L, 2L, 3L), query.getParameterValue("param_0"));
+        assertEquals(Arrays.asList(1L, 2L, 3L), criteria.getParameterValue("param_0"));
+        // Only the JPA provider query is bound with the padded list
+        assertEquals(Arrays.asList(1L, 2L, 3L, 3L), ((TypedQueryWrapper<?>) query).getDelegate().getParameterValue("param_0"));
+        query.getResultList();
+
+        query.setParameter("param_0", Arrays.asList(1L, 2L, 3L, 4L, 5L));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), query.getParameterValue("param_0"));
+        assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L, 5L, 5L, 5L), ((TypedQueryWrapper<?>) query).getDelegate().getParameterValue("param_0"));
+        query.getResultList();
+    }
+
+    @Test
+    public void testInParameterListPaddingOnlyForInPredicates() {
+        CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d");
+        criteria.setProperty(ConfigurationProperties.PARAMETER_LIST_PADDING, "true");
+        criteria.where("d.age").in(Arrays.asList(1L, 2L, 3L));
+        criteria.whereExpression("d.idx IN :indices OR :indices IS NULL");
+        criteria.setParameter("indices", Arrays.asList(1, 2, 3));
+
+        assertTrue(((ParameterManager.ParameterImpl<?>) criteria.getParameter("param_0")).isUsedOnlyInInList());
+        assertFalse(((ParameterManager.ParameterImpl<?>) criteria.getParameter("indices")).isUsedOnlyInInList());
+    }
+
     @Test
     public void testInNull() {
         CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d");
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.testsuite;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.spi.InstrumentationCounter;
+import com.blazebit.persistence.spi.InstrumentationListener;
+import com.blazebit.persistence.spi.InstrumentationTimer;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMySQLOld;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.entity.RecursiveEntity;
+import com.blazebit.persistence.testsuite.entity.TestCTE;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class InstrumentationTest extends AbstractCoreTest {
+
+    private static final RecordingInstrumentationListener LISTENER = new RecordingInstrumentationListener();
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return new Class<?>[] {
+            RecursiveEntity.class,
+            TestCTE.class
+        };
+    }
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        config.registerInstrumentationListener(LISTENER);
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.persist(new RecursiveEntity("root1"));
+            }
+        });
+    }
+
+    @Before
+    public void clearEvents() {
+        LISTENER.clear();
+    }
+
+    @Test
+    public void testQueryEvents() {
+        CriteriaBuilder<RecursiveEntity> cb = cbf.create(em, RecursiveEntity.class, "e")
+                .whereExpression("LENGTH(e.name) + 4711 > 4711");
+        assertEquals(1, cb.getResultList().size());
+
+        assertTrue(LISTENER.hasCounter(InstrumentationCounter.CACHE_MISS, null));
+        assertTrue(LISTENER.hasTimer(InstrumentationTimer.EXPRESSION_PARSING, null));
+        assertTrue(LISTENER.hasTimer(InstrumentationTimer.QUERY_STRING_BUILDING, RecursiveEntity.class));
+        assertTrue(LISTENER.hasTimer(InstrumentationTimer.QUERY_EXECUTION, RecursiveEntity.class));
+        assertFalse(LISTENER.hasTimer(InstrumentationTimer.SQL_REWRITING, RecursiveEntity.class));
+
+        // The second time, the expression is served from the cache
+        LISTENER.clear();
+        cbf.create(em, RecursiveEntity.class, "e")
+                .whereExpression("LENGTH(e.name) + 4711 > 4711")
+                .getResultList();
+        assertTrue(LISTENER.hasCounter(InstrumentationCounter.CACHE_HIT, null));
+        assertFalse(LISTENER.hasTimer(InstrumentationTimer.EXPRESSION_PARSING, null));
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class, NoMySQLOld.class })
+    public void testSqlRewritingEvents() {
+        CriteriaBuilder<TestCTE> cb = cbf.create(em, TestCTE.class, "t")
+                .with(TestCTE.class, false)
+                    .from(RecursiveEntity.class, "e")
+                    .bind("id").select("e.id")
+                    .bind("name").select("e.name")
+                    .bind("level").select("0")
+                .end();
+        assertEquals(1, cb.getResultList().size());
+
+        assertTrue(LISTENER.hasTimer(InstrumentationTimer.SQL_REWRITING, TestCTE.class));
+        assertTrue(LISTENER.hasTimer(InstrumentationTimer.QUERY_EXECUTION, TestCTE.class));
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static class RecordingInstrumentationListener implements InstrumentationListener {
+
+        private final List<Object[]> timers = new ArrayList<>();
+        private final List<Object[]> counters = new ArrayList<>();
+
+        @Override
+        public synchronized void onTimer(InstrumentationTimer timer, Class<?> entityClass, Class<?> entityViewClass, long durationNanos) {
+            assertTrue(durationNanos >= 0);
+            timers.add(new Object[]{ timer, entityClass });
+        }
+
+        @Override
+        public synchronized void onCounter(InstrumentationCounter counter, String cacheName, Class<?> entityClass, Class<?> entityViewClass) {
+            counters.add(new Object[]{ counter, entityClass });
+        }
+
+        public synchronized void clear() {
+            timers.clear();
+            counters.clear();
+        }
+
+        public synchronized boolean hasTimer(InstrumentationTimer timer, Class<?> entityClass) {
+            return contains(timers, timer, entityClass);
+        }
+
+        public synchronized boolean hasCounter(InstrumentationCounter counter, Class<?> entityClass) {
+            return contains(counters, counter, entityClass);
+        }
+
+        private static boolean contains(List<Object[]> events, Object type, Class<?> entityClass) {
+            for (Object[] event : events) {
+                if (event[0] == type && event[1] == entityClass) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -19,7 +19,9 @@ package com.blazebit.persistence.testsuite;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.KeysetPage;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.PagedListIterator;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
 import com.blazebit.persistence.SelectBuilder;
 import com.blazebit.persistence.ConfigurationProperties;
@@ -33,9 +35,21 @@ import org.junit.experimental.categories.Category;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Tuple;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Christian Beikov
@@ -103,6 +117,168 @@ public class KeysetPaginationTest extends AbstractCoreTest {
         simpleTest(crit, pcb, result);
     }
 
+    @Test
+    public void testPageIterator() {
+        final EntityManager prefetchEm = emf.createEntityManager();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PaginatedCriteriaBuilder<Tuple> pcb = createDocumentNameQuery(em).page(0, 2);
+            List<String> names = new ArrayList<>();
+            List<PagedList<Tuple>> pages = new ArrayList<>();
+            try (PagedListIterator<Tuple> iterator = pcb.pageIterator(new PagedListIterator.QueryProvider<Tuple>() {
+                @Override
+                public FullQueryBuilder<Tuple, ?> createQuery() {
+                    return createDocumentNameQuery(prefetchEm);
+                }
+            }, executor, 2)) {
+                while (iterator.hasNext()) {
+                    PagedList<Tuple> page = iterator.next();
+                    pages.add(page);
+                    for (Tuple tuple : page) {
+                        names.add(tuple.get(0, String.class));
+                    }
+                }
+            }
+
+            assertEquals(3, pages.size());
+            assertEquals(6, pages.get(0).getTotalSize());
+            assertEquals(4, pages.get(2).getFirstResult());
+            assertEquals(6, names.size());
+            assertEquals("doc4", names.get(0));
+            assertEquals("doc5", names.get(1));
+            assertEquals("doc6", names.get(2));
+            assertEquals("doc3", names.get(3));
+            assertEquals("doc2", names.get(4));
+            assertEquals("doc1", names.get(5));
+        } finally {
+            executor.shutdown();
+            prefetchEm.close();
+        }
+    }
+
+    @Test
+    public void testPageIteratorKeepsBuilderUnchanged() {
+        final EntityManager prefetchEm = emf.createEntityManager();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PaginatedCriteriaBuilder<Tuple> pcb = createDocumentNameQuery(em).page(0, 2);
+            try (PagedListIterator<Tuple> iterator = pcb.pageIterator(new PagedListIterator.QueryProvider<Tuple>() {
+                @Override
+                public FullQueryBuilder<Tuple, ?> createQuery() {
+                    return createDocumentNameQuery(prefetchEm);
+                }
+            }, executor, 1)) {
+                assertNotNull(iterator.next().getKeysetPage());
+            }
+
+            assertFalse(pcb.isKeysetExtraction());
+            assertNull(pcb.getResultList().getKeysetPage());
+        } finally {
+            executor.shutdown();
+            prefetchEm.close();
+        }
+    }
+
+    @Test
+    public void testPageIteratorPropagatesErrors() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PaginatedCriteriaBuilder<Tuple> pcb = createDocumentNameQuery(em).page(0, 2);
+            try (PagedListIterator<Tuple> iterator = pcb.pageIterator(new PagedListIterator.QueryProvider<Tuple>() {
+                @Override
+                public FullQueryBuilder<Tuple, ?> createQuery() {
+                    throw new LinkageError("Test error");
+                }
+            }, executor, 1)) {
+                iterator.next();
+                try {
+                    iterator.hasNext();
+                    fail("Expected the error of the fetch to be propagated");
+                } catch (IllegalStateException ex) {
+                    assertTrue(ex.getCause() instanceof LinkageError);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPageIteratorWithEntityManagerFactory() throws InterruptedException {
+        final List<EntityManager> entityManagers = Collections.synchronizedList(new ArrayList<EntityManager>());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<String> names = new ArrayList<>();
+        try {
+            PaginatedCriteriaBuilder<Tuple> pcb = createDocumentNameQuery(em).page(0, 2);
+            try (PagedListIterator<Tuple> iterator = pcb.pageIterator(emf, new PagedListIterator.EntityManagerQueryProvider<Tuple>() {
+                @Override
+                public FullQueryBuilder<Tuple, ?> createQuery(EntityManager entityManager) {
+                    entityManagers.add(entityManager);
+                    return createDocumentNameQuery(entityManager);
+                }
+            }, executor, 1)) {
+                while (iterator.hasNext()) {
+                    for (Tuple tuple : iterator.next()) {
+                        names.add(tuple.get(0, String.class));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(6, names.size());
+        // Every following page is fetched with its own entity manager which is closed afterwards
+        assertTrue(entityManagers.size() >= 2);
+        assertEquals(entityManagers.size(), new HashSet<>(entityManagers).size());
+        for (EntityManager entityManager : entityManagers) {
+            assertFalse(entityManager.isOpen());
+        }
+    }
+
+    @Test
+    public void testPageIteratorCloseDiscardsFetch() throws InterruptedException {
+        final EntityManager prefetchEm = emf.createEntityManager();
+        final CountDownLatch fetchStarted = new CountDownLatch(1);
+        final CountDownLatch iteratorClosed = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            PaginatedCriteriaBuilder<Tuple> pcb = createDocumentNameQuery(em).page(0, 2);
+            PagedListIterator<Tuple> iterator = pcb.pageIterator(new PagedListIterator.QueryProvider<Tuple>() {
+                @Override
+                public FullQueryBuilder<Tuple, ?> createQuery() {
+                    fetchStarted.countDown();
+                    try {
+                        iteratorClosed.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return createDocumentNameQuery(prefetchEm);
+                }
+            }, executor, 1);
+            iterator.next();
+            assertTrue(fetchStarted.await(10, TimeUnit.SECONDS));
+            iterator.close();
+            iteratorClosed.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertFalse(iterator.hasNext());
+        } finally {
+            executor.shutdownNow();
+            prefetchEm.close();
+        }
+    }
+
+    private CriteriaBuilder<Tuple> createDocumentNameQuery(EntityManager em) {
+        return cbf.create(em, Tuple.class).from(Document.class, "d")
+                .select("d.name").select("d.owner.name")
+                .orderByDesc("d.owner.name")
+                .orderByAsc("d.name")
+                .orderByAsc("d.id");
+    }
+
     @Test
     public void testHighestKeysetOffset() {
         CriteriaBuilder<Tuple> crit = cbf.create(em, Tuple.class).from(Document.class, "d")
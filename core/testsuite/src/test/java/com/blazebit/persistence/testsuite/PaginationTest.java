@@ -22,12 +22,21 @@ import com.blazebit.persistence.DefaultKeyset;
 import com.blazebit.persistence.DefaultKeysetPage;
 import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.impl.CountQueryCacheImpl;
+import com.blazebit.persistence.spi.CountQueryCache;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDB2;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoFirebird;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMSSQL;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoMySQL;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoOracle;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoPostgreSQL;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoSQLite;
 import com.blazebit.persistence.testsuite.entity.Document;
 import com.blazebit.persistence.testsuite.entity.Person;
 import com.blazebit.persistence.testsuite.entity.Workflow;
@@ -1202,6 +1211,148 @@ public class PaginationTest extends AbstractCoreTest {
         cb.getResultList();
     }
 
+    @Test
+    // Only H2 reliably maintains row count estimates without an explicit analyze
+    @Category({ NoPostgreSQL.class, NoMySQL.class, NoOracle.class, NoMSSQL.class, NoDB2.class, NoFirebird.class, NoSQLite.class, NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    public void testEstimatedCount() {
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .orderByAsc("id")
+                .page(0, 1)
+                .withEstimatedCount(1);
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(1, result.size());
+        assertTrue(result.isTotalSizeEstimated());
+        assertTrue(result.getTotalSize() > 0);
+    }
+
+    @Test
+    // Only H2 reliably maintains row count estimates without an explicit analyze
+    @Category({ NoPostgreSQL.class, NoMySQL.class, NoOracle.class, NoMSSQL.class, NoDB2.class, NoFirebird.class, NoSQLite.class, NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    public void testEstimatedCountIsBounded() {
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .orderByAsc("id")
+                .page(0, 1)
+                .withBoundedCount(1)
+                .withEstimatedCount(1);
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(1, result.size());
+        assertTrue(result.isTotalSizeEstimated());
+        assertEquals(1, result.getTotalSize());
+    }
+
+    @Test
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    public void testEstimatedCountNotUsedForRestrictedQuery() {
+        PaginatedCriteriaBuilder<Document> cb = cbf.create(em, Document.class, "d")
+                .where("owner.name").eq("Karl1")
+                .orderByAsc("id")
+                .page(0, 1)
+                .withEstimatedCount(1);
+        PagedList<Document> result = cb.getResultList();
+        assertEquals(1, result.size());
+        assertFalse(result.isTotalSizeEstimated());
+        assertEquals(3, result.getTotalSize());
+    }
+
+    @Test
+    public void testCachedCount() {
+        CountQueryCacheImpl countQueryCache = (CountQueryCacheImpl) cbf.getService(CountQueryCache.class);
+        countQueryCache.clear();
+        PagedList<Document> firstPage = createCachedCountCriteriaBuilder(0).getResultList();
+        assertEquals(1, countQueryCache.size());
+        PagedList<Document> secondPage = createCachedCountCriteriaBuilder(1).getResultList();
+        assertEquals(1, countQueryCache.size());
+        assertEquals("doc1", firstPage.get(0).getName());
+        assertEquals("Doc2", secondPage.get(0).getName());
+        assertEquals(3, firstPage.getTotalSize());
+        assertEquals(3, secondPage.getTotalSize());
+
+        // The owner join makes the count depend on persons too
+        countQueryCache.invalidate(Person.class);
+        assertEquals(0, countQueryCache.size());
+    }
+
+    @Test
+    public void testCachedCountInvalidatedByModification() {
+        final CountQueryCacheImpl countQueryCache = (CountQueryCacheImpl) cbf.getService(CountQueryCache.class);
+        countQueryCache.clear();
+        createCachedCountCriteriaBuilder(0).getResultList();
+        assertEquals(1, countQueryCache.size());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, Document.class, "d")
+                        .set("name", "doc0")
+                        .where("id").eq(-1L)
+                        .executeUpdate();
+            }
+        });
+        assertEquals(0, countQueryCache.size());
+    }
+
+    @Test
+    // Only the Hibernate integration can defer the invalidation to the commit
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
+    public void testCachedCountInvalidatedOnCommit() {
+        final CountQueryCacheImpl countQueryCache = (CountQueryCacheImpl) cbf.getService(CountQueryCache.class);
+        countQueryCache.clear();
+        createCachedCountCriteriaBuilder(0).getResultList();
+        assertEquals(1, countQueryCache.size());
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                cbf.update(em, Document.class, "d")
+                        .set("name", "doc0")
+                        .where("id").eq(-1L)
+                        .executeUpdate();
+                assertEquals(0, countQueryCache.size());
+                // A count cached before the commit is evicted again by the commit
+                createCachedCountCriteriaBuilder(0).getResultList();
+                assertEquals(1, countQueryCache.size());
+            }
+        });
+        assertEquals(0, countQueryCache.size());
+    }
+
+    @Test
+    public void testCachedCountWithEntityParameter() {
+        CountQueryCacheImpl countQueryCache = (CountQueryCacheImpl) cbf.getService(CountQueryCache.class);
+        countQueryCache.clear();
+        Person owner = cbf.create(em, Person.class, "p").where("name").eq("Karl1").getSingleResult();
+        PagedList<Document> firstPage = createCachedCountCriteriaBuilder(owner, 0).getResultList();
+        assertEquals(1, countQueryCache.size());
+        em.clear();
+        // A different instance of the same entity must hit the cached count
+        owner = cbf.create(em, Person.class, "p").where("name").eq("Karl1").getSingleResult();
+        PagedList<Document> secondPage = createCachedCountCriteriaBuilder(owner, 1).getResultList();
+        assertEquals(1, countQueryCache.size());
+        assertEquals(3, firstPage.getTotalSize());
+        assertEquals(3, secondPage.getTotalSize());
+    }
+
+    @Test
+    public void testCachedCountDisallowsInlineCountQuery() {
+        PaginatedCriteriaBuilder<Document> cb = createCachedCountCriteriaBuilder(0);
+        assertFalse(cb.isWithInlineCountQuery());
+        verifyException(cb, IllegalStateException.class, r -> r.withInlineCountQuery(true));
+    }
+
+    private PaginatedCriteriaBuilder<Document> createCachedCountCriteriaBuilder(Person owner, int firstResult) {
+        return cbf.create(em, Document.class, "d")
+                .where("owner").eq(owner)
+                .orderByAsc("id")
+                .page(firstResult, 1)
+                .withCachedCount(60000);
+    }
+
+    private PaginatedCriteriaBuilder<Document> createCachedCountCriteriaBuilder(int firstResult) {
+        return cbf.create(em, Document.class, "d")
+                .where("owner.name").eq("Karl1")
+                .orderByAsc("id")
+                .page(firstResult, 1)
+                .withCachedCount(60000);
+    }
+
     @Test
     @Category({ NoEclipselink.class, NoDatanucleus.class, NoOpenJPA.class })
     // TODO: report eclipselink does not support subqueries in functions
@@ -18,11 +18,14 @@ package com.blazebit.persistence.testsuite;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Tuple;
 
+import com.blazebit.persistence.ConfigurationProperties;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.FinalSetOperationCriteriaBuilder;
 import com.blazebit.persistence.FinalSetOperationSubqueryBuilder;
@@ -288,6 +291,31 @@ public class SetOperationTest extends AbstractCoreTest {
         assertEquals("D1", resultList.get(0).getName());
     }
 
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testUnionParameterListPadding() {
+        FinalSetOperationCriteriaBuilder<String> cb = cbf
+                .create(em, String.class)
+                .setProperty(ConfigurationProperties.PARAMETER_LIST_PADDING, "true")
+                .from(Document.class, "d1")
+                .select("d1.name")
+                .where("d1.name").in(Arrays.asList("D1", "D2", "D3"))
+            .union()
+                .from(Document.class, "d2")
+                .select("d2.name")
+                .where("d2.name").in(Arrays.asList("D1", "D2", "D3", "D4", "D5"))
+            .endSet();
+        String expected = ""
+                + "SELECT d1.name FROM Document d1 WHERE d1.name IN " + listParameter("param_0") + "\n"
+                + "UNION\n"
+                + "SELECT d2.name FROM Document d2 WHERE d2.name IN " + listParameter("param_1");
+
+        assertEquals(expected, cb.getQueryString());
+        List<String> resultList = cb.getResultList();
+        Collections.sort(resultList);
+        assertEquals(Arrays.asList("D1", "D2", "D3"), resultList);
+    }
+
     @Test
     // TODO: why no hibernate 4.2?
     // NOTE: H2 does not support the PARTITION clause in the ROW_NUMBER function, so we can't emulate EXCEPT ALL
@@ -439,6 +439,56 @@ public class ValuesClauseTest extends AbstractCoreTest {
         assertEquals(0, resultList.size());
     }
 
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testValuesEntityFunctionPadding() {
+        CriteriaBuilder<Tuple> cb = cbf.create(em, Tuple.class);
+        cb.setProperty(ConfigurationProperties.VALUES_CLAUSE_PADDING, "true");
+        cb.fromValues(Long.class, "allowedAge", Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L));
+        cb.from(Document.class, "doc");
+        cb.where("doc.age").eqExpression("allowedAge");
+        cb.select("doc.name");
+        cb.select("allowedAge");
+
+        // Above 16 values, the row count is rounded up to a multiple of 2
+        String expected = "SELECT doc.name, allowedAge FROM Long(20 VALUES) allowedAge, Document doc WHERE doc.age = allowedAge";
+
+        assertEquals(expected, cb.getQueryString());
+        List<Tuple> resultList = cb.getResultList();
+        assertEquals(1, resultList.size());
+        assertEquals("doc1", resultList.get(0).get(0));
+        assertEquals(1L, resultList.get(0).get(1));
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testValuesEntityFunctionPaddingRequiresFilterNulls() {
+        CriteriaBuilder<Tuple> cb = cbf.create(em, Tuple.class);
+        cb.setProperty(ConfigurationProperties.VALUES_CLAUSE_PADDING, "true");
+        cb.setProperty(ConfigurationProperties.VALUES_CLAUSE_FILTER_NULLS, "false");
+        cb.fromValues(Long.class, "allowedAge", Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L));
+        cb.select("allowedAge");
+
+        assertEquals("SELECT allowedAge FROM Long(19 VALUES) allowedAge", cb.getQueryString());
+    }
+
+    @Test
+    @Category({ NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
+    public void testValuesEntityFunctionPaddingIsBounded() {
+        CriteriaBuilder<Tuple> cb = cbf.create(em, Tuple.class);
+        cb.setProperty(ConfigurationProperties.VALUES_CLAUSE_PADDING, "true");
+        Long[] values = new Long[129];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) i;
+        }
+        cb.fromValues(Long.class, "allowedAge", Arrays.asList(values));
+        cb.select("allowedAge");
+
+        // The next power of two would be 256, but buckets of 16 limit the additional rows
+        assertEquals("SELECT allowedAge FROM Long(144 VALUES) allowedAge", cb.getQueryString());
+        assertEquals(129, cb.getResultList().size());
+    }
+
     @Test
     // NOTE: Entity joins are supported since Hibernate 5.1, Datanucleus 5 and latest Eclipselink
     @Category({ NoHibernate42.class, NoHibernate43.class, NoHibernate50.class, NoDatanucleus.class, NoEclipselink.class, NoOpenJPA.class })
@@ -50,6 +50,18 @@ public final class ConfigurationProperties {
      * @since 1.0.6
      */
     public static final String PROXY_UNSAFE_ALLOWED = "com.blazebit.persistence.view.proxy.unsafe_allowed";
+    /**
+     * A boolean flag to make it possible to disable the runtime generation of entity view implementation classes.
+     * When set to <code>true</code>, every entity view interface or abstract class must have a static implementation annotated with {@link StaticImplementation},
+     * as generated by the annotation processor, otherwise building the entity view manager fails.
+     * Since static implementations can't initialize state before invoking the entity view constructor,
+     * entity view constructors are treated the same way as when {@link #PROXY_UNSAFE_ALLOWED} is disabled.
+     * By default the runtime generation is enabled i.e. the default value is <code>false</code>.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * @since 1.6.10
+     */
+    public static final String PROXY_RUNTIME_GENERATION_DISABLED = "com.blazebit.persistence.view.proxy.runtime_generation_disabled";
     /**
      * A boolean flag to make it possible to disable the expression validation.
      * By default the expression validation is enabled, but since the validation is not bullet proof, it can be disabled.
@@ -103,6 +115,59 @@ public final class ConfigurationProperties {
      * @since 1.3.0
      */
     public static final String EXPECT_BATCH_MODE = "com.blazebit.persistence.view.batch_mode";
+    /**
+     * A {@link java.util.concurrent.Executor} that is used to execute the batches of attributes fetched via the <code>SELECT</code> fetch strategy concurrently.
+     * By default no executor is configured and batches are executed sequentially on the caller thread. The property can be set via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * Concurrently executed batches use separate entity managers created through the {@link javax.persistence.EntityManagerFactory} of the query,
+     * so this should only be used for correlations that don't need to see uncommitted changes of the current transaction.
+     * Correlations that produce entities are always executed sequentially, as these entities would otherwise be detached.
+     *
+     * To specify the executor for a specific attribute, append the attribute name after the "correlation_executor" like
+     * e.g. <code>com.blazebit.persistence.view.correlation_executor.subProperty</code>
+     *
+     * @since 1.6.10
+     */
+    public static final String CORRELATION_EXECUTOR = "com.blazebit.persistence.view.correlation_executor";
+    /**
+     * An integer value that defines the maximum number of batches of an attribute fetched via the <code>SELECT</code> fetch strategy that are executed concurrently
+     * when a {@link #CORRELATION_EXECUTOR} is configured. Every concurrently executed batch except for one uses a separate entity manager.
+     * By default the value is 4 and can be overridden by setting this property via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     *
+     * To specify the parallelism for a specific attribute, append the attribute name after the "correlation_parallelism" like
+     * e.g. <code>com.blazebit.persistence.view.correlation_parallelism.subProperty</code>
+     *
+     * @since 1.6.10
+     */
+    public static final String CORRELATION_PARALLELISM = "com.blazebit.persistence.view.correlation_parallelism";
+    /**
+     * A boolean specifying whether the batch size of attributes fetched via the <code>SELECT</code> fetch strategy should be adapted at runtime.
+     * When enabled, the batch size is reduced to the number of distinct correlation values and, based on the observed query latency,
+     * grown beyond the configured batch size as long as bigger batches pay off, but never beyond the bind parameter limit of the DBMS.
+     * The batch mode and batch size that worked best are remembered per attribute.
+     * By default the adaptive batch size is disabled and can be enabled by setting this property via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * To enable the adaptive batch size for a specific attribute, append the attribute name after the "adaptive_batch_size" like
+     * e.g. <code>com.blazebit.persistence.view.adaptive_batch_size.subProperty</code>
+     *
+     * @since 1.6.10
+     */
+    public static final String ADAPTIVE_BATCH_SIZE = "com.blazebit.persistence.view.adaptive_batch_size";
+    /**
+     * A boolean specifying whether the results of attributes fetched via the <code>SELECT</code> fetch strategy should be cached across queries.
+     * The materialized subviews are cached per correlation basis value in a cache that is bounded by {@link #CORRELATION_CACHE_SIZE}
+     * and {@link #CORRELATION_CACHE_TTL}. Cached results are invalidated when an entity view with a related entity type is saved or removed
+     * through the {@link EntityViewManager} once the transaction commits. Only results of subviews that are neither updatable nor creatable and don't contain entities are cached.
+     * By default the caching is disabled and can be enabled by setting this property via {@linkplain com.blazebit.persistence.view.EntityViewSetting#setProperty}.
+     * Valid values for this property are <code>true</code> or <code>false</code>.
+     *
+     * To enable the caching for a specific attribute, append the attribute name after the "correlation_caching" like
+     * e.g. <code>com.blazebit.persistence.view.correlation_caching.subProperty</code>
+     *
+     * @since 1.6.10
+     */
+    public static final String CORRELATION_CACHING = "com.blazebit.persistence.view.correlation_caching";
     /**
      * A boolean flag to make it possible to prepare the entity view updater cache on startup.
      * By default the eager loading of entity view updates is disabled to have a better startup performance.
@@ -221,6 +286,28 @@ public final class ConfigurationProperties {
      */
     public static final String PAGINATION_BOUNDED_COUNT = "com.blazebit.persistence.view.pagination.bounded_count";
 
+    /**
+     * The minimum statistics based row count estimate from which on the estimate is used instead of executing the count query
+     * i.e. see {@link com.blazebit.persistence.PaginatedCriteriaBuilder#withEstimatedCount(long)}.
+     *
+     * By default estimated counts are disabled i.e. rows are always counted.
+     *
+     * @since 1.6.10
+     * @see com.blazebit.persistence.PaginatedCriteriaBuilder#withEstimatedCount(long)
+     */
+    public static final String PAGINATION_ESTIMATED_COUNT_THRESHOLD = "com.blazebit.persistence.view.pagination.estimated_count_threshold";
+
+    /**
+     * The time in milliseconds for which the result of a count query may be reused for the same count query and parameter values
+     * i.e. see {@link com.blazebit.persistence.PaginatedCriteriaBuilder#withCachedCount(long)}.
+     *
+     * By default count caching is disabled i.e. the count query is executed for every page.
+     *
+     * @since 1.6.10
+     * @see com.blazebit.persistence.PaginatedCriteriaBuilder#withCachedCount(long)
+     */
+    public static final String PAGINATION_COUNT_CACHE_TTL = "com.blazebit.persistence.view.pagination.count_cache_ttl";
+
     /**
      * A boolean flag to make it possible to disable the scanning for static builders annotated with {@link StaticBuilder}.
      * By default the scanning is enabled i.e. the default value is <code>false</code>.
@@ -257,6 +344,57 @@ public final class ConfigurationProperties {
      */
     public static final String CREATE_EMPTY_FLAT_VIEWS = "com.blazebit.persistence.view.create_empty_flat_views";
 
+    /**
+     * The path to a file for a snapshot of the validated entity view metamodel.
+     * The snapshot contains a checksum over fingerprints of the entity view and JPA managed type classes, the classes they refer to,
+     * the registered basic user types, type converters and entity view listeners, the JPA mapping descriptors, the JPA provider and DBMS dialect as well as the configuration. The class fingerprints are the CRC of the JAR entries or the size and modification time of the class files.
+     * If the snapshot file exists and the checksum matches, the validation of mapping expressions and JPA managed types is skipped on boot.
+     * Otherwise, the metamodel is validated as usual and the snapshot file is written after the successful validation.
+     * By default no snapshot is used.
+     *
+     * @since 1.6.10
+     */
+    public static final String METAMODEL_SNAPSHOT_FILE = "com.blazebit.persistence.view.metamodel_snapshot_file";
+
+    /**
+     * The number of threads to use for validating the mapping expressions of entity view types.
+     * The value <code>0</code> uses as many threads as there are available processors.
+     * By default the validation is done sequentially on the bootstrapping thread i.e. the default value is <code>1</code>.
+     * Valid values for this property are non-negative integers.
+     *
+     * @since 1.6.10
+     */
+    public static final String METAMODEL_VALIDATION_PARALLELISM = "com.blazebit.persistence.view.metamodel_validation_parallelism";
+
+    /**
+     * The maximum number of correlation results that are cached when {@link #CORRELATION_CACHING} is enabled.
+     * The results are spread over up to 16 segments, and when the limit of a segment is reached, the least recently used results of that segment are evicted.
+     * By default at most 1000 results are cached i.e. the default value is <code>1000</code>.
+     * Valid values for this property are non-negative integers. The value <code>0</code> disables the cache.
+     *
+     * @since 1.6.10
+     */
+    public static final String CORRELATION_CACHE_SIZE = "com.blazebit.persistence.view.correlation_cache_size";
+
+    /**
+     * The time in milliseconds after which a cached correlation result expires when {@link #CORRELATION_CACHING} is enabled.
+     * By default cached results expire after one minute i.e. the default value is <code>60000</code>.
+     * Valid values for this property are positive integers.
+     *
+     * @since 1.6.10
+     */
+    public static final String CORRELATION_CACHE_TTL = "com.blazebit.persistence.view.correlation_cache_ttl";
+
+    /**
+     * The JDBC batch size to use while flushing multiple entity views through {@link MultiFlushEntityViewManager#saveAll(javax.persistence.EntityManager, Iterable)}.
+     * The batch size is only applied if the JPA provider supports changing it per entity manager, which is the case for Hibernate 5.2+.
+     * By default a batch size of 50 is used i.e. the default value is <code>50</code>.
+     * Valid values for this property are non-negative integers. The values <code>0</code> and <code>1</code> disable batching.
+     *
+     * @since 1.6.10
+     */
+    public static final String MULTI_FLUSH_JDBC_BATCH_SIZE = "com.blazebit.persistence.view.multi_flush_jdbc_batch_size";
+
     private ConfigurationProperties() {
     }
 }
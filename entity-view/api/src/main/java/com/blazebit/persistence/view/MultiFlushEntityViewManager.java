@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view;
+
+import com.blazebit.persistence.CriteriaBuilder;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An extension of the {@link EntityViewManager} that loads or flushes multiple entity views within one operation.
+ * Entity view managers created through {@link com.blazebit.persistence.view.spi.EntityViewConfiguration#createEntityViewManager(com.blazebit.persistence.CriteriaBuilderFactory)}
+ * implement this interface, so they can be cast to it.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public interface MultiFlushEntityViewManager extends EntityViewManager {
+
+    /**
+     * Loads and returns the entity views of the given type having the given entity ids.
+     * The ids are queried in chunks that respect the parameter limits of the database.
+     * The resulting list has the order of the given ids and contains <code>null</code> for ids for which no entity exists.
+     *
+     * @param entityManager The entity manager to use for querying
+     * @param entityViewClass The entity view class to use
+     * @param entityIds The ids of the entities
+     * @param <T> The type of the entity view class
+     * @return The loaded instances of the given entity view type in the order of the given ids
+     * @since 1.6.10
+     */
+    public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds);
+
+    /**
+     * Loads and returns the entity views as determined by the given type {@link EntityViewSetting} having the given entity ids.
+     * The ids are queried in chunks that respect the parameter limits of the database.
+     * The resulting list has the order of the given ids and contains <code>null</code> for ids for which no entity exists.
+     * Paginated entity view settings are rejected with an {@link IllegalArgumentException}.
+     *
+     * @param entityManager The entity manager to use for querying
+     * @param entityViewSetting The entity view setting to use
+     * @param entityIds The ids of the entities
+     * @param <T> The type of the entity view class
+     * @return The loaded instances of the given entity view type in the order of the given ids
+     * @since 1.6.10
+     */
+    public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds);
+
+    /**
+     * Saves the entities which the given entity views map to.
+     * Issues partial updates if enabled for the respective views.
+     * New views are persisted before existing views are updated, grouped by their dirty state, so that statements of the same shape are sent in JDBC batches.
+     * See {@link ConfigurationProperties#MULTI_FLUSH_JDBC_BATCH_SIZE}.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @since 1.6.10
+     */
+    public void saveAll(EntityManager entityManager, Iterable<?> views);
+
+    /**
+     * Fully saves the entities which the given entity views map to.
+     * New views are persisted before existing views are updated, grouped by their dirty state, so that statements of the same shape are sent in JDBC batches.
+     * See {@link ConfigurationProperties#MULTI_FLUSH_JDBC_BATCH_SIZE}.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @since 1.6.10
+     */
+    public void saveFullAll(EntityManager entityManager, Iterable<?> views);
+
+    /**
+     * Saves the entities which the given entity views map to.
+     * Issues partial updates if enabled for the respective views.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @return A flush operation builder for further configuring the flush operation
+     * @since 1.6.10
+     */
+    public FlushOperationBuilder saveAllWith(EntityManager entityManager, Iterable<?> views);
+
+    /**
+     * Fully saves the entities which the given entity views map to.
+     *
+     * @param entityManager The entity manager to use for the save
+     * @param views The views to use for saving
+     * @return A flush operation builder for further configuring the flush operation
+     * @since 1.6.10
+     */
+    public FlushOperationBuilder saveFullAllWith(EntityManager entityManager, Iterable<?> views);
+
+    /**
+     * Removes the entities represented by the given views.
+     * Also cascades deletes to attributes that have {@link CascadeType#DELETE} enabled.
+     *
+     * @param entityManager The entity manager to use for the removing
+     * @param views The views for which the entities should be removed
+     * @since 1.6.10
+     */
+    public void removeAll(EntityManager entityManager, Iterable<?> views);
+
+    /**
+     * Removes the entities represented by the given views.
+     * Also cascades deletes to attributes that have {@link CascadeType#DELETE} enabled.
+     *
+     * @param entityManager The entity manager to use for the removing
+     * @param views The views for which the entities should be removed
+     * @return A flush operation builder for further configuring the flush operation
+     * @since 1.6.10
+     */
+    public FlushOperationBuilder removeAllWith(EntityManager entityManager, Iterable<?> views);
+
+    /**
+     * Removes the entities represented by the entity type defined for the given view and the given entity ids.
+     * Also cascades deletes to attributes that have {@link CascadeType#DELETE} enabled.
+     *
+     * @param entityManager The entity manager to use for the removing
+     * @param entityViewClass The entity view class to use
+     * @param viewIds The ids of the entity views
+     * @since 1.6.10
+     */
+    public void removeAll(EntityManager entityManager, Class<?> entityViewClass, Iterable<?> viewIds);
+
+    /**
+     * Removes the entities represented by the entity type defined for the given view and the given entity ids.
+     * Also cascades deletes to attributes that have {@link CascadeType#DELETE} enabled.
+     *
+     * @param entityManager The entity manager to use for the removing
+     * @param entityViewClass The entity view class to use
+     * @param viewIds The ids of the entity views
+     * @return A flush operation builder for further configuring the flush operation
+     * @since 1.6.10
+     */
+    public FlushOperationBuilder removeAllWith(EntityManager entityManager, Class<?> entityViewClass, Iterable<?> viewIds);
+}
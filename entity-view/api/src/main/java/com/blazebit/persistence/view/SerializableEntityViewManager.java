@@ -24,6 +24,8 @@ import com.blazebit.persistence.view.metamodel.ViewMetamodel;
 import javax.persistence.EntityManager;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,7 +34,7 @@ import java.util.Map;
  * @author Christian Beikov
  * @since 1.5.0
  */
-public class SerializableEntityViewManager implements EntityViewManager, Serializable {
+public class SerializableEntityViewManager implements MultiFlushEntityViewManager, Serializable {
 
     public static final String EVM_FIELD_NAME = "ENTITY_VIEW_MANAGER";
     public static final String SERIALIZABLE_EVM_FIELD_NAME = "SERIALIZABLE_ENTITY_VIEW_MANAGER";
@@ -64,6 +66,14 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return evm;
     }
 
+    private MultiFlushEntityViewManager getMultiFlushEvm() {
+        EntityViewManager evm = getEvm();
+        if (evm instanceof MultiFlushEntityViewManager) {
+            return (MultiFlushEntityViewManager) evm;
+        }
+        throw new UnsupportedOperationException("The entity view manager of entity view class " + entityViewClass.getName() + " does not support loading or flushing multiple entity views: " + evm);
+    }
+
     @Override
     public ViewMetamodel getMetamodel() {
         return getEvm().getMetamodel();
@@ -84,6 +94,16 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return getEvm().find(entityManager, entityViewSetting, entityId);
     }
 
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds) {
+        return getMultiFlushEvm().findAll(entityManager, entityViewClass, entityIds);
+    }
+
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds) {
+        return getMultiFlushEvm().findAll(entityManager, entityViewSetting, entityIds);
+    }
+
     @Override
     public <T> T getReference(Class<T> entityViewClass, Object id) {
         return getEvm().getReference(entityViewClass, id);
@@ -261,6 +281,46 @@ public class SerializableEntityViewManager implements EntityViewManager, Seriali
         return getEvm().removeWith(entityManager, entityViewClass, viewId);
     }
 
+    @Override
+    public void saveAll(EntityManager entityManager, Iterable<?> views) {
+        getMultiFlushEvm().saveAll(entityManager, views);
+    }
+
+    @Override
+    public void saveFullAll(EntityManager entityManager, Iterable<?> views) {
+        getMultiFlushEvm().saveFullAll(entityManager, views);
+    }
+
+    @Override
+    public FlushOperationBuilder saveAllWith(EntityManager entityManager, Iterable<?> views) {
+        return getMultiFlushEvm().saveAllWith(entityManager, views);
+    }
+
+    @Override
+    public FlushOperationBuilder saveFullAllWith(EntityManager entityManager, Iterable<?> views) {
+        return getMultiFlushEvm().saveFullAllWith(entityManager, views);
+    }
+
+    @Override
+    public void removeAll(EntityManager entityManager, Iterable<?> views) {
+        getMultiFlushEvm().removeAll(entityManager, views);
+    }
+
+    @Override
+    public FlushOperationBuilder removeAllWith(EntityManager entityManager, Iterable<?> views) {
+        return getMultiFlushEvm().removeAllWith(entityManager, views);
+    }
+
+    @Override
+    public void removeAll(EntityManager entityManager, Class<?> entityViewClass, Iterable<?> viewIds) {
+        getMultiFlushEvm().removeAll(entityManager, entityViewClass, viewIds);
+    }
+
+    @Override
+    public FlushOperationBuilder removeAllWith(EntityManager entityManager, Class<?> entityViewClass, Iterable<?> viewIds) {
+        return getMultiFlushEvm().removeAllWith(entityManager, entityViewClass, viewIds);
+    }
+
     @Override
     public <T, Q extends FullQueryBuilder<T, Q>> Q applySetting(EntityViewSetting<T, Q> setting, CriteriaBuilder<?> criteriaBuilder) {
         return getEvm().applySetting(setting, criteriaBuilder);
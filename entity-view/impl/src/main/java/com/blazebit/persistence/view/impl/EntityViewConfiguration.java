@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 
 /**
  * @author Christian Beikov
@@ -53,6 +54,10 @@ public final class EntityViewConfiguration {
     private final NavigableSet<String> fetches;
     private final Map<String, Integer> batchSizeConfiguration;
     private final Map<String, BatchCorrelationMode> expectBatchCorrelationValuesConfiguration;
+    private final Map<String, Executor> correlationExecutorConfiguration;
+    private final Map<String, Integer> correlationParallelismConfiguration;
+    private final Map<String, Boolean> adaptiveBatchSizeConfiguration;
+    private final Map<String, Boolean> correlationCachingConfiguration;
 
     public EntityViewConfiguration(FullQueryBuilder<?, ?> criteriaBuilder, ExpressionFactory expressionFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Map<String, Object> optionalParameters, Map<String, Object> properties, Collection<String> fetches, String attributePath) {
         this(criteriaBuilder, expressionFactory, viewJpqlMacro, embeddingViewJpqlMacro, optionalParameters, properties, getFetches(fetches, attributePath));
@@ -65,6 +70,10 @@ public final class EntityViewConfiguration {
     private EntityViewConfiguration(FullQueryBuilder<?, ?> criteriaBuilder, ExpressionFactory expressionFactory, ViewJpqlMacro viewJpqlMacro, EmbeddingViewJpqlMacro embeddingViewJpqlMacro, Map<String, Object> optionalParameters, Map<String, Object> properties, NavigableSet<String> fetches) {
         Map<String, Integer> batchSizeConfiguration = new HashMap<String, Integer>(properties.size());
         Map<String, BatchCorrelationMode> expectBatchCorrelationValuesConfiguration = new HashMap<>(properties.size());
+        Map<String, Executor> correlationExecutorConfiguration = new HashMap<>(properties.size());
+        Map<String, Integer> correlationParallelismConfiguration = new HashMap<>(properties.size());
+        Map<String, Boolean> adaptiveBatchSizeConfiguration = new HashMap<>(properties.size());
+        Map<String, Boolean> correlationCachingConfiguration = new HashMap<>(properties.size());
 
         for (Map.Entry<String, Object> entry : properties.entrySet()) {
             String key = entry.getKey();
@@ -98,6 +107,49 @@ public final class EntityViewConfiguration {
                     key = key.substring(ConfigurationProperties.EXPECT_BATCH_MODE.length() + 1);
                     expectBatchCorrelationValuesConfiguration.put(key, value);
                 }
+            } else if (key.startsWith(ConfigurationProperties.CORRELATION_EXECUTOR)) {
+                if (!(entry.getValue() instanceof Executor)) {
+                    throw new IllegalArgumentException("Invalid correlation executor configuration for key: " + key);
+                }
+                Executor value = (Executor) entry.getValue();
+                if (key.length() == ConfigurationProperties.CORRELATION_EXECUTOR.length()) {
+                    correlationExecutorConfiguration.put("", value);
+                } else if (key.length() < ConfigurationProperties.CORRELATION_EXECUTOR.length() + 2) {
+                    throw new IllegalArgumentException("Invalid correlation executor configuration!");
+                } else {
+                    key = key.substring(ConfigurationProperties.CORRELATION_EXECUTOR.length() + 1);
+                    correlationExecutorConfiguration.put(key, value);
+                }
+            } else if (key.startsWith(ConfigurationProperties.CORRELATION_PARALLELISM)) {
+                Integer value = getCorrelationParallelism(key, entry.getValue());
+                if (key.length() == ConfigurationProperties.CORRELATION_PARALLELISM.length()) {
+                    correlationParallelismConfiguration.put("", value);
+                } else if (key.length() < ConfigurationProperties.CORRELATION_PARALLELISM.length() + 2) {
+                    throw new IllegalArgumentException("Invalid correlation parallelism configuration!");
+                } else {
+                    key = key.substring(ConfigurationProperties.CORRELATION_PARALLELISM.length() + 1);
+                    correlationParallelismConfiguration.put(key, value);
+                }
+            } else if (key.startsWith(ConfigurationProperties.ADAPTIVE_BATCH_SIZE)) {
+                Boolean value = getAdaptiveBatchSize(key, entry.getValue());
+                if (key.length() == ConfigurationProperties.ADAPTIVE_BATCH_SIZE.length()) {
+                    adaptiveBatchSizeConfiguration.put("", value);
+                } else if (key.length() < ConfigurationProperties.ADAPTIVE_BATCH_SIZE.length() + 2) {
+                    throw new IllegalArgumentException("Invalid adaptive batch size configuration!");
+                } else {
+                    key = key.substring(ConfigurationProperties.ADAPTIVE_BATCH_SIZE.length() + 1);
+                    adaptiveBatchSizeConfiguration.put(key, value);
+                }
+            } else if (key.startsWith(ConfigurationProperties.CORRELATION_CACHING)) {
+                Boolean value = getCorrelationCaching(key, entry.getValue());
+                if (key.length() == ConfigurationProperties.CORRELATION_CACHING.length()) {
+                    correlationCachingConfiguration.put("", value);
+                } else if (key.length() < ConfigurationProperties.CORRELATION_CACHING.length() + 2) {
+                    throw new IllegalArgumentException("Invalid correlation caching configuration!");
+                } else {
+                    key = key.substring(ConfigurationProperties.CORRELATION_CACHING.length() + 1);
+                    correlationCachingConfiguration.put(key, value);
+                }
             }
         }
 
@@ -109,6 +161,10 @@ public final class EntityViewConfiguration {
         this.fetches = fetches;
         this.batchSizeConfiguration = Collections.unmodifiableMap(batchSizeConfiguration);
         this.expectBatchCorrelationValuesConfiguration = Collections.unmodifiableMap(expectBatchCorrelationValuesConfiguration);
+        this.correlationExecutorConfiguration = Collections.unmodifiableMap(correlationExecutorConfiguration);
+        this.correlationParallelismConfiguration = Collections.unmodifiableMap(correlationParallelismConfiguration);
+        this.adaptiveBatchSizeConfiguration = Collections.unmodifiableMap(adaptiveBatchSizeConfiguration);
+        this.correlationCachingConfiguration = Collections.unmodifiableMap(correlationCachingConfiguration);
         this.criteriaBuilder.registerMacro("view", viewJpqlMacro);
         this.criteriaBuilder.registerMacro("embedding_view", embeddingViewJpqlMacro);
     }
@@ -122,6 +178,10 @@ public final class EntityViewConfiguration {
         this.fetches = fetches;
         this.batchSizeConfiguration = original.batchSizeConfiguration;
         this.expectBatchCorrelationValuesConfiguration = original.expectBatchCorrelationValuesConfiguration;
+        this.correlationExecutorConfiguration = original.correlationExecutorConfiguration;
+        this.correlationParallelismConfiguration = original.correlationParallelismConfiguration;
+        this.adaptiveBatchSizeConfiguration = original.adaptiveBatchSizeConfiguration;
+        this.correlationCachingConfiguration = original.correlationCachingConfiguration;
     }
 
     private static NavigableSet<String> getFetches(Collection<String> fetches, String attributePath) {
@@ -238,6 +298,10 @@ public final class EntityViewConfiguration {
         return fetches;
     }
 
+    public NavigableSet<String> getFetches(String attributePath) {
+        return getFetches(fetches, attributePath);
+    }
+
     public boolean hasSubFetches(String attributePath) {
         if (fetches.isEmpty()) {
             return true;
@@ -291,6 +355,102 @@ public final class EntityViewConfiguration {
         return val;
     }
 
+    public Executor getCorrelationExecutor(String attributePath) {
+        Executor value = correlationExecutorConfiguration.get(attributePath);
+        if (value == null) {
+            value = correlationExecutorConfiguration.get("");
+        }
+
+        return value;
+    }
+
+    public int getCorrelationParallelism(String attributePath) {
+        Integer value = correlationParallelismConfiguration.get(attributePath);
+        if (value == null) {
+            value = correlationParallelismConfiguration.get("");
+        }
+        if (value == null) {
+            return 4;
+        }
+
+        return value;
+    }
+
+    private Integer getCorrelationParallelism(String key, Object value) {
+        Integer val = null;
+        if (value instanceof Integer) {
+            val = (Integer) value;
+        } else if (value instanceof String) {
+            val = Integer.parseInt(value.toString());
+        }
+
+        if (val == null) {
+            throw new IllegalArgumentException("Invalid correlation parallelism configuration for key: " + key);
+        } else if (val < 1) {
+            throw new IllegalArgumentException("Invalid correlation parallelism configuration " + val + " for key: " + key);
+        }
+
+        return val;
+    }
+
+    public boolean isAdaptiveBatchSize(String attributePath) {
+        Boolean value = adaptiveBatchSizeConfiguration.get(attributePath);
+        if (value == null) {
+            value = adaptiveBatchSizeConfiguration.get("");
+        }
+
+        return value != null && value;
+    }
+
+    private Boolean getAdaptiveBatchSize(String key, Object value) {
+        Boolean val = null;
+        if (value instanceof Boolean) {
+            val = (Boolean) value;
+        } else if (value instanceof String) {
+            String s = (String) value;
+            if ("true".equalsIgnoreCase(s)) {
+                val = Boolean.TRUE;
+            } else if ("false".equalsIgnoreCase(s)) {
+                val = Boolean.FALSE;
+            }
+        }
+
+        if (val == null) {
+            throw new IllegalArgumentException("Invalid adaptive batch size configuration for key: " + key);
+        }
+
+        return val;
+    }
+
+    public boolean isCorrelationCaching(String attributePath) {
+        Boolean value = correlationCachingConfiguration.get(attributePath);
+        if (value == null) {
+            value = correlationCachingConfiguration.get("");
+        }
+
+        return value != null && value;
+    }
+
+    private Boolean getCorrelationCaching(String key, Object value) {
+        Boolean val = null;
+        if (value instanceof Boolean) {
+            val = (Boolean) value;
+        } else if (value instanceof String) {
+            String s = (String) value;
+            if ("true".equalsIgnoreCase(s)) {
+                val = Boolean.TRUE;
+            } else if ("false".equalsIgnoreCase(s)) {
+                val = Boolean.FALSE;
+            }
+        }
+
+        if (val == null) {
+            throw new IllegalArgumentException("Invalid correlation caching configuration for key: " + key);
+        }
+
+        return val;
+    }
+
     public BatchCorrelationMode getExpectBatchCorrelationValues() {
         return getExpectBatchCorrelationValues("");
     }
@@ -300,7 +460,7 @@ public final class EntityViewConfiguration {
         return getExpectBatchCorrelationValues(attributePath, BatchCorrelationMode.VALUES);
     }
 
-    private BatchCorrelationMode getExpectBatchCorrelationValues(String attributePath, BatchCorrelationMode defaultValue) {
+    public BatchCorrelationMode getExpectBatchCorrelationValues(String attributePath, BatchCorrelationMode defaultValue) {
         BatchCorrelationMode value = expectBatchCorrelationValuesConfiguration.get(attributePath);
         if (value == null) {
             value = expectBatchCorrelationValuesConfiguration.get("");
@@ -68,6 +68,7 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
     private void loadDefaultProperties() {
         properties.put(ConfigurationProperties.PROXY_EAGER_LOADING, "false");
         properties.put(ConfigurationProperties.PROXY_UNSAFE_ALLOWED, "true");
+        properties.put(ConfigurationProperties.PROXY_RUNTIME_GENERATION_DISABLED, "false");
         properties.put(ConfigurationProperties.MANAGED_TYPE_VALIDATION_DISABLED, "false");
         properties.put(ConfigurationProperties.UPDATER_DISALLOW_OWNED_UPDATABLE_SUBVIEW, "true");
         properties.put(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK, "true");
@@ -76,6 +77,10 @@ public class EntityViewConfigurationImpl implements EntityViewConfiguration {
         properties.put(ConfigurationProperties.STATIC_IMPLEMENTATION_SCANNING_DISABLED, "false");
         properties.put(ConfigurationProperties.STATIC_METAMODEL_SCANNING_DISABLED, "false");
         properties.put(ConfigurationProperties.CREATE_EMPTY_FLAT_VIEWS, "true");
+        properties.put(ConfigurationProperties.METAMODEL_VALIDATION_PARALLELISM, "1");
+        properties.put(ConfigurationProperties.CORRELATION_CACHE_SIZE, "1000");
+        properties.put(ConfigurationProperties.CORRELATION_CACHE_TTL, "60000");
+        properties.put(ConfigurationProperties.MULTI_FLUSH_JDBC_BATCH_SIZE, "50");
 
         typeTestValues.put(boolean.class, true);
         typeTestValues.put(byte.class, Byte.MAX_VALUE);
@@ -29,10 +29,13 @@ import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.parser.expression.MacroConfiguration;
 import com.blazebit.persistence.parser.expression.MacroFunction;
 import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
+import com.blazebit.persistence.spi.CountQueryCache;
 import com.blazebit.persistence.spi.DbmsDialect;
+import com.blazebit.persistence.spi.DbmsParameterLimit;
 import com.blazebit.persistence.spi.JpaProvider;
 import com.blazebit.persistence.spi.JpqlFunction;
 import com.blazebit.persistence.spi.JpqlMacro;
+import com.blazebit.persistence.spi.InstrumentationListener;
 import com.blazebit.persistence.spi.PackageOpener;
 import com.blazebit.persistence.view.AttributeFilterProvider;
 import com.blazebit.persistence.view.ConfigurationProperties;
@@ -42,6 +45,7 @@ import com.blazebit.persistence.view.EntityViewBuilder;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViewSetting;
 import com.blazebit.persistence.view.FlushOperationBuilder;
+import com.blazebit.persistence.view.MultiFlushEntityViewManager;
 import com.blazebit.persistence.view.PostCommitListener;
 import com.blazebit.persistence.view.PostPersistEntityListener;
 import com.blazebit.persistence.view.PostPersistListener;
@@ -98,10 +102,13 @@ import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
 import com.blazebit.persistence.view.impl.metamodel.MetamodelBuildingContext;
 import com.blazebit.persistence.view.impl.metamodel.MetamodelBuildingContextImpl;
+import com.blazebit.persistence.view.impl.metamodel.MetamodelSnapshot;
 import com.blazebit.persistence.view.impl.metamodel.ViewMetamodelImpl;
 import com.blazebit.persistence.view.impl.metamodel.ViewTypeImpl;
 import com.blazebit.persistence.view.impl.objectbuilder.ContainerAccumulator;
 import com.blazebit.persistence.view.impl.objectbuilder.ViewTypeObjectBuilderTemplate;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelationBatchStatistics;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelationCache;
 import com.blazebit.persistence.view.impl.proxy.ProxyFactory;
 import com.blazebit.persistence.view.impl.type.DefaultBasicUserTypeRegistry;
 import com.blazebit.persistence.view.impl.update.DefaultUpdateContext;
@@ -110,6 +117,7 @@ import com.blazebit.persistence.view.impl.update.EntityViewUpdaterImpl;
 import com.blazebit.persistence.view.impl.update.Listeners;
 import com.blazebit.persistence.view.impl.update.SimpleUpdateContext;
 import com.blazebit.persistence.view.impl.update.UpdateContext;
+import com.blazebit.persistence.view.impl.update.ViewIdFactory;
 import com.blazebit.persistence.view.impl.update.flush.CompositeAttributeFlusher;
 import com.blazebit.persistence.view.impl.update.listener.ViewInstancePostCommitListener;
 import com.blazebit.persistence.view.impl.update.listener.ViewInstancePostPersistEntityListener;
@@ -143,6 +151,7 @@ import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 import com.blazebit.reflection.ReflectionUtils;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.metamodel.EntityType;
 import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.Metamodel;
@@ -152,11 +161,16 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.TypeVariable;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -168,13 +182,17 @@ import java.util.concurrent.ConcurrentMap;
  * @author Christian Beikov
  * @since 1.0.0
  */
-public class EntityViewManagerImpl implements EntityViewManager {
+public class EntityViewManagerImpl implements MultiFlushEntityViewManager {
 
     private static final String META_MODEL_CLASS_NAME_SUFFIX = "_";
     private static final String RELATION_CLASS_NAME_SUFFIX = "Relation";
     private static final String MULTI_RELATION_CLASS_NAME_SUFFIX = "MultiRelation";
     private static final String BUILDER_CLASS_NAME_SUFFIX = "Builder";
     private static final Set<ViewTransition> VIEW_TRANSITIONS = EnumSet.allOf(ViewTransition.class);
+    // The largest power of two that stays below the IN list element limit of Oracle, so that padded chunks stay below it as well
+    private static final int MAX_FIND_ALL_CHUNK_SIZE = 512;
+    // The bind parameter limit of SQL Server which is the lowest one of the supported databases
+    private static final int DEFAULT_MAX_PARAMETER_COUNT = 2100;
     private static final Method SYNTHETIC_VERSION_GETTER;
 
     static {
@@ -190,6 +208,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final DbmsDialect dbmsDialect;
     private final ExpressionFactory expressionFactory;
     private final PackageOpener packageOpener;
+    private final InstrumentationListener instrumentationListener;
     private final AttributeAccessor entityIdAccessor;
     private final ViewMetamodelImpl metamodel;
     private final ProxyFactory proxyFactory;
@@ -203,7 +222,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final ConcurrentMap<ViewMapperConfigKey, ViewMapper<?, ?>> configuredEntityViewMappers;
     private final ConcurrentMap<Class<?>, Constructor<?>> createConstructorCache;
     private final ConcurrentMap<Class<?>, Constructor<?>> referenceConstructorCache;
+    private final ConcurrentMap<ViewType<?>, ViewIdFactory> viewIdFactoryCache;
     private final ConcurrentMap<Class<?>, ListenerTypeInfo> listenerClassTypeInfo;
+    private final ConcurrentMap<Object, CorrelationBatchStatistics> correlationBatchStatistics;
     private final ClassValue<EntityViewManager> serializableDelegates;
     private final Map<String, Class<? extends AttributeFilterProvider>> filterMappings;
     private final Map<Class<?>, Set<Class<?>>> javaTypeToManagedTypeJavaTypes;
@@ -212,6 +233,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
     private final Map<ViewBuilderKey, Constructor<? extends EntityViewBuilder<?>>> viewBuilderClasses;
     private final boolean unsafeDisabled;
     private final boolean strictCascadingCheck;
+    private final CorrelationCache correlationCache;
+    private final CountQueryCache countQueryCache;
+    private final int jdbcBatchSize;
 
     public EntityViewManagerImpl(EntityViewConfigurationImpl config, CriteriaBuilderFactory cbf) {
         this.cbf = cbf;
@@ -220,12 +244,20 @@ public class EntityViewManagerImpl implements EntityViewManager {
         EntityMetamodel entityMetamodel = cbf.getService(EntityMetamodel.class);
         this.expressionFactory = cbf.getService(ExpressionFactory.class);
         this.packageOpener = cbf.getService(PackageOpener.class);
+        this.instrumentationListener = cbf.getService(InstrumentationListener.class);
         this.entityIdAccessor = new EntityIdAttributeAccessor(jpaProvider);
         this.unsafeDisabled = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED)));
         this.strictCascadingCheck = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK)));
-        this.proxyFactory = new ProxyFactory(unsafeDisabled, strictCascadingCheck, packageOpener);
+        boolean runtimeGenerationDisabled = Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.PROXY_RUNTIME_GENERATION_DISABLED)));
+        this.proxyFactory = new ProxyFactory(unsafeDisabled, strictCascadingCheck, runtimeGenerationDisabled, packageOpener);
         this.transactionSupport = config.getTransactionSupport();
         this.optionalParameters = Collections.unmodifiableMap(new HashMap<>(config.getOptionalParameters()));
+        this.correlationCache = new CorrelationCache(
+                getNonNegativeInteger(config.getProperty(ConfigurationProperties.CORRELATION_CACHE_SIZE), ConfigurationProperties.CORRELATION_CACHE_SIZE, 1000),
+                getNonNegativeInteger(config.getProperty(ConfigurationProperties.CORRELATION_CACHE_TTL), ConfigurationProperties.CORRELATION_CACHE_TTL, 60000)
+        );
+        this.countQueryCache = cbf.getService(CountQueryCache.class);
+        this.jdbcBatchSize = getNonNegativeInteger(config.getProperty(ConfigurationProperties.MULTI_FLUSH_JDBC_BATCH_SIZE), ConfigurationProperties.MULTI_FLUSH_JDBC_BATCH_SIZE, 50);
         this.serializableDelegates = new ClassValue<EntityViewManager>() {
             @Override
             protected EntityViewManager computeValue(Class<?> type) {
@@ -242,6 +274,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         boolean scanStaticBuilder = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_BUILDER_SCANNING_DISABLED)));
         boolean scanStaticImplementations = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_IMPLEMENTATION_SCANNING_DISABLED)));
         boolean scanStaticMetamodels = !Boolean.valueOf(String.valueOf(config.getProperty(ConfigurationProperties.STATIC_METAMODEL_SCANNING_DISABLED)));
+        int validationParallelism = getValidationParallelism(config.getProperty(ConfigurationProperties.METAMODEL_VALIDATION_PARALLELISM));
 
         Set<String> errors = config.getBootContext().getErrors();
         Map<String, JpqlFunction> functions = cbf.getRegisteredFunctions();
@@ -267,8 +300,21 @@ public class EntityViewManagerImpl implements EntityViewManager {
         RuntimeException exception = null;
         Map<Class<?>, Object> typeTestValues = config.getTypeTestValues();
 
+        Object snapshotFile = config.getProperty(ConfigurationProperties.METAMODEL_SNAPSHOT_FILE);
+        MetamodelSnapshot snapshot = null;
+        boolean validate = validateManagedTypes || validateExpressions;
+        if (snapshotFile != null && validate) {
+            snapshot = MetamodelSnapshot.create(Paths.get(snapshotFile.toString()), config.getBootContext(), context, cbf.getService(EntityManagerFactory.class), config.getProperties());
+            if (snapshot.isValid()) {
+                // The exact same classes and configuration were validated before, so we can skip the validation
+                validateManagedTypes = false;
+                validateExpressions = false;
+                snapshot = null;
+            }
+        }
+
         try {
-            viewMetamodel = new ViewMetamodelImpl(entityMetamodel, context, typeTestValues, validateManagedTypes, validateExpressions);
+            viewMetamodel = new ViewMetamodelImpl(entityMetamodel, context, typeTestValues, validateManagedTypes, validateExpressions, validationParallelism);
         } catch (RuntimeException ex) {
             exception = ex;
         }
@@ -286,6 +332,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
         } else if (exception != null) {
             throw new IllegalArgumentException("An error happened during entity view metamodel building!", exception);
         }
+        if (snapshot != null) {
+            snapshot.write();
+        }
 
         this.metamodel = viewMetamodel;
         this.supportsTransientReference = jpaProvider.supportsTransientEntityAsParameter();
@@ -296,7 +345,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
         this.configuredEntityViewMappers = new ConcurrentHashMap<>();
         this.createConstructorCache = new ConcurrentHashMap<>();
         this.referenceConstructorCache = new ConcurrentHashMap<>();
+        this.viewIdFactoryCache = new ConcurrentHashMap<>();
         this.listenerClassTypeInfo = new ConcurrentHashMap<>();
+        this.correlationBatchStatistics = new ConcurrentHashMap<>();
         this.filterMappings = new HashMap<>();
         registerFilterMappings();
 
@@ -358,6 +409,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
             } else if (scanStaticImplementations) {
                 proxyFactory.loadImplementation(errors, managedView, this);
             }
+            if (runtimeGenerationDisabled && !proxyFactory.hasStaticImplementation(javaType)) {
+                errors.add("The runtime generation of entity view implementations is disabled but no static implementation could be found for the entity view type '" + javaType.getName() + "'. Make sure the entity view annotation processor is run and the static implementation scanning is enabled!");
+            }
             if (scanStaticMetamodels) {
                 initializeStaticMetamodel(errors, managedView, relationConstructors, multiRelationConstructors);
             }
@@ -460,6 +514,40 @@ public class EntityViewManagerImpl implements EntityViewManager {
         }
     }
 
+    private static int getValidationParallelism(Object value) {
+        if (value == null) {
+            return 1;
+        }
+        int parallelism;
+        try {
+            parallelism = Integer.parseInt(value.toString());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for the configuration property " + ConfigurationProperties.METAMODEL_VALIDATION_PARALLELISM + "! Expected a non-negative integer.", ex);
+        }
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for the configuration property " + ConfigurationProperties.METAMODEL_VALIDATION_PARALLELISM + "! Expected a non-negative integer.");
+        } else if (parallelism == 0) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        return parallelism;
+    }
+
+    private static int getNonNegativeInteger(Object value, String propertyName, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        int intValue;
+        try {
+            intValue = Integer.parseInt(value.toString());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for the configuration property " + propertyName + "! Expected a non-negative integer.", ex);
+        }
+        if (intValue < 0) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for the configuration property " + propertyName + "! Expected a non-negative integer.");
+        }
+        return intValue;
+    }
+
     private static String getMetamodelClassName(Class<?> javaType) {
         return getGeneratedClassName(javaType, META_MODEL_CLASS_NAME_SUFFIX);
     }
@@ -697,6 +785,10 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return cbf;
     }
 
+    public InstrumentationListener getInstrumentationListener() {
+        return instrumentationListener;
+    }
+
     public Map<Class<?>, Listeners> getListeners() {
         return listeners;
     }
@@ -782,6 +874,13 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return dbmsDialect;
     }
 
+    public static int getMaxParameterCount(DbmsDialect dbmsDialect) {
+        if (dbmsDialect instanceof DbmsParameterLimit) {
+            return ((DbmsParameterLimit) dbmsDialect).getMaxParameterCount();
+        }
+        return DEFAULT_MAX_PARAMETER_COUNT;
+    }
+
     public AttributeAccessor getEntityIdAccessor() {
         return entityIdAccessor;
     }
@@ -806,6 +905,54 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return resultList.isEmpty() ? null : resultList.get(0);
     }
 
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, Class<T> entityViewClass, Collection<?> entityIds) {
+        return findAll(entityManager, EntityViewSetting.create(entityViewClass), entityIds);
+    }
+
+    @Override
+    public <T> List<T> findAll(EntityManager entityManager, EntityViewSetting<T, CriteriaBuilder<T>> entityViewSetting, Collection<?> entityIds) {
+        if (entityViewSetting.isPaginated() || entityViewSetting.isKeysetPaginated()) {
+            throw new IllegalArgumentException("Paginated entity view settings are not supported for loading entity views by ids: " + entityViewSetting.getEntityViewClass().getName());
+        }
+        ViewTypeImpl<T> managedViewType = metamodel.viewOrError(entityViewSetting.getEntityViewClass());
+        EntityType<?> entityType = (EntityType<?>) managedViewType.getJpaManagedType();
+        javax.persistence.metamodel.SingularAttribute<?, ?> idAttribute = JpaMetamodelUtils.getSingleIdAttribute(entityType);
+        Set<Object> distinctIds = new LinkedHashSet<>(entityIds);
+        distinctIds.remove(null);
+        List<Object> idList = new ArrayList<>(distinctIds);
+        // Leave room for parameters of the entity view and use a power of two, so that the padded chunks don't exceed the limit
+        int chunkSize = Math.max(1, Integer.highestOneBit(Math.min(MAX_FIND_ALL_CHUNK_SIZE, getMaxParameterCount(dbmsDialect) / 2)));
+        Map<Object, T> views = new HashMap<>(idList.size());
+        for (int i = 0; i < idList.size(); i += chunkSize) {
+            CriteriaBuilder<?> cb = cbf.create(entityManager, managedViewType.getEntityClass())
+                    .setProperty(com.blazebit.persistence.ConfigurationProperties.PARAMETER_LIST_PADDING, "true")
+                    .where(idAttribute.getName()).in(idList.subList(i, Math.min(i + chunkSize, idList.size())));
+            for (T view : applySetting(entityViewSetting, cb).getResultList()) {
+                views.put(((EntityViewProxy) view).$$_getId(), view);
+            }
+        }
+
+        ViewIdFactory viewIdFactory = getViewIdFactory(managedViewType);
+        List<T> result = new ArrayList<>(entityIds.size());
+        for (Object entityId : entityIds) {
+            result.add(entityId == null ? null : views.get(viewIdFactory.createViewId(entityId)));
+        }
+        return result;
+    }
+
+    private ViewIdFactory getViewIdFactory(ViewType<?> viewType) {
+        ViewIdFactory viewIdFactory = viewIdFactoryCache.get(viewType);
+        if (viewIdFactory == null) {
+            viewIdFactory = ViewIdFactory.create(this, viewType);
+            ViewIdFactory oldViewIdFactory = viewIdFactoryCache.putIfAbsent(viewType, viewIdFactory);
+            if (oldViewIdFactory != null) {
+                viewIdFactory = oldViewIdFactory;
+            }
+        }
+        return viewIdFactory;
+    }
+
     @Override
     public <T> T getReference(Class<T> entityViewClass, Object id) {
         Constructor<T> constructor = (Constructor<T>) referenceConstructorCache.get(entityViewClass);
@@ -1099,20 +1246,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
         ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(entityViewClass);
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
         try {
-            if (proxy.$$_isNew()) {
-                MutableStateTrackable updatableProxy = (MutableStateTrackable) proxy;
-                // If it has a parent, we can't just ignore this call
-                if (updatableProxy.$$_hasParent()) {
-                    throw new IllegalStateException("Can't remove not-yet-persisted object [" + view + "] that is referenced by: " + updatableProxy.$$_getParent());
-                }
-            } else {
-                if (proxy instanceof MutableStateTrackable) {
-                    MutableStateTrackable updatableProxy = (MutableStateTrackable) proxy;
-                    if (updatableProxy.$$_hasParent()) {
-                        throw new IllegalStateException("Can't remove object [" + view + "] that is still referenced by: " + updatableProxy.$$_getParent());
-                    }
-                }
+            if (requiresRemove(proxy)) {
                 updater.remove(context, proxy);
+                context.invalidateCachesOnCommit(viewType);
             }
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
@@ -1120,6 +1256,24 @@ public class EntityViewManagerImpl implements EntityViewManager {
         }
     }
 
+    private static boolean requiresRemove(EntityViewProxy proxy) {
+        if (proxy.$$_isNew()) {
+            MutableStateTrackable updatableProxy = (MutableStateTrackable) proxy;
+            // If it has a parent, we can't just ignore this call
+            if (updatableProxy.$$_hasParent()) {
+                throw new IllegalStateException("Can't remove not-yet-persisted object [" + proxy + "] that is referenced by: " + updatableProxy.$$_getParent());
+            }
+            return false;
+        }
+        if (proxy instanceof MutableStateTrackable) {
+            MutableStateTrackable updatableProxy = (MutableStateTrackable) proxy;
+            if (updatableProxy.$$_hasParent()) {
+                throw new IllegalStateException("Can't remove object [" + proxy + "] that is still referenced by: " + updatableProxy.$$_getParent());
+            }
+        }
+        return true;
+    }
+
     @Override
     public void remove(EntityManager entityManager, Class<?> entityViewClass, Object viewId) {
         remove(new DefaultUpdateContext(this, entityManager, false, false, true, entityViewClass, viewId, null), entityViewClass, viewId);
@@ -1133,6 +1287,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
         try {
             updater.remove(context, viewId);
+            context.invalidateCachesOnCommit(viewType);
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
             ExceptionUtils.doThrow(t);
@@ -1192,6 +1347,7 @@ public class EntityViewManagerImpl implements EntityViewManager {
             } else {
                 updater.executeUpdate(context, updatableProxy);
             }
+            context.invalidateCachesOnCommit(viewType);
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
             ExceptionUtils.doThrow(t);
@@ -1212,6 +1368,166 @@ public class EntityViewManagerImpl implements EntityViewManager {
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
         try {
             updater.executeUpdate(context, entity, updatableProxy);
+            context.invalidateCachesOnCommit(viewType);
+        } catch (Throwable t) {
+            context.getTransactionAccess().markRollbackOnly();
+            ExceptionUtils.doThrow(t);
+        }
+    }
+
+    @Override
+    public void saveAll(EntityManager em, Iterable<?> views) {
+        updateAll(new DefaultUpdateContext(this, em, false, false, false, true, null, views, null), views);
+    }
+
+    @Override
+    public void saveFullAll(EntityManager em, Iterable<?> views) {
+        updateAll(new DefaultUpdateContext(this, em, true, false, false, true, null, views, null), views);
+    }
+
+    @Override
+    public FlushOperationBuilder saveAllWith(EntityManager em, Iterable<?> views) {
+        return new DefaultUpdateContext(this, em, false, false, false, true, null, views, null);
+    }
+
+    @Override
+    public FlushOperationBuilder saveFullAllWith(EntityManager em, Iterable<?> views) {
+        return new DefaultUpdateContext(this, em, true, false, false, true, null, views, null);
+    }
+
+    @Override
+    public void removeAll(EntityManager entityManager, Iterable<?> views) {
+        removeAll(new DefaultUpdateContext(this, entityManager, false, false, true, true, null, views, null), views);
+    }
+
+    @Override
+    public FlushOperationBuilder removeAllWith(EntityManager entityManager, Iterable<?> views) {
+        return new DefaultUpdateContext(this, entityManager, false, false, true, true, null, views, null);
+    }
+
+    @Override
+    public void removeAll(EntityManager entityManager, Class<?> entityViewClass, Iterable<?> viewIds) {
+        removeAll(new DefaultUpdateContext(this, entityManager, false, false, true, true, entityViewClass, viewIds, null), entityViewClass, viewIds);
+    }
+
+    @Override
+    public FlushOperationBuilder removeAllWith(EntityManager entityManager, Class<?> entityViewClass, Iterable<?> viewIds) {
+        return new DefaultUpdateContext(this, entityManager, false, false, true, true, entityViewClass, viewIds, null);
+    }
+
+    public void updateAll(UpdateContext context, Iterable<?> views) {
+        // New objects are persisted before updating existing ones, as the updated objects might refer to the new ones
+        List<MutableStateTrackable> newViews = new ArrayList<>();
+        Map<DirtyStateKey, List<MutableStateTrackable>> existingViews = new LinkedHashMap<>();
+        int viewCount = 0;
+        for (Object view : views) {
+            if (!(view instanceof MutableStateTrackable)) {
+                throw new IllegalArgumentException("Can't update non-updatable entity views: " + view);
+            }
+            MutableStateTrackable updatableProxy = (MutableStateTrackable) view;
+            viewCount++;
+            if (updatableProxy.$$_isNew()) {
+                newViews.add(updatableProxy);
+            } else {
+                ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(updatableProxy.$$_getEntityViewClass());
+                DirtyStateKey key = new DirtyStateKey(viewType, updatableProxy.$$_getDirty());
+                List<MutableStateTrackable> viewsOfDirtyState = existingViews.get(key);
+                if (viewsOfDirtyState == null) {
+                    viewsOfDirtyState = new ArrayList<>();
+                    existingViews.put(key, viewsOfDirtyState);
+                }
+                viewsOfDirtyState.add(updatableProxy);
+            }
+        }
+        Set<ManagedViewTypeImplementor<?>> changedViewTypes = new HashSet<>();
+        EntityManager em = context.getEntityManager();
+        // The JDBC driver can only batch consecutive statements of the same shape,
+        // which is why objects are flushed grouped by their dirty state and the changes are flushed before resetting the batch size
+        boolean batching = jdbcBatchSize > 1 && viewCount > 1;
+        Integer previousBatchSize = null;
+        if (batching) {
+            previousBatchSize = jpaProvider.setJdbcBatchSize(em, jdbcBatchSize);
+        }
+        try {
+            for (MutableStateTrackable updatableProxy : newViews) {
+                ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(updatableProxy.$$_getEntityViewClass());
+                getUpdater(null, viewType, null, null, null).executePersist(context, updatableProxy);
+                changedViewTypes.add(viewType);
+            }
+            for (Map.Entry<DirtyStateKey, List<MutableStateTrackable>> entry : existingViews.entrySet()) {
+                EntityViewUpdater updater = getUpdater(null, entry.getKey().viewType, null, null, null);
+                for (MutableStateTrackable updatableProxy : entry.getValue()) {
+                    updater.executeUpdate(context, updatableProxy);
+                }
+                changedViewTypes.add(entry.getKey().viewType);
+            }
+            if (batching) {
+                em.flush();
+            }
+            for (ManagedViewTypeImplementor<?> viewType : changedViewTypes) {
+                context.invalidateCachesOnCommit(viewType);
+            }
+        } catch (Throwable t) {
+            context.getTransactionAccess().markRollbackOnly();
+            ExceptionUtils.doThrow(t);
+        } finally {
+            if (batching) {
+                jpaProvider.setJdbcBatchSize(em, previousBatchSize);
+            }
+        }
+    }
+
+    public void removeAll(UpdateContext context, Iterable<?> views) {
+        Map<ManagedViewTypeImplementor<?>, List<EntityViewProxy>> viewsByType = new LinkedHashMap<>();
+        for (Object view : views) {
+            if (!(view instanceof EntityViewProxy)) {
+                throw new IllegalArgumentException("Can't remove non entity view object: " + view);
+            }
+            EntityViewProxy proxy = (EntityViewProxy) view;
+            ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(proxy.$$_getEntityViewClass());
+            List<EntityViewProxy> viewsOfType = viewsByType.get(viewType);
+            if (viewsOfType == null) {
+                viewsOfType = new ArrayList<>();
+                viewsByType.put(viewType, viewsOfType);
+            }
+            viewsOfType.add(proxy);
+        }
+        try {
+            for (Map.Entry<ManagedViewTypeImplementor<?>, List<EntityViewProxy>> entry : viewsByType.entrySet()) {
+                EntityViewUpdater updater = getUpdater(null, entry.getKey(), null, null, null);
+                boolean removed = false;
+                for (EntityViewProxy proxy : entry.getValue()) {
+                    if (requiresRemove(proxy)) {
+                        updater.remove(context, proxy);
+                        removed = true;
+                    }
+                }
+                if (removed) {
+                    context.invalidateCachesOnCommit(entry.getKey());
+                }
+            }
+        } catch (Throwable t) {
+            context.getTransactionAccess().markRollbackOnly();
+            ExceptionUtils.doThrow(t);
+        }
+    }
+
+    public void removeAll(UpdateContext context, Class<?> entityViewClass, Iterable<?> viewIds) {
+        ManagedViewTypeImplementor<?> viewType = metamodel.managedView(entityViewClass);
+        if (viewType == null) {
+            throw new IllegalArgumentException("Can't remove non entity view object: " + entityViewClass.getName());
+        }
+        List<Object> ids = new ArrayList<>();
+        for (Object viewId : viewIds) {
+            ids.add(viewId);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
+        try {
+            updater.removeAll(context, ids);
+            context.invalidateCachesOnCommit(viewType);
         } catch (Throwable t) {
             context.getTransactionAccess().markRollbackOnly();
             ExceptionUtils.doThrow(t);
@@ -1227,7 +1543,9 @@ public class EntityViewManagerImpl implements EntityViewManager {
         Class<?> entityViewClass = updatableProxy.$$_getEntityViewClass();
         ManagedViewTypeImplementor<?> viewType = metamodel.managedViewOrError(entityViewClass);
         EntityViewUpdater updater = getUpdater(null, viewType, null, null, null);
-        return updater.executePersist(context, updatableProxy);
+        Object entity = updater.executePersist(context, updatableProxy);
+        context.invalidateCachesOnCommit(viewType);
+        return entity;
     }
 
     @Override
@@ -1244,6 +1562,33 @@ public class EntityViewManagerImpl implements EntityViewManager {
         return unsafeDisabled;
     }
 
+    public void invalidateCaches(ManagedViewTypeImplementor<?> viewType) {
+        correlationCache.invalidate(viewType);
+        // Criteria builder factory implementations are not required to provide a count query cache
+        if (countQueryCache != null) {
+            for (Class<?> entityClass : correlationCache.getEntityClasses(viewType)) {
+                countQueryCache.invalidate(entityClass);
+            }
+        }
+    }
+
+    public CorrelationCache getCorrelationCache() {
+        return correlationCache;
+    }
+
+    public CorrelationBatchStatistics getCorrelationBatchStatistics(Object attribute) {
+        // Object builder templates are not always cached, so the statistics are kept per attribute to survive across queries
+        CorrelationBatchStatistics statistics = correlationBatchStatistics.get(attribute);
+        if (statistics == null) {
+            statistics = new CorrelationBatchStatistics();
+            CorrelationBatchStatistics existing = correlationBatchStatistics.putIfAbsent(attribute, statistics);
+            if (existing != null) {
+                statistics = existing;
+            }
+        }
+        return statistics;
+    }
+
     public boolean supportsTransientReference() {
         return supportsTransientReference;
     }
@@ -1589,4 +1934,43 @@ public class EntityViewManagerImpl implements EntityViewManager {
             return result;
         }
     }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static class DirtyStateKey {
+        private final ManagedViewTypeImplementor<?> viewType;
+        private final long[] dirty;
+
+        public DirtyStateKey(ManagedViewTypeImplementor<?> viewType, long[] dirty) {
+            this.viewType = viewType;
+            // The dirty state of the proxy is reset in place when it is flushed
+            this.dirty = dirty == null ? null : dirty.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DirtyStateKey)) {
+                return false;
+            }
+
+            DirtyStateKey that = (DirtyStateKey) o;
+
+            if (!viewType.equals(that.viewType)) {
+                return false;
+            }
+            return Arrays.equals(dirty, that.dirty);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = viewType.hashCode();
+            result = 31 * result + Arrays.hashCode(dirty);
+            return result;
+        }
+    }
 }
@@ -20,6 +20,7 @@ import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.HavingBuilder;
 import com.blazebit.persistence.KeysetPage;
+import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
 import com.blazebit.persistence.Path;
 import com.blazebit.persistence.PredicateBuilder;
@@ -37,6 +38,7 @@ import com.blazebit.persistence.view.impl.metamodel.AbstractMethodAttribute;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.metamodel.MappingConstructorImpl;
 import com.blazebit.persistence.view.impl.metamodel.ViewTypeImplementor;
+import com.blazebit.persistence.view.impl.objectbuilder.InstrumentingObjectBuilder;
 import com.blazebit.persistence.view.metamodel.AttributeFilterMapping;
 import com.blazebit.persistence.view.metamodel.FlatViewType;
 import com.blazebit.persistence.view.metamodel.MappingAttribute;
@@ -116,7 +118,8 @@ public final class EntityViewSettingHelper {
         entityViewRoot = root.getPath();
         Q queryBuilder = getQueryBuilder(setting, criteriaBuilder, entityViewRoot, managedView, setting.getProperties());
         EntityViewConfiguration configuration = new EntityViewConfiguration(queryBuilder, ef, new MutableViewJpqlMacro(), new MutableEmbeddingViewJpqlMacro(), optionalParameters, setting.getProperties(), requestedFetches, managedView);
-        queryBuilder.selectNew(evm.createObjectBuilder(managedView, mappingConstructor, root.getJavaType(), entityViewRoot, null, criteriaBuilder, configuration, 0, 0, false));
+        ObjectBuilder<?> objectBuilder = evm.createObjectBuilder(managedView, mappingConstructor, root.getJavaType(), entityViewRoot, null, criteriaBuilder, configuration, 0, 0, false);
+        queryBuilder.selectNew(InstrumentingObjectBuilder.wrap(objectBuilder, evm.getInstrumentationListener(), root.getJavaType(), managedView.getJavaType()));
         Set<String> fetches = configuration.getFetches();
         applyAttributeFilters(setting, evm, queryBuilder, entityViewRoot, fetches, managedView);
         applyViewFilters(setting, evm, queryBuilder, managedView);
@@ -211,6 +214,34 @@ public final class EntityViewSettingHelper {
                 if (boundedCount != null) {
                     builder.withBoundedCount(boundedCount);
                 }
+                Long estimatedCountThreshold = null;
+                o = properties.get(ConfigurationProperties.PAGINATION_ESTIMATED_COUNT_THRESHOLD);
+                if (o != null) {
+                    if (o instanceof Integer || o instanceof Long) {
+                        estimatedCountThreshold = ((Number) o).longValue();
+                    } else if (o instanceof String) {
+                        estimatedCountThreshold = Long.parseLong((String) o);
+                    } else {
+                        throw new IllegalArgumentException("Invalid value of type " + o.getClass().getName() + " given for the long property: " + ConfigurationProperties.PAGINATION_ESTIMATED_COUNT_THRESHOLD);
+                    }
+                }
+                if (estimatedCountThreshold != null) {
+                    builder.withEstimatedCount(estimatedCountThreshold);
+                }
+                Long countCacheTtl = null;
+                o = properties.get(ConfigurationProperties.PAGINATION_COUNT_CACHE_TTL);
+                if (o != null) {
+                    if (o instanceof Integer || o instanceof Long) {
+                        countCacheTtl = ((Number) o).longValue();
+                    } else if (o instanceof String) {
+                        countCacheTtl = Long.parseLong((String) o);
+                    } else {
+                        throw new IllegalArgumentException("Invalid value of type " + o.getClass().getName() + " given for the long property: " + ConfigurationProperties.PAGINATION_COUNT_CACHE_TTL);
+                    }
+                }
+                if (countCacheTtl != null) {
+                    builder.withCachedCount(countCacheTtl);
+                }
             }
             Integer highestKeyOffset = null;
             Object o = properties.get(ConfigurationProperties.PAGINATION_HIGHEST_KEYSET_OFFSET);
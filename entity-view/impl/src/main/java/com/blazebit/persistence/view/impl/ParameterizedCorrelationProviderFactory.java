@@ -37,6 +37,10 @@ public class ParameterizedCorrelationProviderFactory implements CorrelationProvi
         this.parameterNames = parameterNames;
     }
 
+    public String[] getParameterNames() {
+        return parameterNames;
+    }
+
     @Override
     public boolean isParameterized() {
         return parameterNames.length > 0;
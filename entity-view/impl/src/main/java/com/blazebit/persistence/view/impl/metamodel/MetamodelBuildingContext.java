@@ -99,6 +99,8 @@ public interface MetamodelBuildingContext {
 
     public void addError(String error);
 
+    public void collectErrors(List<String> errors, Runnable action);
+
     public boolean hasErrors();
 
     public boolean isEntityView(Class<?> clazz);
@@ -73,6 +73,8 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  *
@@ -88,9 +90,10 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
         }
     };
 
-    private final Map<TypeRegistryKey, Type<?>> basicTypeRegistry = new HashMap<>();
-    private final Map<TypeRegistryKey, Map<Class<?>, Type<?>>> convertedTypeRegistry = new HashMap<>();
-    private final Map<BasicUserType<?>, Boolean> multisetSupport = new HashMap<>();
+    // The type registries are caches that might be populated during the concurrent validation of view types
+    private final Map<TypeRegistryKey, Type<?>> basicTypeRegistry = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TypeRegistryKey, Map<Class<?>, Type<?>>> convertedTypeRegistry = new ConcurrentHashMap<>();
+    private final Map<BasicUserType<?>, Boolean> multisetSupport = new ConcurrentHashMap<>();
     private final BasicUserTypeRegistry basicUserTypeRegistry;
     private final EntityMetamodel entityMetamodel;
     private final JpaProvider jpaProvider;
@@ -104,6 +107,7 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
     private final Map<ViewMappingInitializationKey, ManagedViewTypeImplementor<?>> initializingManagedViews;
     private final Map<ManagedViewTypeImplementor<?>, List<Runnable>> managedViewFinishListeners;
     private final Set<String> errors;
+    private final ThreadLocal<List<String>> errorCollector = new ThreadLocal<>();
 
     private final boolean disallowOwnedUpdatableSubview;
     private final boolean strictCascadingCheck;
@@ -220,6 +224,7 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
 
     @Override
     public void addManagedViewType(ViewMapping viewMapping, EmbeddableOwner embeddableMapping, ManagedViewTypeImplementor<?> managedViewType) {
+        assertNotValidatingConcurrently();
         ViewMappingInitializationKey key = new ViewMappingInitializationKey(viewMapping, embeddableMapping);
         if (initializingManagedViews.get(key) == null) {
             initializingManagedViews.put(key, managedViewType);
@@ -231,6 +236,7 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
         ViewMappingInitializationKey key = new ViewMappingInitializationKey(viewMapping, embeddableMapping);
         ManagedViewTypeImplementor<?> managedViewTypeImplementor = initializingManagedViews.get(key);
         if (managedViewTypeImplementor == null) {
+            assertNotValidatingConcurrently();
             return viewMapping.getManagedViewType(this, embeddableMapping);
         }
         return managedViewTypeImplementor;
@@ -238,6 +244,7 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
 
     @Override
     public void finishViewType(ManagedViewTypeImplementor<?> managedViewType) {
+        assertNotValidatingConcurrently();
         List<Runnable> finishListeners = managedViewFinishListeners.get(managedViewType);
         if (finishListeners == null) {
             managedViewFinishListeners.put(managedViewType, Collections.<Runnable>emptyList());
@@ -251,6 +258,7 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
 
     @Override
     public void onViewTypeFinished(ManagedViewTypeImplementor<?> managedViewType, Runnable listener) {
+        assertNotValidatingConcurrently();
         List<Runnable> finishListeners = managedViewFinishListeners.get(managedViewType);
         if (finishListeners == null) {
             finishListeners = new ArrayList<>();
@@ -459,8 +467,11 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
                     registerMultisetSupport(userType);
                     t = new BasicTypeImpl<>((Class<X>) classType, managedType, userType, type, (TypeConverter<X, ?>) typeConverter);
                     if (convertedTypeMap == null) {
-                        convertedTypeMap = new HashMap<>();
-                        convertedTypeRegistry.put(key, convertedTypeMap);
+                        convertedTypeMap = new ConcurrentHashMap<>();
+                        Map<Class<?>, Type<?>> existingConvertedTypeMap = convertedTypeRegistry.putIfAbsent(key, convertedTypeMap);
+                        if (existingConvertedTypeMap != null) {
+                            convertedTypeMap = existingConvertedTypeMap;
+                        }
                     }
                     convertedTypeMap.put(convertedType, t);
                     return t;
@@ -626,7 +637,35 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
 
     @Override
     public void addError(String error) {
-        errors.add(error);
+        List<String> collector = errorCollector.get();
+        if (collector == null) {
+            errors.add(error);
+        } else {
+            collector.add(error);
+        }
+    }
+
+    @Override
+    public void collectErrors(List<String> errors, Runnable action) {
+        List<String> oldCollector = errorCollector.get();
+        errorCollector.set(errors);
+        try {
+            action.run();
+        } finally {
+            if (oldCollector == null) {
+                errorCollector.remove();
+            } else {
+                errorCollector.set(oldCollector);
+            }
+        }
+    }
+
+    private void assertNotValidatingConcurrently() {
+        // The view mappings and view types are only built on the bootstrapping thread before the validation
+        // During the concurrent validation, they are only read, so they don't need to be thread safe
+        if (errorCollector.get() != null) {
+            throw new IllegalStateException("The entity view metamodel must not be modified during the concurrent validation of view types");
+        }
     }
 
     @Override
@@ -667,6 +706,7 @@ public class MetamodelBuildingContextImpl implements MetamodelBuildingContext {
 
     @Override
     public Map<Class<?>, CTEProvider> getCteProviders() {
+        assertNotValidatingConcurrently();
         return cteProviders;
     }
 
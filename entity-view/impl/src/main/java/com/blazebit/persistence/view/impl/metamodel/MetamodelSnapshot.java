@@ -0,0 +1,374 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.metamodel;
+
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.impl.EntityViewListenerClassKey;
+import com.blazebit.persistence.view.impl.type.BasicUserTypeRegistry;
+import com.blazebit.persistence.view.spi.type.BasicUserType;
+import com.blazebit.persistence.view.spi.type.TypeConverter;
+import com.blazebit.reflection.ReflectionUtils;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.ManagedType;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A binary snapshot of a successfully validated entity view metamodel.
+ * The snapshot is keyed by a checksum over fingerprints of the entity view and JPA managed type classes, the classes they refer to like
+ * correlation, subquery and filter providers or attribute converters, the registered basic user types, type converters and view listeners,
+ * the JPA mapping descriptors, the JPA provider, the DBMS dialect as well as the configuration,
+ * so that a matching snapshot allows to skip the metamodel validation on boot.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class MetamodelSnapshot {
+
+    private static final Logger LOG = Logger.getLogger(MetamodelSnapshot.class.getName());
+    private static final int MAGIC = 0x42505653;
+    private static final int VERSION = 3;
+    private static final String[] MAPPING_DESCRIPTORS = { "META-INF/orm.xml", "META-INF/persistence.xml" };
+
+    private final Path path;
+    private final byte[] checksum;
+
+    private MetamodelSnapshot(Path path, byte[] checksum) {
+        this.path = path;
+        this.checksum = checksum;
+    }
+
+    public static MetamodelSnapshot create(Path path, MetamodelBootContext bootContext, MetamodelBuildingContext context, EntityManagerFactory entityManagerFactory, Map<?, ?> properties) {
+        TreeMap<String, Class<?>> classes = new TreeMap<>();
+        // Registrations that are not visible in any class file, like type converters registered for a type pair
+        TreeSet<String> registrations = new TreeSet<>();
+        for (ViewMapping viewMapping : context.getViewMappings()) {
+            addClassHierarchy(classes, viewMapping.getEntityViewClass());
+            if (viewMapping.getCteProviders() != null) {
+                addReferencedClasses(classes, viewMapping.getCteProviders());
+            }
+            if (viewMapping.getViewFilterProviders() != null) {
+                addReferencedClasses(classes, viewMapping.getViewFilterProviders().values());
+            }
+            for (MethodAttributeMapping attributeMapping : viewMapping.getMethodAttributes().values()) {
+                addAttributeClasses(classes, attributeMapping);
+                if (attributeMapping.getAttributeFilterProviders() != null) {
+                    addReferencedClasses(classes, attributeMapping.getAttributeFilterProviders().values());
+                }
+            }
+            for (ConstructorMapping constructorMapping : viewMapping.getConstructorMappings().values()) {
+                for (ParameterAttributeMapping parameterMapping : constructorMapping.getParameterMappings()) {
+                    addAttributeClasses(classes, parameterMapping);
+                }
+            }
+        }
+        for (ManagedType<?> managedType : context.getEntityMetamodel().getManagedTypes()) {
+            Class<?> javaType = managedType.getJavaType();
+            if (javaType != null) {
+                addClassHierarchy(classes, javaType);
+                // JPA attribute converters are referenced through annotations on the entity attributes
+                for (Field field : javaType.getDeclaredFields()) {
+                    addAnnotationClasses(classes, field.getAnnotations());
+                }
+                for (Method method : javaType.getDeclaredMethods()) {
+                    addAnnotationClasses(classes, method.getAnnotations());
+                }
+            }
+        }
+        for (EntityViewListenerClassKey key : bootContext.getViewListeners().keySet()) {
+            registrations.add("listener:" + key.getEntityViewClass().getName() + ":" + key.getEntityClass().getName() + ":" + key.getEntityViewListenerKind().getName()
+                    + "=" + addInstanceClass(classes, key.getEntityViewListenerClass()));
+        }
+        BasicUserTypeRegistry basicUserTypeRegistry = context.getBasicUserTypeRegistry();
+        for (Map.Entry<Class<?>, BasicUserType<?>> entry : basicUserTypeRegistry.getBasicUserTypes().entrySet()) {
+            registrations.add("type:" + entry.getKey().getName() + "=" + addInstanceClass(classes, entry.getValue().getClass()));
+        }
+        for (Map.Entry<Class<?>, Map<Class<?>, TypeConverter<?, ?>>> entry : basicUserTypeRegistry.getTypeConverters().entrySet()) {
+            for (Map.Entry<Class<?>, TypeConverter<?, ?>> converterEntry : entry.getValue().entrySet()) {
+                registrations.add("converter:" + converterEntry.getKey().getName() + ":" + entry.getKey().getName() + "=" + addInstanceClass(classes, converterEntry.getValue().getClass()));
+            }
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by the JVM", e);
+        }
+        updateDigest(digest, String.valueOf(MetamodelSnapshot.class.getPackage().getImplementationVersion()));
+        // The JPA provider and the DBMS dialect influence how the mappings are interpreted
+        updateDigest(digest, entityManagerFactory.getClass().getName());
+        updateDigest(digest, String.valueOf(entityManagerFactory.getClass().getPackage().getImplementationVersion()));
+        updateDigest(digest, context.getDbmsDialect().getClass().getName());
+        byte[] buffer = new byte[8192];
+        for (Map.Entry<String, Class<?>> entry : classes.entrySet()) {
+            updateDigest(digest, entry.getKey());
+            Class<?> clazz = entry.getValue();
+            updateDigest(digest, clazz.getResource("/" + entry.getKey().replace('.', '/') + ".class"), buffer);
+        }
+        for (String registration : registrations) {
+            updateDigest(digest, registration);
+        }
+        // Mappings can also be defined or overridden in XML descriptors
+        Set<URL> descriptors = new TreeSet<>(new Comparator<URL>() {
+            @Override
+            public int compare(URL o1, URL o2) {
+                return o1.toExternalForm().compareTo(o2.toExternalForm());
+            }
+        });
+        Set<ClassLoader> classLoaders = new HashSet<>();
+        classLoaders.add(Thread.currentThread().getContextClassLoader());
+        for (Class<?> clazz : classes.values()) {
+            classLoaders.add(clazz.getClassLoader());
+        }
+        classLoaders.remove(null);
+        for (ClassLoader classLoader : classLoaders) {
+            for (String descriptor : MAPPING_DESCRIPTORS) {
+                try {
+                    descriptors.addAll(Collections.list(classLoader.getResources(descriptor)));
+                } catch (IOException ex) {
+                    throw new IllegalStateException("Could not resolve the mapping descriptor '" + descriptor + "' for computing the metamodel snapshot checksum", ex);
+                }
+            }
+        }
+        for (URL descriptor : descriptors) {
+            updateDigest(digest, descriptor.toExternalForm());
+            updateDigest(digest, descriptor, buffer);
+        }
+        TreeMap<String, String> sortedProperties = new TreeMap<>();
+        for (Map.Entry<?, ?> entry : properties.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            if (!ConfigurationProperties.METAMODEL_SNAPSHOT_FILE.equals(key)) {
+                sortedProperties.put(key, String.valueOf(entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, String> entry : sortedProperties.entrySet()) {
+            updateDigest(digest, entry.getKey());
+            updateDigest(digest, entry.getValue());
+        }
+        for (String functionName : new TreeSet<>(context.getJpqlFunctions().keySet())) {
+            updateDigest(digest, functionName);
+        }
+        return new MetamodelSnapshot(path, digest.digest());
+    }
+
+    private static void addAttributeClasses(Map<String, Class<?>> classes, AttributeMapping attributeMapping) {
+        // The mapping annotation refers to correlation providers, subquery providers etc.
+        addAnnotationClasses(classes, attributeMapping.getMapping());
+        if (attributeMapping.getComparatorClass() != null) {
+            addReferencedClass(classes, attributeMapping.getComparatorClass());
+        }
+        if (attributeMapping.getElementCollectionComparatorClass() != null) {
+            addReferencedClass(classes, attributeMapping.getElementCollectionComparatorClass());
+        }
+    }
+
+    private static void addAnnotationClasses(Map<String, Class<?>> classes, Annotation... annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation == null) {
+                continue;
+            }
+            for (Method member : annotation.annotationType().getDeclaredMethods()) {
+                Object value;
+                try {
+                    value = member.invoke(annotation);
+                } catch (IllegalAccessException | InvocationTargetException ex) {
+                    throw new IllegalStateException("Could not read the annotation member '" + member + "' for computing the metamodel snapshot checksum", ex);
+                }
+                if (value instanceof Class<?>) {
+                    addReferencedClass(classes, (Class<?>) value);
+                } else if (value instanceof Class<?>[]) {
+                    addReferencedClasses(classes, Arrays.asList((Class<?>[]) value));
+                } else if (value instanceof Annotation) {
+                    addAnnotationClasses(classes, (Annotation) value);
+                } else if (value instanceof Annotation[]) {
+                    addAnnotationClasses(classes, (Annotation[]) value);
+                }
+            }
+        }
+    }
+
+    private static void addReferencedClasses(Map<String, Class<?>> classes, Collection<? extends Class<?>> referencedClasses) {
+        for (Class<?> referencedClass : referencedClasses) {
+            addReferencedClass(classes, referencedClass);
+        }
+    }
+
+    private static void addReferencedClass(Map<String, Class<?>> classes, Class<?> clazz) {
+        if (!clazz.isPrimitive() && !clazz.isArray() && !clazz.getName().startsWith("java.") && !clazz.getName().startsWith("javax.")) {
+            addClassHierarchy(classes, clazz);
+        }
+    }
+
+    private static String addInstanceClass(Map<String, Class<?>> classes, Class<?> clazz) {
+        // The names of lambda classes are not stable across runs, so the defining class is fingerprinted instead
+        String name = clazz.getName();
+        int lambdaIndex = name.indexOf("$$Lambda");
+        if (lambdaIndex == -1) {
+            addReferencedClass(classes, clazz);
+            return name;
+        }
+        name = name.substring(0, lambdaIndex);
+        try {
+            addReferencedClass(classes, Class.forName(name, false, clazz.getClassLoader()));
+        } catch (ClassNotFoundException ex) {
+            // Ignore, the name alone is still part of the checksum
+        }
+        return name;
+    }
+
+    private static void addClassHierarchy(Map<String, Class<?>> classes, Class<?> clazz) {
+        classes.put(clazz.getName(), clazz);
+        for (Class<?> c : ReflectionUtils.getSuperTypes(clazz)) {
+            String name = c.getName();
+            if (c != Object.class && !name.startsWith("java.") && !name.startsWith("javax.")) {
+                classes.put(name, c);
+            }
+        }
+    }
+
+    private static void updateDigest(MessageDigest digest, URL resource, byte[] buffer) {
+        // Fingerprint the resource without reading the content if possible, which is a lot cheaper than hashing the content on every boot
+        // For resources in a JAR, the CRC and size of the JAR entry are used, for files the size and last modification time
+        if (resource == null) {
+            return;
+        }
+        try {
+            URLConnection connection = resource.openConnection();
+            if (connection instanceof JarURLConnection) {
+                JarEntry jarEntry = ((JarURLConnection) connection).getJarEntry();
+                if (jarEntry != null && jarEntry.getCrc() != -1L) {
+                    updateDigest(digest, jarEntry.getCrc());
+                    updateDigest(digest, jarEntry.getSize());
+                    return;
+                }
+            } else if ("file".equals(resource.getProtocol())) {
+                File file = new File(resource.toURI());
+                updateDigest(digest, file.length());
+                updateDigest(digest, file.lastModified());
+                return;
+            }
+            try (InputStream is = connection.getInputStream()) {
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        } catch (IOException | URISyntaxException ex) {
+            throw new IllegalStateException("Could not read the resource '" + resource + "' for computing the metamodel snapshot checksum", ex);
+        }
+    }
+
+    private static void updateDigest(MessageDigest digest, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (value >>> shift));
+        }
+    }
+
+    private static void updateDigest(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    /**
+     * Returns whether a snapshot exists that was written for the same checksum.
+     *
+     * @return true if the existing snapshot is up-to-date
+     */
+    public boolean isValid() {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (dis.readInt() != MAGIC || dis.readInt() != VERSION) {
+                return false;
+            }
+            byte[] existingChecksum = new byte[dis.readInt()];
+            dis.readFully(existingChecksum);
+            return Arrays.equals(checksum, existingChecksum);
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Could not read the entity view metamodel snapshot " + path, ex);
+            return false;
+        }
+    }
+
+    /**
+     * Writes the snapshot, replacing a possibly existing snapshot.
+     */
+    public void write() {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path tempFile = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    dos.writeInt(MAGIC);
+                    dos.writeInt(VERSION);
+                    dos.writeInt(checksum.length);
+                    dos.write(checksum);
+                }
+                try {
+                    Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException ex) {
+                    Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Could not write the entity view metamodel snapshot " + path, ex);
+        }
+    }
+}
@@ -49,6 +49,10 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  *
@@ -63,7 +67,7 @@ public class ViewMetamodelImpl implements ViewMetamodel {
     private final Map<Class<?>, FlatViewTypeImpl<?>> flatViews;
     private final Map<Class<?>, ManagedViewTypeImplementor<?>> managedViews;
 
-    public ViewMetamodelImpl(EntityMetamodel entityMetamodel, MetamodelBuildingContext context, Map<Class<?>, Object> typeTestValues, boolean validateManagedTypes, boolean validateExpressions) {
+    public ViewMetamodelImpl(EntityMetamodel entityMetamodel, MetamodelBuildingContext context, Map<Class<?>, Object> typeTestValues, boolean validateManagedTypes, boolean validateExpressions, int validationParallelism) {
         this.metamodel = entityMetamodel;
         this.basicUserTypeRegistry = context.getBasicUserTypeRegistry();
 
@@ -102,10 +106,14 @@ public class ViewMetamodelImpl implements ViewMetamodel {
         // Phase 4: Validate expressions against the entity model
         if (!context.hasErrors()) {
             if (validateExpressions) {
-                List<AbstractAttribute<?, ?>> parents = new ArrayList<>();
-                for (ManagedViewTypeImplementor<?> t : managedViews.values()) {
-                    t.checkAttributes(context);
-                    t.checkNestedAttributes(parents, context, false);
+                if (validationParallelism > 1 && managedViews.size() > 1) {
+                    checkAttributesParallel(context, managedViews.values(), validationParallelism);
+                } else {
+                    List<AbstractAttribute<?, ?>> parents = new ArrayList<>();
+                    for (ManagedViewTypeImplementor<?> t : managedViews.values()) {
+                        t.checkAttributes(context);
+                        t.checkNestedAttributes(parents, context, false);
+                    }
                 }
             }
         }
@@ -262,6 +270,63 @@ public class ViewMetamodelImpl implements ViewMetamodel {
         return basicUserTypeRegistry.getBasicUserType(clazz);
     }
 
+    private static void checkAttributesParallel(final MetamodelBuildingContext context, Collection<ManagedViewTypeImplementor<?>> managedViewTypes, int parallelism) {
+        // The validation of a view type only reads the metamodel, so we can validate view types concurrently
+        // Errors are collected per view type and added in the iteration order to keep the error reporting deterministic
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, managedViewTypes.size()));
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>(managedViewTypes.size());
+            for (final ManagedViewTypeImplementor<?> t : managedViewTypes) {
+                futures.add(pool.submit(new Callable<List<String>>() {
+                    @Override
+                    public List<String> call() {
+                        final List<String> errors = new ArrayList<>();
+                        context.collectErrors(errors, new Runnable() {
+                            @Override
+                            public void run() {
+                                t.checkAttributes(context);
+                                t.checkNestedAttributes(new ArrayList<AbstractAttribute<?, ?>>(), context, false);
+                            }
+                        });
+                        return errors;
+                    }
+                }));
+            }
+            for (Future<List<String>> future : futures) {
+                for (String error : getUninterruptibly(future)) {
+                    context.addError(error);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static <T> T getUninterruptibly(Future<T> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException("The entity view validation failed", cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <X> ViewTypeImpl<X> view(Class<X> clazz) {
@@ -18,6 +18,7 @@ package com.blazebit.persistence.view.impl.objectbuilder;
 
 import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.ParameterHolder;
+import com.blazebit.persistence.ReducingObjectBuilder;
 import com.blazebit.persistence.SelectBuilder;
 import com.blazebit.persistence.view.impl.EntityViewConfiguration;
 import com.blazebit.persistence.view.impl.objectbuilder.transformator.TupleTransformator;
@@ -32,14 +33,16 @@ import java.util.Map;
  * @author Christian Beikov
  * @since 1.6.4
  */
-public class ChainingCollectionObjectBuilder<T> implements ObjectBuilder<T> {
+public class ChainingCollectionObjectBuilder<T> implements ReducingObjectBuilder<T> {
 
     private final TupleTransformator transformator;
     private final ObjectBuilder<T> objectBuilder;
+    private final int[] idPositions;
 
-    public ChainingCollectionObjectBuilder(TupleTransformatorFactory transformatorFactory, ObjectBuilder<T> objectBuilder, ParameterHolder<?> parameterHolder, Map<String, Object> optionalParameters, EntityViewConfiguration entityViewConfiguration) {
+    public ChainingCollectionObjectBuilder(TupleTransformatorFactory transformatorFactory, ObjectBuilder<T> objectBuilder, ParameterHolder<?> parameterHolder, Map<String, Object> optionalParameters, EntityViewConfiguration entityViewConfiguration, int[] idPositions) {
         this.transformator = transformatorFactory.create(parameterHolder, optionalParameters, entityViewConfiguration);
         this.objectBuilder = objectBuilder;
+        this.idPositions = idPositions;
     }
 
     @Override
@@ -53,6 +56,14 @@ public class ChainingCollectionObjectBuilder<T> implements ObjectBuilder<T> {
         return (T) tuple;
     }
 
+    @Override
+    public Object getReductionKey(Object[] tuple) {
+        if (idPositions == null) {
+            return null;
+        }
+        return new TupleId(idPositions, tuple);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public List<T> buildList(List<T> list) {
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.ReducingObjectBuilder;
+import com.blazebit.persistence.spi.InstrumentationListener;
+import com.blazebit.persistence.spi.InstrumentationTimer;
+
+import java.util.List;
+
+/**
+ * An object builder that reports the time spent for building entity views to an {@link InstrumentationListener}.
+ * The time spent in {@link #build(Object[])} is reported for every object, as streamed results are never passed to {@link #buildList(List)}.
+ * The time spent for the reduction of a result list in {@link #buildList(List)} is reported separately.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class InstrumentingObjectBuilder<T> extends DelegatingObjectBuilder<T> {
+
+    private final InstrumentationListener listener;
+    private final Class<?> entityClass;
+    private final Class<?> entityViewClass;
+
+    private InstrumentingObjectBuilder(ObjectBuilder<T> delegate, InstrumentationListener listener, Class<?> entityClass, Class<?> entityViewClass) {
+        super(delegate);
+        this.listener = listener;
+        this.entityClass = entityClass;
+        this.entityViewClass = entityViewClass;
+    }
+
+    public static <T> ObjectBuilder<T> wrap(ObjectBuilder<T> delegate, InstrumentationListener listener, Class<?> entityClass, Class<?> entityViewClass) {
+        if (listener == null) {
+            return delegate;
+        }
+        if (delegate instanceof ReducingObjectBuilder<?>) {
+            return new Reducing<>((ReducingObjectBuilder<T>) delegate, listener, entityClass, entityViewClass);
+        }
+        return new InstrumentingObjectBuilder<>(delegate, listener, entityClass, entityViewClass);
+    }
+
+    @Override
+    public T build(Object[] tuple) {
+        long start = System.nanoTime();
+        try {
+            return delegate.build(tuple);
+        } finally {
+            listener.onTimer(InstrumentationTimer.OBJECT_BUILDING, entityClass, entityViewClass, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<T> buildList(List<T> list) {
+        long start = System.nanoTime();
+        try {
+            return delegate.buildList(list);
+        } finally {
+            listener.onTimer(InstrumentationTimer.OBJECT_BUILDING, entityClass, entityViewClass, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The instrumenting variant for object builders that support streaming by reducing tuples.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class Reducing<T> extends InstrumentingObjectBuilder<T> implements ReducingObjectBuilder<T> {
+
+        private Reducing(ReducingObjectBuilder<T> delegate, InstrumentationListener listener, Class<?> entityClass, Class<?> entityViewClass) {
+            super(delegate, listener, entityClass, entityViewClass);
+        }
+
+        @Override
+        public Object getReductionKey(Object[] tuple) {
+            return ((ReducingObjectBuilder<T>) delegate).getReductionKey(tuple);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An index from the parent id of a tuple to the {@link TupleIndexValue} that groups the tuples of the parent.
+ *
+ * Since result lists are usually ordered by the parent id, consecutive tuples mostly belong to the same parent.
+ * These runs are detected by comparing the id of a tuple with the id of the previous group, which requires no allocation or hashing.
+ * Only when a new run starts, the group is looked up in a table, which is an open addressing table for single {@link Long}, {@link Integer}
+ * or {@link UUID} ids and a {@link HashMap} keyed by {@link TupleId} for all other ids.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class TupleIdIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int[] idPositions;
+    private final Object[] currentId;
+    private TupleIndexValue currentValue;
+
+    // The open addressing table for single Long, Integer or UUID ids
+    private Class<?> keyClass;
+    private long[] keys1;
+    private long[] keys2;
+    private TupleIndexValue[] values;
+    private int size;
+    // The fallback for all other ids
+    private Map<TupleId, TupleIndexValue> index;
+
+    public TupleIdIndex(int[] idPositions) {
+        this.idPositions = idPositions;
+        this.currentId = new Object[idPositions.length];
+        if (idPositions.length != 1 || idPositions[0] < 0) {
+            this.index = new HashMap<>();
+        }
+    }
+
+    public boolean isEmpty(Object[] tuple) {
+        for (int i = 0; i < idPositions.length; i++) {
+            int idPosition = idPositions[i];
+            if (idPosition < 0 || tuple[idPosition] != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public TupleIndexValue get(Object[] tuple) {
+        if (currentValue != null && isCurrentId(tuple)) {
+            return currentValue;
+        }
+        TupleIndexValue value;
+        if (index == null) {
+            value = getFromTable(tuple[idPositions[0]]);
+        } else {
+            value = index.get(new TupleId(idPositions, tuple));
+        }
+        if (value != null) {
+            setCurrent(tuple, value);
+        }
+        return value;
+    }
+
+    public void put(Object[] tuple, TupleIndexValue value) {
+        if (index == null) {
+            putIntoTable(tuple[idPositions[0]], value);
+        } else {
+            index.put(new TupleId(idPositions, tuple), value);
+        }
+        setCurrent(tuple, value);
+    }
+
+    private boolean isCurrentId(Object[] tuple) {
+        for (int i = 0; i < idPositions.length; i++) {
+            int idPosition = idPositions[i];
+            if (idPosition >= 0 && !TupleId.elementEquals(currentId[i], tuple[idPosition])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setCurrent(Object[] tuple, TupleIndexValue value) {
+        for (int i = 0; i < idPositions.length; i++) {
+            int idPosition = idPositions[i];
+            if (idPosition >= 0) {
+                currentId[i] = tuple[idPosition];
+            }
+        }
+        currentValue = value;
+    }
+
+    private TupleIndexValue getFromTable(Object key) {
+        if (keyClass == null) {
+            return null;
+        }
+        if (key.getClass() != keyClass) {
+            migrateToIndex();
+            return index.get(new TupleId(new Object[]{ key }));
+        }
+        long k1 = key1(key);
+        long k2 = key2(key);
+        int mask = values.length - 1;
+        for (int slot = hash(k1, k2) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys1[slot] == k1 && keys2[slot] == k2) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    private void putIntoTable(Object key, TupleIndexValue value) {
+        if (keyClass == null) {
+            if (key instanceof Long || key instanceof Integer || key instanceof UUID) {
+                keyClass = key.getClass();
+                keys1 = new long[INITIAL_CAPACITY];
+                keys2 = new long[INITIAL_CAPACITY];
+                values = new TupleIndexValue[INITIAL_CAPACITY];
+            } else {
+                index = new HashMap<>();
+                index.put(new TupleId(new Object[]{ key }), value);
+                return;
+            }
+        } else if (key.getClass() != keyClass) {
+            migrateToIndex();
+            index.put(new TupleId(new Object[]{ key }), value);
+            return;
+        }
+        if ((size + 1) * 2 > values.length) {
+            resize(values.length * 2);
+        }
+        insert(key1(key), key2(key), value);
+        size++;
+    }
+
+    private void insert(long k1, long k2, TupleIndexValue value) {
+        int mask = values.length - 1;
+        int slot = hash(k1, k2) & mask;
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys1[slot] = k1;
+        keys2[slot] = k2;
+        values[slot] = value;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys1 = keys1;
+        long[] oldKeys2 = keys2;
+        TupleIndexValue[] oldValues = values;
+        keys1 = new long[capacity];
+        keys2 = new long[capacity];
+        values = new TupleIndexValue[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                insert(oldKeys1[i], oldKeys2[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void migrateToIndex() {
+        // Only happens if the id column produces values of different types, which we don't expect but have to handle correctly
+        index = new HashMap<>(size * 2);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                index.put(new TupleId(new Object[]{ toKey(keys1[i], keys2[i]) }), values[i]);
+            }
+        }
+        keys1 = null;
+        keys2 = null;
+        values = null;
+    }
+
+    private Object toKey(long k1, long k2) {
+        if (keyClass == Long.class) {
+            return k1;
+        } else if (keyClass == Integer.class) {
+            return (int) k1;
+        } else {
+            return new UUID(k1, k2);
+        }
+    }
+
+    private static long key1(Object key) {
+        if (key instanceof UUID) {
+            return ((UUID) key).getMostSignificantBits();
+        }
+        return ((Number) key).longValue();
+    }
+
+    private static long key2(Object key) {
+        if (key instanceof UUID) {
+            return ((UUID) key).getLeastSignificantBits();
+        }
+        return 0L;
+    }
+
+    private static int hash(long k1, long k2) {
+        long h = k1 * 0x9E3779B97F4A7C15L + k2;
+        h ^= h >>> 32;
+        h *= 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 29));
+    }
+}
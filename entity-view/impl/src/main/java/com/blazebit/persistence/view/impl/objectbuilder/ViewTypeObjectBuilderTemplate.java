@@ -78,6 +78,7 @@ import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedSingularBatchTupleListTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedSingularSubselectTupleTransformerFactory;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelatedSubviewJoinTupleTransformerFactory;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelationCache;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.Correlator;
 import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.SubviewCorrelator;
 import com.blazebit.persistence.view.impl.proxy.AbstractReflectionInstantiator;
@@ -746,7 +747,9 @@ public class ViewTypeObjectBuilderTemplate<T> {
                                 viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
                                 createLimiter(mapperBuilder, correlationAlias, attribute),
                                 indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
-                                dirtyTracking
+                                dirtyTracking,
+                                evm.getCorrelationBatchStatistics(attribute),
+                                null
                         ));
                         return;
                     default:
@@ -757,13 +760,15 @@ public class ViewTypeObjectBuilderTemplate<T> {
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
                         createLimiter(mapperBuilder, correlationAlias, attribute),
                         indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
-                        dirtyTracking
+                        dirtyTracking,
+                        evm.getCorrelationBatchStatistics(attribute),
+                        null
                 ));
             } else {
                 mapperBuilder.addTupleListTransformerFactory(new CorrelatedSingularBatchTupleListTransformerFactory(
                         new BasicCorrelator(),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute)));
+                        createLimiter(mapperBuilder, correlationAlias, attribute), evm.getCorrelationBatchStatistics(attribute), null));
             }
         } else if (attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
             String subviewAliasPrefix = mapperBuilder.getAlias(attribute, false);
@@ -1085,6 +1090,7 @@ public class ViewTypeObjectBuilderTemplate<T> {
             if (batchSize == -1) {
                 batchSize = 1;
             }
+            CorrelationCache.Region correlationCacheRegion = evm.getCorrelationCache().getRegion(attribute, managedViewType);
 
             if (attribute.isCollection()) {
                 PluralAttribute<?, ?, ?> pluralAttribute = (PluralAttribute<?, ?, ?>) attribute;
@@ -1120,7 +1126,9 @@ public class ViewTypeObjectBuilderTemplate<T> {
                                 viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
                                 createLimiter(mapperBuilder, correlationAlias, attribute),
                                 indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
-                                dirtyTracking
+                                dirtyTracking,
+                                evm.getCorrelationBatchStatistics(attribute),
+                                correlationCacheRegion
                         ));
                         return null;
                     default:
@@ -1131,13 +1139,15 @@ public class ViewTypeObjectBuilderTemplate<T> {
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
                         createLimiter(mapperBuilder, correlationAlias, attribute),
                         indexFetches, indexExpression, indexCorrelator, attribute.getContainerAccumulator(),
-                        dirtyTracking
+                        dirtyTracking,
+                        evm.getCorrelationBatchStatistics(attribute),
+                        correlationCacheRegion
                 ));
             } else {
                 mapperBuilder.addTupleListTransformerFactory(new CorrelatedSingularBatchTupleListTransformerFactory(
                         new SubviewCorrelator(managedViewType, null, evm, subviewAliasPrefix, attributePath),
                         viewRoot, viewType, correlationResult, factory, attributePath, attribute.getFetches(), correlatesThis, viewRootIndex, embeddingViewIndex, startIndex, batchSize, correlationBasisType, correlationBasisEntity,
-                        createLimiter(mapperBuilder, correlationAlias, attribute)));
+                        createLimiter(mapperBuilder, correlationAlias, attribute), evm.getCorrelationBatchStatistics(attribute), correlationCacheRegion));
             }
         } else if (attribute.getFetchStrategy() == FetchStrategy.SUBSELECT) {
             String subviewAliasPrefix = mapperBuilder.getAlias(attribute, false);
@@ -1437,7 +1447,8 @@ public class ViewTypeObjectBuilderTemplate<T> {
 
         if (tupleTransformatorFactory.hasTransformers() && !isSubview) {
             if (tupleTransformatorFactory.hasListTransformers()) {
-                result = new ChainingCollectionObjectBuilder<T>(tupleTransformatorFactory, result, parameterHolder, optionalParameters, entityViewConfiguration);
+                // Only views with an id can be reduced based on the id, flat views would need all non-collection attributes
+                result = new ChainingCollectionObjectBuilder<T>(tupleTransformatorFactory, result, parameterHolder, optionalParameters, entityViewConfiguration, hasId ? idPositions : null);
             } else {
                 result = new ChainingObjectBuilder<T>(tupleTransformatorFactory, result, parameterHolder, optionalParameters, entityViewConfiguration);
             }
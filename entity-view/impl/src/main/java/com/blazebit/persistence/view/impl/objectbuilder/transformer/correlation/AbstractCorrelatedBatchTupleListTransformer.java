@@ -20,31 +20,59 @@ import com.blazebit.persistence.CTEBuilder;
 import com.blazebit.persistence.CriteriaBuilder;
 import com.blazebit.persistence.FullQueryBuilder;
 import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.parser.EntityMetamodel;
 import com.blazebit.persistence.parser.expression.Expression;
 import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.view.CorrelationProvider;
 import com.blazebit.persistence.view.impl.BatchCorrelationMode;
 import com.blazebit.persistence.view.CorrelationProviderFactory;
 import com.blazebit.persistence.view.impl.EntityViewConfiguration;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
 import com.blazebit.persistence.view.impl.macro.CorrelatedSubqueryEmbeddingViewJpqlMacro;
 import com.blazebit.persistence.view.impl.macro.CorrelatedSubqueryViewRootJpqlMacro;
 import com.blazebit.persistence.view.impl.macro.MutableViewJpqlMacro;
+import com.blazebit.persistence.view.impl.metamodel.AbstractAttribute;
+import com.blazebit.persistence.view.impl.metamodel.BasicTypeImpl;
 import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.objectbuilder.ContainerAccumulator;
 import com.blazebit.persistence.view.impl.objectbuilder.LateAdditionalObjectBuilder;
 import com.blazebit.persistence.view.impl.objectbuilder.Limiter;
 import com.blazebit.persistence.view.impl.objectbuilder.TupleReuse;
+import com.blazebit.persistence.view.metamodel.Attribute;
 import com.blazebit.persistence.view.metamodel.ManagedViewType;
+import com.blazebit.persistence.view.metamodel.MapAttribute;
+import com.blazebit.persistence.view.metamodel.MappingConstructor;
+import com.blazebit.persistence.view.metamodel.MethodAttribute;
+import com.blazebit.persistence.view.metamodel.ParameterAttribute;
+import com.blazebit.persistence.view.metamodel.PluralAttribute;
+import com.blazebit.persistence.view.metamodel.SingularAttribute;
+import com.blazebit.persistence.view.metamodel.Type;
 import com.blazebit.persistence.view.metamodel.ViewType;
 
 import javax.persistence.EntityManager;
 import javax.persistence.Parameter;
 import javax.persistence.Query;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  *
@@ -55,28 +83,114 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
 
     public static final String CORRELATION_KEY_ALIAS = "correlationKey";
     private static final String CORRELATION_PARAM_PREFIX = "correlationParam_";
+    // Nested correlations of a concurrently executed batch are executed sequentially to avoid starving a bounded executor
+    private static final ThreadLocal<Boolean> CONCURRENT_BATCH_EXECUTION = new ThreadLocal<>();
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, UUID.class
+    ));
 
-    protected final int batchSize;
+    protected final int configuredBatchSize;
     protected final boolean correlatesThis;
     protected final BatchCorrelationMode expectBatchCorrelationMode;
     protected final int valueIndex;
     protected final int keyIndex;
+    protected final Executor correlationExecutor;
+    protected final int correlationParallelism;
+    protected final CorrelationBatchStatistics statistics;
+    protected final boolean adaptiveBatchSize;
+    protected final CorrelationCache.Region correlationCacheRegion;
+    protected final boolean concurrentExecution;
 
+    protected int batchSize;
     protected String correlationParamName;
     protected String correlationSelectExpression;
     protected CriteriaBuilder<?> criteriaBuilder;
     protected CorrelatedSubqueryViewRootJpqlMacro viewRootJpqlMacro;
     protected CorrelatedSubqueryEmbeddingViewJpqlMacro embeddingViewJpqlMacro;
     protected Query query;
+    private int batchCount;
+    private int fullBatchCount;
+    private long fullBatchNanos;
+    private int correlationCacheGeneration;
 
     public AbstractCorrelatedBatchTupleListTransformer(ExpressionFactory ef, Correlator correlator, ContainerAccumulator<?> containerAccumulator, ManagedViewTypeImplementor<?> viewRootType, ManagedViewTypeImplementor<?> embeddingViewType, Expression correlationResult, CorrelationProviderFactory correlationProviderFactory, String attributePath, String[] fetches, String[] indexFetches,
-                                                       Expression indexExpression, Correlator indexCorrelator, boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int defaultBatchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, EntityViewConfiguration entityViewConfiguration) {
+                                                       Expression indexExpression, Correlator indexCorrelator, boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int defaultBatchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, EntityViewConfiguration entityViewConfiguration, CorrelationBatchStatistics statistics, CorrelationCache.Region correlationCacheRegion) {
         super(ef, correlator, containerAccumulator, viewRootType, embeddingViewType, correlationResult, correlationProviderFactory, attributePath, fetches, indexFetches, indexExpression, indexCorrelator, viewRootIndex, embeddingViewIndex, tupleIndex, correlationBasisType, correlationBasisEntity, limiter, entityViewConfiguration);
-        this.batchSize = entityViewConfiguration.getBatchSize(attributePath, defaultBatchSize);
+        this.configuredBatchSize = entityViewConfiguration.getBatchSize(attributePath, defaultBatchSize);
+        this.batchSize = configuredBatchSize;
         this.correlatesThis = correlatesThis;
-        this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath);
+        this.statistics = statistics;
+        this.adaptiveBatchSize = configuredBatchSize > 1 && entityViewConfiguration.isAdaptiveBatchSize(attributePath);
+        BatchCorrelationMode rememberedBatchCorrelationMode = adaptiveBatchSize ? statistics.getBatchCorrelationMode() : null;
+        if (rememberedBatchCorrelationMode == null) {
+            this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath);
+        } else {
+            // An explicitly configured expectation still wins over the batch mode that was used last time
+            this.expectBatchCorrelationMode = entityViewConfiguration.getExpectBatchCorrelationValues(attributePath, rememberedBatchCorrelationMode);
+        }
         this.valueIndex = correlator.getElementOffset();
         this.keyIndex = valueIndex + 1;
+        this.correlationExecutor = entityViewConfiguration.getCorrelationExecutor(attributePath);
+        this.correlationParallelism = entityViewConfiguration.getCorrelationParallelism(attributePath);
+        // Indexed results are not cached because the index might be an entity which can't be shared
+        if (indexCorrelator == null && entityViewConfiguration.isCorrelationCaching(attributePath)) {
+            this.correlationCacheRegion = correlationCacheRegion;
+        } else {
+            this.correlationCacheRegion = null;
+        }
+        // Worker entity managers are closed after the batches ran, so entities would be returned detached
+        this.concurrentExecution = correlationExecutor != null && correlationParallelism > 1 && !correlatesEntities();
+    }
+
+    private boolean correlatesEntities() {
+        if (fetches.length != 0 || indexFetches.length != 0) {
+            return true;
+        }
+        MethodAttribute<?, ?> attribute = embeddingViewType.getAttribute(attributePath.substring(attributePath.lastIndexOf('.') + 1));
+        // Be conservative if the attribute can't be determined e.g. for constructor parameters
+        return attribute == null || containsEntities(attribute, new HashSet<Type<?>>());
+    }
+
+    private static boolean containsEntities(Attribute<?, ?> attribute, Set<Type<?>> visited) {
+        if (attribute instanceof AbstractAttribute<?, ?> && ((AbstractAttribute<?, ?>) attribute).getFetches().length != 0) {
+            return true;
+        }
+        if (attribute instanceof MapAttribute<?, ?, ?> && containsEntities(((MapAttribute<?, ?, ?>) attribute).getKeyType(), visited)) {
+            return true;
+        }
+        if (attribute instanceof PluralAttribute<?, ?, ?>) {
+            return containsEntities(((PluralAttribute<?, ?, ?>) attribute).getElementType(), visited);
+        }
+        return containsEntities(((SingularAttribute<?, ?>) attribute).getType(), visited);
+    }
+
+    private static boolean containsEntities(Type<?> type, Set<Type<?>> visited) {
+        if (type instanceof BasicTypeImpl<?>) {
+            return ((BasicTypeImpl<?>) type).isJpaEntity();
+        }
+        if (!(type instanceof ManagedViewType<?>) || !visited.add(type)) {
+            return false;
+        }
+        ManagedViewType<?> viewType = (ManagedViewType<?>) type;
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            if (containsEntities(attribute, visited)) {
+                return true;
+            }
+        }
+        for (MappingConstructor<?> constructor : viewType.getConstructors()) {
+            for (ParameterAttribute<?, ?> attribute : constructor.getParameterAttributes()) {
+                if (containsEntities(attribute, visited)) {
+                    return true;
+                }
+            }
+        }
+        for (ManagedViewType<?> subtype : viewType.getInheritanceSubtypes()) {
+            if (containsEntities(subtype, visited)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private String generateCorrelationParamName() {
@@ -97,6 +211,10 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
     }
 
     private String applyAndGetCorrelationRoot(BatchCorrelationMode batchCorrelationMode) {
+        return applyAndGetCorrelationRoot(batchCorrelationMode, entityViewConfiguration.getCriteriaBuilder().getEntityManager());
+    }
+
+    private String applyAndGetCorrelationRoot(BatchCorrelationMode batchCorrelationMode, EntityManager entityManager) {
         Class<?> viewRootEntityClass = viewRootType.getEntityClass();
         Class<?> embeddingViewEntityClass = embeddingViewType.getEntityClass();
         String viewRootIdAttributePath = getEntityIdName(viewRootEntityClass);
@@ -124,7 +242,7 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             embeddingViewExpression = CORRELATION_KEY_ALIAS;
         }
 
-        this.criteriaBuilder = queryBuilder.getCriteriaBuilderFactory().create(queryBuilder.getEntityManager(), Object[].class);
+        this.criteriaBuilder = queryBuilder.getCriteriaBuilderFactory().create(entityManager, Object[].class);
         if (queryBuilder instanceof CTEBuilder<?>) {
             this.criteriaBuilder.withCtesFrom((CTEBuilder<?>) queryBuilder);
         }
@@ -191,6 +309,15 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
 
     @Override
     public List<Object[]> transform(List<Object[]> tuples) {
+        int maxBatchSize = 0;
+        if (adaptiveBatchSize) {
+            // Leave room for other parameters and multi-column identifiers
+            maxBatchSize = Math.max(2, EntityViewManagerImpl.getMaxParameterCount(entityViewConfiguration.getCriteriaBuilder().getService(DbmsDialect.class)) / 2);
+            batchSize = getAdaptiveBatchSize(tuples, statistics.getBatchSizeLimit(configuredBatchSize, maxBatchSize));
+            batchCount = 0;
+            fullBatchCount = 0;
+            fullBatchNanos = 0L;
+        }
         FixedArrayList correlationParams = new FixedArrayList(batchSize);
         // We have the correlation key on the first position if we do batching
         final int tupleOffset = (batchSize > 1 ? 1 : 0) + (indexCorrelator == null && indexExpression == null ? 0 : 1);
@@ -238,53 +365,429 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
             populateParameters(criteriaBuilder);
             query = criteriaBuilder.getQuery();
+            Object cacheContext = createCorrelationCacheContext();
 
-            Map<Object, TuplePromise> correlationValues = new HashMap<>(tuples.size());
-            while (tupleListIter.hasNext()) {
-                Object[] tuple = tupleListIter.next();
-                Object correlationValue = tuple[startIndex];
+            if (concurrentExecution && CONCURRENT_BATCH_EXECUTION.get() == null) {
+                transformConcurrently(tuples, tupleOffset, correlationRoot, cacheContext);
+            } else {
+                Map<Object, TuplePromise> correlationValues = new HashMap<>(tuples.size());
+                List<Object> uncachedCorrelationValues = cacheContext == null ? null : new ArrayList<>();
+                while (tupleListIter.hasNext()) {
+                    Object[] tuple = tupleListIter.next();
+                    Object correlationValue = tuple[startIndex];
 
-                TuplePromise tupleIndexValue = correlationValues.get(correlationValue);
+                    TuplePromise tupleIndexValue = correlationValues.get(correlationValue);
 
-                if (tupleIndexValue == null) {
-                    tupleIndexValue = new TuplePromise(startIndex);
-                    tupleIndexValue.add(tuple);
-                    correlationValues.put(correlationValue, tupleIndexValue);
+                    if (tupleIndexValue == null) {
+                        tupleIndexValue = new TuplePromise(startIndex);
+                        tupleIndexValue.add(tuple);
+                        correlationValues.put(correlationValue, tupleIndexValue);
 
-                    // Can't correlate null
-                    if (correlationValue != null) {
-                        if (correlationBasisEntity != null) {
-                            correlationParams.add(em.getReference(correlationBasisEntity, correlationValue));
-                        } else {
-                            correlationParams.add(correlationValue);
-                        }
-
-                        if (batchSize == correlationParams.realSize()) {
-                            Object defaultKey;
+                        // Can't correlate null
+                        if (correlationValue != null && !resolveFromCache(cacheContext, correlationValue, tupleIndexValue)) {
+                            if (uncachedCorrelationValues != null) {
+                                uncachedCorrelationValues.add(correlationValue);
+                            }
                             if (correlationBasisEntity != null) {
-                                defaultKey = jpaProvider.getIdentifier(correlationParams.get(0));
+                                correlationParams.add(em.getReference(correlationBasisEntity, correlationValue));
                             } else {
-                                defaultKey = correlationParams.get(0);
+                                correlationParams.add(correlationValue);
+                            }
+
+                            if (batchSize == correlationParams.realSize()) {
+                                Object defaultKey;
+                                if (correlationBasisEntity != null) {
+                                    defaultKey = jpaProvider.getIdentifier(correlationParams.get(0));
+                                } else {
+                                    defaultKey = correlationParams.get(0);
+                                }
+                                batchLoad(correlationValues, correlationParams, null, defaultKey, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
                             }
-                            batchLoad(correlationValues, correlationParams, null, defaultKey, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
                         }
+                    } else {
+                        tupleIndexValue.add(tuple);
                     }
-                } else {
-                    tupleIndexValue.add(tuple);
                 }
-            }
 
-            if (correlationParams.realSize() > 0) {
-                batchLoad(correlationValues, correlationParams, null, null, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
+                if (correlationParams.realSize() > 0) {
+                    batchLoad(correlationValues, correlationParams, null, null, viewRootJpqlMacro, BatchCorrelationMode.VALUES);
+                }
+
+                fillDefaultValues(Collections.singletonMap(null, correlationValues));
+                storeInCache(cacheContext, correlationValues, uncachedCorrelationValues);
+            }
+            if (adaptiveBatchSize) {
+                statistics.setBatchCorrelationMode(BatchCorrelationMode.VALUES);
             }
+        }
 
-            fillDefaultValues(Collections.singletonMap(null, correlationValues));
+        // Only when more than one batch was needed, a bigger batch size could save round trips
+        if (adaptiveBatchSize && batchCount > 1) {
+            statistics.recordFullBatches(batchSize, maxBatchSize, fullBatchCount, fullBatchNanos);
         }
 
         consumeTupleMacroViewValues(tuples);
         return tuples;
     }
 
+    private int getAdaptiveBatchSize(List<Object[]> tuples, int batchSizeLimit) {
+        BatchCorrelationMode batchCorrelationMode = statistics.getBatchCorrelationMode();
+        int viewIndex;
+        if (batchCorrelationMode == BatchCorrelationMode.VIEW_ROOTS) {
+            viewIndex = viewRootIndex;
+        } else if (batchCorrelationMode == BatchCorrelationMode.EMBEDDING_VIEWS) {
+            viewIndex = embeddingViewIndex;
+        } else {
+            viewIndex = -1;
+        }
+        Set<Object> correlationValues = new HashSet<>();
+        Set<Object> viewIds = viewIndex == -1 ? null : new HashSet<>();
+        for (int i = 0; i < tuples.size(); i++) {
+            Object[] tuple = tuples.get(i);
+            if (tuple[startIndex] != null) {
+                correlationValues.add(tuple[startIndex]);
+            }
+            if (viewIds != null && tuple[viewIndex] != null) {
+                viewIds.add(tuple[viewIndex]);
+            }
+            if (correlationValues.size() >= batchSizeLimit || viewIds != null && viewIds.size() >= batchSizeLimit) {
+                return batchSizeLimit;
+            }
+        }
+
+        int count = Math.max(correlationValues.size(), viewIds == null ? 0 : viewIds.size());
+        // Round up to a power of two to limit the amount of distinct queries
+        int size = count < 2 ? 2 : Integer.highestOneBit(count - 1) << 1;
+        return Math.min(size, batchSizeLimit);
+    }
+
+    private Object createCorrelationCacheContext() {
+        // The results of dirty tracked collections are bound to their owner
+        if (correlationCacheRegion == null || isRecording()) {
+            return null;
+        }
+        // Determine the generation before loading, so that results loaded concurrently to an invalidation aren't cached
+        correlationCacheGeneration = correlationCacheRegion.getGeneration();
+        EntityMetamodel metamodel = criteriaBuilder.getService(EntityMetamodel.class);
+        // The parameters of the correlation query contain the optional parameters it references
+        Map<String, Object> parameterValues = new HashMap<>();
+        for (Parameter<?> parameter : criteriaBuilder.getParameters()) {
+            if (!parameter.getName().equals(correlationParamName)) {
+                Object value = getCacheKeyValue(metamodel, criteriaBuilder.getParameterValue(parameter.getName()));
+                if (value == CorrelationCache.NOT_CACHED) {
+                    return null;
+                }
+                parameterValues.put(parameter.getName(), value);
+            }
+        }
+        // Parameter mappings and parameterized providers of the correlated views read parameters directly
+        FullQueryBuilder<?, ?> mainBuilder = entityViewConfiguration.getCriteriaBuilder();
+        Map<String, Object> optionalParameters = entityViewConfiguration.getOptionalParameters();
+        Collection<String> parameterNames = correlationCacheRegion.getParameterNames();
+        if (parameterNames == null) {
+            // Separate queries of the correlated views might read any parameter
+            parameterNames = new HashSet<>(optionalParameters.keySet());
+            for (Parameter<?> parameter : mainBuilder.getParameters()) {
+                parameterNames.add(parameter.getName());
+            }
+        }
+        Map<String, Object> readParameterValues = new HashMap<>(parameterNames.size());
+        for (String parameterName : parameterNames) {
+            Object value;
+            if (mainBuilder.containsParameter(parameterName) && mainBuilder.isParameterSet(parameterName)) {
+                value = mainBuilder.getParameterValue(parameterName);
+            } else {
+                value = optionalParameters.get(parameterName);
+            }
+            value = getCacheKeyValue(metamodel, value);
+            if (value == CorrelationCache.NOT_CACHED) {
+                return null;
+            }
+            readParameterValues.put(parameterName, value);
+        }
+        return Arrays.asList(entityViewConfiguration.getFetches(attributePath), parameterValues, readParameterValues);
+    }
+
+    // Returns an immutable representation of the given parameter value that can be retained or NOT_CACHED
+    private Object getCacheKeyValue(EntityMetamodel metamodel, Object value) {
+        if (value == null || value instanceof Enum<?> || value instanceof Class<?> || IMMUTABLE_TYPES.contains(value.getClass())
+                || value.getClass().getName().startsWith("java.time.")) {
+            return value;
+        }
+        if (value instanceof Date) {
+            return ((Date) value).clone();
+        }
+        if (value instanceof Calendar) {
+            return ((Calendar) value).clone();
+        }
+        if (value instanceof Collection<?>) {
+            Collection<Object> values = value instanceof Set<?> ? new HashSet<>() : new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                Object elementValue = getCacheKeyValue(metamodel, element);
+                if (elementValue == CorrelationCache.NOT_CACHED) {
+                    return CorrelationCache.NOT_CACHED;
+                }
+                values.add(elementValue);
+            }
+            return values;
+        }
+        // Entities are mutable and bound to an entity manager, so only the entity class and identifier are kept
+        Class<?> entityClass = value.getClass();
+        while (entityClass != null && metamodel.getEntity(entityClass) == null) {
+            // Entity proxies are subclasses of the entity class
+            entityClass = entityClass.getSuperclass();
+        }
+        // Other objects might be mutable, so they can't be retained
+        if (entityClass == null) {
+            return CorrelationCache.NOT_CACHED;
+        }
+        Object id = jpaProvider.getIdentifier(value);
+        // Transient entities can't be identified
+        Object idValue = id == null ? CorrelationCache.NOT_CACHED : getCacheKeyValue(metamodel, id);
+        return idValue == CorrelationCache.NOT_CACHED ? CorrelationCache.NOT_CACHED : Arrays.asList(entityClass, idValue);
+    }
+
+    private boolean resolveFromCache(Object cacheContext, Object correlationValue, TuplePromise tuplePromise) {
+        if (cacheContext == null) {
+            return false;
+        }
+        Object cachedResult = correlationCacheRegion.get(cacheContext, correlationValue);
+        if (cachedResult == CorrelationCache.NOT_CACHED) {
+            return false;
+        }
+        tuplePromise.onResult(copy(cachedResult), this);
+        return true;
+    }
+
+    private void storeInCache(Object cacheContext, Map<Object, TuplePromise> correlationValues, List<Object> uncachedCorrelationValues) {
+        if (cacheContext == null) {
+            return;
+        }
+        for (int i = 0; i < uncachedCorrelationValues.size(); i++) {
+            Object correlationValue = uncachedCorrelationValues.get(i);
+            // Store a copy as the tuple result might be changed by the consumer
+            correlationCacheRegion.put(cacheContext, correlationValue, copy(correlationValues.get(correlationValue).getResult()), correlationCacheGeneration);
+        }
+    }
+
+    private void transformConcurrently(List<Object[]> tuples, int tupleOffset, String correlationRoot, Object cacheContext) {
+        Map<Object, TuplePromise> correlationValues = new HashMap<>(tuples.size());
+        List<Object> correlationValueList = new ArrayList<>(tuples.size());
+        for (int i = 0; i < tuples.size(); i++) {
+            Object[] tuple = tuples.get(i);
+            Object correlationValue = tuple[startIndex];
+            TuplePromise tupleIndexValue = correlationValues.get(correlationValue);
+
+            if (tupleIndexValue == null) {
+                tupleIndexValue = new TuplePromise(startIndex);
+                tupleIndexValue.add(tuple);
+                correlationValues.put(correlationValue, tupleIndexValue);
+                // Can't correlate null
+                if (correlationValue != null && !resolveFromCache(cacheContext, correlationValue, tupleIndexValue)) {
+                    correlationValueList.add(correlationValue);
+                }
+            } else {
+                tupleIndexValue.add(tuple);
+            }
+        }
+
+        batchCount = (correlationValueList.size() + batchSize - 1) / batchSize;
+        if (batchCount == 0) {
+            // All correlation values are null or cached
+            fillDefaultValues(Collections.singletonMap(null, correlationValues));
+            return;
+        }
+        int workerCount = Math.min(correlationParallelism, batchCount);
+        BatchWorker[] workers = new BatchWorker[workerCount];
+        List<Future<List<List<Object>>>> futures = new ArrayList<>(workerCount);
+        try {
+            // The first worker runs on the caller thread with the main entity manager, the others get their own entity manager
+            for (int i = 0; i < workerCount; i++) {
+                if (i == 0) {
+                    workers[i] = new BatchWorker(criteriaBuilder.getEntityManager(), false);
+                    workers[i].criteriaBuilder = criteriaBuilder;
+                    workers[i].query = query;
+                    workers[i].correlationParamName = correlationParamName;
+                } else {
+                    workers[i] = new BatchWorker(criteriaBuilder.getEntityManager().getEntityManagerFactory().createEntityManager(), true);
+                    initBatchWorker(workers[i], tupleOffset, correlationRoot);
+                }
+            }
+
+            for (int i = 0; i < batchCount; i++) {
+                BatchWorker worker = workers[i % workerCount];
+                FixedArrayList batchParameters = new FixedArrayList(batchSize);
+                int end = Math.min(correlationValueList.size(), (i + 1) * batchSize);
+                for (int j = i * batchSize; j < end; j++) {
+                    if (correlationBasisEntity != null) {
+                        batchParameters.add(worker.entityManager.getReference(correlationBasisEntity, correlationValueList.get(j)));
+                    } else {
+                        batchParameters.add(correlationValueList.get(j));
+                    }
+                }
+                worker.batches.add(batchParameters);
+            }
+
+            for (int i = 1; i < workerCount; i++) {
+                FutureTask<List<List<Object>>> future = new FutureTask<>(workers[i]);
+                correlationExecutor.execute(future);
+                futures.add(future);
+            }
+
+            List<List<Object>> mainResults = workers[0].call();
+            List<List<List<Object>>> results = new ArrayList<>(workerCount);
+            results.add(mainResults);
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(getUninterruptibly(futures.get(i)));
+            }
+            for (int i = 0; i < workerCount; i++) {
+                fullBatchCount += workers[i].fullBatchCount;
+                fullBatchNanos += workers[i].fullBatchNanos;
+            }
+
+            for (int i = 0; i < batchCount; i++) {
+                Object defaultKey = correlationValueList.get(i * batchSize);
+                populateResult(correlationValues, defaultKey, results.get(i % workerCount).get(i / workerCount));
+            }
+        } finally {
+            // Wait for all submitted workers before closing the entity managers they use
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    getUninterruptibly(futures.get(i));
+                } catch (RuntimeException | Error ex) {
+                    // Already propagated or superseded by the original exception
+                }
+            }
+            for (int i = 0; i < workerCount; i++) {
+                if (workers[i] != null && workers[i].closeEntityManager) {
+                    workers[i].entityManager.close();
+                }
+            }
+        }
+
+        fillDefaultValues(Collections.singletonMap(null, correlationValues));
+        storeInCache(cacheContext, correlationValues, correlationValueList);
+    }
+
+    private void initBatchWorker(BatchWorker worker, int tupleOffset, String correlationRoot) {
+        // Building the query reassigns the state of the main query, so that state is restored afterwards
+        CriteriaBuilder<?> mainCriteriaBuilder = criteriaBuilder;
+        CorrelatedSubqueryViewRootJpqlMacro mainViewRootJpqlMacro = viewRootJpqlMacro;
+        CorrelatedSubqueryEmbeddingViewJpqlMacro mainEmbeddingViewJpqlMacro = embeddingViewJpqlMacro;
+        String mainCorrelationParamName = correlationParamName;
+        String mainCorrelationSelectExpression = correlationSelectExpression;
+        try {
+            applyAndGetCorrelationRoot(batchSize > 1 ? BatchCorrelationMode.VALUES : expectBatchCorrelationMode, worker.entityManager);
+            ObjectBuilder<?> objectBuilder = correlator.finish(criteriaBuilder, entityViewConfiguration, 0, tupleOffset, correlationRoot, embeddingViewJpqlMacro, true);
+            if (batchSize > 1) {
+                criteriaBuilder.select(correlationSelectExpression);
+            }
+            if (indexCorrelator != null) {
+                ObjectBuilder<?> indexBuilder = indexCorrelator.finish(criteriaBuilder, entityViewConfiguration, tupleOffset, 0, indexExpression, embeddingViewJpqlMacro, true);
+                if (indexBuilder != null) {
+                    criteriaBuilder.selectNew(new LateAdditionalObjectBuilder(objectBuilder, indexBuilder, false));
+                }
+            }
+            populateParameters(criteriaBuilder);
+            worker.criteriaBuilder = criteriaBuilder;
+            worker.query = criteriaBuilder.getQuery();
+            worker.correlationParamName = correlationParamName;
+        } finally {
+            this.criteriaBuilder = mainCriteriaBuilder;
+            this.viewRootJpqlMacro = mainViewRootJpqlMacro;
+            this.embeddingViewJpqlMacro = mainEmbeddingViewJpqlMacro;
+            this.correlationParamName = mainCorrelationParamName;
+            this.correlationSelectExpression = mainCorrelationSelectExpression;
+        }
+    }
+
+    private static <T> T getUninterruptibly(Future<T> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException("The correlation batch query failed", cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Executes a set of batches with a query that is bound to its own entity manager.
+     * Only used for correlations that don't produce entities, as the entity manager is closed afterwards.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private final class BatchWorker implements Callable<List<List<Object>>> {
+
+        private final EntityManager entityManager;
+        private final boolean closeEntityManager;
+        private final List<FixedArrayList> batches = new ArrayList<>();
+        private CriteriaBuilder<?> criteriaBuilder;
+        private Query query;
+        private String correlationParamName;
+        private int fullBatchCount;
+        private long fullBatchNanos;
+
+        public BatchWorker(EntityManager entityManager, boolean closeEntityManager) {
+            this.entityManager = entityManager;
+            this.closeEntityManager = closeEntityManager;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public List<List<Object>> call() {
+            Boolean oldValue = CONCURRENT_BATCH_EXECUTION.get();
+            CONCURRENT_BATCH_EXECUTION.set(Boolean.TRUE);
+            try {
+                List<List<Object>> results = new ArrayList<>(batches.size());
+                boolean bindParameter = criteriaBuilder.containsParameter(correlationParamName);
+                for (int i = 0; i < batches.size(); i++) {
+                    FixedArrayList batchParameters = batches.get(i);
+                    if (bindParameter) {
+                        if (batchSize > 1) {
+                            criteriaBuilder.setParameter(correlationParamName, batchParameters);
+                            query.setParameter(correlationParamName, batchParameters);
+                        } else {
+                            criteriaBuilder.setParameter(correlationParamName, batchParameters.get(0));
+                            query.setParameter(correlationParamName, batchParameters.get(0));
+                        }
+                    }
+                    if (adaptiveBatchSize && batchParameters.realSize() == batchSize) {
+                        long start = System.nanoTime();
+                        results.add((List<Object>) query.getResultList());
+                        fullBatchNanos += System.nanoTime() - start;
+                        fullBatchCount++;
+                    } else {
+                        results.add((List<Object>) query.getResultList());
+                    }
+                }
+                return results;
+            } finally {
+                if (oldValue == null) {
+                    CONCURRENT_BATCH_EXECUTION.remove();
+                } else {
+                    CONCURRENT_BATCH_EXECUTION.set(oldValue);
+                }
+            }
+        }
+    }
+
     @Override
     protected void populateParameters(FullQueryBuilder<?, ?> queryBuilder) {
         FullQueryBuilder<?, ?> mainBuilder = entityViewConfiguration.getCriteriaBuilder();
@@ -362,6 +865,9 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
 
         boolean batchCorrelationValues = !macro.usesViewMacro() && viewRoots.size() <= correlationValues.size();
         FixedArrayList viewRootIds = new FixedArrayList(batchSize);
+        if (adaptiveBatchSize) {
+            statistics.setBatchCorrelationMode(batchCorrelationValues ? BatchCorrelationMode.VALUES : correlationMode);
+        }
 
         if (batchCorrelationValues) {
             if (batchSize > 1) {
@@ -488,7 +994,19 @@ public abstract class AbstractCorrelatedBatchTupleListTransformer extends Abstra
             }
         }
 
-        populateResult(correlationValues, defaultKey, (List<Object>) query.getResultList());
+        if (adaptiveBatchSize) {
+            boolean fullBatch = batchParameters.realSize() == batchSize || viewRootIds != null && viewRootIds.realSize() == batchSize;
+            long start = fullBatch ? System.nanoTime() : 0L;
+            List<Object> resultList = (List<Object>) query.getResultList();
+            if (fullBatch) {
+                fullBatchNanos += System.nanoTime() - start;
+                fullBatchCount++;
+            }
+            batchCount++;
+            populateResult(correlationValues, defaultKey, resultList);
+        } else {
+            populateResult(correlationValues, defaultKey, (List<Object>) query.getResultList());
+        }
 
         batchParameters.reset();
         if (viewRootIds != null) {
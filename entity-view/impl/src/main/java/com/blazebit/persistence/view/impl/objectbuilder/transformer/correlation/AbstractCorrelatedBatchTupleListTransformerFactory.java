@@ -44,9 +44,12 @@ public abstract class AbstractCorrelatedBatchTupleListTransformerFactory impleme
     protected final Class<?> correlationBasisType;
     protected final Class<?> correlationBasisEntity;
     protected final Limiter limiter;
+    protected final CorrelationBatchStatistics statistics;
+    protected final CorrelationCache.Region correlationCacheRegion;
 
     public AbstractCorrelatedBatchTupleListTransformerFactory(Correlator correlator, ManagedViewTypeImplementor<?> viewRootType, ManagedViewTypeImplementor<?> embeddingViewType, Expression correlationResult, CorrelationProviderFactory correlationProviderFactory, String attributePath, String[] fetches,
-                                                              boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int batchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter) {
+                                                              boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int batchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter,
+                                                              CorrelationBatchStatistics statistics, CorrelationCache.Region correlationCacheRegion) {
         this.correlator = correlator;
         this.viewRootType = viewRootType;
         this.embeddingViewType = embeddingViewType;
@@ -62,6 +65,8 @@ public abstract class AbstractCorrelatedBatchTupleListTransformerFactory impleme
         this.correlationBasisType = correlationBasisType;
         this.correlationBasisEntity = correlationBasisEntity;
         this.limiter = limiter;
+        this.statistics = statistics;
+        this.correlationCacheRegion = correlationCacheRegion;
     }
 
     @Override
@@ -43,8 +43,8 @@ public class CorrelatedMapBatchTupleListTransformerFactory extends AbstractCorre
 
     public CorrelatedMapBatchTupleListTransformerFactory(Correlator correlator, ManagedViewTypeImplementor<?> viewRoot, ManagedViewTypeImplementor<?> embeddingViewType, Expression correlationResult, CorrelationProviderFactory correlationProviderFactory, String attributePath, String[] fetches,
                                                          boolean correlatesThis, int viewRootIndex, int embeddingViewIndex, int tupleIndex, int batchSize, Class<?> correlationBasisType, Class<?> correlationBasisEntity, Limiter limiter, String[] indexFetches, Expression indexExpression, Correlator indexCorrelator,
-                                                         ContainerAccumulator<?> containerAccumulator, boolean recording) {
-        super(correlator, viewRoot, embeddingViewType, correlationResult, correlationProviderFactory, attributePath, fetches, correlatesThis, viewRootIndex, embeddingViewIndex, tupleIndex, batchSize, correlationBasisType, correlationBasisEntity, limiter);
+                                                         ContainerAccumulator<?> containerAccumulator, boolean recording, CorrelationBatchStatistics statistics, CorrelationCache.Region correlationCacheRegion) {
+        super(correlator, viewRoot, embeddingViewType, correlationResult, correlationProviderFactory, attributePath, fetches, correlatesThis, viewRootIndex, embeddingViewIndex, tupleIndex, batchSize, correlationBasisType, correlationBasisEntity, limiter, statistics, correlationCacheRegion);
         this.indexFetches = indexFetches;
         this.indexExpression = indexExpression;
         this.indexCorrelator = indexCorrelator;
@@ -58,7 +58,7 @@ public class CorrelatedMapBatchTupleListTransformerFactory extends AbstractCorre
             return new NullListTupleTransformer(tupleIndex, correlator.getElementOffset());
         }
         return new CorrelatedMapBatchTupleListTransformer(config.getExpressionFactory(), correlator, containerAccumulator, viewRootType, embeddingViewType, correlationResult, correlationProviderFactory, attributePath, fetches, indexFetches, indexExpression, indexCorrelator, correlatesThis,
-                viewRootIndex, embeddingViewIndex, tupleIndex, batchSize, correlationBasisType, correlationBasisEntity, limiter, config, recording);
+                viewRootIndex, embeddingViewIndex, tupleIndex, batchSize, correlationBasisType, correlationBasisEntity, limiter, config, statistics, correlationCacheRegion, recording);
     }
 
 }
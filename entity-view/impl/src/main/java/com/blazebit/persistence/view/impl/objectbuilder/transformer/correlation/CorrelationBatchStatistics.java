@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.impl.BatchCorrelationMode;
+
+/**
+ * Remembers the batch correlation mode and the batch size limit that worked best for a correlated attribute.
+ * The batch size limit is doubled as long as doubling the batch size less than doubles the latency of a batch query,
+ * i.e. as long as fewer round trips pay off, and is reverted to the previous limit once that is not the case anymore.
+ * Since the data distribution changes over time, the adaptation starts over when the latency at the chosen limit doubles
+ * and every {@value #REPROBE_INTERVAL} measurements to find out if a bigger batch size pays off by now.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class CorrelationBatchStatistics {
+
+    // Upper bound for the adaptive batch size to keep the generated VALUES clause reasonably sized
+    static final int MAX_ADAPTIVE_BATCH_SIZE = 1024;
+    static final int REPROBE_INTERVAL = 64;
+
+    private volatile BatchCorrelationMode batchCorrelationMode;
+    private int batchSizeLimit;
+    private int previousBatchSizeLimit;
+    private long previousNanosPerQuery;
+    private boolean converged;
+    private long convergedNanosPerQuery;
+    private int measurementsSinceConvergence;
+
+    public BatchCorrelationMode getBatchCorrelationMode() {
+        return batchCorrelationMode;
+    }
+
+    public void setBatchCorrelationMode(BatchCorrelationMode batchCorrelationMode) {
+        this.batchCorrelationMode = batchCorrelationMode;
+    }
+
+    public synchronized int getBatchSizeLimit(int batchSize, int maxBatchSize) {
+        if (batchSizeLimit == 0) {
+            batchSizeLimit = Math.min(batchSize, maxBatchSize);
+        }
+        return batchSizeLimit;
+    }
+
+    public synchronized void recordFullBatches(int batchSize, int maxBatchSize, int queryCount, long nanos) {
+        if (batchSize != batchSizeLimit || queryCount == 0) {
+            return;
+        }
+        long nanosPerQuery = nanos / queryCount;
+        if (converged) {
+            measurementsSinceConvergence++;
+            if (nanosPerQuery >= convergedNanosPerQuery * 2) {
+                // Queries became a lot slower, so start over with a smaller batch size
+                batchSizeLimit = Math.max(2, batchSizeLimit / 2);
+                restart();
+            } else if (measurementsSinceConvergence >= REPROBE_INTERVAL) {
+                // Probe from time to time whether a bigger batch size pays off by now
+                restart();
+                previousBatchSizeLimit = batchSizeLimit;
+                previousNanosPerQuery = nanosPerQuery;
+                batchSizeLimit = nextBatchSizeLimit(maxBatchSize);
+                if (batchSizeLimit == previousBatchSizeLimit) {
+                    converge(nanosPerQuery);
+                }
+            }
+        } else if (previousNanosPerQuery != 0 && nanosPerQuery >= previousNanosPerQuery * 2) {
+            // The latency grew at least as much as the batch size, so the previous batch size was better
+            batchSizeLimit = previousBatchSizeLimit;
+            converge(previousNanosPerQuery);
+        } else {
+            int nextBatchSizeLimit = nextBatchSizeLimit(maxBatchSize);
+            if (nextBatchSizeLimit <= batchSizeLimit) {
+                converge(nanosPerQuery);
+            } else {
+                previousBatchSizeLimit = batchSizeLimit;
+                previousNanosPerQuery = nanosPerQuery;
+                batchSizeLimit = nextBatchSizeLimit;
+            }
+        }
+    }
+
+    private int nextBatchSizeLimit(int maxBatchSize) {
+        return Math.max(batchSizeLimit, Math.min(batchSizeLimit * 2, Math.min(maxBatchSize, MAX_ADAPTIVE_BATCH_SIZE)));
+    }
+
+    private void converge(long nanosPerQuery) {
+        converged = true;
+        convergedNanosPerQuery = nanosPerQuery;
+        measurementsSinceConvergence = 0;
+    }
+
+    private void restart() {
+        converged = false;
+        previousBatchSizeLimit = 0;
+        previousNanosPerQuery = 0L;
+    }
+}
@@ -0,0 +1,464 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.FetchStrategy;
+import com.blazebit.persistence.view.impl.ParameterizedCorrelationProviderFactory;
+import com.blazebit.persistence.view.impl.ParameterizedSubqueryProviderFactory;
+import com.blazebit.persistence.view.impl.metamodel.AbstractAttribute;
+import com.blazebit.persistence.view.impl.metamodel.BasicTypeImpl;
+import com.blazebit.persistence.view.metamodel.Attribute;
+import com.blazebit.persistence.view.metamodel.ManagedViewType;
+import com.blazebit.persistence.view.metamodel.MapAttribute;
+import com.blazebit.persistence.view.metamodel.MappingConstructor;
+import com.blazebit.persistence.view.metamodel.MethodAttribute;
+import com.blazebit.persistence.view.metamodel.ParameterAttribute;
+import com.blazebit.persistence.view.metamodel.PluralAttribute;
+import com.blazebit.persistence.view.metamodel.SingularAttribute;
+import com.blazebit.persistence.view.metamodel.Type;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A size and time bounded cache for the results of correlated subviews that are fetched via the <code>SELECT</code> fetch strategy.
+ * Results are cached per region i.e. per correlated attribute, the correlation basis value and a context that captures
+ * everything else the result depends on like fetches and parameter values. Every region is tagged with the entity types
+ * its results are built from, so that saving or removing an entity view through the entity view manager can evict the affected results.
+ * The results are spread over segments that are bounded and access ordered independently, so lookups only contend for the lock of one segment.
+ * Evicting a region only bumps its generation, which makes the results of older generations invisible until they are evicted or expire.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class CorrelationCache {
+
+    public static final Object NOT_CACHED = new Object();
+    private static final int MAXIMUM_SEGMENT_COUNT = 16;
+    // Small caches use fewer segments so that the eviction stays close to a global least recently used order
+    private static final int MINIMUM_SEGMENT_SIZE = 8;
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final Segment[] segments;
+    private final ConcurrentMap<Object, Region> regions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ManagedViewType<?>, Set<Class<?>>> entityClassesCache = new ConcurrentHashMap<>();
+
+    public CorrelationCache(int maxSize, long timeToLiveMillis) {
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        int segmentCount = 1;
+        while (segmentCount < MAXIMUM_SEGMENT_COUNT && maxSize / (segmentCount << 1) >= MINIMUM_SEGMENT_SIZE) {
+            segmentCount <<= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // Distribute the remainder so that the segment capacities add up to the maximum size
+            segments[i] = new Segment(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns the region for the results of the given correlated view type or <code>null</code> if the results can't be cached.
+     * Results can only be shared if neither the view type nor any of the view types reachable from it are updatable or creatable
+     * and if they don't contain JPA managed objects that would be bound to an entity manager.
+     *
+     * @param owner The correlated attribute that owns the region
+     * @param viewType The correlated view type
+     * @return The region or <code>null</code>
+     */
+    public Region getRegion(AbstractAttribute<?, ?> owner, ManagedViewType<?> viewType) {
+        if (maxSize == 0) {
+            return null;
+        }
+        // Object builder templates are not necessarily cached, so the region must be bound to the attribute
+        Region region = regions.get(owner);
+        if (region == null) {
+            Set<Class<?>> entityClasses = new HashSet<>();
+            if (collectEntityClasses(viewType, entityClasses, new HashSet<ManagedViewType<?>>())) {
+                Set<String> parameterNames = new HashSet<>();
+                addProviderParameterNames(owner, parameterNames);
+                boolean readsAllParameters = collectParameterNames(viewType, parameterNames, new HashSet<ManagedViewType<?>>());
+                region = new Region(this, Collections.unmodifiableSet(entityClasses), readsAllParameters ? null : Collections.unmodifiableSet(parameterNames));
+            } else {
+                region = new Region(this, null, null);
+            }
+            Region existingRegion = regions.putIfAbsent(owner, region);
+            if (existingRegion != null) {
+                region = existingRegion;
+            }
+        }
+        return region.entityClasses == null ? null : region;
+    }
+
+    /**
+     * Evicts the cached results of all regions that are built from entity types that are related to the entity types of the given view type.
+     *
+     * @param viewType The view type that was saved or removed
+     */
+    public void invalidate(ManagedViewType<?> viewType) {
+        if (maxSize == 0) {
+            return;
+        }
+        Set<Class<?>> entityClasses = getEntityClasses(viewType);
+        for (Region region : regions.values()) {
+            if (region.entityClasses != null && intersects(region.entityClasses, entityClasses)) {
+                region.generation.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns the entity classes that are related to the given view type i.e. the entity classes of the view type,
+     * of the subviews reachable from it and of the correlated entity types.
+     *
+     * @param viewType The view type
+     * @return The related entity classes
+     */
+    public Set<Class<?>> getEntityClasses(ManagedViewType<?> viewType) {
+        Set<Class<?>> entityClasses = entityClassesCache.get(viewType);
+        if (entityClasses == null) {
+            entityClasses = new HashSet<>();
+            collectEntityClasses(viewType, entityClasses, new HashSet<ManagedViewType<?>>());
+            entityClasses = Collections.unmodifiableSet(entityClasses);
+            entityClassesCache.putIfAbsent(viewType, entityClasses);
+        }
+        return entityClasses;
+    }
+
+    /**
+     * Returns the number of cached results that are neither expired nor evicted. This visits all cached results and is only meant for diagnostics.
+     *
+     * @return The number of valid cached results
+     */
+    public int size() {
+        long now = System.nanoTime();
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                for (Map.Entry<Key, Entry> entry : segment.entries.entrySet()) {
+                    if (entry.getValue().isValid(entry.getKey().region, now)) {
+                        size++;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(Key key) {
+        int hash = key.hash ^ (key.hash >>> 16);
+        return segments[hash & (segments.length - 1)];
+    }
+
+    private Object get(Region region, Object context, Object correlationValue) {
+        Key key = new Key(region, context, correlationValue);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            Entry entry = segment.entries.get(key);
+            if (entry == null) {
+                return NOT_CACHED;
+            }
+            if (!entry.isValid(region, System.nanoTime())) {
+                segment.entries.remove(key);
+                return NOT_CACHED;
+            }
+            return entry.value;
+        }
+    }
+
+    private void put(Region region, Object context, Object correlationValue, Object value, int generation) {
+        // The result was loaded before the region was evicted, so it might be stale already
+        if (generation != region.generation.get()) {
+            return;
+        }
+        Key key = new Key(region, context, correlationValue);
+        Entry entry = new Entry(value, System.nanoTime() + timeToLiveNanos, generation);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.entries.put(key, entry);
+        }
+    }
+
+    private static boolean intersects(Set<Class<?>> entityClasses1, Set<Class<?>> entityClasses2) {
+        for (Class<?> entityClass1 : entityClasses1) {
+            for (Class<?> entityClass2 : entityClasses2) {
+                // Consider entity inheritance in both directions
+                if (entityClass1.isAssignableFrom(entityClass2) || entityClass2.isAssignableFrom(entityClass1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean collectEntityClasses(ManagedViewType<?> viewType, Set<Class<?>> entityClasses, Set<ManagedViewType<?>> visited) {
+        if (!visited.add(viewType)) {
+            return true;
+        }
+        boolean cacheable = !viewType.isUpdatable() && !viewType.isCreatable();
+        entityClasses.add(viewType.getEntityClass());
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            cacheable = collectEntityClasses(attribute, entityClasses, visited) && cacheable;
+        }
+        for (MappingConstructor<?> constructor : viewType.getConstructors()) {
+            for (ParameterAttribute<?, ?> attribute : constructor.getParameterAttributes()) {
+                cacheable = collectEntityClasses(attribute, entityClasses, visited) && cacheable;
+            }
+        }
+        for (ManagedViewType<?> subtype : viewType.getInheritanceSubtypes()) {
+            cacheable = collectEntityClasses(subtype, entityClasses, visited) && cacheable;
+        }
+        return cacheable;
+    }
+
+    private static boolean collectEntityClasses(Attribute<?, ?> attribute, Set<Class<?>> entityClasses, Set<ManagedViewType<?>> visited) {
+        if (attribute instanceof AbstractAttribute<?, ?>) {
+            Class<?> correlated = ((AbstractAttribute<?, ?>) attribute).getCorrelated();
+            if (correlated != null) {
+                entityClasses.add(correlated);
+            }
+        }
+        if (attribute instanceof PluralAttribute<?, ?, ?>) {
+            boolean cacheable = collectEntityClasses(((PluralAttribute<?, ?, ?>) attribute).getElementType(), entityClasses, visited);
+            if (attribute instanceof MapAttribute<?, ?, ?>) {
+                cacheable = collectEntityClasses(((MapAttribute<?, ?, ?>) attribute).getKeyType(), entityClasses, visited) && cacheable;
+            }
+            return cacheable;
+        } else {
+            return collectEntityClasses(((SingularAttribute<?, ?>) attribute).getType(), entityClasses, visited);
+        }
+    }
+
+    private static boolean collectEntityClasses(Type<?> type, Set<Class<?>> entityClasses, Set<ManagedViewType<?>> visited) {
+        if (type instanceof ManagedViewType<?>) {
+            return collectEntityClasses((ManagedViewType<?>) type, entityClasses, visited);
+        } else if (type instanceof BasicTypeImpl<?> && ((BasicTypeImpl<?>) type).isJpaManaged()) {
+            entityClasses.add(type.getJavaType());
+            return false;
+        }
+        return true;
+    }
+
+    // Collects the names of the parameters that the given view type reads besides the parameters of the correlation query
+    // and returns whether it executes separate queries that might read any parameter
+    private static boolean collectParameterNames(ManagedViewType<?> viewType, Set<String> parameterNames, Set<ManagedViewType<?>> visited) {
+        if (!visited.add(viewType)) {
+            return false;
+        }
+        boolean readsAllParameters = false;
+        for (MethodAttribute<?, ?> attribute : viewType.getAttributes()) {
+            readsAllParameters = collectParameterNames(attribute, parameterNames, visited) || readsAllParameters;
+        }
+        for (MappingConstructor<?> constructor : viewType.getConstructors()) {
+            for (ParameterAttribute<?, ?> attribute : constructor.getParameterAttributes()) {
+                readsAllParameters = collectParameterNames(attribute, parameterNames, visited) || readsAllParameters;
+            }
+        }
+        for (ManagedViewType<?> subtype : viewType.getInheritanceSubtypes()) {
+            readsAllParameters = collectParameterNames(subtype, parameterNames, visited) || readsAllParameters;
+        }
+        return readsAllParameters;
+    }
+
+    private static boolean collectParameterNames(Attribute<?, ?> attribute, Set<String> parameterNames, Set<ManagedViewType<?>> visited) {
+        if (attribute.getMappingType() == Attribute.MappingType.PARAMETER) {
+            parameterNames.add(((AbstractAttribute<?, ?>) attribute).getMapping());
+            return false;
+        }
+        // Correlations that are not fetched through joins execute separate queries
+        if (attribute.getMappingType() == Attribute.MappingType.CORRELATED
+                && (attribute.getFetchStrategy() == FetchStrategy.SELECT || attribute.getFetchStrategy() == FetchStrategy.SUBSELECT)) {
+            return true;
+        }
+        addProviderParameterNames((AbstractAttribute<?, ?>) attribute, parameterNames);
+        if (attribute instanceof PluralAttribute<?, ?, ?>) {
+            boolean readsAllParameters = collectParameterNames(((PluralAttribute<?, ?, ?>) attribute).getElementType(), parameterNames, visited);
+            if (attribute instanceof MapAttribute<?, ?, ?>) {
+                readsAllParameters = collectParameterNames(((MapAttribute<?, ?, ?>) attribute).getKeyType(), parameterNames, visited) || readsAllParameters;
+            }
+            return readsAllParameters;
+        } else {
+            return collectParameterNames(((SingularAttribute<?, ?>) attribute).getType(), parameterNames, visited);
+        }
+    }
+
+    private static boolean collectParameterNames(Type<?> type, Set<String> parameterNames, Set<ManagedViewType<?>> visited) {
+        return type instanceof ManagedViewType<?> && collectParameterNames((ManagedViewType<?>) type, parameterNames, visited);
+    }
+
+    // Parameterized providers receive parameter values when they are created, which might influence the query without being query parameters
+    private static void addProviderParameterNames(AbstractAttribute<?, ?> attribute, Set<String> parameterNames) {
+        if (attribute.getCorrelationProviderFactory() instanceof ParameterizedCorrelationProviderFactory) {
+            parameterNames.addAll(Arrays.asList(((ParameterizedCorrelationProviderFactory) attribute.getCorrelationProviderFactory()).getParameterNames()));
+        }
+        if (attribute.getSubqueryProviderFactory() instanceof ParameterizedSubqueryProviderFactory) {
+            parameterNames.addAll(Arrays.asList(((ParameterizedSubqueryProviderFactory) attribute.getSubqueryProviderFactory()).getParameterNames()));
+        }
+    }
+
+    /**
+     * The cached results of a correlated attribute.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static final class Region {
+
+        private final CorrelationCache cache;
+        private final Set<Class<?>> entityClasses;
+        private final Set<String> parameterNames;
+        private final AtomicInteger generation = new AtomicInteger();
+
+        private Region(CorrelationCache cache, Set<Class<?>> entityClasses, Set<String> parameterNames) {
+            this.cache = cache;
+            this.entityClasses = entityClasses;
+            this.parameterNames = parameterNames;
+        }
+
+        public Set<Class<?>> getEntityClasses() {
+            return entityClasses;
+        }
+
+        /**
+         * Returns the names of the parameters that the correlated views read besides the parameters of the correlation query,
+         * or <code>null</code> if the correlated views execute separate queries that might read any parameter.
+         *
+         * @return The parameter names or <code>null</code>
+         */
+        public Set<String> getParameterNames() {
+            return parameterNames;
+        }
+
+        /**
+         * Returns the current generation of the region which has to be determined before loading results that should be put into the cache.
+         *
+         * @return The current generation
+         */
+        public int getGeneration() {
+            return generation.get();
+        }
+
+        /**
+         * Returns the cached result for the given context and correlation basis value or {@link CorrelationCache#NOT_CACHED}.
+         *
+         * @param context The context that captures the fetches and parameter values of the correlation query
+         * @param correlationValue The correlation basis value
+         * @return The cached result or {@link CorrelationCache#NOT_CACHED}
+         */
+        public Object get(Object context, Object correlationValue) {
+            return cache.get(this, context, correlationValue);
+        }
+
+        /**
+         * Caches the given result unless the region was evicted since the given generation.
+         *
+         * @param context The context that captures the fetches and parameter values of the correlation query
+         * @param correlationValue The correlation basis value
+         * @param value The result
+         * @param generation The generation of the region that was determined before loading the result
+         */
+        public void put(Object context, Object correlationValue, Object value, int generation) {
+            cache.put(this, context, correlationValue, value, generation);
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class Key {
+
+        private final Region region;
+        private final Object context;
+        private final Object correlationValue;
+        private final int hash;
+
+        public Key(Region region, Object context, Object correlationValue) {
+            this.region = region;
+            this.context = context;
+            this.correlationValue = correlationValue;
+            int hash = System.identityHashCode(region);
+            hash = 31 * hash + context.hashCode();
+            this.hash = 31 * hash + correlationValue.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return region == key.region && correlationValue.equals(key.correlationValue) && context.equals(key.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class Entry {
+
+        private final Object value;
+        private final long expirationNanos;
+        private final int generation;
+
+        public Entry(Object value, long expirationNanos, int generation) {
+            this.value = value;
+            this.expirationNanos = expirationNanos;
+            this.generation = generation;
+        }
+
+        public boolean isValid(Region region, long now) {
+            return generation == region.generation.get() && now - expirationNanos <= 0;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class Segment {
+
+        private final Map<Key, Entry> entries;
+
+        public Segment(final int capacity) {
+            this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
@@ -32,7 +32,7 @@ import java.util.Arrays;
 public class AssignmentConstructorReflectionInstantiator<T> extends AbstractReflectionInstantiator<T> {
 
     private final Constructor<T> constructor;
-    private final Object[] defaultObject;
+    private final ConstructorInvoker<T> constructorInvoker;
 
     public AssignmentConstructorReflectionInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> viewType, Class<?>[] parameterTypes,
                                                        EntityViewManager entityViewManager, ManagedViewTypeImpl.InheritanceSubtypeConfiguration<T> configuration, MappingConstructorImpl.InheritanceSubtypeConstructorConfiguration<T> subtypeConstructorConfiguration) {
@@ -80,16 +80,14 @@ public class AssignmentConstructorReflectionInstantiator<T> extends AbstractRefl
         }
 
         this.constructor = javaConstructor;
-        this.defaultObject = defaultObject;
+        this.constructorInvoker = proxyFactory.getConstructorInvoker(javaConstructor, 3, defaultObject);
     }
 
     @Override
     public T newInstance(Object[] tuple) {
         try {
             prepareTuple(tuple);
-            Object[] array = Arrays.copyOf(defaultObject, defaultObject.length);
-            array[3] = tuple;
-            T instance = constructor.newInstance(array);
+            T instance = constructorInvoker.newInstance(tuple);
             finalizeInstance(instance);
             return instance;
         } catch (Exception ex) {
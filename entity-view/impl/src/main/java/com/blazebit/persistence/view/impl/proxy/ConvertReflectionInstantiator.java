@@ -33,7 +33,7 @@ public class ConvertReflectionInstantiator<T> implements ObjectInstantiator<T> {
 
     private static final boolean TUPLE_STYLE = true;
     private final Constructor<T> constructor;
-    private final Object[] defaultObject;
+    private final ConstructorInvoker<T> constructorInvoker;
     private final AbstractReflectionInstantiator.TypeConverterEntry[] typeConverterEntries;
 
     public ConvertReflectionInstantiator(ProxyFactory proxyFactory, ManagedViewType<T> viewType, Class<?>[] parameterTypes, int constructorParameterCount, EntityViewManager entityViewManager) {
@@ -61,7 +61,7 @@ public class ConvertReflectionInstantiator<T> implements ObjectInstantiator<T> {
         }
 
         this.constructor = javaConstructor;
-        this.defaultObject = defaultObject;
+        this.constructorInvoker = proxyFactory.getConstructorInvoker(javaConstructor, TUPLE_STYLE ? 2 : -1, defaultObject);
         this.typeConverterEntries = AbstractReflectionInstantiator.withPrimitiveConverters(Collections.<AbstractReflectionInstantiator.TypeConverterEntry>emptyList(), parameterTypes);
     }
 
@@ -74,15 +74,7 @@ public class ConvertReflectionInstantiator<T> implements ObjectInstantiator<T> {
                 AbstractReflectionInstantiator.TypeConverterEntry entry = typeConverterEntries[i];
                 tuple[entry.index] = entry.typeConverter.convertToViewType(tuple[entry.index]);
             }
-            T t;
-            if (TUPLE_STYLE) {
-                Object[] array = Arrays.copyOf(defaultObject, defaultObject.length);
-                array[2] = tuple;
-                t = constructor.newInstance(array);
-            } else {
-                t = constructor.newInstance(tuple);
-            }
-            return t;
+            return constructorInvoker.newInstance(tuple);
         } catch (Exception ex) {
             String[] types = new String[tuple.length];
             
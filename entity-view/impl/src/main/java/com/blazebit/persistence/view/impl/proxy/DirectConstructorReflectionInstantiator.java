@@ -34,6 +34,7 @@ import java.util.List;
 public class DirectConstructorReflectionInstantiator<T> extends AbstractReflectionInstantiator<T> {
 
     private final Constructor<T> constructor;
+    private final ConstructorInvoker<T> constructorInvoker;
     private final int idSwapIndex;
 
     public DirectConstructorReflectionInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> viewType, Class<?>[] parameterTypes,
@@ -51,6 +52,7 @@ public class DirectConstructorReflectionInstantiator<T> extends AbstractReflecti
         }
 
         this.constructor = javaConstructor;
+        this.constructorInvoker = proxyFactory.getConstructorInvoker(javaConstructor, -1, null);
         this.idSwapIndex = viewType instanceof ViewType<?> ? ((AbstractMethodAttribute<?, ?>) ((ViewType<?>) viewType).getIdAttribute()).getAttributeIndex() : 0;
     }
 
@@ -63,7 +65,7 @@ public class DirectConstructorReflectionInstantiator<T> extends AbstractReflecti
                 tuple[idSwapIndex] = tmp;
             }
             prepareTuple(tuple);
-            T instance = constructor.newInstance(tuple);
+            T instance = constructorInvoker.newInstance(tuple);
             finalizeInstance(instance);
             return instance;
         } catch (Exception ex) {
@@ -98,6 +98,7 @@ import java.io.ObjectStreamField;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.io.StringWriter;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -116,6 +117,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -134,10 +136,12 @@ public class ProxyFactory {
     private final ConcurrentMap<Class<?>, Class<?>> proxyClasses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Class<?>, Class<?>> unsafeProxyClasses = new ConcurrentHashMap<>();
     private final ConcurrentMap<Class<?>, Class<?>> proxyClassesToViewClasses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, Class<?>> staticImplementationClasses = new ConcurrentHashMap<>();
     private final Object proxyLock = new Object();
     private final ClassPool pool;
     private final boolean unsafeDisabled;
     private final boolean strictCascadingCheck;
+    private final boolean runtimeGenerationDisabled;
     private final PackageOpener packageOpener;
 
     static {
@@ -167,15 +171,35 @@ public class ProxyFactory {
     }
 
     public ProxyFactory(boolean unsafeDisabled, boolean strictCascadingCheck, PackageOpener packageOpener) {
-        ClassPool pool = new ClassPool((ClassPool) null);
-        pool.appendSystemPath();
-        this.pool = pool;
+        this(unsafeDisabled, strictCascadingCheck, false, packageOpener);
+    }
+
+    public ProxyFactory(boolean unsafeDisabled, boolean strictCascadingCheck, boolean runtimeGenerationDisabled, PackageOpener packageOpener) {
+        if (runtimeGenerationDisabled) {
+            this.pool = null;
+        } else {
+            ClassPool pool = new ClassPool((ClassPool) null);
+            pool.appendSystemPath();
+            this.pool = pool;
+        }
         this.unsafeDisabled = unsafeDisabled;
         this.strictCascadingCheck = strictCascadingCheck;
+        this.runtimeGenerationDisabled = runtimeGenerationDisabled;
         this.packageOpener = packageOpener;
     }
 
+    public boolean hasStaticImplementation(Class<?> viewClass) {
+        return staticImplementationClasses.containsKey(viewClass);
+    }
+
     public <T> Class<? extends T> getProxy(EntityViewManager entityViewManager, ManagedViewTypeImplementor<T> viewType) {
+        if (runtimeGenerationDisabled) {
+            Class<? extends T> implementationClass = (Class<? extends T>) staticImplementationClasses.get(viewType.getJavaType());
+            if (implementationClass == null) {
+                throw new IllegalStateException("No static implementation available for the entity view type '" + viewType.getJavaType().getName() + "' but the runtime generation of entity view implementations is disabled!");
+            }
+            return implementationClass;
+        }
         if (viewType.getConstructors().isEmpty() || unsafeDisabled) {
             return getProxy(entityViewManager, viewType, false);
         } else {
@@ -187,6 +211,194 @@ public class ProxyFactory {
         return (Class<T>) proxyClassesToViewClasses.get(implementationClass);
     }
 
+    /**
+     * Returns an invoker for the given constructor. If runtime generation is possible, the invoker is a generated class
+     * that calls the constructor directly, otherwise it falls back to reflection.
+     * A negative tuple parameter index means that the tuple elements are the constructor arguments,
+     * otherwise the tuple is passed at that index and the remaining arguments are taken from the default arguments.
+     *
+     * @param constructor The constructor to invoke
+     * @param tupleParameterIndex The index of the tuple parameter or a negative value
+     * @param defaultArguments The default arguments if a tuple parameter index is given
+     * @param <T> The type of the object to construct
+     * @return The constructor invoker
+     * @since 1.6.10
+     */
+    public <T> ConstructorInvoker<T> getConstructorInvoker(Constructor<T> constructor, int tupleParameterIndex, Object[] defaultArguments) {
+        if (runtimeGenerationDisabled || !Modifier.isPublic(constructor.getModifiers()) || !Modifier.isPublic(constructor.getDeclaringClass().getModifiers())) {
+            return new ReflectionConstructorInvoker<>(constructor, tupleParameterIndex, defaultArguments);
+        }
+        try {
+            Class<?> invokerClass;
+            synchronized (proxyLock) {
+                invokerClass = createConstructorInvokerClass(constructor, tupleParameterIndex);
+            }
+            return (ConstructorInvoker<T>) invokerClass.getConstructor(Object[].class).newInstance(new Object[]{ defaultArguments });
+        } catch (Exception | LinkageError ex) {
+            LOG.log(Level.FINE, "Could not generate a constructor invoker for '" + constructor + "', falling back to reflection", ex);
+            return new ReflectionConstructorInvoker<>(constructor, tupleParameterIndex, defaultArguments);
+        }
+    }
+
+    private Class<?> createConstructorInvokerClass(Constructor<?> constructor, int tupleParameterIndex) throws Exception {
+        Class<?> declaringClass = constructor.getDeclaringClass();
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        // The name encodes the full constructor signature so that proxy factories sharing a class loader reuse the class
+        StringBuilder nameBuilder = new StringBuilder();
+        nameBuilder.append(declaringClass.getName()).append("$$_invoker_").append(tupleParameterIndex < 0 ? "spread" : Integer.toString(tupleParameterIndex));
+        for (Class<?> parameterType : parameterTypes) {
+            nameBuilder.append("_p");
+            appendEscapedTypeName(nameBuilder, getSourceTypeName(parameterType));
+        }
+        String invokerClassName = nameBuilder.toString();
+        ClassPath classPath = new ClassClassPath(declaringClass);
+        ClassPath invokerClassPath = new ClassClassPath(ConstructorInvoker.class);
+        pool.insertClassPath(classPath);
+        pool.insertClassPath(invokerClassPath);
+        try {
+            CtClass cc = pool.makeClass(invokerClassName);
+            try {
+                cc.addInterface(pool.get(ConstructorInvoker.class.getName()));
+                cc.addField(CtField.make("private final java.lang.Object[] arguments;", cc));
+                CtConstructor ctConstructor = new CtConstructor(new CtClass[]{ pool.get(Object[].class.getName()) }, cc);
+                ctConstructor.setBody("{ $0.arguments = $1; }");
+                cc.addConstructor(ctConstructor);
+
+                // Like Constructor.newInstance, argument conversion failures are reported as IllegalArgumentException
+                // and exceptions thrown by the constructor are wrapped in an InvocationTargetException
+                StringBuilder sb = new StringBuilder();
+                sb.append("public java.lang.Object newInstance(java.lang.Object[] tuple) throws java.lang.Exception {\n");
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (i != tupleParameterIndex) {
+                        String typeName = getSourceTypeName(parameterTypes[i]);
+                        sb.append('\t').append(typeName).append(" a").append(i).append(" = ");
+                        if (parameterTypes[i] == boolean.class) {
+                            sb.append("false");
+                        } else if (parameterTypes[i].isPrimitive()) {
+                            sb.append('(').append(typeName).append(") 0");
+                        } else {
+                            sb.append("null");
+                        }
+                        sb.append(";\n");
+                    }
+                }
+                sb.append("\ttry {\n");
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (i != tupleParameterIndex) {
+                        appendConstructorArgument(sb, parameterTypes[i], "a" + i, tupleParameterIndex < 0 ? "$1[" + i + "]" : "$0.arguments[" + i + "]");
+                    }
+                }
+                sb.append("\t} catch (java.lang.ClassCastException ex) {\n");
+                sb.append("\t\tthrow new java.lang.IllegalArgumentException(\"argument type mismatch\", ex);\n");
+                sb.append("\t}\n");
+                sb.append("\ttry {\n");
+                sb.append("\t\treturn new ").append(declaringClass.getName()).append('(');
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (i != 0) {
+                        sb.append(", ");
+                    }
+                    if (i == tupleParameterIndex) {
+                        sb.append("$1");
+                    } else {
+                        sb.append('a').append(i);
+                    }
+                }
+                sb.append(");\n");
+                sb.append("\t} catch (java.lang.Throwable ex) {\n");
+                sb.append("\t\tthrow new java.lang.reflect.InvocationTargetException(ex);\n");
+                sb.append("\t}\n");
+                sb.append('}');
+                cc.addMethod(CtMethod.make(sb.toString(), cc));
+                return defineOrGetClass(declaringClass, declaringClass, cc);
+            } finally {
+                cc.detach();
+            }
+        } finally {
+            pool.removeClassPath(invokerClassPath);
+            pool.removeClassPath(classPath);
+        }
+    }
+
+    private static void appendConstructorArgument(StringBuilder sb, Class<?> parameterType, String target, String source) {
+        if (!parameterType.isPrimitive()) {
+            sb.append("\t\t").append(target).append(" = (").append(getSourceTypeName(parameterType)).append(") ").append(source).append(";\n");
+            return;
+        }
+        // Like with reflection, only the wrapper of the primitive type or of a type that widens to it is accepted, nulls or narrowing are rejected
+        sb.append("\t\tif (");
+        Class<?>[] widenedTypes = getWideningPrimitiveTypes(parameterType);
+        for (int i = 0; i < widenedTypes.length; i++) {
+            if (i != 0) {
+                sb.append(" || ");
+            }
+            sb.append(source).append(" instanceof ").append(ReflectionUtils.getObjectClassOfPrimitve(widenedTypes[i]).getName());
+        }
+        sb.append(") {\n");
+        sb.append("\t\t\t").append(target).append(" = ");
+        if (parameterType == boolean.class || parameterType == char.class) {
+            sb.append("((").append(ReflectionUtils.getObjectClassOfPrimitve(parameterType).getName()).append(") ").append(source).append(").").append(parameterType.getName()).append("Value();\n");
+        } else {
+            sb.append("((java.lang.Number) ").append(source).append(").").append(parameterType.getName()).append("Value();\n");
+            if (parameterType != byte.class && parameterType != short.class) {
+                sb.append("\t\t} else if (").append(source).append(" instanceof java.lang.Character) {\n");
+                sb.append("\t\t\t").append(target).append(" = (").append(parameterType.getName()).append(") ((java.lang.Character) ").append(source).append(").charValue();\n");
+            }
+        }
+        sb.append("\t\t} else {\n");
+        sb.append("\t\t\tthrow new java.lang.IllegalArgumentException(\"argument type mismatch\");\n");
+        sb.append("\t\t}\n");
+    }
+
+    private static Class<?>[] getWideningPrimitiveTypes(Class<?> primitiveType) {
+        // The primitive types that can be converted to the given primitive type by identity or widening, excluding char
+        if (primitiveType == boolean.class || primitiveType == char.class || primitiveType == byte.class) {
+            return new Class<?>[]{ primitiveType };
+        } else if (primitiveType == short.class) {
+            return new Class<?>[]{ short.class, byte.class };
+        } else if (primitiveType == int.class) {
+            return new Class<?>[]{ int.class, short.class, byte.class };
+        } else if (primitiveType == long.class) {
+            return new Class<?>[]{ long.class, int.class, short.class, byte.class };
+        } else if (primitiveType == float.class) {
+            return new Class<?>[]{ float.class, long.class, int.class, short.class, byte.class };
+        } else {
+            return new Class<?>[]{ double.class, float.class, long.class, int.class, short.class, byte.class };
+        }
+    }
+
+    private static void appendEscapedTypeName(StringBuilder sb, String typeName) {
+        // Escapes the characters that aren't allowed in a class name in a way that distinct type names stay distinct
+        for (int i = 0; i < typeName.length(); i++) {
+            char c = typeName.charAt(i);
+            switch (c) {
+                case '_':
+                    sb.append("__");
+                    break;
+                case '.':
+                    sb.append("_d");
+                    break;
+                case '$':
+                    sb.append("_s");
+                    break;
+                case '[':
+                    sb.append("_a");
+                    break;
+                case ']':
+                    break;
+                default:
+                    sb.append(c);
+                    break;
+            }
+        }
+    }
+
+    private static String getSourceTypeName(Class<?> type) {
+        if (type.isArray()) {
+            return getSourceTypeName(type.getComponentType()) + "[]";
+        }
+        return type.getName();
+    }
+
     private static String getImplementationClassName(Class<?> javaType, Class<?> baseJavaType) {
         String fqcn = javaType.getName();
         StringBuilder sb = new StringBuilder(fqcn.length() + IMPL_CLASS_NAME_SUFFIX.length() + baseJavaType.getSimpleName().length());
@@ -237,6 +449,7 @@ public class ProxyFactory {
             }
             proxyClasses.put(javaType, entityViewImplementationClass);
             proxyClassesToViewClasses.put(entityViewImplementationClass, javaType);
+            staticImplementationClasses.put(javaType, entityViewImplementationClass);
         } catch (Exception e) {
             StringWriter sw = new StringWriter();
             e.printStackTrace(new PrintWriter(sw));
@@ -247,6 +460,7 @@ public class ProxyFactory {
     public void setImplementation(Class<?> entityViewImplementationClass) {
         proxyClasses.put(entityViewImplementationClass, entityViewImplementationClass);
         proxyClassesToViewClasses.put(entityViewImplementationClass, entityViewImplementationClass);
+        staticImplementationClasses.put(entityViewImplementationClass, entityViewImplementationClass);
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.proxy;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+
+/**
+ * A {@link ConstructorInvoker} that uses reflection, used when no invoker class can be generated.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class ReflectionConstructorInvoker<T> implements ConstructorInvoker<T> {
+
+    private final Constructor<T> constructor;
+    private final int tupleParameterIndex;
+    private final Object[] defaultArguments;
+
+    public ReflectionConstructorInvoker(Constructor<T> constructor, int tupleParameterIndex, Object[] defaultArguments) {
+        this.constructor = constructor;
+        this.tupleParameterIndex = tupleParameterIndex;
+        this.defaultArguments = defaultArguments;
+    }
+
+    @Override
+    public T newInstance(Object[] tuple) throws Exception {
+        if (tupleParameterIndex < 0) {
+            return constructor.newInstance(tuple);
+        }
+        Object[] array = Arrays.copyOf(defaultArguments, defaultArguments.length);
+        array[tupleParameterIndex] = tuple;
+        return constructor.newInstance(array);
+    }
+}
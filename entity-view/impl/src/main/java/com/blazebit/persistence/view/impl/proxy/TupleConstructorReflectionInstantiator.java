@@ -32,7 +32,7 @@ import java.util.List;
 public class TupleConstructorReflectionInstantiator<T> extends AbstractReflectionInstantiator<T> {
 
     private final Constructor<T> constructor;
-    private final Object[] defaultObject;
+    private final ConstructorInvoker<T> constructorInvoker;
 
     public TupleConstructorReflectionInstantiator(MappingConstructorImpl<T> mappingConstructor, ProxyFactory proxyFactory, ManagedViewTypeImplementor<T> viewType, Class<?>[] parameterTypes,
                                                   EntityViewManager entityViewManager, List<MutableBasicUserTypeEntry> mutableBasicUserTypes, List<TypeConverterEntry> typeConverterEntries) {
@@ -67,16 +67,14 @@ public class TupleConstructorReflectionInstantiator<T> extends AbstractReflectio
         }
 
         this.constructor = javaConstructor;
-        this.defaultObject = defaultObject;
+        this.constructorInvoker = proxyFactory.getConstructorInvoker(javaConstructor, 2, defaultObject);
     }
 
     @Override
     public T newInstance(Object[] tuple) {
         try {
             prepareTuple(tuple);
-            Object[] array = Arrays.copyOf(defaultObject, defaultObject.length);
-            array[2] = tuple;
-            T instance = constructor.newInstance(array);
+            T instance = constructorInvoker.newInstance(tuple);
             finalizeInstance(instance);
             return instance;
         } catch (Exception ex) {
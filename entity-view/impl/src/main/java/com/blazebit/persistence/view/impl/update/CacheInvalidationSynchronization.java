@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.update;
+
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Invalidates the caches that depend on the view types that were flushed in a transaction once the transaction committed.
+ * Invalidating before the commit would allow other transactions to cache the old state again, and after a rollback nothing changed.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class CacheInvalidationSynchronization implements Synchronization {
+
+    private final EntityViewManagerImpl evm;
+    private final Set<ManagedViewTypeImplementor<?>> viewTypes = new LinkedHashSet<>();
+
+    public CacheInvalidationSynchronization(EntityViewManagerImpl evm) {
+        this.evm = evm;
+    }
+
+    public void add(ManagedViewTypeImplementor<?> viewType) {
+        viewTypes.add(viewType);
+    }
+
+    @Override
+    public void beforeCompletion() {
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        if (status == Status.STATUS_COMMITTED) {
+            for (ManagedViewTypeImplementor<?> viewType : viewTypes) {
+                evm.invalidateCaches(viewType);
+            }
+        }
+    }
+}
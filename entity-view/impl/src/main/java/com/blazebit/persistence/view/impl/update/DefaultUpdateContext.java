@@ -54,6 +54,7 @@ import com.blazebit.persistence.view.spi.TransactionAccess;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import javax.transaction.Synchronization;
 import java.util.ArrayList;
 import java.util.EnumSet;
@@ -78,6 +79,7 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
     private final boolean forceFull;
     private final boolean forceEntity;
     private final boolean remove;
+    private final boolean multiple;
     private final Class<?> entityViewClass;
     private final Object object;
     private final Object entity;
@@ -88,14 +90,30 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
     private Map<EntityKey, List<ViewCacheEntry>> viewCache;
     private Set<EntityKey> versionChecked;
     private List<PostFlushDeleter> orphanRemovalDeleters = new ArrayList<>();
+    private CacheInvalidationSynchronization cacheInvalidationSynchronization;
+    // Executed update queries by query string which are reused for further objects of a multiple object flush
+    private final Map<String, Query> updateQueries;
+    private final Map<Query, String> updateQueryStrings;
 
     public DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, boolean forceEntity, boolean remove, Class<?> entityViewClass, Object object, Object entity) {
+        this(evm, em, forceFull, forceEntity, remove, false, entityViewClass, object, entity);
+    }
+
+    public DefaultUpdateContext(EntityViewManagerImpl evm, EntityManager em, boolean forceFull, boolean forceEntity, boolean remove, boolean multiple, Class<?> entityViewClass, Object object, Object entity) {
         this.evm = evm;
         this.em = em;
         this.forceFull = forceFull;
         this.transactionAccess = TransactionHelper.getTransactionAccess(em);
         this.forceEntity = forceEntity;
         this.remove = remove;
+        this.multiple = multiple;
+        if (multiple) {
+            this.updateQueries = new HashMap<>();
+            this.updateQueryStrings = new IdentityHashMap<>();
+        } else {
+            this.updateQueries = null;
+            this.updateQueryStrings = null;
+        }
         this.entityViewClass = entityViewClass;
         this.object = object;
         this.entity = entity;
@@ -193,6 +211,39 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
         return listenerManager.hasPossiblyCancellingRemoveListeners(elementEntityClass);
     }
 
+    @Override
+    public Query createUpdateQuery(String queryString) {
+        if (updateQueries == null) {
+            return em.createQuery(queryString);
+        }
+        // Take the query out of the pool so that nested flushes of the same shape can't overwrite its parameters
+        Query query = updateQueries.remove(queryString);
+        if (query == null) {
+            query = em.createQuery(queryString);
+            updateQueryStrings.put(query, queryString);
+        }
+        return query;
+    }
+
+    @Override
+    public void releaseUpdateQuery(Query query) {
+        if (updateQueryStrings != null) {
+            String queryString = updateQueryStrings.get(query);
+            if (queryString != null) {
+                updateQueries.put(queryString, query);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateCachesOnCommit(ManagedViewTypeImplementor<?> viewType) {
+        if (cacheInvalidationSynchronization == null) {
+            cacheInvalidationSynchronization = new CacheInvalidationSynchronization(evm);
+            transactionAccess.registerSynchronization(cacheInvalidationSynchronization);
+        }
+        cacheInvalidationSynchronization.add(viewType);
+    }
+
     @Override
     public boolean isForceFull() {
         return forceFull;
@@ -680,7 +731,17 @@ public class DefaultUpdateContext implements UpdateContext, FlushOperationBuilde
 
     @Override
     public void flush() {
-        if (remove) {
+        if (multiple) {
+            if (remove) {
+                if (entityViewClass == null) {
+                    evm.removeAll(this, (Iterable<?>) object);
+                } else {
+                    evm.removeAll(this, entityViewClass, (Iterable<?>) object);
+                }
+            } else {
+                evm.updateAll(this, (Iterable<?>) object);
+            }
+        } else if (remove) {
             if (entityViewClass == null) {
                 evm.remove(this, object);
             } else {
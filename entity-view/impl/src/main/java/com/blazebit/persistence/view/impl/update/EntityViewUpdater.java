@@ -23,6 +23,8 @@ import com.blazebit.persistence.view.impl.update.flush.DirtyAttributeFlusher;
 import com.blazebit.persistence.view.impl.update.flush.FetchGraphNode;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 
+import java.util.List;
+
 /**
  *
  * @author Christian Beikov
@@ -48,5 +50,7 @@ public interface EntityViewUpdater extends UpdateQueryFactory {
 
     public void remove(UpdateContext context, Object id);
 
+    public void removeAll(UpdateContext context, List<?> ids);
+
     public DirtyChecker<DirtyStateTrackable> getDirtyChecker();
 }
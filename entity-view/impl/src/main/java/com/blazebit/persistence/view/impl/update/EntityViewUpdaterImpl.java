@@ -18,7 +18,6 @@ package com.blazebit.persistence.view.impl.update;
 
 import com.blazebit.persistence.ObjectBuilder;
 import com.blazebit.persistence.parser.EntityMetamodel;
-import com.blazebit.persistence.parser.expression.ExpressionFactory;
 import com.blazebit.persistence.parser.util.JpaMetamodelUtils;
 import com.blazebit.persistence.spi.ExtendedAttribute;
 import com.blazebit.persistence.spi.ExtendedManagedType;
@@ -29,7 +28,6 @@ import com.blazebit.persistence.view.FlushStrategy;
 import com.blazebit.persistence.view.InverseRemoveStrategy;
 import com.blazebit.persistence.view.OptimisticLockException;
 import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
-import com.blazebit.persistence.view.impl.MacroConfigurationExpressionFactory;
 import com.blazebit.persistence.view.impl.accessor.Accessors;
 import com.blazebit.persistence.view.impl.accessor.AttributeAccessor;
 import com.blazebit.persistence.view.impl.accessor.InitialValueAttributeAccessor;
@@ -51,8 +49,6 @@ import com.blazebit.persistence.view.impl.entity.MapViewToEntityMapper;
 import com.blazebit.persistence.view.impl.entity.ReferenceEntityLoader;
 import com.blazebit.persistence.view.impl.entity.UpdaterBasedViewToEntityMapper;
 import com.blazebit.persistence.view.impl.entity.ViewToEntityMapper;
-import com.blazebit.persistence.view.impl.macro.MutableEmbeddingViewJpqlMacro;
-import com.blazebit.persistence.view.impl.macro.MutableViewJpqlMacro;
 import com.blazebit.persistence.view.impl.mapper.Mapper;
 import com.blazebit.persistence.view.impl.mapper.Mappers;
 import com.blazebit.persistence.view.impl.mapper.ViewMapper;
@@ -162,17 +158,7 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
                 if (updateMappable) {
                     viewIdMapper = createViewIdMapper(evm, localCache, view);
                     tupleizer = new DefaultEntityTupleizer(evm, viewIdType);
-                    ExpressionFactory ef = evm.getCriteriaBuilderFactory().getService(ExpressionFactory.class);
-                    idViewBuilder = (ObjectBuilder<Object>) evm.getTemplate(
-                            new MacroConfigurationExpressionFactory(ef, ef.getDefaultMacroConfiguration()),
-                            viewIdType,
-                            null,
-                            null,
-                            new MutableViewJpqlMacro(),
-                            null,
-                            new MutableEmbeddingViewJpqlMacro(),
-                            0
-                    ).createObjectBuilder(null, null, null, 0, false, false);
+                    idViewBuilder = ViewIdFactory.createIdViewBuilder(evm, viewIdType);
                     jpaIdInstantiator = new EntityIdLoader(viewIdType.getJpaManagedType().getJavaType());
                 } else {
                     tupleizer = null;
@@ -426,7 +412,7 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
         }
     }
 
-    private static boolean isUpdateMappable(Set<AbstractMethodAttribute<?, ?>> attributes) {
+    static boolean isUpdateMappable(Set<AbstractMethodAttribute<?, ?>> attributes) {
         for (AbstractMethodAttribute<?, ?> attribute : attributes) {
             if (!attribute.isUpdateMappable()) {
                 return false;
@@ -679,7 +665,7 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
 
         Query query = null;
         if (queryString != null) {
-            query = context.getEntityManager().createQuery(queryString);
+            query = context.createUpdateQuery(queryString);
             if (idFlusher != null) {
                 idFlusher.flushQuery(context, WHERE_CLAUSE_PREFIX, null, query, updatableProxy, updatableProxy, updatableProxy.$$_getId(), null, null);
             }
@@ -715,6 +701,7 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
                 if (updated != 1) {
                     throw new OptimisticLockException("The update operation did not return the expected update count!", entity, updatableProxy);
                 }
+                context.releaseUpdateQuery(query);
             }
             context.removeOrphans(orphanRemovalStartIndex);
             return true;
@@ -746,6 +733,11 @@ public class EntityViewUpdaterImpl implements EntityViewUpdater {
         fullFlusher.remove(context, viewId);
     }
 
+    @Override
+    public void removeAll(UpdateContext context, List<?> viewIds) {
+        fullFlusher.removeAll(context, viewIds);
+    }
+
     @SuppressWarnings({"unchecked", "checkstyle:methodlength"})
     private DirtyAttributeFlusher<?, ?, ?> createAttributeFlusher(EntityViewManagerImpl evm, Map<Object, EntityViewUpdaterImpl> localCache, ManagedViewTypeImplementor<?> viewType, String idAttributeName, FlushStrategy flushStrategy, AbstractMethodAttribute<?, ?> attribute, DirtyAttributeFlusher<?, ?, ?> ownerIdFlusher, EntityViewUpdaterImpl owner, String ownerMapping) {
         if (attribute.isCollection()) {
@@ -17,12 +17,14 @@
 package com.blazebit.persistence.view.impl.update;
 
 import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.update.flush.PostFlushDeleter;
 import com.blazebit.persistence.view.spi.TransactionAccess;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import java.util.List;
 
 /**
@@ -156,4 +158,19 @@ public class SimpleUpdateContext implements UpdateContext {
     public boolean hasPossiblyCancellingRemoveListeners(Class<?> elementEntityClass) {
         return false;
     }
+
+    @Override
+    public Query createUpdateQuery(String queryString) {
+        return em.createQuery(queryString);
+    }
+
+    @Override
+    public void releaseUpdateQuery(Query query) {
+    }
+
+    @Override
+    public void invalidateCachesOnCommit(ManagedViewTypeImplementor<?> viewType) {
+        // There is no transaction to wait for
+        evm.invalidateCaches(viewType);
+    }
 }
@@ -17,12 +17,14 @@
 package com.blazebit.persistence.view.impl.update;
 
 import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
 import com.blazebit.persistence.view.impl.update.flush.PostFlushDeleter;
 import com.blazebit.persistence.view.spi.TransactionAccess;
 import com.blazebit.persistence.view.spi.type.EntityViewProxy;
 import com.blazebit.persistence.view.spi.type.MutableStateTrackable;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
 import java.util.List;
 
 /**
@@ -81,4 +83,10 @@ public interface UpdateContext {
     public boolean hasRemoveListeners(Class<?> elementEntityClass);
 
     public boolean hasPossiblyCancellingRemoveListeners(Class<?> elementEntityClass);
+
+    public Query createUpdateQuery(String queryString);
+
+    public void releaseUpdateQuery(Query query);
+
+    public void invalidateCachesOnCommit(ManagedViewTypeImplementor<?> viewType);
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.update;
+
+import com.blazebit.persistence.ObjectBuilder;
+import com.blazebit.persistence.parser.expression.ExpressionFactory;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.MacroConfigurationExpressionFactory;
+import com.blazebit.persistence.view.impl.entity.EntityTupleizer;
+import com.blazebit.persistence.view.impl.macro.MutableEmbeddingViewJpqlMacro;
+import com.blazebit.persistence.view.impl.macro.MutableViewJpqlMacro;
+import com.blazebit.persistence.view.impl.metamodel.ManagedViewTypeImplementor;
+import com.blazebit.persistence.view.metamodel.MethodAttribute;
+import com.blazebit.persistence.view.metamodel.SingularAttribute;
+import com.blazebit.persistence.view.metamodel.ViewType;
+
+import java.util.Set;
+
+/**
+ * Creates view ids from entity ids for a view type without having to build an {@link EntityViewUpdater}.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public final class ViewIdFactory {
+
+    private final ViewType<?> viewType;
+    private final Class<?> viewIdClass;
+    private final boolean subviewId;
+    private final EntityTupleizer tupleizer;
+    private final ObjectBuilder<Object> idViewBuilder;
+
+    private ViewIdFactory(ViewType<?> viewType, Class<?> viewIdClass, boolean subviewId, EntityTupleizer tupleizer, ObjectBuilder<Object> idViewBuilder) {
+        this.viewType = viewType;
+        this.viewIdClass = viewIdClass;
+        this.subviewId = subviewId;
+        this.tupleizer = tupleizer;
+        this.idViewBuilder = idViewBuilder;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ViewIdFactory create(EntityViewManagerImpl evm, ViewType<?> viewType) {
+        MethodAttribute<?, ?> idAttribute = viewType.getIdAttribute();
+        if (idAttribute.isSubview()) {
+            ManagedViewTypeImplementor<?> viewIdType = (ManagedViewTypeImplementor<?>) ((SingularAttribute<?, ?>) idAttribute).getType();
+            if (EntityViewUpdaterImpl.isUpdateMappable((Set) viewIdType.getAttributes())) {
+                return new ViewIdFactory(viewType, idAttribute.getJavaType(), true, new DefaultEntityTupleizer(evm, viewIdType), createIdViewBuilder(evm, viewIdType));
+            }
+            return new ViewIdFactory(viewType, idAttribute.getJavaType(), true, null, null);
+        }
+        return new ViewIdFactory(viewType, idAttribute.getJavaType(), false, null, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    static ObjectBuilder<Object> createIdViewBuilder(EntityViewManagerImpl evm, ManagedViewTypeImplementor<?> viewIdType) {
+        ExpressionFactory ef = evm.getCriteriaBuilderFactory().getService(ExpressionFactory.class);
+        return (ObjectBuilder<Object>) evm.getTemplate(
+                new MacroConfigurationExpressionFactory(ef, ef.getDefaultMacroConfiguration()),
+                viewIdType,
+                null,
+                null,
+                new MutableViewJpqlMacro(),
+                null,
+                new MutableEmbeddingViewJpqlMacro(),
+                0
+        ).createObjectBuilder(null, null, null, 0, false, false);
+    }
+
+    public Object createViewId(Object entityId) {
+        if (entityId == null || !subviewId || viewIdClass.isInstance(entityId)) {
+            return entityId;
+        }
+        if (tupleizer == null) {
+            throw new IllegalArgumentException("Can't convert the entity id " + entityId + " to the view id of the entity view type " + viewType.getJavaType().getName() + " because the id view isn't mapped to plain id attributes");
+        }
+        return idViewBuilder.build(tupleizer.tupleize(entityId));
+    }
+}
@@ -465,6 +465,10 @@ public class BasicAttributeFlusher<E, V> extends BasicDirtyChecker<V> implements
         }
     }
 
+    public boolean hasCascadeDeleter() {
+        return deleter != null;
+    }
+
     @Override
     public boolean requiresDeleteCascadeAfterRemove() {
         // First the owner of the attribute must be deleted, otherwise we might get an FK violation
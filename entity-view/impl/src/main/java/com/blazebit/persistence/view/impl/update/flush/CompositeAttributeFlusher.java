@@ -73,6 +73,8 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
     private static final int FEATURE_IS_ANY_OPTIMISTIC_LOCK_PROTECTED = 4;
     private static final int FEATURE_LOAD_FOR_ENTITY_FLUSH = 8;
     private static final UnmappedAttributeCascadeDeleter[] EMPTY = new UnmappedAttributeCascadeDeleter[0];
+    private static final int BULK_DELETE_CHUNK_SIZE = 128;
+    private static final String BULK_DELETE_PARAMETER_NAME = "_ids";
 
     private final Class<?> entityClass;
     private final boolean persistable;
@@ -97,6 +99,8 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
     private final EntityLoader referenceEntityLoader;
     private final String deleteQuery;
     private final String versionedDeleteQuery;
+    // Only set if removing an object by id doesn't require cascading, so that multiple ids can be deleted by a single statement
+    private final String bulkDeleteQuery;
     private final String lockOwner;
     private final int features;
 
@@ -130,6 +134,7 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         this.referenceEntityLoader = new ReferenceEntityLoader(evm, entityClass, jpaIdAttribute, viewIdMappingAttribute, viewIdMapper, entityIdAccessor, false);
         this.deleteQuery = createDeleteQuery(managedType, jpaIdAttribute);
         this.versionedDeleteQuery = createVersionedDeleteQuery(deleteQuery, versionFlusher);
+        this.bulkDeleteQuery = createBulkDeleteQuery(managedType, jpaIdAttribute, flushStrategy, flushers);
         this.features = determineFeatures(flushStrategy, flushers);
         this.element = null;
     }
@@ -157,6 +162,7 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         this.entityLoader = new FlusherBasedEntityLoader(evm, entityClass, jpaIdAttribute, viewIdMapper, entityIdAccessor, flushers);
         this.referenceEntityLoader = original.referenceEntityLoader;
         this.deleteQuery = original.deleteQuery;
+        this.bulkDeleteQuery = original.bulkDeleteQuery;
         int features = determineFeatures(flushStrategy, flushers);
         this.element = element;
         // When flushing references that have no version set, we do a normal flush, not a versioned one
@@ -245,6 +251,21 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         return null;
     }
 
+    private String createBulkDeleteQuery(ManagedType<?> managedType, SingularAttribute<?, ?> jpaIdAttribute, FlushStrategy flushStrategy, DirtyAttributeFlusher[] flushers) {
+        if (!(managedType instanceof EntityType<?>) || jpaIdAttribute == null || flushStrategy == FlushStrategy.ENTITY || !(idFlusher instanceof BasicAttributeFlusher<?, ?>)
+                || unmappedPreRemoveCascadeDeleters.length != 0 || unmappedPostRemoveCascadeDeleters.length != 0) {
+            return null;
+        }
+        for (int i = 0; i < flushers.length; i++) {
+            DirtyAttributeFlusher<?, ?, ?> flusher = flushers[i];
+            if (flusher != null && (!(flusher instanceof BasicAttributeFlusher<?, ?>) || flusher.requiresDeleteCascadeAfterRemove() || ((BasicAttributeFlusher<?, ?>) flusher).hasCascadeDeleter())) {
+                return null;
+            }
+        }
+
+        return "DELETE FROM " + ((EntityType) managedType).getName() + " e WHERE e." + idFlusher.getMapping() + " IN :" + BULK_DELETE_PARAMETER_NAME;
+    }
+
     private static int determineFeatures(FlushStrategy flushStrategy, DirtyAttributeFlusher[] flushers) {
         boolean hasPassThroughFlusher = false;
         boolean supportsQueryFlush = flushStrategy != FlushStrategy.ENTITY;
@@ -937,6 +958,32 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
         }
     }
 
+    public void removeAll(UpdateContext context, List<?> viewIds) {
+        if (bulkDeleteQuery == null || context.hasRemoveListeners(viewType) || context.hasRemoveListeners(entityClass)) {
+            for (int i = 0; i < viewIds.size(); i++) {
+                remove(context, viewIds.get(i));
+            }
+            return;
+        }
+
+        int size = viewIds.size();
+        for (int start = 0; start < size; start += BULK_DELETE_CHUNK_SIZE) {
+            int end = Math.min(size, start + BULK_DELETE_CHUNK_SIZE);
+            // Pad the chunk with the last id to a power of two, so that only a few distinct SQL statements are produced
+            int paddedSize = Integer.highestOneBit(end - start - 1) << 1;
+            List<Object> chunk = new ArrayList<>(Math.max(1, paddedSize));
+            chunk.addAll(viewIds.subList(start, end));
+            Object lastId = viewIds.get(end - 1);
+            while (chunk.size() < paddedSize) {
+                chunk.add(lastId);
+            }
+            Query query = context.createUpdateQuery(bulkDeleteQuery);
+            query.setParameter(BULK_DELETE_PARAMETER_NAME, chunk);
+            query.executeUpdate();
+            context.releaseUpdateQuery(query);
+        }
+    }
+
     @Override
     public void removeFromEntity(UpdateContext context, Object entity) {
         // A composite flusher needs to be wrapped in a subview or collection flusher
@@ -1071,17 +1118,19 @@ public class CompositeAttributeFlusher extends CompositeAttributeFetchGraphNode<
 
             if (doDelete) {
                 if (version != null && isOptimisticLockProtected() && versionFlusher != null) {
-                    Query query = context.getEntityManager().createQuery(versionedDeleteQuery);
+                    Query query = context.createUpdateQuery(versionedDeleteQuery);
                     idFlusher.flushQuery(context, EntityViewUpdaterImpl.WHERE_CLAUSE_PREFIX, null, query, ownerView, view, viewId, null, null);
                     versionFlusher.flushQueryInitialVersion(context, EntityViewUpdaterImpl.WHERE_CLAUSE_PREFIX, query, view, version);
                     int updated = query.executeUpdate();
                     if (updated != 1) {
                         throw new OptimisticLockException("The remove operation did not return the expected update count!", entity, view);
                     }
+                    context.releaseUpdateQuery(query);
                 } else {
-                    Query query = context.getEntityManager().createQuery(deleteQuery);
+                    Query query = context.createUpdateQuery(deleteQuery);
                     idFlusher.flushQuery(context, EntityViewUpdaterImpl.WHERE_CLAUSE_PREFIX, null, query, ownerView, view, viewId, null, null);
                     query.executeUpdate();
+                    context.releaseUpdateQuery(query);
                 }
             }
 
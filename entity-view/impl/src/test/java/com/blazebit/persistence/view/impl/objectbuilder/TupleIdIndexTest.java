@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class TupleIdIndexTest {
+
+    @Test
+    public void unorderedLongIds() {
+        TupleIdIndex index = new TupleIdIndex(new int[]{ 1 });
+        TupleIndexValue[] values = new TupleIndexValue[1000];
+        for (int i = 0; i < values.length; i++) {
+            Object[] tuple = { "x", (long) i };
+            assertNull(index.get(tuple));
+            values[i] = value(tuple);
+            index.put(tuple, values[i]);
+        }
+        for (int i = values.length - 1; i >= 0; i--) {
+            assertSame(values[i], index.get(new Object[]{ "y", (long) i }));
+        }
+        assertNull(index.get(new Object[]{ "x", -1L }));
+    }
+
+    @Test
+    public void orderedRuns() {
+        TupleIdIndex index = new TupleIdIndex(new int[]{ 0 });
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        TupleIndexValue firstValue = value(new Object[]{ first });
+        index.put(new Object[]{ first }, firstValue);
+        assertSame(firstValue, index.get(new Object[]{ new UUID(first.getMostSignificantBits(), first.getLeastSignificantBits()) }));
+        assertNull(index.get(new Object[]{ second }));
+        TupleIndexValue secondValue = value(new Object[]{ second });
+        index.put(new Object[]{ second }, secondValue);
+        assertSame(secondValue, index.get(new Object[]{ second }));
+        // A group that is not adjacent is still found
+        assertSame(firstValue, index.get(new Object[]{ first }));
+    }
+
+    @Test
+    public void mixedKeyTypes() {
+        TupleIdIndex index = new TupleIdIndex(new int[]{ 0 });
+        TupleIndexValue intValue = value(new Object[]{ 1 });
+        index.put(new Object[]{ 1 }, intValue);
+        assertNull(index.get(new Object[]{ 1L }));
+        TupleIndexValue longValue = value(new Object[]{ 1L });
+        index.put(new Object[]{ 1L }, longValue);
+        assertSame(intValue, index.get(new Object[]{ 1 }));
+        assertSame(longValue, index.get(new Object[]{ 1L }));
+    }
+
+    @Test
+    public void compositeIds() {
+        TupleIdIndex index = new TupleIdIndex(new int[]{ 0, -1, 2 });
+        Object[] tuple = { "a", null, new byte[]{ 1, 2 } };
+        assertFalse(index.isEmpty(new Object[]{ null, null, null }));
+        TupleIndexValue value = value(tuple);
+        index.put(tuple, value);
+        assertSame(value, index.get(new Object[]{ "a", "ignored", new byte[]{ 1, 2 } }));
+        assertNull(index.get(new Object[]{ "a", null, new byte[]{ 1, 3 } }));
+        assertSame(value, index.get(new Object[]{ "a", null, new byte[]{ 1, 2 } }));
+        assertTrue(new TupleIdIndex(new int[]{ 0, 2 }).isEmpty(new Object[]{ null, "ignored", null }));
+    }
+
+    private static TupleIndexValue value(Object[] tuple) {
+        return new TupleIndexValue(new Object(), tuple, 0, 1);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation;
+
+import com.blazebit.persistence.view.impl.BatchCorrelationMode;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class CorrelationBatchStatisticsTest {
+
+    @Test
+    public void growWhileLatencyGrowsSlowerThanBatchSize() {
+        CorrelationBatchStatistics statistics = new CorrelationBatchStatistics();
+        assertEquals(4, statistics.getBatchSizeLimit(4, 100));
+        statistics.recordFullBatches(4, 100, 2, 200);
+        assertEquals(8, statistics.getBatchSizeLimit(4, 100));
+        statistics.recordFullBatches(8, 100, 2, 300);
+        assertEquals(16, statistics.getBatchSizeLimit(4, 100));
+        // Doubling the batch size doubled the latency, so go back to the previous limit and stay there
+        statistics.recordFullBatches(16, 100, 2, 600);
+        assertEquals(8, statistics.getBatchSizeLimit(4, 100));
+        statistics.recordFullBatches(8, 100, 2, 100);
+        assertEquals(8, statistics.getBatchSizeLimit(4, 100));
+    }
+
+    @Test
+    public void neverExceedMaxBatchSize() {
+        CorrelationBatchStatistics statistics = new CorrelationBatchStatistics();
+        assertEquals(10, statistics.getBatchSizeLimit(20, 10));
+        statistics.recordFullBatches(10, 10, 2, 100);
+        assertEquals(10, statistics.getBatchSizeLimit(20, 10));
+    }
+
+    @Test
+    public void ignoreMeasurementsOfOtherBatchSizes() {
+        CorrelationBatchStatistics statistics = new CorrelationBatchStatistics();
+        assertEquals(4, statistics.getBatchSizeLimit(4, 100));
+        statistics.recordFullBatches(2, 100, 2, 100);
+        statistics.recordFullBatches(4, 100, 0, 0);
+        assertEquals(4, statistics.getBatchSizeLimit(4, 100));
+    }
+
+    @Test
+    public void shrinkWhenLatencyDoublesAfterConvergence() {
+        CorrelationBatchStatistics statistics = new CorrelationBatchStatistics();
+        assertEquals(8, statistics.getBatchSizeLimit(8, 8));
+        statistics.recordFullBatches(8, 8, 2, 200);
+        assertEquals(8, statistics.getBatchSizeLimit(8, 8));
+        // The data grew, so start over with a smaller batch size
+        statistics.recordFullBatches(8, 8, 2, 400);
+        assertEquals(4, statistics.getBatchSizeLimit(8, 8));
+        statistics.recordFullBatches(4, 8, 2, 300);
+        assertEquals(8, statistics.getBatchSizeLimit(8, 8));
+        statistics.recordFullBatches(8, 8, 2, 600);
+        assertEquals(4, statistics.getBatchSizeLimit(8, 8));
+    }
+
+    @Test
+    public void probeBiggerBatchSizeAfterConvergence() {
+        CorrelationBatchStatistics statistics = new CorrelationBatchStatistics();
+        assertEquals(4, statistics.getBatchSizeLimit(4, 100));
+        statistics.recordFullBatches(4, 100, 2, 200);
+        statistics.recordFullBatches(8, 100, 2, 400);
+        assertEquals(4, statistics.getBatchSizeLimit(4, 100));
+        for (int i = 1; i < CorrelationBatchStatistics.REPROBE_INTERVAL; i++) {
+            statistics.recordFullBatches(4, 100, 2, 200);
+            assertEquals(4, statistics.getBatchSizeLimit(4, 100));
+        }
+        statistics.recordFullBatches(4, 100, 2, 200);
+        assertEquals(8, statistics.getBatchSizeLimit(4, 100));
+        statistics.recordFullBatches(8, 100, 2, 300);
+        assertEquals(16, statistics.getBatchSizeLimit(4, 100));
+    }
+
+    @Test
+    public void rememberBatchCorrelationMode() {
+        CorrelationBatchStatistics statistics = new CorrelationBatchStatistics();
+        assertNull(statistics.getBatchCorrelationMode());
+        statistics.setBatchCorrelationMode(BatchCorrelationMode.VIEW_ROOTS);
+        assertEquals(BatchCorrelationMode.VIEW_ROOTS, statistics.getBatchCorrelationMode());
+    }
+}
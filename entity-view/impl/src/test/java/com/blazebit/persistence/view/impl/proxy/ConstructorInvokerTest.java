@@ -0,0 +1,219 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.impl.proxy;
+
+import com.blazebit.persistence.spi.PackageOpener;
+import org.junit.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class ConstructorInvokerTest {
+
+    @Test
+    public void generatedSpreadInvoker() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(false, false, false, PackageOpener.NOOP);
+        Constructor<Sample> constructor = Sample.class.getConstructor(String.class, int.class, long[].class);
+        ConstructorInvoker<Sample> invoker = proxyFactory.getConstructorInvoker(constructor, -1, null);
+        assertFalse(invoker instanceof ReflectionConstructorInvoker<?>);
+
+        long[] values = { 1L, 2L };
+        Sample sample = invoker.newInstance(new Object[]{ "a", 1, values });
+        assertEquals("a", sample.name);
+        assertEquals(1, sample.number);
+        assertSame(values, sample.values);
+    }
+
+    @Test
+    public void generatedTupleInvoker() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(false, false, false, PackageOpener.NOOP);
+        Constructor<Sample> constructor = Sample.class.getConstructor(Sample.class, int.class, Object[].class, String.class);
+        ConstructorInvoker<Sample> invoker = proxyFactory.getConstructorInvoker(constructor, 2, new Object[]{ null, 3, null, null });
+        assertFalse(invoker instanceof ReflectionConstructorInvoker<?>);
+
+        Object[] tuple = { "b" };
+        Sample sample = invoker.newInstance(tuple);
+        assertNull(sample.name);
+        assertEquals(3, sample.number);
+        assertSame(tuple, sample.tuple);
+    }
+
+    @Test
+    public void reflectionInvokerWhenRuntimeGenerationDisabled() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(false, false, true, PackageOpener.NOOP);
+        Constructor<Sample> constructor = Sample.class.getConstructor(Sample.class, int.class, Object[].class, String.class);
+        ConstructorInvoker<Sample> invoker = proxyFactory.getConstructorInvoker(constructor, 2, new Object[]{ null, 3, null, "c" });
+        assertTrue(invoker instanceof ReflectionConstructorInvoker<?>);
+
+        Object[] tuple = { "b" };
+        Sample sample = invoker.newInstance(tuple);
+        assertEquals("c", sample.name);
+        assertEquals(3, sample.number);
+        assertSame(tuple, sample.tuple);
+    }
+
+    @Test
+    public void generatedInvokerWidensNumbers() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(false, false, false, PackageOpener.NOOP);
+        Constructor<Sample> constructor = Sample.class.getConstructor(long.class, double.class);
+        ConstructorInvoker<Sample> invoker = proxyFactory.getConstructorInvoker(constructor, -1, null);
+        assertFalse(invoker instanceof ReflectionConstructorInvoker<?>);
+
+        Sample sample = invoker.newInstance(new Object[]{ 1, 2 });
+        assertEquals(1L, sample.longNumber);
+        assertEquals(2D, sample.doubleNumber, 0D);
+
+        sample = invoker.newInstance(new Object[]{ 'a', 3F });
+        assertEquals('a', sample.longNumber);
+        assertEquals(3D, sample.doubleNumber, 0D);
+    }
+
+    @Test
+    public void generatedInvokerRejectsNarrowing() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(false, false, false, PackageOpener.NOOP);
+        Constructor<Sample> numberConstructor = Sample.class.getConstructor(long.class, double.class);
+        Constructor<Sample> spreadConstructor = Sample.class.getConstructor(String.class, int.class, long[].class);
+        ConstructorInvoker<Sample> numberInvoker = proxyFactory.getConstructorInvoker(numberConstructor, -1, null);
+        ConstructorInvoker<Sample> spreadInvoker = proxyFactory.getConstructorInvoker(spreadConstructor, -1, null);
+
+        // Like with reflection, values that would need a narrowing conversion are rejected instead of being truncated
+        assertArgumentTypeMismatch(numberConstructor, numberInvoker, new Object[]{ 1.5D, 2D });
+        assertArgumentTypeMismatch(numberConstructor, numberInvoker, new Object[]{ 1F, 2D });
+        assertArgumentTypeMismatch(numberConstructor, numberInvoker, new Object[]{ BigDecimal.ONE, 2D });
+        assertArgumentTypeMismatch(numberConstructor, numberInvoker, new Object[]{ 1L, BigInteger.ONE });
+        assertArgumentTypeMismatch(spreadConstructor, spreadInvoker, new Object[]{ "a", 1L, null });
+        assertArgumentTypeMismatch(spreadConstructor, spreadInvoker, new Object[]{ "a", 1D, null });
+    }
+
+    @Test
+    public void generatedInvokerWrapsConstructorExceptions() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(false, false, false, PackageOpener.NOOP);
+        Constructor<Sample> constructor = Sample.class.getConstructor(String.class, int.class, long[].class);
+        ConstructorInvoker<Sample> invoker = proxyFactory.getConstructorInvoker(constructor, -1, null);
+        assertFalse(invoker instanceof ReflectionConstructorInvoker<?>);
+
+        try {
+            invoker.newInstance(new Object[]{ null, 1, null });
+            fail("Expected InvocationTargetException");
+        } catch (InvocationTargetException ex) {
+            assertTrue(ex.getCause() instanceof NullPointerException);
+        }
+    }
+
+    @Test
+    public void generatedInvokerRejectsArgumentTypeMismatch() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(false, false, false, PackageOpener.NOOP);
+        Constructor<Sample> constructor = Sample.class.getConstructor(String.class, int.class, long[].class);
+        ConstructorInvoker<Sample> invoker = proxyFactory.getConstructorInvoker(constructor, -1, null);
+
+        try {
+            invoker.newInstance(new Object[]{ "a", "1", null });
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+        try {
+            invoker.newInstance(new Object[]{ "a", null, null });
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void generatedInvokersForDistinctConstructors() throws Exception {
+        ProxyFactory proxyFactory = new ProxyFactory(false, false, false, PackageOpener.NOOP);
+        ConstructorInvoker<Sample> spreadInvoker = proxyFactory.getConstructorInvoker(Sample.class.getConstructor(String.class, int.class, long[].class), -1, null);
+        ConstructorInvoker<Sample> numberInvoker = proxyFactory.getConstructorInvoker(Sample.class.getConstructor(long.class, double.class), -1, null);
+        assertFalse(spreadInvoker.getClass() == numberInvoker.getClass());
+
+        // A second proxy factory reuses the invoker class that is already defined for the same constructor
+        ProxyFactory otherProxyFactory = new ProxyFactory(false, false, false, PackageOpener.NOOP);
+        ConstructorInvoker<Sample> otherNumberInvoker = otherProxyFactory.getConstructorInvoker(Sample.class.getConstructor(long.class, double.class), -1, null);
+        assertSame(numberInvoker.getClass(), otherNumberInvoker.getClass());
+        assertEquals(3L, otherNumberInvoker.newInstance(new Object[]{ 3L, 4D }).longNumber);
+    }
+
+    private static void assertArgumentTypeMismatch(Constructor<Sample> constructor, ConstructorInvoker<Sample> invoker, Object[] arguments) throws Exception {
+        try {
+            constructor.newInstance(arguments);
+            fail("Expected IllegalArgumentException from reflection");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+        try {
+            invoker.newInstance(arguments);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // Expected
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    public static class Sample {
+        private final String name;
+        private final int number;
+        private final long[] values;
+        private final Object[] tuple;
+        private final long longNumber;
+        private final double doubleNumber;
+
+        public Sample(String name, int number, long[] values) {
+            this.name = name.trim();
+            this.number = number;
+            this.values = values;
+            this.tuple = null;
+            this.longNumber = 0L;
+            this.doubleNumber = 0D;
+        }
+
+        public Sample(long longNumber, double doubleNumber) {
+            this.name = null;
+            this.number = 0;
+            this.values = null;
+            this.tuple = null;
+            this.longNumber = longNumber;
+            this.doubleNumber = doubleNumber;
+        }
+
+        public Sample(Sample noop, int offset, Object[] tuple, String name) {
+            this.name = name;
+            this.number = offset;
+            this.values = null;
+            this.tuple = tuple;
+            this.longNumber = 0L;
+            this.doubleNumber = 0D;
+        }
+    }
+}
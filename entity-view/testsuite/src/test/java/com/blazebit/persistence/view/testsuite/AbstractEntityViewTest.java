@@ -72,7 +72,8 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
         PackageOpener packageOpener = cbf.getService(PackageOpener.class);
         boolean unsafeDisabled = !Boolean.valueOf(String.valueOf(cfg.getProperty(ConfigurationProperties.PROXY_UNSAFE_ALLOWED)));
         boolean strictCascadingCheck = Boolean.valueOf(String.valueOf(cfg.getProperty(ConfigurationProperties.UPDATER_STRICT_CASCADING_CHECK)));
-        ProxyFactoryCacheKey proxyFactoryCacheKey = new ProxyFactoryCacheKey(unsafeDisabled, strictCascadingCheck, packageOpener);
+        boolean runtimeGenerationDisabled = Boolean.valueOf(String.valueOf(cfg.getProperty(ConfigurationProperties.PROXY_RUNTIME_GENERATION_DISABLED)));
+        ProxyFactoryCacheKey proxyFactoryCacheKey = new ProxyFactoryCacheKey(unsafeDisabled, strictCascadingCheck, runtimeGenerationDisabled, packageOpener);
         ProxyFactory proxyFactory;
         if ((proxyFactory = proxyFactoryCache.get(proxyFactoryCacheKey)) == null) {
             proxyFactoryCache.put(proxyFactoryCacheKey, ((EntityViewManagerImpl) evm).getProxyFactory());
@@ -112,11 +113,13 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
     private static class ProxyFactoryCacheKey {
         private final boolean unsafeDisabled;
         private final boolean strictCascadingCheck;
+        private final boolean runtimeGenerationDisabled;
         private final PackageOpener packageOpener;
 
-        private ProxyFactoryCacheKey(boolean unsafeDisabled, boolean strictCascadingCheck, PackageOpener packageOpener) {
+        private ProxyFactoryCacheKey(boolean unsafeDisabled, boolean strictCascadingCheck, boolean runtimeGenerationDisabled, PackageOpener packageOpener) {
             this.unsafeDisabled = unsafeDisabled;
             this.strictCascadingCheck = strictCascadingCheck;
+            this.runtimeGenerationDisabled = runtimeGenerationDisabled;
             this.packageOpener = packageOpener;
         }
 
@@ -127,12 +130,13 @@ public class AbstractEntityViewTest extends AbstractCoreTest {
             ProxyFactoryCacheKey that = (ProxyFactoryCacheKey) o;
             return unsafeDisabled == that.unsafeDisabled &&
                     strictCascadingCheck == that.strictCascadingCheck &&
+                    runtimeGenerationDisabled == that.runtimeGenerationDisabled &&
                     packageOpener.equals(that.packageOpener);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(unsafeDisabled, strictCascadingCheck, packageOpener);
+            return Objects.hash(unsafeDisabled, strictCascadingCheck, runtimeGenerationDisabled, packageOpener);
         }
     }
 
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.blazebit.persistence.view.testsuite.basic;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
+import com.blazebit.persistence.spi.InstrumentationCounter;
+import com.blazebit.persistence.spi.InstrumentationListener;
+import com.blazebit.persistence.spi.InstrumentationTimer;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate51;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonView;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class InstrumentationTest extends AbstractEntityViewTest {
+
+    private static final List<Object[]> TIMERS = new ArrayList<>();
+    private static final InstrumentationListener LISTENER = new InstrumentationListener() {
+        @Override
+        public void onTimer(InstrumentationTimer timer, Class<?> entityClass, Class<?> entityViewClass, long durationNanos) {
+            if (timer == InstrumentationTimer.OBJECT_BUILDING) {
+                TIMERS.add(new Object[]{ entityClass, entityViewClass });
+            }
+        }
+
+        @Override
+        public void onCounter(InstrumentationCounter counter, String cacheName, Class<?> entityClass, Class<?> entityViewClass) {
+        }
+    };
+
+    private EntityViewManager evm;
+
+    @Override
+    protected void configure(CriteriaBuilderConfiguration config) {
+        super.configure(config);
+        config.registerInstrumentationListener(LISTENER);
+    }
+
+    @Before
+    public void initEvm() {
+        evm = build(PersonView.class);
+        TIMERS.clear();
+    }
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.persist(new Person("pers1"));
+                em.persist(new Person("pers2"));
+            }
+        });
+    }
+
+    @Test
+    public void testObjectBuildingIsTaggedWithEntityView() {
+        CriteriaBuilder<Person> cb = cbf.create(em, Person.class, "p").orderByAsc("p.id");
+        List<PersonView> list = evm.applySetting(EntityViewSetting.create(PersonView.class), cb).getResultList();
+
+        assertEquals(2, list.size());
+        // One event per built object and one for the result list
+        assertEquals(3, TIMERS.size());
+        for (Object[] timer : TIMERS) {
+            assertEquals(Person.class, timer[0]);
+            assertEquals(PersonView.class, timer[1]);
+        }
+    }
+
+    @Test
+    // Streaming requires JPA 2.2
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoHibernate42.class, NoHibernate43.class, NoHibernate50.class, NoHibernate51.class })
+    public void testObjectBuildingIsReportedWhenStreaming() {
+        CriteriaBuilder<Person> cb = cbf.create(em, Person.class, "p").orderByAsc("p.id");
+        List<PersonView> list;
+        try (Stream<PersonView> stream = evm.applySetting(EntityViewSetting.create(PersonView.class), cb).getResultStream()) {
+            list = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(2, list.size());
+        assertEquals(2, TIMERS.size());
+        for (Object[] timer : TIMERS) {
+            assertEquals(Person.class, timer[0]);
+            assertEquals(PersonView.class, timer[1]);
+        }
+    }
+}
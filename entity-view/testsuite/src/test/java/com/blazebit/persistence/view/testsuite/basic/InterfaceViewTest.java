@@ -17,7 +17,11 @@
 package com.blazebit.persistence.view.testsuite.basic;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.List;
 
 import javax.persistence.EntityManager;
@@ -28,9 +32,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.EntityViewSetting;
 import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.MultiFlushEntityViewManager;
 import com.blazebit.persistence.view.spi.EntityViewConfiguration;
 import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
 import com.blazebit.persistence.view.testsuite.basic.model.DocumentViewAbstractClass;
@@ -124,4 +130,30 @@ public class InterfaceViewTest extends AbstractEntityViewTest {
         assertEquals(Integer.valueOf(2), results.get(1).getContactPersonNumber2());
         assertEquals(Long.valueOf(1), results.get(1).getContactCount());
     }
+
+    @Test
+    public void testFindAll() {
+        EntityViewSetting<DocumentViewInterface, CriteriaBuilder<DocumentViewInterface>> setting = EntityViewSetting.create(DocumentViewInterface.class);
+        setting.addOptionalParameter("contactPersonNumber", 2);
+        List<DocumentViewInterface> results = ((MultiFlushEntityViewManager) evm).findAll(em, setting, Arrays.asList(doc2.getId(), -1L, doc1.getId(), doc2.getId()));
+
+        assertEquals(4, results.size());
+        assertEquals(doc2.getId(), results.get(0).getId());
+        assertNull(results.get(1));
+        assertEquals(doc1.getId(), results.get(2).getId());
+        assertEquals(doc1.getName(), results.get(2).getName());
+        assertEquals(doc2.getId(), results.get(3).getId());
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testFindAllRejectsPaginatedSetting() {
+        EntityViewSetting<DocumentViewInterface, PaginatedCriteriaBuilder<DocumentViewInterface>> setting = EntityViewSetting.create(DocumentViewInterface.class, 0, 1);
+        try {
+            ((MultiFlushEntityViewManager) evm).findAll(em, (EntityViewSetting) setting, Arrays.asList(doc1.getId(), doc2.getId()));
+            fail("Expected findAll to fail!");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("Paginated entity view settings are not supported"));
+        }
+    }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.basic;
+
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.spi.type.TypeConverter;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.basic.model.DocumentValidationView;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonValidationView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class MetamodelSnapshotTest extends AbstractEntityViewTest {
+
+    private static final FileTime EPOCH = FileTime.fromMillis(0L);
+
+    private Path directory;
+    private Path snapshotFile;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("metamodel-snapshot");
+        snapshotFile = directory.resolve("entity-views.snapshot");
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(directory);
+    }
+
+    private void boot(String extraProperty) {
+        boot(extraProperty, null);
+    }
+
+    private void boot(String extraProperty, TypeConverter<String, StringBuilder> typeConverter) {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        if (typeConverter != null) {
+            cfg.registerTypeConverter(String.class, StringBuilder.class, typeConverter);
+        }
+        cfg.setProperty(ConfigurationProperties.METAMODEL_SNAPSHOT_FILE, snapshotFile.toString());
+        if (extraProperty != null) {
+            cfg.setProperty(extraProperty, "true");
+        }
+        cfg.addEntityView(DocumentValidationView.class);
+        cfg.addEntityView(PersonValidationView.class);
+        cfg.createEntityViewManager(cbf);
+    }
+
+    @Test
+    public void testSnapshotIsWrittenAndReused() throws IOException {
+        boot(null);
+        assertTrue(Files.isRegularFile(snapshotFile));
+
+        Files.setLastModifiedTime(snapshotFile, EPOCH);
+        boot(null);
+        assertEquals(EPOCH, Files.getLastModifiedTime(snapshotFile));
+    }
+
+    @Test
+    public void testStaleSnapshotIsRewritten() throws IOException {
+        boot(null);
+        Files.setLastModifiedTime(snapshotFile, EPOCH);
+        boot("com.blazebit.persistence.view.testsuite.snapshot_marker");
+        assertNotEquals(EPOCH, Files.getLastModifiedTime(snapshotFile));
+    }
+
+    @Test
+    public void testChangedViewClassRewritesSnapshot() throws Exception {
+        Path classFile = Paths.get(PersonValidationView.class.getResource(PersonValidationView.class.getSimpleName() + ".class").toURI());
+        FileTime classLastModified = Files.getLastModifiedTime(classFile);
+        boot(null);
+        Files.setLastModifiedTime(snapshotFile, EPOCH);
+        try {
+            Files.setLastModifiedTime(classFile, FileTime.fromMillis(classLastModified.toMillis() + 1000L));
+            boot(null);
+        } finally {
+            Files.setLastModifiedTime(classFile, classLastModified);
+        }
+        assertNotEquals(EPOCH, Files.getLastModifiedTime(snapshotFile));
+    }
+
+    @Test
+    public void testChangedTypeConverterRewritesSnapshot() throws IOException {
+        boot(null, new StringBuilderTypeConverter());
+        Files.setLastModifiedTime(snapshotFile, EPOCH);
+        boot(null, new StringBuilderTypeConverter());
+        assertEquals(EPOCH, Files.getLastModifiedTime(snapshotFile));
+
+        boot(null, new OtherStringBuilderTypeConverter());
+        assertNotEquals(EPOCH, Files.getLastModifiedTime(snapshotFile));
+    }
+
+    @Test
+    public void testChangedTypeConverterClassRewritesSnapshot() throws Exception {
+        Path classFile = Paths.get(StringBuilderTypeConverter.class.getResource(StringBuilderTypeConverter.class.getName().substring(StringBuilderTypeConverter.class.getName().lastIndexOf('.') + 1) + ".class").toURI());
+        FileTime classLastModified = Files.getLastModifiedTime(classFile);
+        boot(null, new StringBuilderTypeConverter());
+        Files.setLastModifiedTime(snapshotFile, EPOCH);
+        try {
+            Files.setLastModifiedTime(classFile, FileTime.fromMillis(classLastModified.toMillis() + 1000L));
+            boot(null, new StringBuilderTypeConverter());
+        } finally {
+            Files.setLastModifiedTime(classFile, classLastModified);
+        }
+        assertNotEquals(EPOCH, Files.getLastModifiedTime(snapshotFile));
+    }
+
+    @Test
+    public void testCorruptSnapshotIsRewritten() throws IOException {
+        Files.write(snapshotFile, new byte[]{ 1, 2, 3 });
+        Files.setLastModifiedTime(snapshotFile, EPOCH);
+        boot(null);
+        assertNotEquals(EPOCH, Files.getLastModifiedTime(snapshotFile));
+    }
+
+    public static class StringBuilderTypeConverter implements TypeConverter<String, StringBuilder> {
+
+        @Override
+        public Class<?> getUnderlyingType(Class<?> owningClass, Type declaredType) {
+            return String.class;
+        }
+
+        @Override
+        public StringBuilder convertToViewType(String object) {
+            return object == null ? null : new StringBuilder(object);
+        }
+
+        @Override
+        public String convertToUnderlyingType(StringBuilder object) {
+            return object == null ? null : object.toString();
+        }
+    }
+
+    public static class OtherStringBuilderTypeConverter extends StringBuilderTypeConverter {
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.basic;
+
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.basic.model.DocumentValidationView;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonDuplicateCollectionUsageValidationView;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonInvalidMappingValidationView;
+import com.blazebit.persistence.view.testsuite.basic.model.PersonValidationView;
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class ParallelValidationTest extends AbstractEntityViewTest {
+
+    private EntityViewManager boot(String parallelism, Class<?>... classes) {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.setProperty(ConfigurationProperties.METAMODEL_VALIDATION_PARALLELISM, parallelism);
+        for (Class<?> clazz : classes) {
+            cfg.addEntityView(clazz);
+        }
+        return cfg.createEntityViewManager(cbf);
+    }
+
+    private String bootFailure(String parallelism, Class<?>... classes) {
+        try {
+            boot(parallelism, classes);
+            Assert.fail("Expected validation exception!");
+            return null;
+        } catch (IllegalArgumentException ex) {
+            // Strip stack trace elements contained in the error messages as they differ by call site
+            StringBuilder sb = new StringBuilder();
+            for (String line : ex.getMessage().split("\\R")) {
+                if (!line.trim().startsWith("at ")) {
+                    sb.append(line).append('\n');
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    @Test
+    public void testParallelValidation() {
+        EntityViewManager evm = boot("4", DocumentValidationView.class, PersonValidationView.class);
+        assertNotNull(evm.getMetamodel().view(DocumentValidationView.class));
+        assertNotNull(evm.getMetamodel().view(PersonValidationView.class));
+    }
+
+    @Test
+    public void testParallelValidationReportsSameErrors() {
+        Class<?>[] classes = {
+                DocumentValidationView.class,
+                PersonValidationView.class,
+                PersonInvalidMappingValidationView.class,
+                PersonDuplicateCollectionUsageValidationView.class
+        };
+        String sequentialMessage = bootFailure("1", classes);
+        assertEquals(sequentialMessage, bootFailure("4", classes));
+        assertEquals(sequentialMessage, bootFailure("0", classes));
+    }
+
+    @Test
+    public void testInvalidParallelism() {
+        String message = bootFailure("-1", PersonValidationView.class);
+        Assert.assertTrue(message.contains(ConfigurationProperties.METAMODEL_VALIDATION_PARALLELISM));
+    }
+}
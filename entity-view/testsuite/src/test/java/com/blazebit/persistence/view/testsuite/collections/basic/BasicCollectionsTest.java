@@ -21,11 +21,17 @@ import static org.junit.Assert.assertEquals;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
 
 import com.blazebit.persistence.testsuite.base.jpa.category.NoDatanucleus;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoEclipselink;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
+import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate51;
 import com.blazebit.persistence.testsuite.tx.TxVoidWork;
 import org.junit.Before;
 import org.junit.Test;
@@ -164,4 +170,32 @@ public class BasicCollectionsTest<T extends BasicDocumentCollectionsView> extend
         assertEquals(doc2.getPartners(), results.get(1).getPartners());
         assertEquals(doc2.getPersonList(), results.get(1).getPersonList());
     }
+
+    @Test
+    // Streaming requires JPA 2.2
+    @Category({ NoEclipselink.class, NoDatanucleus.class, NoHibernate42.class, NoHibernate43.class, NoHibernate50.class, NoHibernate51.class })
+    public void testStreamCollections() {
+        EntityViewManager evm = build(viewType);
+
+        CriteriaBuilder<DocumentForCollections> criteria = cbf.create(em, DocumentForCollections.class, "d")
+            .orderByAsc("id");
+        CriteriaBuilder<T> cb = evm.applySetting(EntityViewSetting.create(viewType), criteria);
+        List<T> results;
+        try (Stream<T> stream = cb.getResultStream()) {
+            results = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(2, results.size());
+        // Doc1
+        assertEquals(doc1.getName(), results.get(0).getName());
+        assertEquals(doc1.getContacts(), results.get(0).getContacts());
+        assertEquals(doc1.getPartners(), results.get(0).getPartners());
+        assertEquals(doc1.getPersonList(), results.get(0).getPersonList());
+
+        // Doc2
+        assertEquals(doc2.getName(), results.get(1).getName());
+        assertEquals(doc2.getContacts(), results.get(1).getContacts());
+        assertEquals(doc2.getPartners(), results.get(1).getPartners());
+        assertEquals(doc2.getPersonList(), results.get(1).getPersonList());
+    }
 }
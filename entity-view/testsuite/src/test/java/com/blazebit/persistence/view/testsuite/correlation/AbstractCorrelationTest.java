@@ -33,7 +33,10 @@ import org.junit.Before;
 
 import javax.persistence.EntityManager;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.assertEquals;
 
@@ -90,18 +93,40 @@ public abstract class AbstractCorrelationTest extends AbstractEntityViewTest {
     }
 
     protected <T extends DocumentCorrelationView> void testCorrelation(Class<T> entityView, Integer batchSize) {
-        EntityViewManager evm = build(
+        testCorrelation(entityView, batchSize, Collections.<String, Object>emptyMap());
+    }
+
+    protected <T extends DocumentCorrelationView> void testCorrelation(Class<T> entityView, Integer batchSize, Executor correlationExecutor) {
+        testCorrelation(entityView, batchSize, correlationExecutor == null ? Collections.<String, Object>emptyMap() : Collections.<String, Object>singletonMap(ConfigurationProperties.CORRELATION_EXECUTOR, correlationExecutor));
+    }
+
+    protected <T extends DocumentCorrelationView> void testCorrelation(Class<T> entityView, Integer batchSize, Map<String, Object> properties) {
+        testCorrelation(buildCorrelationViews(entityView), entityView, batchSize, properties);
+    }
+
+    protected EntityViewManager buildCorrelationViews(Class<? extends DocumentCorrelationView> entityView) {
+        return build(
                 entityView,
                 SimpleDocumentCorrelatedView.class,
                 SimplePersonCorrelatedSubView.class,
                 SimpleVersionCorrelatedView.class
         );
+    }
 
+    protected <T extends DocumentCorrelationView> void testCorrelation(EntityViewManager evm, Class<T> entityView, Integer batchSize, Map<String, Object> properties) {
+        testCorrelation(evm, entityView, batchSize, properties, Collections.<String, Object>emptyMap());
+    }
+
+    protected <T extends DocumentCorrelationView> void testCorrelation(EntityViewManager evm, Class<T> entityView, Integer batchSize, Map<String, Object> properties, Map<String, Object> optionalParameters) {
         CriteriaBuilder<Document> criteria = cbf.create(em, Document.class, "d").orderByAsc("id");
         EntityViewSetting<T, CriteriaBuilder<T>> setting = EntityViewSetting.create(entityView);
         if (batchSize != null) {
             setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE + ".ownerRelatedDocumentIds", batchSize);
         }
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            setting.setProperty(entry.getKey(), entry.getValue());
+        }
+        setting.addOptionalParameters(optionalParameters);
         CriteriaBuilder<T> cb = evm.applySetting(setting, criteria);
         List<T> results = cb.getResultList();
 
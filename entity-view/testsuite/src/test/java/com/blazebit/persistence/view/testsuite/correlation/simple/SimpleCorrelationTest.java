@@ -23,7 +23,22 @@ import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate42;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate43;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoHibernate50;
 import com.blazebit.persistence.testsuite.base.jpa.category.NoOpenJPA;
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.entity.Document;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityView;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.IdMapping;
+import com.blazebit.persistence.view.UpdatableEntityView;
+import com.blazebit.persistence.view.impl.EntityViewManagerImpl;
+import com.blazebit.persistence.view.impl.objectbuilder.transformer.correlation.CorrelationCache;
 import com.blazebit.persistence.view.testsuite.correlation.AbstractCorrelationTest;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimpleDocumentCorrelatedView;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimplePersonCorrelatedSubView;
+import com.blazebit.persistence.view.testsuite.correlation.model.SimpleVersionCorrelatedView;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewJoinId;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewJoinNormal;
 import com.blazebit.persistence.view.testsuite.correlation.simple.model.DocumentSimpleCorrelationViewSubqueryId;
@@ -33,6 +48,19 @@ import com.blazebit.persistence.view.testsuite.correlation.simple.model.Document
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 /**
  *
  * @author Christian Beikov
@@ -96,6 +124,203 @@ public class SimpleCorrelationTest extends AbstractCorrelationTest {
         testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, 20);
     }
 
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationNormalSize2Concurrent() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        final AtomicInteger executions = new AtomicInteger();
+        try {
+            testCorrelation(DocumentSimpleCorrelationViewSubqueryNormal.class, 2, new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    executions.incrementAndGet();
+                    executorService.execute(command);
+                }
+            });
+        } finally {
+            executorService.shutdown();
+        }
+        assertTrue(executions.get() > 0);
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationNormalSize2ConcurrentKeepsEntitiesManaged() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            EntityViewManager evm = buildCorrelationViews(DocumentSimpleCorrelationViewSubqueryNormal.class);
+            EntityViewSetting<DocumentSimpleCorrelationViewSubqueryNormal, CriteriaBuilder<DocumentSimpleCorrelationViewSubqueryNormal>> setting = EntityViewSetting.create(DocumentSimpleCorrelationViewSubqueryNormal.class);
+            setting.setProperty(ConfigurationProperties.DEFAULT_BATCH_SIZE, 2);
+            setting.setProperty(ConfigurationProperties.CORRELATION_EXECUTOR, executorService);
+            List<DocumentSimpleCorrelationViewSubqueryNormal> results = evm.applySetting(setting, cbf.create(em, Document.class, "d").orderByAsc("id")).getResultList();
+
+            assertEquals(4, results.size());
+            for (DocumentSimpleCorrelationViewSubqueryNormal result : results) {
+                // Entities must be loaded by the caller's entity manager, otherwise they would be detached
+                assertTrue(em.contains(result.getCorrelatedOwner()));
+                for (Document document : result.getOwnerOnlyRelatedDocuments()) {
+                    assertTrue(em.contains(document));
+                }
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    // NOTE: Datenucleus issue: https://github.com/datanucleus/datanucleus-api-jpa/issues/77
+    @Category({ NoDatanucleus.class })
+    public void testSubqueryCorrelationIdConcurrent() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        final AtomicInteger executions = new AtomicInteger();
+        try {
+            testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, null, new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    executions.incrementAndGet();
+                    executorService.execute(command);
+                }
+            });
+        } finally {
+            executorService.shutdown();
+        }
+        assertTrue(executions.get() > 0);
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationNormalSize2Adaptive() {
+        EntityViewManager evm = buildCorrelationViews(DocumentSimpleCorrelationViewSubqueryNormal.class);
+        Map<String, Object> properties = Collections.<String, Object>singletonMap(ConfigurationProperties.ADAPTIVE_BATCH_SIZE, true);
+        testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryNormal.class, 2, properties);
+        // The second run uses the batch correlation mode and batch size remembered from the first run
+        testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryNormal.class, 2, properties);
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationIdSize20Adaptive() {
+        testCorrelation(DocumentSimpleCorrelationViewSubqueryId.class, 20, Collections.<String, Object>singletonMap(ConfigurationProperties.ADAPTIVE_BATCH_SIZE, "true"));
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationNormalSize2Cached() {
+        EntityViewManager evm = buildCorrelationViews(DocumentSimpleCorrelationViewSubqueryNormal.class);
+        Map<String, Object> properties = Collections.<String, Object>singletonMap(ConfigurationProperties.CORRELATION_CACHING, true);
+        CorrelationCache correlationCache = ((EntityViewManagerImpl) evm).getCorrelationCache();
+
+        testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryNormal.class, 2, properties);
+        int cachedResults = correlationCache.size();
+        assertTrue(cachedResults > 0);
+
+        // The second run is served from the cache
+        testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryNormal.class, 2, properties);
+        assertEquals(cachedResults, correlationCache.size());
+
+        // Both the person and the document views contain persons, but the version views don't
+        correlationCache.invalidate(evm.getMetamodel().managedView(SimplePersonCorrelatedSubView.class));
+        assertEquals(4, correlationCache.size());
+        correlationCache.invalidate(evm.getMetamodel().managedView(SimpleVersionCorrelatedView.class));
+        assertEquals(0, correlationCache.size());
+        testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryNormal.class, 2, properties);
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationNormalSize2CachedIgnoresUnreferencedParameters() {
+        EntityViewManager evm = buildCorrelationViews(DocumentSimpleCorrelationViewSubqueryNormal.class);
+        Map<String, Object> properties = Collections.<String, Object>singletonMap(ConfigurationProperties.CORRELATION_CACHING, true);
+        CorrelationCache correlationCache = ((EntityViewManagerImpl) evm).getCorrelationCache();
+
+        testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryNormal.class, 2, properties, Collections.<String, Object>singletonMap("unrelated", new StringBuilder("a")));
+        int cachedResults = correlationCache.size();
+        assertTrue(cachedResults > 0);
+
+        // The correlations don't reference the mutable parameter, so a different instance doesn't prevent cache hits
+        testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryNormal.class, 2, properties, Collections.<String, Object>singletonMap("unrelated", new StringBuilder("b")));
+        assertEquals(cachedResults, correlationCache.size());
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationNormalSize2CacheInvalidatedOnCommit() {
+        final EntityViewManager evm = build(
+                DocumentSimpleCorrelationViewSubqueryNormal.class,
+                SimpleDocumentCorrelatedView.class,
+                SimplePersonCorrelatedSubView.class,
+                SimpleVersionCorrelatedView.class,
+                UpdatablePersonNameView.class
+        );
+        Map<String, Object> properties = Collections.<String, Object>singletonMap(ConfigurationProperties.CORRELATION_CACHING, true);
+        final CorrelationCache correlationCache = ((EntityViewManagerImpl) evm).getCorrelationCache();
+        testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryNormal.class, 2, properties);
+        final int cachedResults = correlationCache.size();
+        final Long ownerId = doc1.getOwner().getId();
+
+        // A rolled back save doesn't evict anything
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                UpdatablePersonNameView person = evm.find(em, UpdatablePersonNameView.class, ownerId);
+                evm.saveFull(em, person);
+                em.flush();
+                assertEquals(cachedResults, correlationCache.size());
+                em.getTransaction().setRollbackOnly();
+            }
+        });
+        assertEquals(cachedResults, correlationCache.size());
+
+        // A committed save evicts the results that contain persons, but only after the commit
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                UpdatablePersonNameView person = evm.find(em, UpdatablePersonNameView.class, ownerId);
+                evm.saveFull(em, person);
+                em.flush();
+                assertEquals(cachedResults, correlationCache.size());
+            }
+        });
+        assertEquals(4, correlationCache.size());
+    }
+
+    @UpdatableEntityView
+    @EntityView(Person.class)
+    public interface UpdatablePersonNameView {
+
+        @IdMapping
+        public Long getId();
+
+        public String getName();
+
+        public void setName(String name);
+    }
+
+    @Test
+    // NOTE: Requires values clause which currently is only available for Hibernate
+    @Category({ NoDatanucleus4.class, NoDatanucleus.class, NoOpenJPA.class, NoEclipselink.class})
+    public void testSubqueryBatchedCorrelationIdSize2CachedConcurrent() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            EntityViewManager evm = buildCorrelationViews(DocumentSimpleCorrelationViewSubqueryId.class);
+            Map<String, Object> properties = new HashMap<>();
+            properties.put(ConfigurationProperties.CORRELATION_CACHING, "true");
+            properties.put(ConfigurationProperties.CORRELATION_EXECUTOR, executorService);
+            testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryId.class, 2, properties);
+            assertTrue(((EntityViewManagerImpl) evm).getCorrelationCache().size() > 0);
+            testCorrelation(evm, DocumentSimpleCorrelationViewSubqueryId.class, 2, properties);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
     // TODO: test batch correlation expectation configuration
     // TODO: make explicit test for correlation key batching with view root usage maybe via nested subviews through collections?
 
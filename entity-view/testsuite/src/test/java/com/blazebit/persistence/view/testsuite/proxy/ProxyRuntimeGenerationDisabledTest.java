@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.proxy;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.testsuite.tx.TxVoidWork;
+import com.blazebit.persistence.view.ConfigurationProperties;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import com.blazebit.persistence.view.testsuite.AbstractEntityViewTest;
+import com.blazebit.persistence.view.testsuite.proxy.model.DocumentInterfaceView;
+import com.blazebit.persistence.view.testsuite.proxy.model.StaticPersonView;
+import com.blazebit.persistence.view.testsuite.proxy.model.StaticPersonViewImpl;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class ProxyRuntimeGenerationDisabledTest extends AbstractEntityViewTest {
+
+    @Override
+    public void setUpOnce() {
+        cleanDatabase();
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.persist(new Person("pers1"));
+                em.persist(new Person("pers2"));
+            }
+        });
+    }
+
+    private static EntityViewConfiguration createConfiguration() {
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.setProperty(ConfigurationProperties.PROXY_RUNTIME_GENERATION_DISABLED, "true");
+        return cfg;
+    }
+
+    @Test
+    public void testStaticImplementationIsUsed() {
+        EntityViewManager evm = build(createConfiguration(), StaticPersonView.class);
+        CriteriaBuilder<Person> cb = cbf.create(em, Person.class, "p").orderByAsc("p.id");
+        List<StaticPersonView> list = evm.applySetting(EntityViewSetting.create(StaticPersonView.class), cb).getResultList();
+
+        assertEquals(2, list.size());
+        assertEquals(StaticPersonViewImpl.class, list.get(0).getClass());
+        assertEquals("pers1", list.get(0).getName());
+        assertEquals("pers2", list.get(1).getName());
+    }
+
+    @Test
+    public void testMissingStaticImplementationFailsBoot() {
+        try {
+            build(createConfiguration(), DocumentInterfaceView.class);
+            fail("Expected failure because of missing static implementation");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("no static implementation could be found for the entity view type '" + DocumentInterfaceView.class.getName() + "'"));
+        }
+    }
+}
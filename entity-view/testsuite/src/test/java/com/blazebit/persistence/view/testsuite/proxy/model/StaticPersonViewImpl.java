@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.view.testsuite.proxy.model;
+
+import com.blazebit.persistence.testsuite.entity.Person;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.SerializableEntityViewManager;
+import com.blazebit.persistence.view.StaticImplementation;
+import com.blazebit.persistence.view.spi.type.EntityViewProxy;
+
+import java.util.Map;
+
+/**
+ * A static implementation for {@link StaticPersonView} in the shape the annotation processor generates it.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+@StaticImplementation(StaticPersonView.class)
+public class StaticPersonViewImpl implements StaticPersonView, EntityViewProxy {
+
+    public static volatile EntityViewManager ENTITY_VIEW_MANAGER;
+    public static final SerializableEntityViewManager SERIALIZABLE_ENTITY_VIEW_MANAGER = new SerializableEntityViewManager(StaticPersonViewImpl.class, ENTITY_VIEW_MANAGER);
+
+    private Long id;
+    private final String name;
+    private byte $$_kind;
+
+    public StaticPersonViewImpl(StaticPersonViewImpl noop, Map<String, Object> optionalParameters) {
+        this.id = null;
+        this.name = null;
+    }
+
+    public StaticPersonViewImpl(Long id) {
+        this.$$_kind = (byte) 1;
+        this.id = id;
+        this.name = null;
+    }
+
+    public StaticPersonViewImpl(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public StaticPersonViewImpl(StaticPersonViewImpl noop, int offset, Object[] tuple) {
+        this.id = (Long) tuple[offset + 0];
+        this.name = (String) tuple[offset + 1];
+    }
+
+    public StaticPersonViewImpl(StaticPersonViewImpl noop, int offset, int[] assignment, Object[] tuple) {
+        this.id = (Long) tuple[offset + assignment[0]];
+        this.name = (String) tuple[offset + assignment[1]];
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Class<?> $$_getJpaManagedClass() {
+        return Person.class;
+    }
+
+    @Override
+    public Class<?> $$_getJpaManagedBaseClass() {
+        return Person.class;
+    }
+
+    @Override
+    public Class<?> $$_getEntityViewClass() {
+        return StaticPersonView.class;
+    }
+
+    @Override
+    public boolean $$_isNew() {
+        return false;
+    }
+
+    @Override
+    public boolean $$_isReference() {
+        return $$_kind == (byte) 1;
+    }
+
+    @Override
+    public void $$_setIsReference(boolean isReference) {
+        this.$$_kind = isReference ? (byte) 1 : (byte) 0;
+    }
+
+    @Override
+    public Object $$_getId() {
+        return id;
+    }
+
+    @Override
+    public Object $$_getVersion() {
+        return null;
+    }
+}
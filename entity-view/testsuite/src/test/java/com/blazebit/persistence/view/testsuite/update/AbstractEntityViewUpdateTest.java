@@ -22,6 +22,7 @@ import com.blazebit.persistence.view.EntityViews;
 import com.blazebit.persistence.view.FlushMode;
 import com.blazebit.persistence.view.FlushOperationBuilder;
 import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.MultiFlushEntityViewManager;
 import com.blazebit.persistence.view.change.ChangeModel;
 import com.blazebit.persistence.view.change.SingularChangeModel;
 import com.blazebit.persistence.view.ConfigurationProperties;
@@ -36,6 +37,7 @@ import org.junit.Before;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -300,6 +302,17 @@ public abstract class AbstractEntityViewUpdateTest<T> extends AbstractEntityView
         });
     }
 
+    protected void saveAll(final Object... docViews) {
+        transactional(new TxVoidWork() {
+
+            @Override
+            public void work(EntityManager em) {
+                ((MultiFlushEntityViewManager) evm).saveAll(em, Arrays.asList(docViews));
+                em.flush();
+            }
+        });
+    }
+
     protected void saveFull(final Object docView) {
         transactional(new TxVoidWork() {
 
@@ -153,6 +153,68 @@ public class EntityViewUpdateMutableBasicTest extends AbstractEntityViewUpdateBa
         assertEquals(doc1.getVersion(), docView.getVersion());
     }
 
+    @Test
+    public void testSaveAll() {
+        // Given
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+        clearQueries();
+
+        // When
+        docView1.setName("newDoc1");
+        docView2.setName("newDoc2");
+        saveAll(docView1, docView2);
+
+        // Then
+        AssertStatementBuilder builder = assertUnorderedQuerySequence();
+        if (!isQueryStrategy()) {
+            fullFetch(builder);
+            fullFetch(builder);
+        }
+        builder.update(Document.class)
+                .update(Document.class)
+                .validate();
+
+        assertEmptyChangeModel(docView1);
+        assertEmptyChangeModel(docView2);
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc1", doc1.getName());
+        assertEquals("newDoc2", doc2.getName());
+        assertEquals(doc1.getVersion(), docView1.getVersion());
+        assertEquals(doc2.getVersion(), docView2.getVersion());
+    }
+
+    @Test
+    public void testSaveAllWithDifferentDirtyStates() {
+        // Given
+        final UpdatableDocumentBasicView docView1 = getDoc1View();
+        final UpdatableDocumentBasicView docView2 = getDoc2View();
+        clearQueries();
+
+        // When
+        docView1.setName("newDoc1");
+        docView2.setLastModified(new Date(0));
+        saveAll(docView1, docView2);
+
+        // Then
+        AssertStatementBuilder builder = assertUnorderedQuerySequence();
+        if (!isQueryStrategy()) {
+            fullFetch(builder);
+            fullFetch(builder);
+        }
+        builder.update(Document.class)
+                .update(Document.class)
+                .validate();
+
+        assertEmptyChangeModel(docView1);
+        assertEmptyChangeModel(docView2);
+        clearPersistenceContextAndReload();
+        assertEquals("newDoc1", doc1.getName());
+        assertEquals(0, doc2.getLastModified().getTime());
+        assertEquals(doc1.getVersion(), docView1.getVersion());
+        assertEquals(doc2.getVersion(), docView2.getVersion());
+    }
+
     @Test
     public void testUpdateViaReference() {
         doc1.setArchived(true);
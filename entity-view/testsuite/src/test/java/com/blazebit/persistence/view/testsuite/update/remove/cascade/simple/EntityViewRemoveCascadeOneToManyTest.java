@@ -27,6 +27,7 @@ import com.blazebit.persistence.testsuite.tx.TxVoidWork;
 import com.blazebit.persistence.view.EntityViewManager;
 import com.blazebit.persistence.view.FlushMode;
 import com.blazebit.persistence.view.FlushStrategy;
+import com.blazebit.persistence.view.MultiFlushEntityViewManager;
 import com.blazebit.persistence.view.OptimisticLockException;
 import com.blazebit.persistence.view.PostRemoveListener;
 import com.blazebit.persistence.view.PreRemoveListener;
@@ -35,6 +36,7 @@ import com.blazebit.persistence.view.testsuite.update.AbstractEntityViewUpdateTe
 import com.blazebit.persistence.view.testsuite.update.remove.cascade.simple.model.FamilyIdView;
 import com.blazebit.persistence.view.testsuite.update.remove.cascade.simple.model.PersonIdView;
 import com.blazebit.persistence.view.testsuite.update.remove.cascade.simple.model.PersonNameView;
+import com.blazebit.persistence.view.testsuite.update.remove.cascade.simple.model.VersionIdView;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -42,6 +44,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  *
@@ -64,6 +68,7 @@ public class EntityViewRemoveCascadeOneToManyTest extends AbstractEntityViewUpda
     protected void registerViewTypes(EntityViewConfiguration cfg) {
         cfg.addEntityView(FamilyIdView.class);
         cfg.addEntityView(PersonNameView.class);
+        cfg.addEntityView(VersionIdView.class);
         cfg.addEntityViewListener(PersonNameView.class, PrimitivePerson.class, PrimitivePersonPostRemoveListener.class);
     }
 
@@ -138,6 +143,69 @@ public class EntityViewRemoveCascadeOneToManyTest extends AbstractEntityViewUpda
         Assert.assertNull(person);
     }
 
+    @Test
+    public void testRemoveAllById() {
+        // Given
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                em.persist(new PrimitivePerson("pers2"));
+            }
+        });
+        final List<Long> personIds = cbf.create(em, Long.class)
+                .from(PrimitivePerson.class, "p")
+                .select("p.id")
+                .getResultList();
+
+        // When
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                ((MultiFlushEntityViewManager) evm).removeAll(em, PersonIdView.class, personIds);
+                em.flush();
+            }
+        });
+
+        // Then
+        Assert.assertEquals(2, personIds.size());
+        Assert.assertEquals(0L, (long) cbf.create(em, Long.class).from(PrimitivePerson.class, "p").select("COUNT(*)").getSingleResult());
+    }
+
+    @Test
+    public void testRemoveAllByIdWithoutCascades() {
+        // Given
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                PrimitiveVersion version2 = new PrimitiveVersion();
+                version2.setVersionId(2L);
+                em.persist(version2);
+                PrimitiveVersion version3 = new PrimitiveVersion();
+                version3.setVersionId(3L);
+                em.persist(version3);
+            }
+        });
+        clearQueries();
+
+        // When
+        transactional(new TxVoidWork() {
+            @Override
+            public void work(EntityManager em) {
+                ((MultiFlushEntityViewManager) evm).removeAll(em, VersionIdView.class, Arrays.asList(1L, 2L, 3L));
+                em.flush();
+            }
+        });
+
+        // Then
+        // In the query strategy, all ids are deleted by a single statement
+        if (isQueryStrategy()) {
+            assertUnorderedQuerySequence()
+                .delete(PrimitiveVersion.class)
+                .validate();
+        }
+        Assert.assertEquals(0L, (long) cbf.create(em, Long.class).from(PrimitiveVersion.class, "v").select("COUNT(*)").getSingleResult());
+    }
+
     // Test for issue #1520
     @Test
     public void testRemoveFamilyById() {
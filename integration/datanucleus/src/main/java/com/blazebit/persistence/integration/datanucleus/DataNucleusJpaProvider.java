@@ -567,6 +567,36 @@ public class DataNucleusJpaProvider implements JpaProvider {
         query.setParameter(name, value);
     }
 
+    @Override
+    public void setReadOnly(Query query) {
+        // DataNucleus has no query hint for loading entities as read only
+    }
+
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        query.setHint("datanucleus.query.fetchSize", fetchSize);
+    }
+
+    @Override
+    public void cancelQuery(EntityManager em) {
+        // DataNucleus can only cancel queries through the query object which isn't known here
+    }
+
+    @Override
+    public String getEntityTableName(EntityType<?> entityType) {
+        return null;
+    }
+
+    @Override
+    public boolean runAfterCommit(EntityManager em, Runnable action) {
+        return false;
+    }
+
+    @Override
+    public Integer setJdbcBatchSize(EntityManager em, Integer batchSize) {
+        return null;
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> ownerType, String attributeName) {
         AttributeImpl<?, ?> attribute = getAttribute(ownerType, attributeName);
@@ -664,6 +664,36 @@ public class EclipseLinkJpaProvider implements JpaProvider {
         query.setParameter(name, value);
     }
 
+    @Override
+    public void setReadOnly(Query query) {
+        query.setHint("eclipselink.read-only", true);
+    }
+
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        query.setHint("eclipselink.jdbc.fetch-size", fetchSize);
+    }
+
+    @Override
+    public void cancelQuery(EntityManager em) {
+        // EclipseLink has no API for cancelling the statement that is currently executed by an entity manager
+    }
+
+    @Override
+    public String getEntityTableName(EntityType<?> entityType) {
+        return null;
+    }
+
+    @Override
+    public boolean runAfterCommit(EntityManager em, Runnable action) {
+        return false;
+    }
+
+    @Override
+    public Integer setJdbcBatchSize(EntityManager em, Integer batchSize) {
+        return null;
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> ownerType, String attributeName) {
         AttributeImpl<?, ?> attribute = getAttribute(ownerType, attributeName);
@@ -0,0 +1,440 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Encodes and decodes cursors in the {@link GraphQLCursorFormat#COMPACT} format.
+ * The format starts with a version byte, followed by the offset, the page size and the tuple size as variable length integers.
+ * Every tuple element is written as type tag followed by the value in a type specific encoding.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+final class GraphQLCompactCursorCodec {
+
+    // Java serialization streams always start with 0xAC, so the version byte also allows to tell the formats apart
+    static final byte VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int LONG = 1;
+    private static final int INTEGER = 2;
+    private static final int SHORT = 3;
+    private static final int BYTE = 4;
+    private static final int TRUE = 5;
+    private static final int FALSE = 6;
+    private static final int DOUBLE = 7;
+    private static final int FLOAT = 8;
+    private static final int CHARACTER = 9;
+    private static final int STRING = 10;
+    private static final int UUID_VALUE = 11;
+    private static final int BIG_INTEGER = 12;
+    private static final int BIG_DECIMAL = 13;
+    private static final int DATE = 14;
+    private static final int SQL_DATE = 15;
+    private static final int SQL_TIME = 16;
+    private static final int SQL_TIMESTAMP = 17;
+    private static final int INSTANT = 18;
+    private static final int LOCAL_DATE = 19;
+    private static final int LOCAL_TIME = 20;
+    private static final int LOCAL_DATE_TIME = 21;
+    private static final int OFFSET_TIME = 22;
+    private static final int OFFSET_DATE_TIME = 23;
+    private static final int ZONED_DATE_TIME = 24;
+    private static final int SERIALIZED = 127;
+
+    private GraphQLCompactCursorCodec() {
+    }
+
+    /**
+     * Returns whether the given bytes represent a cursor in the compact format.
+     *
+     * @param bytes The cursor bytes
+     * @return whether the cursor is in the compact format
+     */
+    static boolean isCompact(byte[] bytes) {
+        return bytes.length != 0 && bytes[0] == VERSION;
+    }
+
+    /**
+     * Encodes the given cursor components.
+     *
+     * @param offset The offset
+     * @param pageSize The page size
+     * @param tuple The tuple
+     * @return the encoded cursor
+     */
+    static byte[] encode(int offset, int pageSize, Serializable[] tuple) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + (tuple == null ? 0 : tuple.length * 9));
+        out.write(VERSION);
+        writeVarLong(out, offset);
+        writeVarLong(out, pageSize);
+        if (tuple == null) {
+            writeVarLong(out, 0);
+        } else {
+            writeVarLong(out, tuple.length + 1);
+            for (Serializable value : tuple) {
+                writeValue(out, value);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the given cursor bytes.
+     * Since cursors are client input, every failure to decode them is reported as {@link IllegalArgumentException}.
+     *
+     * @param bytes The cursor bytes
+     * @param serializableBasicTypes The allowed types for values that were encoded with Java serialization
+     * @return the decoded cursor
+     * @throws IllegalArgumentException if the bytes are not a valid cursor
+     */
+    static GraphQLCursor decode(byte[] bytes, Set<String> serializableBasicTypes) {
+        try {
+            return decode(new Input(bytes), serializableBasicTypes);
+        } catch (IllegalArgumentException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            // E.g. a DateTimeException for out of range temporal values or a ClassCastException for serialized values
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+
+    private static GraphQLCursor decode(Input in, Set<String> serializableBasicTypes) {
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported cursor version: " + version);
+        }
+        long offset = in.readVarLong();
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid offset in cursor: " + offset);
+        }
+        long pageSize = in.readVarLong();
+        if (pageSize < 1 || pageSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid page size in cursor: " + pageSize);
+        }
+        long size = in.readVarLong();
+        // Every tuple element needs at least one byte for the type tag, which bounds the allocation by the cursor length
+        if (size < 0 || size - 1 > in.remaining()) {
+            throw new IllegalArgumentException("Invalid tuple size in cursor: " + size);
+        }
+        Serializable[] tuple;
+        if (size == 0) {
+            tuple = null;
+        } else {
+            tuple = new Serializable[(int) size - 1];
+            for (int i = 0; i < tuple.length; i++) {
+                tuple[i] = readValue(in, serializableBasicTypes);
+            }
+        }
+        if (in.remaining() != 0) {
+            throw new IllegalArgumentException("Unexpected trailing bytes in cursor");
+        }
+        return new GraphQLCursor((int) offset, (int) pageSize, tuple);
+    }
+
+    private static void writeValue(ByteArrayOutputStream out, Serializable value) {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        // Compare exact classes as e.g. java.sql.Timestamp extends java.util.Date but carries additional state
+        Class<?> type = value.getClass();
+        if (type == Long.class) {
+            out.write(LONG);
+            writeZigZag(out, (Long) value);
+        } else if (type == Integer.class) {
+            out.write(INTEGER);
+            writeZigZag(out, (Integer) value);
+        } else if (type == Short.class) {
+            out.write(SHORT);
+            writeZigZag(out, (Short) value);
+        } else if (type == Byte.class) {
+            out.write(BYTE);
+            out.write((Byte) value);
+        } else if (type == Boolean.class) {
+            out.write((Boolean) value ? TRUE : FALSE);
+        } else if (type == Double.class) {
+            out.write(DOUBLE);
+            writeFixedLong(out, Double.doubleToLongBits((Double) value));
+        } else if (type == Float.class) {
+            out.write(FLOAT);
+            writeFixedInt(out, Float.floatToIntBits((Float) value));
+        } else if (type == Character.class) {
+            out.write(CHARACTER);
+            writeVarLong(out, (Character) value);
+        } else if (type == String.class) {
+            out.write(STRING);
+            writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (type == UUID.class) {
+            out.write(UUID_VALUE);
+            writeFixedLong(out, ((UUID) value).getMostSignificantBits());
+            writeFixedLong(out, ((UUID) value).getLeastSignificantBits());
+        } else if (type == BigInteger.class) {
+            out.write(BIG_INTEGER);
+            writeBytes(out, ((BigInteger) value).toByteArray());
+        } else if (type == BigDecimal.class) {
+            out.write(BIG_DECIMAL);
+            writeZigZag(out, ((BigDecimal) value).scale());
+            writeBytes(out, ((BigDecimal) value).unscaledValue().toByteArray());
+        } else if (type == Date.class) {
+            out.write(DATE);
+            writeZigZag(out, ((Date) value).getTime());
+        } else if (type == java.sql.Date.class) {
+            out.write(SQL_DATE);
+            writeZigZag(out, ((java.sql.Date) value).getTime());
+        } else if (type == Time.class) {
+            out.write(SQL_TIME);
+            writeZigZag(out, ((Time) value).getTime());
+        } else if (type == Timestamp.class) {
+            out.write(SQL_TIMESTAMP);
+            writeZigZag(out, ((Timestamp) value).getTime());
+            writeVarLong(out, ((Timestamp) value).getNanos());
+        } else if (type == Instant.class) {
+            out.write(INSTANT);
+            writeZigZag(out, ((Instant) value).getEpochSecond());
+            writeVarLong(out, ((Instant) value).getNano());
+        } else if (type == LocalDate.class) {
+            out.write(LOCAL_DATE);
+            writeZigZag(out, ((LocalDate) value).toEpochDay());
+        } else if (type == LocalTime.class) {
+            out.write(LOCAL_TIME);
+            writeVarLong(out, ((LocalTime) value).toNanoOfDay());
+        } else if (type == LocalDateTime.class) {
+            out.write(LOCAL_DATE_TIME);
+            writeLocalDateTime(out, (LocalDateTime) value);
+        } else if (type == OffsetTime.class) {
+            out.write(OFFSET_TIME);
+            writeVarLong(out, ((OffsetTime) value).toLocalTime().toNanoOfDay());
+            writeZigZag(out, ((OffsetTime) value).getOffset().getTotalSeconds());
+        } else if (type == OffsetDateTime.class) {
+            out.write(OFFSET_DATE_TIME);
+            writeLocalDateTime(out, ((OffsetDateTime) value).toLocalDateTime());
+            writeZigZag(out, ((OffsetDateTime) value).getOffset().getTotalSeconds());
+        } else if (type == ZonedDateTime.class) {
+            out.write(ZONED_DATE_TIME);
+            writeLocalDateTime(out, ((ZonedDateTime) value).toLocalDateTime());
+            writeZigZag(out, ((ZonedDateTime) value).getOffset().getTotalSeconds());
+            writeBytes(out, ((ZonedDateTime) value).getZone().getId().getBytes(StandardCharsets.UTF_8));
+        } else {
+            out.write(SERIALIZED);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+                oos.writeObject(value);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            writeBytes(out, baos.toByteArray());
+        }
+    }
+
+    private static Serializable readValue(Input in, Set<String> serializableBasicTypes) {
+        int tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case LONG:
+                return in.readZigZag();
+            case INTEGER:
+                return (int) in.readZigZag();
+            case SHORT:
+                return (short) in.readZigZag();
+            case BYTE:
+                return (byte) in.readByte();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readFixedLong());
+            case FLOAT:
+                return Float.intBitsToFloat(in.readFixedInt());
+            case CHARACTER:
+                return (char) in.readVarLong();
+            case STRING:
+                return new String(in.readBytes(), StandardCharsets.UTF_8);
+            case UUID_VALUE:
+                return new UUID(in.readFixedLong(), in.readFixedLong());
+            case BIG_INTEGER:
+                return new BigInteger(in.readBytes());
+            case BIG_DECIMAL:
+                int scale = (int) in.readZigZag();
+                return new BigDecimal(new BigInteger(in.readBytes()), scale);
+            case DATE:
+                return new Date(in.readZigZag());
+            case SQL_DATE:
+                return new java.sql.Date(in.readZigZag());
+            case SQL_TIME:
+                return new Time(in.readZigZag());
+            case SQL_TIMESTAMP:
+                Timestamp timestamp = new Timestamp(in.readZigZag());
+                timestamp.setNanos((int) in.readVarLong());
+                return timestamp;
+            case INSTANT:
+                long epochSecond = in.readZigZag();
+                return Instant.ofEpochSecond(epochSecond, in.readVarLong());
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readZigZag());
+            case LOCAL_TIME:
+                return LocalTime.ofNanoOfDay(in.readVarLong());
+            case LOCAL_DATE_TIME:
+                return readLocalDateTime(in);
+            case OFFSET_TIME:
+                LocalTime localTime = LocalTime.ofNanoOfDay(in.readVarLong());
+                return OffsetTime.of(localTime, ZoneOffset.ofTotalSeconds((int) in.readZigZag()));
+            case OFFSET_DATE_TIME:
+                LocalDateTime localDateTime = readLocalDateTime(in);
+                return OffsetDateTime.of(localDateTime, ZoneOffset.ofTotalSeconds((int) in.readZigZag()));
+            case ZONED_DATE_TIME:
+                LocalDateTime zonedLocalDateTime = readLocalDateTime(in);
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) in.readZigZag());
+                ZoneId zone = ZoneId.of(new String(in.readBytes(), StandardCharsets.UTF_8));
+                return ZonedDateTime.ofLocal(zonedLocalDateTime, zone, offset);
+            case SERIALIZED:
+                try (ObjectInputStream ois = new GraphQLCursorObjectInputStream(new ByteArrayInputStream(in.readBytes()), serializableBasicTypes)) {
+                    return (Serializable) ois.readObject();
+                } catch (IOException | ClassNotFoundException e) {
+                    throw new IllegalArgumentException("Couldn't read serialized cursor value", e);
+                }
+            default:
+                throw new IllegalArgumentException("Unknown cursor value type: " + tag);
+        }
+    }
+
+    private static void writeLocalDateTime(ByteArrayOutputStream out, LocalDateTime value) {
+        writeZigZag(out, value.toLocalDate().toEpochDay());
+        writeVarLong(out, value.toLocalTime().toNanoOfDay());
+    }
+
+    private static LocalDateTime readLocalDateTime(Input in) {
+        LocalDate localDate = LocalDate.ofEpochDay(in.readZigZag());
+        return LocalDateTime.of(localDate, LocalTime.ofNanoOfDay(in.readVarLong()));
+    }
+
+    private static void writeZigZag(ByteArrayOutputStream out, long value) {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeFixedLong(ByteArrayOutputStream out, long value) {
+        writeFixedInt(out, (int) (value >>> 32));
+        writeFixedInt(out, (int) value);
+    }
+
+    private static void writeFixedInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeBytes(ByteArrayOutputStream out, byte[] bytes) {
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static final class Input {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Input(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private int remaining() {
+            return bytes.length - position;
+        }
+
+        private int readByte() {
+            if (position == bytes.length) {
+                throw new IllegalArgumentException("Unexpected end of cursor");
+            }
+            return bytes[position++];
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed variable length integer in cursor");
+        }
+
+        private long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        private long readFixedLong() {
+            return ((long) readFixedInt() << 32) | (readFixedInt() & 0xFFFFFFFFL);
+        }
+
+        private int readFixedInt() {
+            return ((readByte() & 0xFF) << 24) | ((readByte() & 0xFF) << 16) | ((readByte() & 0xFF) << 8) | (readByte() & 0xFF);
+        }
+
+        private byte[] readBytes() {
+            long length = readVarLong();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IllegalArgumentException("Invalid length in cursor: " + length);
+            }
+            byte[] result = new byte[(int) length];
+            System.arraycopy(bytes, position, result, 0, result.length);
+            position += result.length;
+            return result;
+        }
+    }
+}
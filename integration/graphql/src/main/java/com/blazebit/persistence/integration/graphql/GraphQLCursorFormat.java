@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+/**
+ * The formats in which cursors for keyset pagination can be encoded.
+ *
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public enum GraphQLCursorFormat {
+
+    /**
+     * Encodes the cursor with Java serialization.
+     */
+    SERIALIZATION,
+    /**
+     * Encodes the cursor in a compact, versioned binary format that writes the keyset values directly.
+     * Values of types for which no dedicated encoding exists are encoded with Java serialization.
+     */
+    COMPACT;
+}
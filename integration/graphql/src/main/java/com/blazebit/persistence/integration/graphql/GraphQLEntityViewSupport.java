@@ -23,10 +23,17 @@ import com.blazebit.persistence.Keyset;
 import com.blazebit.persistence.KeysetPage;
 import com.blazebit.persistence.PagedList;
 import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.parser.util.BoundedCache;
 import com.blazebit.persistence.view.ConfigurationProperties;
 import com.blazebit.persistence.view.EntityViewSetting;
 import com.blazebit.persistence.view.metamodel.ManagedViewType;
 import com.blazebit.persistence.view.metamodel.ViewType;
+import graphql.GraphQLContext;
+import graphql.language.AstPrinter;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
 import graphql.relay.Connection;
 import graphql.relay.DefaultConnection;
 import graphql.relay.DefaultConnectionCursor;
@@ -47,6 +54,9 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -108,12 +118,18 @@ public class GraphQLEntityViewSupport {
 
     // GraphQL defines meta fields that can be used on any type: https://graphql.org/learn/queries/#meta-fields
     private static final Set<String> META_FIELDS = new HashSet<>(Arrays.asList("__typename"));
+    // Marker for operations whose selection sets depend on variables through the @skip or @include directives
+    private static final ConcurrentMap<FetchesCacheKey, String[]> NON_CACHEABLE_FETCHES = new ConcurrentHashMap<>(0);
+    private static final int OPERATION_FETCHES_CACHE_SIZE = 1024;
+    private static final String OPERATION_KEY_CONTEXT_KEY = GraphQLEntityViewSupport.class.getName() + ".operationKey";
 
     private final Map<String, ManagedViewType<?>> typeNameToViewType;
     private final Map<String, Map<String, String>> typeNameToFieldMapping;
     private final Set<String> serializableBasicTypes;
     private final ConcurrentMap<TypeRootCacheKey, GraphQLUnmodifiedType> typeReferenceCache = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, String> selectedFieldCache = new ConcurrentHashMap<>();
+    // Keyed by a hash of the printed document and the operation name, so that fetches are also reused for documents that are parsed for every request
+    private final BoundedCache<String, ConcurrentMap<FetchesCacheKey, String[]>> operationFetchesCache = new BoundedCache<>(OPERATION_FETCHES_CACHE_SIZE);
 
     private final String pageSizeName;
     private final String offsetName;
@@ -123,6 +139,7 @@ public class GraphQLEntityViewSupport {
     private final String pageElementsName;
     private final String pageElementObjectName;
     private final String elementCursorName;
+    private final GraphQLCursorFormat cursorFormat;
 
     /**
      * A default constructor to make this class proxyable.
@@ -188,6 +205,41 @@ public class GraphQLEntityViewSupport {
      * @param elementCursorName The name of the cursor field within elements
      */
     public GraphQLEntityViewSupport(Map<String, ManagedViewType<?>> typeNameToViewType, Map<String, Map<String, String>> typeNameToFieldMapping, Set<String> serializableBasicTypes, String pageSizeName, String offsetName, String beforeCursorName, String afterCursorName, String totalCountName, String pageElementsName, String pageElementObjectName, String elementCursorName) {
+        this(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes, pageSizeName, offsetName, beforeCursorName, afterCursorName, totalCountName, pageElementsName, pageElementObjectName, elementCursorName, GraphQLCursorFormat.SERIALIZATION);
+    }
+
+    /**
+     * Creates a new {@link GraphQLEntityViewSupport} instance with the given type name to class mapping, serializable basic type whitelist and cursor format.
+     * It uses the GraphQL Relay specification names for accessing page info fields for paginated settings.
+     *
+     * @param typeNameToViewType The mapping from GraphQL type names to entity view metamodels
+     * @param typeNameToFieldMapping The mapping from GraphQL type names to a map from GraphQL field name to entity view attribute name
+     * @param serializableBasicTypes The whitelist of allowed serializable basic types to use for cursor deserialization
+     * @param cursorFormat The format to use for serializing cursors
+     * @since 1.6.10
+     */
+    public GraphQLEntityViewSupport(Map<String, ManagedViewType<?>> typeNameToViewType, Map<String, Map<String, String>> typeNameToFieldMapping, Set<String> serializableBasicTypes, GraphQLCursorFormat cursorFormat) {
+        this(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes, PAGE_SIZE_NAME, OFFSET_NAME, BEFORE_CURSOR_NAME, AFTER_CURSOR_NAME, TOTAL_COUNT_NAME, EDGES_NAME, EDGE_NODE_NAME, EDGE_CURSOR_NAME, cursorFormat);
+    }
+
+    /**
+     * Creates a new {@link GraphQLEntityViewSupport} instance with the given type name to class mapping, serializable basic type whitelist and cursor format.
+     *
+     * @param typeNameToViewType The mapping from GraphQL type names to entity view metamodels
+     * @param typeNameToFieldMapping The mapping from GraphQL type names to a map from GraphQL field name to entity view attribute name
+     * @param serializableBasicTypes The whitelist of allowed serializable basic types to use for cursor deserialization
+     * @param pageSizeName The name of the page size field
+     * @param offsetName The name of the offset field
+     * @param beforeCursorName The name of the beforeCursor field
+     * @param afterCursorName The name of the afterCursor field
+     * @param totalCountName The name of the totalCount field
+     * @param pageElementsName The name of the elements field
+     * @param pageElementObjectName The name of the element object field within elements
+     * @param elementCursorName The name of the cursor field within elements
+     * @param cursorFormat The format to use for serializing cursors
+     * @since 1.6.10
+     */
+    public GraphQLEntityViewSupport(Map<String, ManagedViewType<?>> typeNameToViewType, Map<String, Map<String, String>> typeNameToFieldMapping, Set<String> serializableBasicTypes, String pageSizeName, String offsetName, String beforeCursorName, String afterCursorName, String totalCountName, String pageElementsName, String pageElementObjectName, String elementCursorName, GraphQLCursorFormat cursorFormat) {
         this.pageSizeName = pageSizeName;
         this.offsetName = offsetName;
         this.beforeCursorName = beforeCursorName;
@@ -199,6 +251,7 @@ public class GraphQLEntityViewSupport {
         this.serializableBasicTypes = serializableBasicTypes;
         this.pageElementObjectName = pageElementObjectName;
         this.elementCursorName = elementCursorName;
+        this.cursorFormat = cursorFormat == null ? GraphQLCursorFormat.SERIALIZATION : cursorFormat;
     }
 
     /**
@@ -605,6 +658,19 @@ public class GraphQLEntityViewSupport {
      * @param elementRoot The field at which to find the elements for fetch extraction
      */
     public void applyFetches(DataFetchingEnvironment dataFetchingEnvironment, EntityViewSetting<?, ?> setting, String elementRoot) {
+        ConcurrentMap<FetchesCacheKey, String[]> fetchesCache = getFetchesCache(dataFetchingEnvironment);
+        FetchesCacheKey cacheKey = null;
+        if (fetchesCache != NON_CACHEABLE_FETCHES) {
+            cacheKey = new FetchesCacheKey(dataFetchingEnvironment.getExecutionStepInfo().getPath().getKeysOnly(), elementRoot);
+            String[] cachedFetches = fetchesCache.get(cacheKey);
+            if (cachedFetches != null) {
+                for (String fetch : cachedFetches) {
+                    setting.fetch(fetch);
+                }
+                return;
+            }
+        }
+        List<String> fetches = new ArrayList<>();
         DataFetchingFieldSelectionSet selectionSet = dataFetchingEnvironment.getSelectionSet();
         OUTER:
         for (SelectedField field : selectionSet.getFields()) {
@@ -612,6 +678,7 @@ public class GraphQLEntityViewSupport {
             String resolvedField = selectedFieldCache.get(fqFieldName);
             if (resolvedField != null) {
                 setting.fetch(resolvedField);
+                fetches.add(resolvedField);
                 continue;
             }
             if (!isLeaf(field.getType())) {
@@ -661,9 +728,69 @@ public class GraphQLEntityViewSupport {
             if (!mappedFields.isEmpty()) {
                 resolvedField = String.join(".", mappedFields);
                 setting.fetch(resolvedField);
+                fetches.add(resolvedField);
                 selectedFieldCache.putIfAbsent(fqFieldName, resolvedField);
             }
         }
+        if (cacheKey != null) {
+            fetchesCache.putIfAbsent(cacheKey, fetches.toArray(new String[fetches.size()]));
+        }
+    }
+
+    private ConcurrentMap<FetchesCacheKey, String[]> getFetchesCache(DataFetchingEnvironment dataFetchingEnvironment) {
+        OperationDefinition operationDefinition = dataFetchingEnvironment.getOperationDefinition();
+        Document document = dataFetchingEnvironment.getDocument();
+        if (operationDefinition == null || document == null || dataFetchingEnvironment.getExecutionStepInfo() == null) {
+            return NON_CACHEABLE_FETCHES;
+        }
+        String operationKey = getOperationKey(dataFetchingEnvironment.getGraphQlContext(), operationDefinition, document);
+        ConcurrentMap<FetchesCacheKey, String[]> fetchesCache = operationFetchesCache.get(operationKey);
+        if (fetchesCache == null) {
+            if (hasConditionalDirective(document)) {
+                fetchesCache = NON_CACHEABLE_FETCHES;
+            } else {
+                fetchesCache = new ConcurrentHashMap<>();
+            }
+            fetchesCache = operationFetchesCache.putIfAbsent(operationKey, fetchesCache);
+        }
+        return fetchesCache;
+    }
+
+    private static String getOperationKey(GraphQLContext context, OperationDefinition operationDefinition, Document document) {
+        // Printing the document is only done once per execution, as the key is remembered in the execution context
+        if (context != null) {
+            OperationKey operationKey = context.get(OPERATION_KEY_CONTEXT_KEY);
+            if (operationKey != null && operationKey.operationDefinition == operationDefinition) {
+                return operationKey.key;
+            }
+        }
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not supported", ex);
+        }
+        // The whole document is printed because the selection set of the operation might refer to fragment definitions
+        byte[] hash = digest.digest(AstPrinter.printAst(document).getBytes(StandardCharsets.UTF_8));
+        String operationName = operationDefinition.getName();
+        String key = Base64.getEncoder().encodeToString(hash) + (operationName == null ? "" : ":" + operationName);
+        if (context != null) {
+            context.put(OPERATION_KEY_CONTEXT_KEY, new OperationKey(operationDefinition, key));
+        }
+        return key;
+    }
+
+    private static boolean hasConditionalDirective(Node<?> node) {
+        if (node instanceof Directive) {
+            String name = ((Directive) node).getName();
+            return "skip".equals(name) || "include".equals(name);
+        }
+        for (Node<?> child : node.getChildren()) {
+            if (hasConditionalDirective(child)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -673,7 +800,21 @@ public class GraphQLEntityViewSupport {
      * @return a new cursor
      */
     protected GraphQLCursor deserialize(String beforeCursor) {
-        try (ObjectInputStream ois = new GraphQLCursorObjectInputStream(Base64.getDecoder().wrap(new ByteArrayInputStream(beforeCursor.getBytes())), serializableBasicTypes)) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(beforeCursor);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Couldn't read cursor", e);
+        }
+        // Cursors in either format are accepted so that changing the format doesn't invalidate cursors handed out before
+        if (GraphQLCompactCursorCodec.isCompact(bytes)) {
+            try {
+                return GraphQLCompactCursorCodec.decode(bytes, serializableBasicTypes);
+            } catch (Exception e) {
+                throw new RuntimeException("Couldn't read cursor", e);
+            }
+        }
+        try (ObjectInputStream ois = new GraphQLCursorObjectInputStream(new ByteArrayInputStream(bytes), serializableBasicTypes)) {
             int offset = ois.read();
             int pageSize = ois.read();
             Serializable[] tuple = (Serializable[]) ois.readObject();
@@ -692,6 +833,9 @@ public class GraphQLEntityViewSupport {
      * @return the serialized form of the cursor
      */
     protected byte[] serializeCursor(int offset, int pageSize, Serializable[] tuple) {
+        if (cursorFormat == GraphQLCursorFormat.COMPACT) {
+            return GraphQLCompactCursorCodec.encode(offset, pageSize, tuple);
+        }
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
         try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
             oos.write(offset);
@@ -743,6 +887,52 @@ public class GraphQLEntityViewSupport {
         }
     }
 
+    /**
+     * The cache key of an operation, remembered along with the operation definition it was computed for.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static class OperationKey {
+        private final OperationDefinition operationDefinition;
+        private final String key;
+
+        public OperationKey(OperationDefinition operationDefinition, String key) {
+            this.operationDefinition = operationDefinition;
+            this.key = key;
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static class FetchesCacheKey {
+        private final List<String> fieldPath;
+        private final String root;
+
+        public FetchesCacheKey(List<String> fieldPath, String root) {
+            this.fieldPath = fieldPath;
+            this.root = root;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (getClass() != o.getClass()) {
+                return false;
+            }
+            FetchesCacheKey that = (FetchesCacheKey) o;
+            return fieldPath.equals(that.fieldPath) && root.equals(that.root);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = fieldPath.hashCode();
+            result = 31 * result + root.hashCode();
+            return result;
+        }
+    }
+
     /**
      * Returns a relay connection from the given result list.
      *
@@ -157,6 +157,7 @@ public class GraphQLEntityViewSupportFactory {
     private Pattern typeFilterPattern;
     private Map<String, GraphQLScalarType> scalarTypeMap;
     private Set<String> registeredScalarTypeNames;
+    private GraphQLCursorFormat cursorFormat = GraphQLCursorFormat.SERIALIZATION;
 
     /**
      * Creates a new entity view support factory with the given configuration.
@@ -325,6 +326,27 @@ public class GraphQLEntityViewSupportFactory {
         this.typeFilterPattern = typeFilterPattern;
     }
 
+    /**
+     * Returns the format in which the created {@link GraphQLEntityViewSupport} serializes cursors.
+     *
+     * @return the cursor format
+     * @since 1.6.10
+     */
+    public GraphQLCursorFormat getCursorFormat() {
+        return cursorFormat;
+    }
+
+    /**
+     * Sets the format in which the created {@link GraphQLEntityViewSupport} serializes cursors.
+     * Cursors are deserialized regardless of the format they were serialized with.
+     *
+     * @param cursorFormat the cursor format
+     * @since 1.6.10
+     */
+    public void setCursorFormat(GraphQLCursorFormat cursorFormat) {
+        this.cursorFormat = cursorFormat;
+    }
+
     /**
      * Returns a new {@link GraphQLEntityViewSupport} after registering the entity view types from {@link EntityViewManager}
      * on the given {@link TypeDefinitionRegistry}.
@@ -462,7 +484,7 @@ public class GraphQLEntityViewSupportFactory {
 
         serializableBasicTypes.add(Serializable[].class.getName());
         serializableBasicTypes.add(GraphQLCursor.class.getName());
-        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes);
+        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes, cursorFormat);
     }
 
     /**
@@ -661,7 +683,7 @@ public class GraphQLEntityViewSupportFactory {
                 schemaBuilder.additionalType(additionalType);
             }
         }
-        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes);
+        return new GraphQLEntityViewSupport(typeNameToViewType, typeNameToFieldMapping, serializableBasicTypes, cursorFormat);
     }
 
     private GraphQLList getListType(GraphQLType elementType) {
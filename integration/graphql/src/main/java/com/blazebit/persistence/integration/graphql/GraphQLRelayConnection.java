@@ -54,15 +54,26 @@ public class GraphQLRelayConnection<T> implements Serializable {
      * @param list The list
      */
     public GraphQLRelayConnection(List<T> list) {
+        this(list, GraphQLCursorFormat.SERIALIZATION);
+    }
+
+    /**
+     * Creates a new GraphQL page from the given list, encoding the cursors in the given format.
+     *
+     * @param list The list
+     * @param cursorFormat The format in which to encode cursors
+     * @since 1.6.10
+     */
+    public GraphQLRelayConnection(List<T> list, GraphQLCursorFormat cursorFormat) {
         if (list instanceof PagedList<?>) {
             PagedList<T> data = (PagedList<T>) list;
-            this.pageInfo = new GraphQLRelayPageInfo(data);
+            this.pageInfo = new GraphQLRelayPageInfo(data, cursorFormat);
             this.totalCount = data.getTotalSize();
         } else {
             this.pageInfo = GraphQLRelayPageInfo.EMPTY;
             this.totalCount = list.size();
         }
-        this.edges = createEdges(list, pageInfo);
+        this.edges = createEdges(list, pageInfo, cursorFormat);
     }
 
     /**
@@ -71,12 +82,23 @@ public class GraphQLRelayConnection<T> implements Serializable {
      * @param list The paged list
      */
     public GraphQLRelayConnection(PagedList<T> list) {
-        this.pageInfo = new GraphQLRelayPageInfo(list);
+        this(list, GraphQLCursorFormat.SERIALIZATION);
+    }
+
+    /**
+     * Creates a GraphQL page from the given paged list, encoding the cursors in the given format.
+     *
+     * @param list The paged list
+     * @param cursorFormat The format in which to encode cursors
+     * @since 1.6.10
+     */
+    public GraphQLRelayConnection(PagedList<T> list, GraphQLCursorFormat cursorFormat) {
+        this.pageInfo = new GraphQLRelayPageInfo(list, cursorFormat);
         this.totalCount = list.getTotalSize();
-        this.edges = createEdges(list, pageInfo);
+        this.edges = createEdges(list, pageInfo, cursorFormat);
     }
 
-    private static <X> List<GraphQLRelayEdge<X>> createEdges(List<X> list, GraphQLRelayPageInfo pageInfo) {
+    private static <X> List<GraphQLRelayEdge<X>> createEdges(List<X> list, GraphQLRelayPageInfo pageInfo, GraphQLCursorFormat cursorFormat) {
         List<GraphQLRelayEdge<X>> edges;
         List<Keyset> keysets;
         if (list instanceof PagedList<?> && pageInfo != null && ((PagedList<?>) list).getKeysetPage() != null && (keysets = ((PagedList<?>) list).getKeysetPage().getKeysets()).size() == list.size()) {
@@ -86,7 +108,7 @@ public class GraphQLRelayConnection<T> implements Serializable {
             edges = new ArrayList<>(list.size());
             for (int i = 0; i < list.size(); i++) {
                 X node = list.get(i);
-                edges.add(new GraphQLRelayEdge<>(Base64.getEncoder().encodeToString(pageInfo.serialize(offset, pageSize, keysets.get(i).getTuple())), node));
+                edges.add(new GraphQLRelayEdge<>(Base64.getEncoder().encodeToString(pageInfo.serialize(cursorFormat, offset, pageSize, keysets.get(i).getTuple())), node));
             }
         } else {
             edges = new ArrayList<>(list.size());
@@ -53,16 +53,27 @@ public class GraphQLRelayPageInfo implements Serializable {
      * @param data The paged list
      */
     public GraphQLRelayPageInfo(PagedList<?> data) {
+        this(data, GraphQLCursorFormat.SERIALIZATION);
+    }
+
+    /**
+     * Creates a new page info object from the given paged list, encoding the cursors in the given format.
+     *
+     * @param data The paged list
+     * @param cursorFormat The format in which to encode cursors
+     * @since 1.6.10
+     */
+    public GraphQLRelayPageInfo(PagedList<?> data, GraphQLCursorFormat cursorFormat) {
         this.hasPreviousPage = data.getFirstResult() != 0;
         this.hasNextPage = data.getTotalSize() == -1 || data.getFirstResult() + data.getMaxResults() < data.getTotalSize();
         KeysetPage keysetPage = data.getKeysetPage();
         if (keysetPage != null && keysetPage.getLowest() != null) {
-            this.startCursor = Base64.getEncoder().encodeToString(serialize(data.getFirstResult(), data.getMaxResults(), keysetPage.getLowest().getTuple()));
+            this.startCursor = Base64.getEncoder().encodeToString(serialize(cursorFormat, data.getFirstResult(), data.getMaxResults(), keysetPage.getLowest().getTuple()));
         } else {
             this.startCursor = null;
         }
         if (keysetPage != null && keysetPage.getHighest() != null) {
-            this.endCursor = Base64.getEncoder().encodeToString(serialize(data.getFirstResult(), data.getMaxResults(), keysetPage.getHighest().getTuple()));
+            this.endCursor = Base64.getEncoder().encodeToString(serialize(cursorFormat, data.getFirstResult(), data.getMaxResults(), keysetPage.getHighest().getTuple()));
         } else {
             this.endCursor = null;
         }
@@ -126,6 +137,13 @@ public class GraphQLRelayPageInfo implements Serializable {
         return serializeCursor(offset, pageSize, tuple);
     }
 
+    byte[] serialize(GraphQLCursorFormat cursorFormat, int offset, int pageSize, Serializable[] tuple) {
+        if (cursorFormat == GraphQLCursorFormat.COMPACT) {
+            return GraphQLCompactCursorCodec.encode(offset, pageSize, tuple);
+        }
+        return serialize(offset, pageSize, tuple);
+    }
+
     /**
      * Serializes the given cursor components to a byte array.
      *
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.integration.graphql;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class GraphQLCompactCursorCodecTest {
+
+    @Test
+    public void testRoundTrip() {
+        Timestamp timestamp = new Timestamp(1600000000123L);
+        timestamp.setNanos(123456789);
+        Serializable[] tuple = new Serializable[]{
+            null, 1L, -1L, Long.MIN_VALUE, Integer.MAX_VALUE, (short) -3, (byte) 7, true, false, 1.5d, -2.5f, 'x', "Gr\u00fc\u00dfe", UUID.randomUUID(),
+            new BigInteger("-123456789012345678901234567890"), new BigDecimal("-1234.5678"), new Date(1600000000123L), new java.sql.Date(1600000000000L), timestamp,
+            Instant.ofEpochSecond(-5, 42), LocalDate.of(1970, 1, 1).minusDays(1), LocalDateTime.of(2020, 2, 29, 23, 59, 59, 999999999),
+            OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(-5)), ZonedDateTime.of(2020, 10, 25, 2, 30, 0, 0, ZoneId.of("Europe/Vienna")).withLaterOffsetAtOverlap()
+        };
+
+        byte[] bytes = GraphQLCompactCursorCodec.encode(20, 10, tuple);
+        Assert.assertTrue(GraphQLCompactCursorCodec.isCompact(bytes));
+        GraphQLCursor cursor = GraphQLCompactCursorCodec.decode(bytes, Collections.<String>emptySet());
+
+        Assert.assertEquals(20, cursor.getOffset());
+        Assert.assertEquals(10, cursor.getPageSize());
+        Assert.assertArrayEquals(tuple, cursor.getTuple());
+        for (int i = 0; i < tuple.length; i++) {
+            if (tuple[i] != null) {
+                Assert.assertSame(tuple[i].getClass(), cursor.getTuple()[i].getClass());
+            }
+        }
+    }
+
+    @Test
+    public void testNullTuple() {
+        GraphQLCursor cursor = GraphQLCompactCursorCodec.decode(GraphQLCompactCursorCodec.encode(300, 1000, null), Collections.<String>emptySet());
+        Assert.assertEquals(300, cursor.getOffset());
+        Assert.assertEquals(1000, cursor.getPageSize());
+        Assert.assertNull(cursor.getTuple());
+    }
+
+    @Test
+    public void testSerializedFallback() {
+        CustomValue value = new CustomValue(42L);
+        byte[] bytes = GraphQLCompactCursorCodec.encode(0, 10, new Serializable[]{ value });
+
+        try {
+            GraphQLCompactCursorCodec.decode(bytes, Collections.<String>emptySet());
+            Assert.fail("Expected to fail deserializing of CustomValue");
+        } catch (IllegalArgumentException ex) {
+            Assert.assertEquals("Illegal attempt to deserialize disallowed type: " + CustomValue.class.getName(), ex.getMessage());
+        }
+
+        GraphQLCursor cursor = GraphQLCompactCursorCodec.decode(bytes, Collections.singleton(CustomValue.class.getName()));
+        Assert.assertEquals(42L, ((CustomValue) cursor.getTuple()[0]).value);
+    }
+
+    @Test
+    public void testInvalid() {
+        byte[] bytes = GraphQLCompactCursorCodec.encode(0, 10, new Serializable[]{ "abc" });
+        byte[] truncated = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        try {
+            GraphQLCompactCursorCodec.decode(truncated, Collections.<String>emptySet());
+            Assert.fail("Expected to fail decoding a truncated cursor");
+        } catch (IllegalArgumentException ex) {
+            Assert.assertEquals("Invalid length in cursor: 3", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testOversizedTuple() {
+        assertInvalid("Invalid tuple size in cursor: 2147483647", cursor(0, 10, Integer.MAX_VALUE));
+        assertInvalid("Invalid tuple size in cursor: 1099511627776", cursor(0, 10, 1L << 40));
+        assertInvalid("Invalid tuple size in cursor: -1", cursor(0, 10, -1L));
+        // Two elements announced, but only a single tag byte follows
+        assertInvalid("Invalid tuple size in cursor: 3", cursor(0, 10, 3, 0));
+    }
+
+    @Test
+    public void testInvalidOffsetAndPageSize() {
+        assertInvalid("Invalid offset in cursor: -1", cursor(-1L, 10, 0));
+        assertInvalid("Invalid offset in cursor: 2147483648", cursor(Integer.MAX_VALUE + 1L, 10, 0));
+        assertInvalid("Invalid page size in cursor: 0", cursor(0, 0, 0));
+        assertInvalid("Invalid page size in cursor: -5", cursor(0, -5L, 0));
+    }
+
+    @Test
+    public void testMalformedValues() {
+        // LocalDate.ofEpochDay fails with a DateTimeException for out of range values
+        try {
+            GraphQLCompactCursorCodec.decode(cursor(0, 10, 2, 19, Long.MAX_VALUE - 1), Collections.<String>emptySet());
+            Assert.fail("Expected to fail decoding an out of range date");
+        } catch (IllegalArgumentException ex) {
+            Assert.assertEquals("Invalid cursor", ex.getMessage());
+        }
+        // A variable length integer that never ends
+        assertInvalid("Malformed variable length integer in cursor", new byte[]{ GraphQLCompactCursorCodec.VERSION, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1 });
+        assertInvalid("Unknown cursor value type: 100", cursor(0, 10, 2, 100));
+        assertInvalid("Unexpected trailing bytes in cursor", cursor(0, 10, 0, 0));
+    }
+
+    private static void assertInvalid(String expectedMessage, byte[] bytes) {
+        try {
+            GraphQLCompactCursorCodec.decode(bytes, Collections.<String>emptySet());
+            Assert.fail("Expected to fail decoding an invalid cursor");
+        } catch (IllegalArgumentException ex) {
+            Assert.assertEquals(expectedMessage, ex.getMessage());
+        }
+    }
+
+    private static byte[] cursor(long... varLongs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(GraphQLCompactCursorCodec.VERSION);
+        for (long value : varLongs) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static class CustomValue implements Serializable {
+
+        private final long value;
+
+        public CustomValue(long value) {
+            this.value = value;
+        }
+    }
+}
@@ -22,6 +22,10 @@ import com.blazebit.persistence.integration.graphql.views.AnimalView;
 import com.blazebit.persistence.integration.graphql.views.DocumentView;
 import com.blazebit.persistence.integration.graphql.views.PersonView;
 import com.blazebit.persistence.view.EntityViewSetting;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.ResultPath;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.GraphQLFieldDefinition;
@@ -39,6 +43,10 @@ import static com.blazebit.persistence.integration.graphql.TestSchemaHelpers.mak
 import static com.blazebit.persistence.integration.graphql.TestSchemaHelpers.makeMockSelectionSet;
 import static com.blazebit.persistence.integration.graphql.TestSchemaHelpers.makeRelayConnection;
 import static com.blazebit.persistence.integration.graphql.TestSchemaHelpers.personObjectType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author David Kubecka
@@ -98,4 +106,51 @@ public class GraphQLEntityViewSupportTest {
 
         Assert.assertEquals(new HashSet<>(Arrays.asList("name", "animal.name")), setting.getFetches());
     }
+
+    @Test
+    public void testFetchesCachedPerOperation() {
+        GraphQLFieldDefinition rootFieldDefinition = makeFieldDefinition("getDocument", documentObjectType);
+        DataFetchingFieldSelectionSet selectionSet = makeMockSelectionSet("Document", "name", "owner", "owner/name");
+        OperationDefinition operationDefinition = OperationDefinition.newOperationDefinition().name("getDocument").build();
+        ExecutionStepInfo executionStepInfo = mock(ExecutionStepInfo.class);
+        when(executionStepInfo.getPath()).thenReturn(ResultPath.parse("/getDocument"));
+
+        DataFetchingEnvironment dfe = makeMockDataFetchingEnvironment(rootFieldDefinition, selectionSet);
+        when(dfe.getOperationDefinition()).thenReturn(operationDefinition);
+        when(dfe.getDocument()).thenReturn(Document.newDocument().definition(operationDefinition).build());
+        when(dfe.getExecutionStepInfo()).thenReturn(executionStepInfo);
+
+        EntityViewSetting<DocumentView, CriteriaBuilder<DocumentView>> setting = graphQLEntityViewSupport.createSetting(dfe);
+        EntityViewSetting<DocumentView, CriteriaBuilder<DocumentView>> cachedSetting = graphQLEntityViewSupport.createSetting(dfe);
+
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name", "owner.name")), setting.getFetches());
+        Assert.assertEquals(setting.getFetches(), cachedSetting.getFetches());
+        verify(selectionSet, times(1)).getFields();
+    }
+
+    @Test
+    public void testFetchesCachedForReparsedOperation() {
+        GraphQLFieldDefinition rootFieldDefinition = makeFieldDefinition("getDocument", documentObjectType);
+        DataFetchingFieldSelectionSet selectionSet = makeMockSelectionSet("Document", "name", "owner", "owner/name");
+        ExecutionStepInfo executionStepInfo = mock(ExecutionStepInfo.class);
+        when(executionStepInfo.getPath()).thenReturn(ResultPath.parse("/getDocument"));
+
+        DataFetchingEnvironment dfe = makeMockDataFetchingEnvironment(rootFieldDefinition, selectionSet);
+        OperationDefinition operationDefinition = OperationDefinition.newOperationDefinition().name("getDocument").build();
+        when(dfe.getOperationDefinition()).thenReturn(operationDefinition);
+        when(dfe.getDocument()).thenReturn(Document.newDocument().definition(operationDefinition).build());
+        when(dfe.getExecutionStepInfo()).thenReturn(executionStepInfo);
+        EntityViewSetting<DocumentView, CriteriaBuilder<DocumentView>> setting = graphQLEntityViewSupport.createSetting(dfe);
+
+        // A document that is parsed again consists of new, but equal nodes
+        DataFetchingEnvironment reparsedDfe = makeMockDataFetchingEnvironment(rootFieldDefinition, selectionSet);
+        OperationDefinition reparsedOperationDefinition = OperationDefinition.newOperationDefinition().name("getDocument").build();
+        when(reparsedDfe.getOperationDefinition()).thenReturn(reparsedOperationDefinition);
+        when(reparsedDfe.getDocument()).thenReturn(Document.newDocument().definition(reparsedOperationDefinition).build());
+        when(reparsedDfe.getExecutionStepInfo()).thenReturn(executionStepInfo);
+        EntityViewSetting<DocumentView, CriteriaBuilder<DocumentView>> cachedSetting = graphQLEntityViewSupport.createSetting(reparsedDfe);
+
+        Assert.assertEquals(setting.getFetches(), cachedSetting.getFetches());
+        verify(selectionSet, times(1)).getFields();
+    }
 }
@@ -24,6 +24,8 @@ import com.blazebit.persistence.spi.JpaProvider;
 import org.hibernate.Hibernate;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
 import org.hibernate.engine.query.spi.ParameterMetadata;
 import org.hibernate.engine.spi.CascadingAction;
 import org.hibernate.engine.spi.EntityKey;
@@ -68,6 +70,8 @@ import javax.persistence.metamodel.IdentifiableType;
 import javax.persistence.metamodel.ManagedType;
 import javax.persistence.metamodel.SetAttribute;
 import javax.persistence.metamodel.SingularAttribute;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
 import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -92,6 +96,8 @@ public class HibernateJpaProvider implements JpaProvider {
     private static final Method GET_TYPE_NAME;
     private static final Method IS_NULLABLE;
     private static final Method GET_PARAMETER_METADATA;
+    private static final Method GET_JDBC_BATCH_SIZE;
+    private static final Method SET_JDBC_BATCH_SIZE;
     private static final Logger LOG = Logger.getLogger(HibernateJpaProvider.class.getName());
 
     protected final PersistenceUnitUtil persistenceUnitUtil;
@@ -169,6 +175,17 @@ public class HibernateJpaProvider implements JpaProvider {
             // Ignore, as that means the Hibernate version does not need this method
         }
         GET_PARAMETER_METADATA = getParameterMetadata;
+        Method getJdbcBatchSize = null;
+        Method setJdbcBatchSize = null;
+        try {
+            getJdbcBatchSize = Session.class.getMethod("getJdbcBatchSize");
+            setJdbcBatchSize = Session.class.getMethod("setJdbcBatchSize", Integer.class);
+        } catch (Exception ex) {
+            // Ignore, as that means the Hibernate version does not support changing the batch size per session
+            getJdbcBatchSize = null;
+        }
+        GET_JDBC_BATCH_SIZE = getJdbcBatchSize;
+        SET_JDBC_BATCH_SIZE = setJdbcBatchSize;
     }
 
     /**
@@ -1638,6 +1655,75 @@ public class HibernateJpaProvider implements JpaProvider {
         }
     }
 
+    @Override
+    public void setReadOnly(Query query) {
+        query.setHint("org.hibernate.readOnly", true);
+    }
+
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        query.setHint("org.hibernate.fetchSize", fetchSize);
+    }
+
+    @Override
+    public void cancelQuery(EntityManager em) {
+        em.unwrap(Session.class).cancelQuery();
+    }
+
+    @Override
+    public String getEntityTableName(EntityType<?> entityType) {
+        AbstractEntityPersister entityPersister = getEntityPersister(entityType);
+        // The filter fragment contains the discriminator restriction of single table subtypes as well as the @Where clause
+        if (entityPersister instanceof UnionSubclassEntityPersister && entityPersister.hasSubclasses()
+                || !entityPersister.filterFragment("e", Collections.emptyMap()).trim().isEmpty()) {
+            return null;
+        }
+        return entityPersister.getTableName();
+    }
+
+    @Override
+    public boolean runAfterCommit(EntityManager em, final Runnable action) {
+        Transaction transaction;
+        try {
+            transaction = em.unwrap(Session.class).getTransaction();
+        } catch (IllegalStateException ex) {
+            // A JPA compliant session does not expose the transaction when JTA is used
+            return false;
+        }
+        if (!transaction.isActive()) {
+            return false;
+        }
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public Integer setJdbcBatchSize(EntityManager em, Integer batchSize) {
+        // The batch size can only be changed per session as of Hibernate 5.2
+        if (SET_JDBC_BATCH_SIZE == null) {
+            return null;
+        }
+        Session session = em.unwrap(Session.class);
+        try {
+            Integer previousBatchSize = (Integer) GET_JDBC_BATCH_SIZE.invoke(session);
+            SET_JDBC_BATCH_SIZE.invoke(session, batchSize);
+            return previousBatchSize;
+        } catch (Exception ex) {
+            throw new RuntimeException("Could not set the JDBC batch size", ex);
+        }
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> owner, String attributeName) {
         return new ArrayList<>(getJoinMappingPropertyNames(owner, null, attributeName).keySet());
@@ -30,9 +30,13 @@ import jakarta.persistence.metamodel.IdentifiableType;
 import jakarta.persistence.metamodel.ManagedType;
 import jakarta.persistence.metamodel.SetAttribute;
 import jakarta.persistence.metamodel.SingularAttribute;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
 import org.hibernate.Hibernate;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
 import org.hibernate.engine.jdbc.Size;
 import org.hibernate.engine.spi.CascadingActions;
 import org.hibernate.engine.spi.EntityKey;
@@ -1465,6 +1469,67 @@ public class HibernateJpaProvider implements JpaProvider {
         query.setParameter(name, value);
     }
 
+    @Override
+    public void setReadOnly(Query query) {
+        query.setHint("org.hibernate.readOnly", true);
+    }
+
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        query.setHint("org.hibernate.fetchSize", fetchSize);
+    }
+
+    @Override
+    public void cancelQuery(EntityManager em) {
+        em.unwrap(Session.class).cancelQuery();
+    }
+
+    @Override
+    public String getEntityTableName(EntityType<?> entityType) {
+        AbstractEntityPersister entityPersister = getEntityPersister(entityType);
+        if (entityPersister.isInherited() && entityPersister instanceof SingleTableEntityPersister
+                || entityPersister instanceof UnionSubclassEntityPersister && entityPersister.getEntityMetamodel().hasSubclasses()
+                || entityPersister.hasWhereRestrictions()) {
+            return null;
+        }
+        return entityPersister.getTableName();
+    }
+
+    @Override
+    public boolean runAfterCommit(EntityManager em, final Runnable action) {
+        Transaction transaction;
+        try {
+            transaction = em.unwrap(Session.class).getTransaction();
+        } catch (IllegalStateException ex) {
+            // A JPA compliant session does not expose the transaction when JTA is used
+            return false;
+        }
+        if (!transaction.isActive()) {
+            return false;
+        }
+        transaction.registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public Integer setJdbcBatchSize(EntityManager em, Integer batchSize) {
+        Session session = em.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        return previousBatchSize;
+    }
+
     @Override
     public List<String> getIdentifierOrUniqueKeyEmbeddedPropertyNames(EntityType<?> owner, String attributeName) {
         return new ArrayList<>(getJoinMappingPropertyNames(owner, null, attributeName).keySet());
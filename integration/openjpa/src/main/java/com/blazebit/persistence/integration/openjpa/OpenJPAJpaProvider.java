@@ -425,6 +425,38 @@ public class OpenJPAJpaProvider implements JpaProvider {
         query.setParameter(name, value);
     }
 
+    @Override
+    public void setReadOnly(Query query) {
+        // OpenJPA has no query hint for loading entities as read only
+    }
+
+    @Override
+    public void setFetchSize(Query query, int fetchSize) {
+        if (query instanceof OpenJPAQuery) {
+            ((OpenJPAQuery) query).getFetchPlan().setFetchBatchSize(fetchSize);
+        }
+    }
+
+    @Override
+    public void cancelQuery(EntityManager em) {
+        // OpenJPA can only cancel queries through the query object which isn't known here
+    }
+
+    @Override
+    public String getEntityTableName(EntityType<?> entityType) {
+        return null;
+    }
+
+    @Override
+    public boolean runAfterCommit(EntityManager em, Runnable action) {
+        return false;
+    }
+
+    @Override
+    public Integer setJdbcBatchSize(EntityManager em, Integer batchSize) {
+        return null;
+    }
+
     private Attribute<?, ?> getAttribute(ManagedType<?> ownerType, String attributeName) {
         if (attributeName.indexOf('.') == -1) {
             return ownerType.getAttribute(attributeName);
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spring.data.testsuite.webflux;
+
+import com.blazebit.persistence.spring.data.testsuite.webflux.entity.Document;
+import com.blazebit.persistence.spring.data.testsuite.webflux.entity.Person;
+import com.blazebit.persistence.spring.data.testsuite.webflux.view.DocumentView;
+import com.blazebit.persistence.spring.data.testsuite.webflux.view.PersonView;
+import com.blazebit.persistence.spring.data.webflux.ReactiveEntityViewRepository;
+import com.blazebit.persistence.spring.data.webflux.SimpleReactiveEntityViewRepository;
+import com.blazebit.persistence.testsuite.base.AbstractPersistenceTest;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViews;
+import com.blazebit.persistence.view.spi.EntityViewConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class ReactiveEntityViewRepositoryTest extends AbstractPersistenceTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final List<EntityManager> entityManagers = new CopyOnWriteArrayList<>();
+    private Scheduler scheduler;
+    private ReactiveEntityViewRepository<DocumentView, Long> repository;
+    private Document doc1;
+    private Document doc5;
+
+    @Override
+    protected Class<?>[] getEntityClasses() {
+        return new Class[] {
+                Document.class,
+                Person.class
+        };
+    }
+
+    @Before
+    public void setUpRepository() {
+        cleanDatabase();
+        Person owner = new Person("P1");
+        em.persist(owner);
+        doc1 = createDocument("D1", owner);
+        createDocument("D2", owner);
+        createDocument("D3", owner);
+        createDocument("D4", owner);
+        doc5 = createDocument("D5", owner);
+        em.getTransaction().commit();
+
+        EntityViewConfiguration cfg = EntityViews.createDefaultConfiguration();
+        cfg.addEntityView(DocumentView.class);
+        cfg.addEntityView(PersonView.class);
+        EntityViewManager evm = cfg.createEntityViewManager(cbf);
+        // Track the entity managers created by the repository to verify that they are closed
+        EntityManagerFactory trackingEmf = (EntityManagerFactory) Proxy.newProxyInstance(getClass().getClassLoader(), new Class[]{ EntityManagerFactory.class }, (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(emf, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            if (result instanceof EntityManager) {
+                entityManagers.add((EntityManager) result);
+            }
+            return result;
+        });
+        scheduler = Schedulers.newSingle("reactive-repository-test");
+        // A fetch size of 2 makes sure that the result set has to go back to the database while streaming
+        repository = new SimpleReactiveEntityViewRepository<>(trackingEmf, cbf, evm, Document.class, DocumentView.class, scheduler, 2);
+    }
+
+    @After
+    public void tearDownRepository() {
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    public void testFindOne() {
+        DocumentView view = repository.findOne(doc1.getId()).block();
+
+        assertNotNull(view);
+        assertEquals("D1", view.getName());
+        assertEquals("P1", view.getOwner().getName());
+        assertEntityManagersClosed();
+    }
+
+    @Test
+    public void testFindOneNotFound() {
+        assertNull(repository.findOne(doc5.getId() + 1).block());
+        assertEntityManagersClosed();
+    }
+
+    @Test
+    public void testCount() {
+        assertEquals(5L, (long) repository.count().block());
+        assertEntityManagersClosed();
+    }
+
+    @Test
+    public void testFindAll() {
+        List<DocumentView> views = repository.findAll().collectList().block();
+
+        assertEquals(new HashSet<>(Arrays.asList("D1", "D2", "D3", "D4", "D5")), new HashSet<>(names(views)));
+        assertEntityManagersClosed();
+    }
+
+    @Test
+    public void testFindAllPaginated() {
+        List<DocumentView> views = repository.findAll(2).collectList().block();
+
+        assertEquals(Arrays.asList("D1", "D2", "D3", "D4", "D5"), names(views));
+        assertEntityManagersClosed();
+    }
+
+    @Test
+    public void testFindAllBackpressure() throws Exception {
+        RequestingSubscriber subscriber = new RequestingSubscriber();
+        repository.findAll().subscribe(subscriber);
+
+        subscriber.request(1);
+        assertNotNull(subscriber.take());
+        assertNull(subscriber.poll());
+
+        subscriber.request(4);
+        for (int i = 0; i < 4; i++) {
+            assertNotNull(subscriber.take());
+        }
+        subscriber.awaitTermination();
+        assertNull(subscriber.error);
+        assertEntityManagersClosed();
+    }
+
+    @Test
+    public void testFindAllPaginatedFetchesPagesOnDemand() throws Exception {
+        RequestingSubscriber subscriber = new RequestingSubscriber();
+        repository.findAll(2).subscribe(subscriber);
+
+        subscriber.request(1);
+        assertEquals("D1", subscriber.take().getName());
+        assertNull(subscriber.poll());
+        // No entity manager is held open between pages
+        assertEntityManagersClosed();
+
+        // A document that is created after the first page was fetched is part of a later page
+        em.getTransaction().begin();
+        createDocument("D6", doc1.getOwner());
+        em.getTransaction().commit();
+
+        subscriber.request(Long.MAX_VALUE);
+        List<String> names = new ArrayList<>();
+        names.add("D1");
+        for (int i = 0; i < 5; i++) {
+            names.add(subscriber.take().getName());
+        }
+        subscriber.awaitTermination();
+        assertNull(subscriber.error);
+        assertEquals(Arrays.asList("D1", "D2", "D3", "D4", "D5", "D6"), names);
+        assertEntityManagersClosed();
+    }
+
+    @Test
+    public void testFindAllCancel() throws Exception {
+        RequestingSubscriber subscriber = new RequestingSubscriber();
+        repository.findAll().subscribe(subscriber);
+
+        subscriber.request(1);
+        assertNotNull(subscriber.take());
+        subscriber.cancel();
+
+        // Cancelling closes the result stream and the entity manager
+        assertEntityManagersClosed();
+        assertNull(subscriber.poll());
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testFindAllPaginatedCancel() throws Exception {
+        RequestingSubscriber subscriber = new RequestingSubscriber();
+        repository.findAll(2).subscribe(subscriber);
+
+        subscriber.request(1);
+        assertNotNull(subscriber.take());
+        subscriber.cancel();
+        subscriber.request(Long.MAX_VALUE);
+
+        assertEntityManagersClosed();
+        assertNull(subscriber.poll());
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testCancelBeforeExecution() throws Exception {
+        RequestingSubscriber subscriber = new RequestingSubscriber();
+        repository.findAll().subscribe(subscriber);
+        subscriber.cancel();
+        subscriber.request(Long.MAX_VALUE);
+
+        assertEntityManagersClosed();
+        assertNull(subscriber.poll());
+        assertNull(subscriber.error);
+    }
+
+    private Document createDocument(String name, Person owner) {
+        Document document = new Document(name);
+        document.setOwner(owner);
+        em.persist(document);
+        return document;
+    }
+
+    private static List<String> names(List<DocumentView> views) {
+        List<String> names = new ArrayList<>(views.size());
+        for (DocumentView view : views) {
+            names.add(view.getName());
+        }
+        return names;
+    }
+
+    private void assertEntityManagersClosed() {
+        // Entity managers might be closed by the scheduler thread after the last element was emitted
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        for (EntityManager entityManager : entityManagers) {
+            while (entityManager.isOpen() && System.nanoTime() < deadline) {
+                Thread.yield();
+            }
+            assertFalse("Entity manager was not closed", entityManager.isOpen());
+        }
+    }
+
+    /**
+     * A subscriber that only requests elements when told to.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static class RequestingSubscriber extends BaseSubscriber<DocumentView> {
+
+        private final BlockingQueue<DocumentView> elements = new LinkedBlockingQueue<>();
+        private final CountDownLatch termination = new CountDownLatch(1);
+        private volatile Throwable error;
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // Don't request anything initially
+        }
+
+        @Override
+        protected void hookOnNext(DocumentView value) {
+            elements.add(value);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            termination.countDown();
+        }
+
+        public DocumentView take() throws InterruptedException {
+            DocumentView element = elements.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertNotNull("No element was emitted", element);
+            return element;
+        }
+
+        public DocumentView poll() throws InterruptedException {
+            // Give the scheduler a chance to emit elements that were not requested
+            return elements.poll(100, TimeUnit.MILLISECONDS);
+        }
+
+        public void awaitTermination() throws InterruptedException {
+            assertTrue("The flux did not terminate", termination.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spring.data.webflux;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A repository for reading entity views without blocking the calling thread.
+ * Queries are executed on a dedicated scheduler and results are emitted according to the demand of the subscriber.
+ * Cancelling a subscription cancels the statement that is currently executed for it, if the JPA provider supports that.
+ *
+ * @param <V> The view type
+ * @param <ID> The id type of the entity
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public interface ReactiveEntityViewRepository<V, ID> {
+
+    /**
+     * Emits the entity view for the given id or completes empty if no such entity exists.
+     *
+     * @param id The id of the entity
+     * @return A mono emitting the entity view
+     */
+    public Mono<V> findOne(ID id);
+
+    /**
+     * Emits all entity views by streaming the results of a single query.
+     * The underlying result set is kept open until all elements were emitted and is closed as soon as the subscriber cancels.
+     * Rows are fetched from the database in batches, so that only a few rows beyond the demand of the subscriber are read.
+     *
+     * @return A flux emitting all entity views
+     */
+    public Flux<V> findAll();
+
+    /**
+     * Emits all entity views ordered by id by fetching pages of the given size via keyset pagination.
+     * A page is only fetched when the subscriber requests more elements than are buffered, so no database resources are held between pages.
+     *
+     * @param pageSize The amount of elements to fetch with one query
+     * @return A flux emitting all entity views
+     */
+    public Flux<V> findAll(int pageSize);
+
+    /**
+     * Emits the number of entities.
+     *
+     * @return A mono emitting the entity count
+     */
+    public Mono<Long> count();
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2014 - 2023 Blazebit.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blazebit.persistence.spring.data.webflux;
+
+import com.blazebit.persistence.CriteriaBuilder;
+import com.blazebit.persistence.CriteriaBuilderFactory;
+import com.blazebit.persistence.KeysetPage;
+import com.blazebit.persistence.PagedList;
+import com.blazebit.persistence.PaginatedCriteriaBuilder;
+import com.blazebit.persistence.spi.JpaProvider;
+import com.blazebit.persistence.view.EntityViewManager;
+import com.blazebit.persistence.view.EntityViewSetting;
+import com.blazebit.persistence.view.Sorters;
+import com.blazebit.persistence.view.metamodel.ViewType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.core.scheduler.Scheduler;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.FlushModeType;
+import javax.persistence.TypedQuery;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The default implementation of {@link ReactiveEntityViewRepository}.
+ * Every query runs with a dedicated {@link EntityManager} on the given {@link Scheduler}, which should allow blocking,
+ * like a bounded elastic scheduler or a scheduler that is backed by virtual threads.
+ *
+ * The entity managers must be resource local, as every operation runs in a transaction that is rolled back after reading.
+ * When a subscriber cancels, the statement that is currently executed is cancelled if the JPA provider supports that.
+ *
+ * @param <V> The view type
+ * @param <E> The entity type
+ * @param <ID> The id type of the entity
+ * @author Christian Beikov
+ * @since 1.6.10
+ */
+public class SimpleReactiveEntityViewRepository<V, E, ID> implements ReactiveEntityViewRepository<V, ID> {
+
+    /**
+     * The default amount of rows that is fetched with one round trip when streaming results.
+     */
+    public static final int DEFAULT_FETCH_SIZE = 100;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final CriteriaBuilderFactory cbf;
+    private final EntityViewManager evm;
+    private final JpaProvider jpaProvider;
+    private final Class<E> entityClass;
+    private final Class<V> entityViewClass;
+    private final String idAttributeName;
+    private final Scheduler scheduler;
+    private final int fetchSize;
+
+    /**
+     * Creates a new repository for the given entity view class that streams results with the {@link #DEFAULT_FETCH_SIZE}.
+     *
+     * @param entityManagerFactory The entity manager factory to create entity managers for query execution
+     * @param cbf The criteria builder factory
+     * @param evm The entity view manager
+     * @param entityClass The entity class
+     * @param entityViewClass The entity view class
+     * @param scheduler The scheduler on which to execute queries
+     */
+    public SimpleReactiveEntityViewRepository(EntityManagerFactory entityManagerFactory, CriteriaBuilderFactory cbf, EntityViewManager evm, Class<E> entityClass, Class<V> entityViewClass, Scheduler scheduler) {
+        this(entityManagerFactory, cbf, evm, entityClass, entityViewClass, scheduler, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Creates a new repository for the given entity view class.
+     *
+     * @param entityManagerFactory The entity manager factory to create entity managers for query execution
+     * @param cbf The criteria builder factory
+     * @param evm The entity view manager
+     * @param entityClass The entity class
+     * @param entityViewClass The entity view class
+     * @param scheduler The scheduler on which to execute queries
+     * @param fetchSize The amount of rows to fetch with one round trip when streaming results
+     */
+    public SimpleReactiveEntityViewRepository(EntityManagerFactory entityManagerFactory, CriteriaBuilderFactory cbf, EntityViewManager evm, Class<E> entityClass, Class<V> entityViewClass, Scheduler scheduler, int fetchSize) {
+        ViewType<V> viewType = evm.getMetamodel().view(entityViewClass);
+        if (viewType == null) {
+            throw new IllegalArgumentException("The entity view class '" + entityViewClass.getName() + "' is not a view type with an id attribute!");
+        }
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Invalid fetch size: " + fetchSize);
+        }
+        this.entityManagerFactory = entityManagerFactory;
+        this.cbf = cbf;
+        this.evm = evm;
+        this.jpaProvider = cbf.getService(JpaProvider.class);
+        this.entityClass = entityClass;
+        this.entityViewClass = entityViewClass;
+        this.idAttributeName = viewType.getIdAttribute().getName();
+        this.scheduler = scheduler;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Mono<V> findOne(final ID id) {
+        return execute(new Function<EntityManager, V>() {
+            @Override
+            public V apply(EntityManager em) {
+                return evm.find(em, entityViewClass, id);
+            }
+        });
+    }
+
+    @Override
+    public Flux<V> findAll() {
+        return Flux.defer(new Supplier<Flux<V>>() {
+            @Override
+            public Flux<V> get() {
+                final QueryExecution execution = new QueryExecution(entityManagerFactory, jpaProvider);
+                // The generator state is only cleaned up when no element is being generated, so the entity manager is never closed concurrently
+                return Flux.generate(new Callable<ResultCursor>() {
+                    @Override
+                    public ResultCursor call() {
+                        // The query is executed lazily by the generator, so that a failure is propagated like any other error
+                        return new ResultCursor(execution);
+                    }
+                }, new BiFunction<ResultCursor, SynchronousSink<V>, ResultCursor>() {
+                    @Override
+                    public ResultCursor apply(ResultCursor cursor, SynchronousSink<V> sink) {
+                        try {
+                            Iterator<V> iterator = cursor.getIterator();
+                            if (iterator.hasNext()) {
+                                sink.next(iterator.next());
+                            } else {
+                                sink.complete();
+                            }
+                        } catch (RuntimeException ex) {
+                            if (!execution.isCancelled()) {
+                                throw ex;
+                            }
+                            // The statement failed because it was cancelled and the subscriber isn't interested in the error
+                            sink.complete();
+                        }
+                        return cursor;
+                    }
+                }, new Consumer<ResultCursor>() {
+                    @Override
+                    public void accept(ResultCursor cursor) {
+                        cursor.close();
+                    }
+                }).subscribeOn(scheduler).doOnCancel(execution);
+            }
+        });
+    }
+
+    @Override
+    public Flux<V> findAll(final int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Invalid page size: " + pageSize);
+        }
+        return Flux.defer(new Supplier<Flux<List<V>>>() {
+            @Override
+            public Flux<List<V>> get() {
+                final QueryExecution execution = new QueryExecution(entityManagerFactory, jpaProvider);
+                return Flux.generate(new Callable<PagedList<V>>() {
+                    @Override
+                    public PagedList<V> call() {
+                        // The initial state is never emitted, it only serves as marker for fetching the first page
+                        return null;
+                    }
+                }, new BiFunction<PagedList<V>, SynchronousSink<List<V>>, PagedList<V>>() {
+                    @Override
+                    public PagedList<V> apply(PagedList<V> previousPage, SynchronousSink<List<V>> sink) {
+                        PagedList<V> page;
+                        try {
+                            page = fetchPage(execution, previousPage, pageSize);
+                        } catch (RuntimeException ex) {
+                            if (!execution.isCancelled()) {
+                                throw ex;
+                            }
+                            // The statement failed because it was cancelled and the subscriber isn't interested in the error
+                            sink.complete();
+                            return previousPage;
+                        }
+                        if (!page.isEmpty()) {
+                            sink.next(page);
+                        }
+                        if (page.size() < pageSize) {
+                            sink.complete();
+                        }
+                        return page;
+                    }
+                }).subscribeOn(scheduler).doOnCancel(execution);
+            }
+        }).flatMapIterable(new Function<List<V>, Iterable<V>>() {
+            @Override
+            public Iterable<V> apply(List<V> page) {
+                return page;
+            }
+        }, 1);
+    }
+
+    @Override
+    public Mono<Long> count() {
+        return execute(new Function<EntityManager, Long>() {
+            @Override
+            public Long apply(EntityManager em) {
+                return cbf.create(em, entityClass).getCountQuery().getSingleResult();
+            }
+        });
+    }
+
+    private <T> Mono<T> execute(final Function<EntityManager, T> work) {
+        return Mono.defer(new Supplier<Mono<T>>() {
+            @Override
+            public Mono<T> get() {
+                final QueryExecution execution = new QueryExecution(entityManagerFactory, jpaProvider);
+                return Mono.fromCallable(new Callable<T>() {
+                    @Override
+                    public T call() {
+                        EntityManager em = execution.begin();
+                        try {
+                            return work.apply(em);
+                        } catch (RuntimeException ex) {
+                            if (!execution.isCancelled()) {
+                                throw ex;
+                            }
+                            // The statement failed because it was cancelled and the subscriber isn't interested in the error
+                            return null;
+                        } finally {
+                            execution.end();
+                        }
+                    }
+                }).subscribeOn(scheduler).doOnCancel(execution);
+            }
+        });
+    }
+
+    private Stream<V> createResultStream(EntityManager em) {
+        CriteriaBuilder<V> cb = evm.applySetting(EntityViewSetting.create(entityViewClass), cbf.create(em, entityClass));
+        TypedQuery<V> query = cb.getQuery();
+        jpaProvider.setReadOnly(query);
+        jpaProvider.setFetchSize(query, fetchSize);
+        return query.getResultStream();
+    }
+
+    private PagedList<V> fetchPage(QueryExecution execution, PagedList<V> previousPage, int pageSize) {
+        int firstResult;
+        KeysetPage keysetPage;
+        if (previousPage == null) {
+            firstResult = 0;
+            keysetPage = null;
+        } else {
+            firstResult = previousPage.getFirstResult() + pageSize;
+            keysetPage = previousPage.getKeysetPage();
+        }
+        EntityViewSetting<V, PaginatedCriteriaBuilder<V>> setting = EntityViewSetting.create(entityViewClass, firstResult, pageSize);
+        setting.addAttributeSorter(idAttributeName, Sorters.ascending());
+        setting.withKeysetPage(keysetPage);
+        EntityManager em = execution.begin();
+        try {
+            return evm.applySetting(setting, cbf.create(em, entityClass))
+                .withCountQuery(false)
+                .withKeysetExtraction(true)
+                .getResultList();
+        } finally {
+            execution.end();
+        }
+    }
+
+    /**
+     * The entity manager of a subscription which is used by one query execution at a time.
+     * Cancelling the subscription cancels the statement that is currently executed.
+     *
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private static class QueryExecution implements Runnable {
+
+        private final EntityManagerFactory entityManagerFactory;
+        private final JpaProvider jpaProvider;
+        private EntityManager entityManager;
+        private volatile boolean cancelled;
+
+        public QueryExecution(EntityManagerFactory entityManagerFactory, JpaProvider jpaProvider) {
+            this.entityManagerFactory = entityManagerFactory;
+            this.jpaProvider = jpaProvider;
+        }
+
+        public EntityManager begin() {
+            EntityManager em = entityManagerFactory.createEntityManager();
+            try {
+                // Nothing is written, so there is no need to flush before queries
+                em.setFlushMode(FlushModeType.COMMIT);
+                em.getTransaction().begin();
+            } catch (RuntimeException ex) {
+                em.close();
+                throw ex;
+            }
+            synchronized (this) {
+                entityManager = em;
+            }
+            return em;
+        }
+
+        public void end() {
+            EntityManager em;
+            // Wait for a concurrent cancellation so that the statement isn't cancelled on a closed entity manager
+            synchronized (this) {
+                em = entityManager;
+                entityManager = null;
+            }
+            if (em == null) {
+                return;
+            }
+            try {
+                EntityTransaction transaction = em.getTransaction();
+                if (transaction.isActive()) {
+                    // The transaction is only used for reading, so there is nothing to commit
+                    transaction.rollback();
+                }
+            } finally {
+                em.close();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void run() {
+            cancelled = true;
+            synchronized (this) {
+                if (entityManager != null) {
+                    try {
+                        jpaProvider.cancelQuery(entityManager);
+                    } catch (RuntimeException ex) {
+                        // Cancelling is best effort, the resources are released anyway when the execution ends
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @author Christian Beikov
+     * @since 1.6.10
+     */
+    private class ResultCursor {
+
+        private final QueryExecution execution;
+        private Stream<V> stream;
+        private Iterator<V> iterator;
+
+        public ResultCursor(QueryExecution execution) {
+            this.execution = execution;
+        }
+
+        public Iterator<V> getIterator() {
+            if (iterator == null) {
+                stream = createResultStream(execution.begin());
+                iterator = stream.iterator();
+            }
+            return iterator;
+        }
+
+        public void close() {
+            try {
+                // Closing the stream closes the underlying JDBC result set and statement
+                if (stream != null) {
+                    stream.close();
+                }
+            } finally {
+                execution.end();
+            }
+        }
+    }
+}
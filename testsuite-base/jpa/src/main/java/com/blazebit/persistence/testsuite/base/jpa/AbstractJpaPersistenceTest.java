@@ -22,6 +22,7 @@ import com.blazebit.persistence.impl.CriteriaBuilderConfigurationImpl;
 import com.blazebit.persistence.spi.CriteriaBuilderConfiguration;
 import com.blazebit.persistence.spi.DbmsDialect;
 import com.blazebit.persistence.spi.ExtendedQuerySupport;
+import com.blazebit.persistence.spi.InstrumentationListener;
 import com.blazebit.persistence.spi.JoinTable;
 import com.blazebit.persistence.spi.JpaProvider;
 import com.blazebit.persistence.testsuite.base.jpa.assertion.AssertStatementBuilder;
@@ -938,11 +939,13 @@ public abstract class AbstractJpaPersistenceTest {
         private final Properties properties;
         private final Map<String, Class<?>> macros;
         private final Map<String, Class<?>> functions;
+        private final List<InstrumentationListener> instrumentationListeners;
 
         private CriteriaBuilderConfigurationEqualityWrapper(CriteriaBuilderConfigurationImpl cfg) {
             this.properties = cfg.getProperties();
             this.macros = cfg.getMacros().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getClass()));
             this.functions = cfg.getFunctions().entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getClass()));
+            this.instrumentationListeners = new ArrayList<>(cfg.getInstrumentationListeners());
         }
 
         @Override
@@ -956,12 +959,13 @@ public abstract class AbstractJpaPersistenceTest {
             CriteriaBuilderConfigurationEqualityWrapper that = (CriteriaBuilderConfigurationEqualityWrapper) o;
             return properties.equals(that.properties) &&
                     macros.equals(that.macros) &&
-                    functions.equals(that.functions);
+                    functions.equals(that.functions) &&
+                    instrumentationListeners.equals(that.instrumentationListeners);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(properties, macros, functions);
+            return Objects.hash(properties, macros, functions, instrumentationListeners);
         }
     }
 }